@@ -0,0 +1,81 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.MockVaadinServletService;
+import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+
+/**
+ * UI bound to a mock service and session for running benchmarks without a
+ * servlet container.
+ * <p>
+ * The session of the UI is locked by the thread that creates the UI and is
+ * kept locked until {@link #dispose()} is called, so the UI should only be used
+ * from a benchmark thread that also created it.
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+public class BenchmarkUI extends UI {
+
+    private BenchmarkUI(VaadinSession session) {
+        getInternals().setSession(session);
+    }
+
+    /**
+     * Creates a new UI with a locked session and sets it and its session and
+     * service as the current instances.
+     *
+     * @return a new UI, not <code>null</code>
+     */
+    public static BenchmarkUI create() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration);
+        service.init();
+
+        VaadinSession session = new MockVaadinSession(service);
+        session.lock();
+        session.setConfiguration(configuration);
+
+        VaadinService.setCurrent(service);
+        VaadinSession.setCurrent(session);
+
+        BenchmarkUI ui = new BenchmarkUI(session);
+        UI.setCurrent(ui);
+        return ui;
+    }
+
+    @Override
+    protected void init(VaadinRequest request) {
+        // Nothing to initialize
+    }
+
+    /**
+     * Releases the session lock and clears the current instances set up by
+     * {@link #create()}.
+     */
+    public void dispose() {
+        getSession().unlock();
+        CurrentInstance.clearAll();
+    }
+}
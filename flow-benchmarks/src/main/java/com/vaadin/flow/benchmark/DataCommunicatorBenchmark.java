@@ -0,0 +1,142 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.data.provider.ArrayUpdater;
+import com.vaadin.flow.data.provider.DataCommunicator;
+import com.vaadin.flow.data.provider.DataGenerator;
+import com.vaadin.flow.data.provider.ListDataProvider;
+import com.vaadin.flow.dom.Element;
+
+import elemental.json.JsonValue;
+
+/**
+ * Measures flushing a {@link DataCommunicator} backed by a
+ * {@link ListDataProvider} while scrolling through the items.
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DataCommunicatorBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({ "1000", "100000" })
+    private int itemCount;
+
+    private BenchmarkUI ui;
+
+    private DataCommunicator<String> dataCommunicator;
+
+    private int sentItems;
+
+    private int start;
+
+    private static class CountingArrayUpdater implements ArrayUpdater {
+        private final DataCommunicatorBenchmark benchmark;
+
+        private CountingArrayUpdater(DataCommunicatorBenchmark benchmark) {
+            this.benchmark = benchmark;
+        }
+
+        @Override
+        public Update startUpdate(int sizeChange) {
+            return new Update() {
+                @Override
+                public void clear(int start, int length) {
+                    // Nothing to clear on the client
+                }
+
+                @Override
+                public void set(int start, List<JsonValue> items) {
+                    benchmark.sentItems += items.size();
+                }
+
+                @Override
+                public void commit(int updateId) {
+                    // Nothing to commit on the client
+                }
+            };
+        }
+
+        @Override
+        public void initialize() {
+            // Nothing to initialize on the client
+        }
+    }
+
+    @Setup
+    public void setup() {
+        ui = BenchmarkUI.create();
+        Element element = new Element("div");
+        ui.getElement().appendChild(element);
+
+        List<String> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add("Item " + i);
+        }
+
+        DataGenerator<String> dataGenerator = (item, json) -> json
+                .put("name", item);
+        dataCommunicator = new DataCommunicator<>(dataGenerator,
+                new CountingArrayUpdater(this), data -> {
+                }, element.getNode());
+        dataCommunicator.setDataProvider(new ListDataProvider<>(items), null);
+        flush();
+    }
+
+    @TearDown
+    public void tearDown() {
+        ui.dispose();
+    }
+
+    @Benchmark
+    public int scroll() {
+        start = (start + PAGE_SIZE) % (itemCount - PAGE_SIZE);
+        dataCommunicator.setRequestedRange(start, PAGE_SIZE);
+        flush();
+        return sentItems;
+    }
+
+    private void flush() {
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+        ui.getInternals().getStateTree().collectChanges(change -> {
+        });
+    }
+}
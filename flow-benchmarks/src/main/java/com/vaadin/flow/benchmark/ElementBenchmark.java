@@ -0,0 +1,123 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.dom.Element;
+
+/**
+ * Measures attribute and property churn on an element attached to a UI,
+ * including collecting the resulting changes from the state tree.
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ElementBenchmark {
+
+    @Param({ "1", "10", "50" })
+    private int keyCount;
+
+    private BenchmarkUI ui;
+
+    private Element element;
+
+    private String[] keys;
+
+    private int counter;
+
+    @Setup
+    public void setup() {
+        ui = BenchmarkUI.create();
+        element = new Element("div");
+        ui.getElement().appendChild(element);
+
+        keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = "key" + i;
+        }
+        collectChanges();
+    }
+
+    @TearDown
+    public void tearDown() {
+        ui.dispose();
+    }
+
+    @Benchmark
+    public void setAttributes() {
+        String value = Integer.toString(counter++);
+        for (String key : keys) {
+            element.setAttribute(key, value);
+        }
+        collectChanges();
+    }
+
+    @Benchmark
+    public void setAndRemoveAttributes() {
+        for (String key : keys) {
+            element.setAttribute(key, "");
+        }
+        for (String key : keys) {
+            element.removeAttribute(key);
+        }
+        collectChanges();
+    }
+
+    @Benchmark
+    public void setProperties() {
+        int value = counter++;
+        for (String key : keys) {
+            element.setProperty(key, value);
+        }
+        collectChanges();
+    }
+
+    @Benchmark
+    public void setAndRemoveProperties() {
+        for (String key : keys) {
+            element.setProperty(key, true);
+        }
+        for (String key : keys) {
+            element.removeProperty(key);
+        }
+        collectChanges();
+    }
+
+    private void collectChanges() {
+        ui.getInternals().getStateTree().collectChanges(change -> {
+        });
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.internal.JsonSerializer;
+
+import elemental.json.JsonArray;
+import elemental.json.JsonValue;
+
+/**
+ * Measures serializing lists of beans to JSON and back.
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializerBenchmark {
+
+    @Param({ "1", "100" })
+    private int beanCount;
+
+    private List<Person> people;
+
+    private JsonArray json;
+
+    /**
+     * Bean used as serialization input.
+     */
+    public static class Person {
+        private String name;
+        private int age;
+        private boolean active;
+        private Address address;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+    }
+
+    /**
+     * Nested bean used as serialization input.
+     */
+    public static class Address {
+        private String street;
+        private String city;
+
+        public String getStreet() {
+            return street;
+        }
+
+        public void setStreet(String street) {
+            this.street = street;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        people = new ArrayList<>(beanCount);
+        for (int i = 0; i < beanCount; i++) {
+            Address address = new Address();
+            address.setStreet("Street " + i);
+            address.setCity("City " + i);
+
+            Person person = new Person();
+            person.setName("Person " + i);
+            person.setAge(i);
+            person.setActive(i % 2 == 0);
+            person.setAddress(address);
+            people.add(person);
+        }
+        json = JsonSerializer.toJson(people);
+    }
+
+    @Benchmark
+    public JsonArray toJson() {
+        return JsonSerializer.toJson(people);
+    }
+
+    @Benchmark
+    public List<Person> toObjects() {
+        return JsonSerializer.toObjects(Person.class, json);
+    }
+}
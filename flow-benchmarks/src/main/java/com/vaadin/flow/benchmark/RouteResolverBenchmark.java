@@ -0,0 +1,125 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.router.BeforeEvent;
+import com.vaadin.flow.router.HasUrlParameter;
+import com.vaadin.flow.router.Location;
+import com.vaadin.flow.router.NavigationState;
+import com.vaadin.flow.router.RouteConfiguration;
+import com.vaadin.flow.router.Router;
+import com.vaadin.flow.router.TestRouteRegistry;
+import com.vaadin.flow.router.internal.DefaultRouteResolver;
+import com.vaadin.flow.router.internal.ResolveRequest;
+
+/**
+ * Measures resolving static and parameterized locations against a registry
+ * with a varying number of routes.
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouteResolverBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int routeCount;
+
+    private Router router;
+
+    private DefaultRouteResolver resolver;
+
+    private ResolveRequest staticRequest;
+
+    private ResolveRequest parameterRequest;
+
+    private ResolveRequest notFoundRequest;
+
+    @Tag(Tag.DIV)
+    public static class StaticTarget extends Component {
+    }
+
+    @Tag(Tag.DIV)
+    public static class ParameterTarget extends Component
+            implements HasUrlParameter<Long> {
+        @Override
+        public void setParameter(BeforeEvent event, Long parameter) {
+            // Never navigated to
+        }
+    }
+
+    @Setup
+    public void setup() {
+        TestRouteRegistry registry = new TestRouteRegistry();
+        RouteConfiguration configuration = RouteConfiguration
+                .forRegistry(registry);
+        configuration.update(() -> {
+            for (int i = 0; i < routeCount; i++) {
+                configuration.setRoute("section" + i + "/view",
+                        StaticTarget.class);
+            }
+            configuration.setRoute("section" + (routeCount - 1) + "/items",
+                    ParameterTarget.class);
+        });
+
+        router = new Router(registry);
+        resolver = new DefaultRouteResolver();
+
+        String lastSection = "section" + (routeCount - 1);
+        staticRequest = new ResolveRequest(router,
+                new Location(lastSection + "/view"));
+        parameterRequest = new ResolveRequest(router,
+                new Location(lastSection + "/items/42"));
+        notFoundRequest = new ResolveRequest(router,
+                new Location(lastSection + "/missing/path"));
+    }
+
+    @Benchmark
+    public NavigationState resolveStatic() {
+        return resolver.resolve(staticRequest);
+    }
+
+    @Benchmark
+    public NavigationState resolveParameter() {
+        return resolver.resolve(parameterRequest);
+    }
+
+    @Benchmark
+    public NavigationState resolveNotFound() {
+        return resolver.resolve(notFoundRequest);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.communication.ServerRpcHandler;
+import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
+import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+/**
+ * Measures decoding and dispatching a client to server message containing DOM
+ * event invocations for different elements.
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ServerRpcHandlerBenchmark {
+
+    @Param({ "1", "10", "100" })
+    private int invocationCount;
+
+    private BenchmarkUI ui;
+
+    private VaadinRequest request;
+
+    private ServerRpcHandler rpcHandler;
+
+    /**
+     * The message without the leading client id, which is different for each
+     * message.
+     */
+    private String messageTail;
+
+    private int eventCount;
+
+    @Setup
+    public void setup() {
+        ui = BenchmarkUI.create();
+        rpcHandler = new ServerRpcHandler();
+
+        request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request.getService())
+                .thenReturn(ui.getSession().getService());
+
+        JsonArray invocations = Json.createArray();
+        for (int i = 0; i < invocationCount; i++) {
+            Element element = new Element("button");
+            element.addEventListener("click", event -> eventCount++);
+            ui.getElement().appendChild(element);
+
+            JsonObject invocation = Json.createObject();
+            invocation.put(JsonConstants.RPC_TYPE,
+                    JsonConstants.RPC_TYPE_EVENT);
+            invocation.put(JsonConstants.RPC_NODE, element.getNode().getId());
+            invocation.put(JsonConstants.RPC_EVENT_TYPE, "click");
+            invocations.set(i, invocation);
+        }
+        ui.getInternals().getStateTree().collectChanges(change -> {
+        });
+
+        JsonObject message = Json.createObject();
+        message.put(ApplicationConstants.CSRF_TOKEN,
+                ui.getSession().getCsrfToken());
+        message.put(ApplicationConstants.SERVER_SYNC_ID, 0);
+        message.put(ApplicationConstants.RPC_INVOCATIONS, invocations);
+
+        // Strip the opening brace, the client id is prepended to each message
+        messageTail = "," + message.toJson().substring(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ui.dispose();
+    }
+
+    @Benchmark
+    public int handleRpc()
+            throws IOException, InvalidUIDLSecurityKeyException {
+        int clientId = ui.getInternals().getLastProcessedClientToServerId()
+                + 1;
+        String message = "{\"" + ApplicationConstants.CLIENT_TO_SERVER_ID
+                + "\":" + clientId + messageTail;
+        rpcHandler.handleRpc(ui, new StringReader(message), request);
+        return eventCount;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.server.communication.UidlWriter;
+
+import elemental.json.JsonObject;
+
+/**
+ * Measures collecting changes from and encoding UIDL for state trees of
+ * varying size where every element has been modified since the previous
+ * response.
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StateTreeBenchmark {
+
+    /**
+     * Number of elements in the tree, spread evenly below a few containers.
+     */
+    @Param({ "100", "1000", "10000" })
+    private int elementCount;
+
+    private BenchmarkUI ui;
+
+    private Element[] elements;
+
+    private UidlWriter uidlWriter;
+
+    private int counter;
+
+    @Setup
+    public void setup() {
+        ui = BenchmarkUI.create();
+        uidlWriter = new UidlWriter();
+
+        elements = new Element[elementCount];
+        Element container = null;
+        for (int i = 0; i < elementCount; i++) {
+            if (i % 100 == 0) {
+                container = new Element("div");
+                ui.getElement().appendChild(container);
+            }
+            elements[i] = new Element("span");
+            container.appendChild(elements[i]);
+        }
+
+        // Flush the initial attach changes
+        uidlWriter.createUidl(ui, false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ui.dispose();
+    }
+
+    @Benchmark
+    public void collectChanges(Blackhole blackhole) {
+        modifyElements();
+        ui.getInternals().getStateTree().collectChanges(blackhole::consume);
+    }
+
+    @Benchmark
+    public JsonObject createUidl() {
+        modifyElements();
+        return uidlWriter.createUidl(ui, false);
+    }
+
+    private void modifyElements() {
+        String text = Integer.toString(counter++);
+        for (Element element : elements) {
+            element.setAttribute("title", text);
+        }
+    }
+}
@@ -76,7 +76,11 @@ public class Heartbeat {
         timer.cancel();
 
         Console.debug("Sending heartbeat request...");
-        Xhr.post(uri, null, "text/plain; charset=utf-8", new Xhr.Callback() {
+        // Lets the server forget the messages the client has already seen
+        String heartbeatUri = SharedUtil.addGetParameter(uri,
+                ApplicationConstants.SERVER_SYNC_ID,
+                registry.getMessageHandler().getLastSeenServerSyncId());
+        Xhr.post(heartbeatUri, null, "text/plain; charset=utf-8", new Xhr.Callback() {
 
             @Override
             public void onSuccess(XMLHttpRequest xhr) {
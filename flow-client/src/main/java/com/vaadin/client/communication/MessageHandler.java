@@ -212,7 +212,7 @@ public class MessageHandler {
     protected void handleJSON(final ValueMap valueMap) {
         final int serverId = getServerId(valueMap);
 
-        if (isResynchronize(valueMap) && !isNextExpectedMessage(serverId)) {
+        if (isResynchronize(valueMap) && !isNextExpectedMessage(valueMap)) {
             // Resynchronize request. We must remove any old pending
             // messages and ensure this is handled next. Otherwise we
             // would keep waiting for an older message forever (if this
@@ -225,7 +225,7 @@ public class MessageHandler {
 
         boolean locked = !responseHandlingLocks.isEmpty();
 
-        if (locked || !isNextExpectedMessage(serverId)) {
+        if (locked || !isNextExpectedMessage(valueMap)) {
             // Cannot or should not handle this message right now, either
             // because of locks or because it's an out-of-order message
 
@@ -508,6 +508,19 @@ public class MessageHandler {
         return false;
     }
 
+    /**
+     * Checks if the given message is the one we are currently waiting for from
+     * the server. A message combining several messages is expected if the
+     * first message it includes is.
+     */
+    private boolean isNextExpectedMessage(ValueMap json) {
+        if (json.containsKey(ApplicationConstants.COMBINED_FIRST_SYNC_ID)) {
+            return isNextExpectedMessage(
+                    json.getInt(ApplicationConstants.COMBINED_FIRST_SYNC_ID));
+        }
+        return isNextExpectedMessage(getServerId(json));
+    }
+
     /**
      * Checks if the given serverId is the one we are currently waiting for from
      * the server.
@@ -619,7 +632,7 @@ public class MessageHandler {
         int toHandle = -1;
         for (int i = 0; i < pendingUIDLMessages.length(); i++) {
             PendingUIDLMessage message = pendingUIDLMessages.get(i);
-            if (isNextExpectedMessage(getServerId(message.json))) {
+            if (isNextExpectedMessage(message.json)) {
                 toHandle = i;
                 break;
             }
@@ -27,10 +27,15 @@ import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
 import elemental.json.JsonValue;
 
 /**
  * Updates a state tree based on changes in JSON format.
+ * <p>
+ * Each change is either a JSON object with named properties or a compact JSON
+ * array with a numeric change type followed by positional values, as described
+ * by the <code>COMPACT_CHANGE_*</code> constants in {@link JsonConstants}.
  *
  * @author Vaadin Ltd
  * @since 1.0
@@ -61,10 +66,9 @@ public class TreeChangeProcessor {
 
             // Attach all nodes before doing anything else
             for (int i = 0; i < length; i++) {
-                JsonObject change = changes.getObject(i);
+                JsonValue change = changes.get(i);
                 if (isAttach(change)) {
-                    int nodeId = (int) change
-                            .getNumber(JsonConstants.CHANGE_NODE);
+                    int nodeId = getNodeId(change);
 
                     StateNode node = new StateNode(nodeId, tree);
                     tree.registerNode(node);
@@ -74,9 +78,14 @@ public class TreeChangeProcessor {
 
             // Then process all non-attach changes
             for (int i = 0; i < length; i++) {
-                JsonObject change = changes.getObject(i);
+                JsonValue change = changes.get(i);
                 if (!isAttach(change)) {
-                    nodes.add(processChange(tree, change));
+                    if (isCompact(change)) {
+                        nodes.add(processCompactChange(tree,
+                                (JsonArray) change));
+                    } else {
+                        nodes.add(processChange(tree, (JsonObject) change));
+                    }
                 }
             }
             return nodes;
@@ -86,9 +95,25 @@ public class TreeChangeProcessor {
 
     }
 
-    private static boolean isAttach(JsonObject change) {
-        return JsonConstants.CHANGE_TYPE_ATTACH
-                .equals(change.getString(JsonConstants.CHANGE_TYPE));
+    private static boolean isCompact(JsonValue change) {
+        return change.getType() == JsonType.ARRAY;
+    }
+
+    private static boolean isAttach(JsonValue change) {
+        if (isCompact(change)) {
+            return (int) ((JsonArray) change)
+                    .getNumber(0) == JsonConstants.COMPACT_CHANGE_ATTACH;
+        }
+        return JsonConstants.CHANGE_TYPE_ATTACH.equals(
+                ((JsonObject) change).getString(JsonConstants.CHANGE_TYPE));
+    }
+
+    private static int getNodeId(JsonValue change) {
+        if (isCompact(change)) {
+            return (int) ((JsonArray) change).getNumber(1);
+        }
+        return (int) ((JsonObject) change)
+                .getNumber(JsonConstants.CHANGE_NODE);
     }
 
     /**
@@ -133,6 +158,89 @@ public class TreeChangeProcessor {
         return node;
     }
 
+    /**
+     * Update a state tree based on a compact JSON change. This method is public
+     * for testing purposes.
+     *
+     * @param tree
+     *            the tree to update
+     * @param change
+     *            the compact JSON change
+     * @return the updated node addressed by the provided {@code change}
+     */
+    public static StateNode processCompactChange(StateTree tree,
+            JsonArray change) {
+        int type = (int) change.getNumber(0);
+        int nodeId = (int) change.getNumber(1);
+
+        StateNode node = tree.getNode(nodeId);
+        assert node != null;
+
+        switch (type) {
+        case JsonConstants.COMPACT_CHANGE_NOOP_MAP:
+            node.getMap(getCompactFeature(change));
+            break;
+        case JsonConstants.COMPACT_CHANGE_NOOP_LIST:
+            node.getList(getCompactFeature(change));
+            break;
+        case JsonConstants.COMPACT_CHANGE_SPLICE:
+            processSplice(node.getList(getCompactFeature(change)),
+                    (int) change.getNumber(3), (int) change.getNumber(4),
+                    change.length() > 5 ? change.getArray(5) : null);
+            break;
+        case JsonConstants.COMPACT_CHANGE_SPLICE_NODES:
+            processNodeSplice(node, node.getList(getCompactFeature(change)),
+                    (int) change.getNumber(3), (int) change.getNumber(4),
+                    change.getArray(5));
+            break;
+        case JsonConstants.COMPACT_CHANGE_PUT:
+            findCompactProperty(change, node).setValue(
+                    ClientJsonCodec.decodeWithoutTypeInfo(change.get(4)));
+            break;
+        case JsonConstants.COMPACT_CHANGE_PUT_NODE:
+            processNodePut(node, findCompactProperty(change, node),
+                    (int) change.getNumber(4));
+            break;
+        case JsonConstants.COMPACT_CHANGE_REMOVE:
+            findCompactProperty(change, node).removeValue();
+            break;
+        case JsonConstants.COMPACT_CHANGE_DETACH:
+            processDetachChange(node);
+            break;
+        case JsonConstants.COMPACT_CHANGE_CLEAR:
+            node.getList(getCompactFeature(change)).clear();
+            break;
+        default:
+            assert false : "Unsupported compact change type: " + type;
+        }
+        return node;
+    }
+
+    private static int getCompactFeature(JsonArray change) {
+        return (int) change.getNumber(2);
+    }
+
+    private static MapProperty findCompactProperty(JsonArray change,
+            StateNode node) {
+        NodeMap map = node.getMap(getCompactFeature(change));
+
+        String key;
+        JsonValue keyJson = change.get(3);
+        if (keyJson.getType() == JsonType.ARRAY) {
+            // Long keys are sent as a reference to the constant pool
+            String constantId = ((JsonArray) keyJson).getString(0);
+            ConstantPool constantPool = node.getTree().getRegistry()
+                    .getConstantPool();
+            assert constantPool.has(constantId);
+            JsonValue constant = constantPool.get(constantId);
+            key = constant.asString();
+        } else {
+            key = keyJson.asString();
+        }
+
+        return map.getProperty(key);
+    }
+
     private static void processDetachChange(StateNode node) {
         node.getTree().unregisterNode(node);
         node.setParent(null);
@@ -160,17 +268,22 @@ public class TreeChangeProcessor {
         } else if (change.hasKey(JsonConstants.CHANGE_PUT_NODE_VALUE)) {
             int childId = (int) change
                     .getNumber(JsonConstants.CHANGE_PUT_NODE_VALUE);
-            StateNode child = node.getTree().getNode(childId);
-            assert child != null;
-            child.setParent(node);
-
-            property.setValue(child);
+            processNodePut(node, property, childId);
         } else {
             assert false : "Change should have either value or nodeValue property: "
                     + WidgetUtil.stringify(change);
         }
     }
 
+    private static void processNodePut(StateNode node, MapProperty property,
+            int childId) {
+        StateNode child = node.getTree().getNode(childId);
+        assert child != null;
+        child.setParent(node);
+
+        property.setValue(child);
+    }
+
     private static void processRemoveChange(JsonObject change, StateNode node) {
         MapProperty property = findProperty(change, node);
 
@@ -198,34 +311,46 @@ public class TreeChangeProcessor {
             remove = 0;
         }
 
-        if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD)) {
-            JsonArray addJson = change
-                    .getArray(JsonConstants.CHANGE_SPLICE_ADD);
+        if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD_NODES)) {
+            processNodeSplice(node, list, index, remove, change
+                    .getArray(JsonConstants.CHANGE_SPLICE_ADD_NODES));
+        } else {
+            JsonArray addJson = null;
+            if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD)) {
+                addJson = change.getArray(JsonConstants.CHANGE_SPLICE_ADD);
+            }
+            processSplice(list, index, remove, addJson);
+        }
+    }
 
+    private static void processSplice(NodeList list, int index, int remove,
+            JsonArray addJson) {
+        if (addJson != null) {
             JsArray<Object> add = ClientJsonCodec.jsonArrayAsJsArray(addJson);
 
             list.splice(index, remove, add);
-        } else if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD_NODES)) {
-            JsonArray addNodes = change
-                    .getArray(JsonConstants.CHANGE_SPLICE_ADD_NODES);
-            int length = addNodes.length();
+        } else {
+            list.splice(index, remove);
+        }
+    }
 
-            JsArray<StateNode> add = JsCollections.array();
+    private static void processNodeSplice(StateNode node, NodeList list,
+            int index, int remove, JsonArray addNodes) {
+        int length = addNodes.length();
 
-            StateTree tree = node.getTree();
-            for (int i = 0; i < length; i++) {
-                int childId = (int) addNodes.getNumber(i);
-                StateNode child = tree.getNode(childId);
-                assert child != null : "No child node found with id " + childId;
-                child.setParent(node);
+        JsArray<StateNode> add = JsCollections.array();
 
-                add.set(i, child);
-            }
+        StateTree tree = node.getTree();
+        for (int i = 0; i < length; i++) {
+            int childId = (int) addNodes.getNumber(i);
+            StateNode child = tree.getNode(childId);
+            assert child != null : "No child node found with id " + childId;
+            child.setParent(node);
 
-            list.splice(index, remove, add);
-        } else {
-            list.splice(index, remove);
+            add.set(i, child);
         }
+
+        list.splice(index, remove, add);
     }
 
     private static void processClearChange(JsonObject change, StateNode node) {
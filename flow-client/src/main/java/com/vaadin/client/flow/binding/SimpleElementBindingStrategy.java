@@ -53,6 +53,7 @@ import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.client.Browser;
 import elemental.css.CSSStyleDeclaration;
+import elemental.dom.DocumentFragment;
 import elemental.dom.Element;
 import elemental.dom.Node;
 import elemental.events.Event;
@@ -62,6 +63,7 @@ import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 import elemental.json.JsonType;
 import elemental.json.JsonValue;
+import elemental.ranges.Range;
 import jsinterop.annotations.JsFunction;
 
 /**
@@ -1019,29 +1021,71 @@ public class SimpleElementBindingStrategy implements BindingStrategy<Element> {
              */
             removeAllChildren(htmlNode);
         } else {
-            JsArray<?> remove = event.getRemove();
-            for (int i = 0; i < remove.length(); i++) {
-                StateNode childNode = (StateNode) remove.get(i);
-                Node child = childNode.getDomNode();
+            removeChildren(htmlNode, event.getRemove());
+        }
+
+        JsArray<?> add = event.getAdd();
+        if (!add.isEmpty()) {
+            addChildren(event.getIndex(), context, add);
+        }
+    }
 
-                assert child != null : "Can't find element to remove";
+    private void removeChildren(Node htmlNode, JsArray<?> remove) {
+        Node runStart = null;
+        Node runEnd = null;
+        for (int i = 0; i < remove.length(); i++) {
+            StateNode childNode = (StateNode) remove.get(i);
+            Node child = childNode.getDomNode();
 
-                if (DomApi.wrap(child).getParentNode() == htmlNode) {
-                    DomApi.wrap(htmlNode).removeChild(child);
-                }
+            assert child != null : "Can't find element to remove";
+
+            if (DomApi.wrap(child).getParentNode() != htmlNode) {
                 /*
                  * If the client-side element is not inside the parent the
                  * server thought it should be (because of client-side-only DOM
                  * changes), nothing is done at this point. If the server
                  * appends the element to a new parent, that will override the
-                 * client DOM in the code below.
+                 * client DOM when adding children.
                  */
+                continue;
+            }
+            if (runEnd != null
+                    && DomApi.wrap(runEnd).getNextSibling() == child) {
+                runEnd = child;
+            } else {
+                removeRange(htmlNode, runStart, runEnd);
+                runStart = child;
+                runEnd = child;
             }
         }
+        removeRange(htmlNode, runStart, runEnd);
+    }
 
-        JsArray<?> add = event.getAdd();
-        if (!add.isEmpty()) {
-            addChildren(event.getIndex(), context, add);
+    /**
+     * Removes the given run of adjacent children, using a single DOM range
+     * operation when possible.
+     */
+    private static void removeRange(Node htmlNode, Node first, Node last) {
+        if (first == null) {
+            return;
+        }
+        if (first != last && DomApi.isNativeDomApi()) {
+            Range range = Browser.getDocument().createRange();
+            range.setStartBefore(first);
+            range.setEndAfter(last);
+            range.deleteContents();
+            return;
+        }
+        DomElement parent = DomApi.wrap(htmlNode);
+        Node child = first;
+        while (true) {
+            // Read the next sibling before the child is detached
+            Node next = DomApi.wrap(child).getNextSibling();
+            parent.removeChild(child);
+            if (child == last) {
+                break;
+            }
+            child = next;
         }
     }
 
@@ -1073,6 +1117,12 @@ public class SimpleElementBindingStrategy implements BindingStrategy<Element> {
             beforeRef = null;
         }
 
+        /*
+         * Adjacent new children are collected into a document fragment that is
+         * inserted with one operation, so that the browser does not need to
+         * process each insertion separately.
+         */
+        JsArray<Node> pending = JsCollections.array();
         for (int i = 0; i < add.length(); i++) {
             Object newChildObject = add.get(i);
             StateNode newChild = (StateNode) newChildObject;
@@ -1081,18 +1131,38 @@ public class SimpleElementBindingStrategy implements BindingStrategy<Element> {
                     .getRegistry().getExistingElementMap();
             Node childNode = existingElementMap.getElement(newChild.getId());
             if (childNode != null) {
+                insertPending(context.htmlNode, pending, beforeRef);
+
                 existingElementMap.remove(newChild.getId());
                 newChild.setDomNode(childNode);
                 context.binderContext.createAndBind(newChild);
-            } else {
-                childNode = context.binderContext.createAndBind(newChild);
 
-                DomApi.wrap(context.htmlNode).insertBefore(childNode,
-                        beforeRef);
+                beforeRef = DomApi.wrap(childNode).getNextSibling();
+            } else {
+                pending.push(context.binderContext.createAndBind(newChild));
             }
+        }
+        insertPending(context.htmlNode, pending, beforeRef);
+    }
 
-            beforeRef = DomApi.wrap(childNode).getNextSibling();
+    private static void insertPending(Node htmlNode, JsArray<Node> pending,
+            Node beforeRef) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Node insert;
+        if (pending.length() == 1) {
+            insert = pending.get(0);
+        } else {
+            DocumentFragment fragment = Browser.getDocument()
+                    .createDocumentFragment();
+            for (int i = 0; i < pending.length(); i++) {
+                fragment.appendChild(pending.get(i));
+            }
+            insert = fragment;
         }
+        DomApi.wrap(htmlNode).insertBefore(insert, beforeRef);
+        pending.clear();
     }
 
     private static Node getFirstNodeMappedAsStateNode(
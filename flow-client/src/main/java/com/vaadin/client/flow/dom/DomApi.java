@@ -66,6 +66,18 @@ public class DomApi {
         return impl.wrap(node);
     }
 
+    /**
+     * Checks whether DOM nodes are used directly without any wrapping DOM API
+     * implementation. Native DOM operations that are not part of
+     * {@link DomNode} or {@link DomElement} can only be used in that case.
+     *
+     * @return <code>true</code> if the native DOM API is used,
+     *         <code>false</code> otherwise
+     */
+    public static boolean isNativeDomApi() {
+        return impl == null;
+    }
+
     /**
      * Updates the DOM API implementation used.
      */
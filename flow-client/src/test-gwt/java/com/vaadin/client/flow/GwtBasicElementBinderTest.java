@@ -24,6 +24,7 @@ import com.vaadin.client.PolymerUtils;
 import com.vaadin.client.WidgetUtil;
 import com.vaadin.client.flow.binding.Binder;
 import com.vaadin.client.flow.binding.SimpleElementBindingStrategy;
+import com.vaadin.client.flow.collection.JsArray;
 import com.vaadin.client.flow.collection.JsCollections;
 import com.vaadin.client.flow.nodefeature.MapProperty;
 import com.vaadin.client.flow.nodefeature.NodeList;
@@ -551,6 +552,62 @@ public class GwtBasicElementBinderTest extends GwtPropertyElementBinderTest {
         assertSame(child4, element.getChildNodes().item(1));
     }
 
+    public void testAddManyChildren_insertedInOrderBeforeNextSibling() {
+        Binder.bind(node, element);
+
+        children.splice(0, 0,
+                JsCollections.array(createChildNode("first"),
+                        createChildNode("last")));
+        Reactive.flush();
+
+        Element last = (Element) element.getChildren().item(1);
+
+        JsArray<StateNode> add = JsCollections.array();
+        for (int i = 0; i < 100; i++) {
+            add.push(createChildNode("child" + i));
+        }
+        children.splice(1, 0, add);
+        Reactive.flush();
+
+        assertEquals(102, element.getChildElementCount());
+        assertEquals("first",
+                ((Element) element.getChildren().item(0)).getId());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("child" + i,
+                    ((Element) element.getChildren().item(i + 1)).getId());
+        }
+        assertSame(last, element.getChildren().item(101));
+    }
+
+    public void testRemoveAdjacentChildren_clientSideChildKept() {
+        Binder.bind(node, element);
+
+        children.splice(0, 0,
+                JsCollections.array(createChildNode("1"), createChildNode("2"),
+                        createChildNode("3"), createChildNode("4"),
+                        createChildNode("5")));
+        Reactive.flush();
+
+        Element child1 = (Element) element.getChildren().item(0);
+        Element child3 = (Element) element.getChildren().item(2);
+        Element child5 = (Element) element.getChildren().item(4);
+
+        // Add an "unofficial" child between the children to remove
+        Element extraChild = Browser.getDocument().createElement("img");
+        element.insertBefore(extraChild, child3);
+
+        children.splice(1, 3);
+        Reactive.flush();
+
+        elemental.dom.NodeList childNodes = element.getChildNodes();
+
+        assertEquals(3, childNodes.length());
+        assertSame(child1, childNodes.item(0));
+        assertSame(extraChild, childNodes.item(1));
+        assertSame(child5, childNodes.item(2));
+        assertNull(child3.getParentElement());
+    }
+
     public void testAddBeforeSetTag() {
         Binder.bind(node, element);
 
@@ -39,6 +39,7 @@ public class TreeChangeProcessorTest {
     private Registry registry = new Registry() {
         {
             set(StateTree.class, new StateTree(this));
+            set(ConstantPool.class, new ConstantPool());
             set(InitialPropertiesHandler.class,
                     new InitialPropertiesHandler(this));
         }
@@ -316,6 +317,91 @@ public class TreeChangeProcessorTest {
         Assert.assertNull(child.getParent());
     }
 
+    @Test
+    public void testCompactChangesMixedWithObjectChanges() {
+        int nodeId = 2;
+        JsonArray changes = toArray(
+                compactChange(JsonConstants.COMPACT_CHANGE_PUT, nodeId, ns,
+                        Json.create(myKey), Json.create(myValue)),
+                compactChange(JsonConstants.COMPACT_CHANGE_PUT_NODE, rootId,
+                        ns, Json.create(myKey), Json.create(nodeId)),
+                attachChange(nodeId));
+
+        JsSet<StateNode> updatedNodes = TreeChangeProcessor.processChanges(tree,
+                changes);
+
+        StateNode child = tree.getNode(nodeId);
+        Assert.assertEquals(myValue,
+                child.getMap(ns).getProperty(myKey).getValue());
+        Assert.assertSame(child,
+                tree.getRootNode().getMap(ns).getProperty(myKey).getValue());
+        Assert.assertSame(tree.getRootNode(), child.getParent());
+        Assert.assertEquals(2, updatedNodes.size());
+    }
+
+    @Test
+    public void testCompactPutChangeWithConstantPoolKey() {
+        JsonObject constants = Json.createObject();
+        constants.put("keyId", myKey);
+        registry.getConstantPool().importFromJson(constants);
+
+        JsonArray keyReference = Json.createArray();
+        keyReference.set(0, "keyId");
+
+        TreeChangeProcessor.processCompactChange(tree,
+                compactChange(JsonConstants.COMPACT_CHANGE_PUT, rootId, ns,
+                        keyReference, Json.create(myValue)));
+
+        Assert.assertEquals(myValue, tree.getRootNode().getMap(ns)
+                .getProperty(myKey).getValue());
+    }
+
+    @Test
+    public void testCompactRemoveChange() {
+        MapProperty property = tree.getRootNode().getMap(ns).getProperty(myKey);
+        property.setValue(myValue);
+
+        TreeChangeProcessor.processCompactChange(tree,
+                compactChange(JsonConstants.COMPACT_CHANGE_REMOVE, rootId, ns,
+                        Json.create(myKey)));
+
+        Assert.assertFalse(property.hasValue());
+    }
+
+    @Test
+    public void testCompactSpliceAndClearChanges() {
+        NodeList list = tree.getRootNode().getList(ns);
+
+        TreeChangeProcessor.processCompactChange(tree,
+                compactChange(JsonConstants.COMPACT_CHANGE_SPLICE, rootId, ns,
+                        Json.create(0), Json.create(0),
+                        toArray(Json.create("a"), Json.create("b"))));
+        Assert.assertEquals(2, list.length());
+        Assert.assertEquals("b", list.get(1));
+
+        TreeChangeProcessor.processCompactChange(tree,
+                compactChange(JsonConstants.COMPACT_CHANGE_SPLICE, rootId, ns,
+                        Json.create(0), Json.create(1)));
+        Assert.assertEquals(1, list.length());
+        Assert.assertEquals("b", list.get(0));
+
+        TreeChangeProcessor.processCompactChange(tree, compactChange(
+                JsonConstants.COMPACT_CHANGE_CLEAR, rootId, ns));
+        Assert.assertEquals(0, list.length());
+    }
+
+    private static JsonArray compactChange(int type, int node, int ns,
+            JsonValue... values) {
+        JsonArray json = Json.createArray();
+        json.set(0, type);
+        json.set(1, node);
+        json.set(2, ns);
+        for (JsonValue value : values) {
+            json.set(json.length(), value);
+        }
+        return json;
+    }
+
     private static JsonArray toArray(JsonValue... changes) {
         return Arrays.stream(changes).collect(JsonUtils.asArray());
     }
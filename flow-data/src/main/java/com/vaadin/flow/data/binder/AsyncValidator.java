@@ -0,0 +1,84 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.vaadin.flow.data.binder;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * A functional interface for validators that complete their validation
+ * asynchronously, for instance because the validation needs a slow backend
+ * call. The validation result is delivered through a
+ * {@link CompletableFuture}.
+ * <p>
+ * For instance, the following validator checks in a background thread that a
+ * user name is not already taken:
+ *
+ * <pre>
+ * AsyncValidator&lt;String&gt; v = (name, context, executor) -&gt; CompletableFuture
+ *         .supplyAsync(() -&gt; userService.exists(name)
+ *                 ? ValidationResult.error("name is taken")
+ *                 : ValidationResult.ok(), executor);
+ * </pre>
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ *
+ * @param <T>
+ *            the type of the value to validate
+ *
+ * @see Binder.BindingBuilder#withAsyncValidator(AsyncValidator)
+ * @see Binder#setValidationExecutor(Executor)
+ */
+@FunctionalInterface
+public interface AsyncValidator<T> extends Serializable {
+
+    /**
+     * Starts validating the given value. The returned future is completed
+     * with a {@code ValidationResult} representing the outcome of the
+     * validation.
+     *
+     * @param value
+     *            the input value to validate
+     * @param context
+     *            the value context for validation
+     * @param executor
+     *            the executor configured for the binder, which should be used
+     *            for running any blocking validation logic
+     * @return a future for the validation result
+     */
+    CompletableFuture<ValidationResult> apply(T value, ValueContext context,
+            Executor executor);
+
+    /**
+     * Builds an asynchronous validator that runs the given synchronous
+     * validator using the executor configured for the binder.
+     *
+     * @param validator
+     *            the validator to run asynchronously, not {@code null}
+     * @param <T>
+     *            the value type
+     * @return the asynchronous validator
+     */
+    static <T> AsyncValidator<T> from(Validator<T> validator) {
+        Objects.requireNonNull(validator, "validator cannot be null");
+        return (value, context, executor) -> CompletableFuture
+                .supplyAsync(() -> validator.apply(value, context), executor);
+    }
+}
@@ -45,6 +45,8 @@ public class BeanValidationBinder<BEAN> extends Binder<BEAN> {
 
     private RequiredFieldConfigurator requiredConfigurator = RequiredFieldConfigurator.DEFAULT;
 
+    private boolean asyncBeanValidation;
+
     /**
      * Creates a new binder that uses reflection based on the provided bean type
      * to resolve bean properties. It assumes that JSR-303 bean validation
@@ -99,6 +101,38 @@ public class BeanValidationBinder<BEAN> extends Binder<BEAN> {
         return requiredConfigurator;
     }
 
+    /**
+     * Sets whether the {@link BeanValidator} of bindings defined after this
+     * call are run asynchronously using the
+     * {@link #setValidationExecutor(java.util.concurrent.Executor) validation
+     * executor} of this binder. This avoids blocking the request thread for
+     * constraints that are slow to check, e.g. constraints that query a
+     * database.
+     * <p>
+     * By default bean validation is run synchronously.
+     *
+     * @see BindingBuilder#withAsyncValidator(Validator)
+     *
+     * @param asyncBeanValidation
+     *            <code>true</code> to run bean validation asynchronously,
+     *            <code>false</code> to run it synchronously
+     */
+    public void setAsyncBeanValidation(boolean asyncBeanValidation) {
+        this.asyncBeanValidation = asyncBeanValidation;
+    }
+
+    /**
+     * Gets whether bean validation of new bindings is run asynchronously.
+     *
+     * @see #setAsyncBeanValidation(boolean)
+     *
+     * @return <code>true</code> if bean validation is run asynchronously,
+     *         <code>false</code> if it is run synchronously
+     */
+    public boolean isAsyncBeanValidation() {
+        return asyncBeanValidation;
+    }
+
     @Override
     protected BindingBuilder<BEAN, ?> configureBinding(
             BindingBuilder<BEAN, ?> binding,
@@ -109,6 +143,9 @@ public class BeanValidationBinder<BEAN> extends Binder<BEAN> {
         if (requiredConfigurator != null) {
             configureRequired(binding, definition, validator);
         }
+        if (asyncBeanValidation) {
+            return binding.withAsyncValidator(validator);
+        }
         return binding.withValidator(validator);
     }
 
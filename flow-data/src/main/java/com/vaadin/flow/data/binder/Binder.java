@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -32,6 +33,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -47,6 +53,7 @@ import com.vaadin.flow.component.HasValue;
 import com.vaadin.flow.component.HasValue.ValueChangeEvent;
 import com.vaadin.flow.component.HasValue.ValueChangeListener;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.data.converter.Converter;
 import com.vaadin.flow.data.converter.StringToIntegerConverter;
 import com.vaadin.flow.data.validator.BeanValidator;
@@ -55,6 +62,9 @@ import com.vaadin.flow.function.SerializableFunction;
 import com.vaadin.flow.function.SerializablePredicate;
 import com.vaadin.flow.function.ValueProvider;
 import com.vaadin.flow.internal.ReflectTools;
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.server.ErrorEvent;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.shared.Registration;
 
 /**
@@ -454,6 +464,79 @@ public class Binder<BEAN> implements Serializable {
                     errorLevel));
         }
 
+        /**
+         * Adds an asynchronous validator to this binding. Asynchronous
+         * validators are started when the field value changes and all
+         * synchronous validators and converters pass. The results are applied
+         * using {@link UI#access(com.vaadin.flow.server.Command)}, or
+         * {@link VaadinSession#access(com.vaadin.flow.server.Command)} if there
+         * is no current UI. Without a current UI or session, validation must
+         * complete in the thread that changed the field value, e.g. by using a
+         * validator that completes synchronously. Results completed in other
+         * threads are then ignored, since nothing would guard the binder
+         * against concurrent access.
+         * <p>
+         * A validator that fails with an exception makes the field invalid,
+         * and the exception is passed to the error handler of the session.
+         * <p>
+         * When a bean has been set using {@link Binder#setBean(Object)}, the
+         * field value is written to the bean only after all asynchronous
+         * validators have passed. A validation that is still running when the
+         * field value changes again is cancelled and its result is ignored.
+         * <p>
+         * Completed results are also taken into account by
+         * {@link Binder#validate()} and {@link Binder#writeBean(Object)} as
+         * long as the field still has the validated value. These methods do
+         * not wait for pending validations, but report the binding as invalid
+         * while its validation is pending.
+         *
+         * @see Binder#setValidationExecutor(java.util.concurrent.Executor)
+         * @see Binder#isValidationPending()
+         *
+         * @param validator
+         *            the asynchronous validator to add, not null
+         * @return this binding, for chaining
+         * @throws IllegalStateException
+         *             if {@code bind} has already been called
+         */
+        BindingBuilder<BEAN, TARGET> withAsyncValidator(
+                AsyncValidator<? super TARGET> validator);
+
+        /**
+         * A convenience method to add a validator to this binding that is run
+         * asynchronously using the executor of the binder. This is useful for
+         * validators that are slow to run, such as {@link BeanValidator}.
+         *
+         * @see #withAsyncValidator(AsyncValidator)
+         * @see AsyncValidator#from(Validator)
+         *
+         * @param validator
+         *            the validator to run asynchronously, not null
+         * @return this binding, for chaining
+         * @throws IllegalStateException
+         *             if {@code bind} has already been called
+         */
+        default BindingBuilder<BEAN, TARGET> withAsyncValidator(
+                Validator<? super TARGET> validator) {
+            return withAsyncValidator(AsyncValidator.from(validator));
+        }
+
+        /**
+         * Declares that the validators of this binding depend on the values of
+         * the given fields. The binding is validated again whenever the value
+         * of one of the fields changes, which is useful for validators
+         * comparing the values of several fields.
+         *
+         * @param fields
+         *            the fields the validators of this binding depend on, not
+         *            null
+         * @return this binding, for chaining
+         * @throws IllegalStateException
+         *             if {@code bind} has already been called
+         */
+        BindingBuilder<BEAN, TARGET> withValidationDependencies(
+                HasValue<?, ?>... fields);
+
         /**
          * Maps the binding to another data type using the given
          * {@link Converter}.
@@ -738,6 +821,10 @@ public class Binder<BEAN> implements Serializable {
          */
         private Converter<FIELDVALUE, ?> converterValidatorChain;
 
+        private final List<AsyncValidationStep<FIELDVALUE, ?>> asyncValidators = new ArrayList<>();
+
+        private final Set<HasValue<?, ?>> validationDependencies = new HashSet<>();
+
         /**
          * Creates a new binding builder associated with the given field.
          * Initializes the builder with the given converter chain and status
@@ -850,6 +937,28 @@ public class Binder<BEAN> implements Serializable {
             return this;
         }
 
+        @Override
+        public BindingBuilder<BEAN, TARGET> withAsyncValidator(
+                AsyncValidator<? super TARGET> validator) {
+            checkUnbound();
+            Objects.requireNonNull(validator, "validator cannot be null");
+
+            asyncValidators.add(new AsyncValidationStep<>(
+                    (Converter<FIELDVALUE, TARGET>) converterValidatorChain,
+                    validator));
+            return this;
+        }
+
+        @Override
+        public BindingBuilder<BEAN, TARGET> withValidationDependencies(
+                HasValue<?, ?>... fields) {
+            checkUnbound();
+            Objects.requireNonNull(fields, "fields cannot be null");
+
+            validationDependencies.addAll(Arrays.asList(fields));
+            return this;
+        }
+
         @Override
         public <NEWTARGET> BindingBuilder<BEAN, NEWTARGET> withConverter(
                 Converter<TARGET, NEWTARGET> converter) {
@@ -990,6 +1099,25 @@ public class Binder<BEAN> implements Serializable {
          */
         private final Converter<FIELDVALUE, TARGET> converterValidatorChain;
 
+        private final List<AsyncValidationStep<FIELDVALUE, ?>> asyncValidators;
+
+        private final Set<HasValue<?, ?>> validationDependencies;
+
+        /*
+         * Asynchronous validations still running for the latest field value,
+         * identified by the round number so that results of superseded rounds
+         * can be ignored.
+         */
+        private transient List<CompletableFuture<ValidationResult>> pendingAsyncValidations;
+        private int asyncValidationRound;
+
+        /*
+         * The combined result of the asynchronous validators, which is only
+         * valid as long as the field has the validated value.
+         */
+        private FIELDVALUE asyncValidatedValue;
+        private ValidationResult asyncValidationResult;
+
         public BindingImpl(BindingBuilderImpl<BEAN, FIELDVALUE, TARGET> builder,
                 ValueProvider<BEAN, TARGET> getter,
                 Setter<BEAN, TARGET> setter) {
@@ -997,6 +1125,9 @@ public class Binder<BEAN> implements Serializable {
             field = builder.field;
             statusHandler = builder.statusHandler;
             converterValidatorChain = ((Converter<FIELDVALUE, TARGET>) builder.converterValidatorChain);
+            asyncValidators = new ArrayList<>(builder.asyncValidators);
+            validationDependencies = new HashSet<>(
+                    builder.validationDependencies);
 
             onValueChange = getField().addValueChangeListener(
                     event -> handleFieldValueChange(event));
@@ -1033,15 +1164,30 @@ public class Binder<BEAN> implements Serializable {
                     "This Binding is no longer attached to a Binder");
             BindingValidationStatus<TARGET> status = doValidation();
             if (fireEvent) {
-                getBinder().getValidationStatusHandler()
-                        .statusChange(new BinderValidationStatus<>(getBinder(),
-                                Collections.singletonList(status),
-                                Collections.emptyList()));
-                getBinder().fireStatusChangeEvent(status.isError());
+                fireValidationStatus(status);
             }
             return status;
         }
 
+        /**
+         * Validates the field value like {@link #validate()}, but treats
+         * asynchronous validation still running as passed. Used for showing
+         * the status of the other validators while waiting for the result,
+         * which is shown once the validation completes.
+         */
+        private void validateIgnoringPending() {
+            fireValidationStatus(toValidationStatus(doConversion(true)));
+        }
+
+        private void fireValidationStatus(
+                BindingValidationStatus<TARGET> status) {
+            getBinder().getValidationStatusHandler()
+                    .statusChange(new BinderValidationStatus<>(getBinder(),
+                            Collections.singletonList(status),
+                            Collections.emptyList()));
+            getBinder().fireStatusChangeEvent(status.isError());
+        }
+
         /**
          * Removes this binding from its binder and unregisters the
          * {@code ValueChangeListener} from any bound {@code HasValue}.
@@ -1049,6 +1195,8 @@ public class Binder<BEAN> implements Serializable {
          */
         @Override
         public void unbind() {
+            resetAsyncValidation();
+
             if (onValueChange != null) {
                 onValueChange.remove();
                 onValueChange = null;
@@ -1070,9 +1218,171 @@ public class Binder<BEAN> implements Serializable {
          * @return the result of the conversion
          */
         private Result<TARGET> doConversion() {
+            return doConversion(false);
+        }
+
+        /**
+         * Returns the field value run through all converters and validators,
+         * including the result of the asynchronous validators.
+         *
+         * @param ignorePending
+         *            <code>true</code> to not fail if asynchronous validation
+         *            is still running for the field value, <code>false</code>
+         *            to fail in that case
+         * @return the conversion result
+         */
+        private Result<TARGET> doConversion(boolean ignorePending) {
             FIELDVALUE fieldValue = field.getValue();
-            return converterValidatorChain.convertToModel(fieldValue,
-                    createValueContext());
+            Result<TARGET> result = converterValidatorChain
+                    .convertToModel(fieldValue, createValueContext());
+
+            if (!ignorePending && isValidationPending()) {
+                // The value must not be written before it has been validated
+                return result.flatMap(value -> Result
+                        .error(ASYNC_VALIDATION_PENDING_MESSAGE));
+            }
+
+            ValidationResult asyncResult = asyncValidationResult;
+            if (asyncResult != null
+                    && Objects.equals(fieldValue, asyncValidatedValue)) {
+                result = result.flatMap(
+                        value -> new ValidationResultWrap<>(value, asyncResult));
+            }
+            return result;
+        }
+
+        /**
+         * Starts the asynchronous validators of this binding for the current
+         * field value unless they have already been run for it. Validations
+         * still running for a previous value are cancelled.
+         *
+         * @return <code>true</code> if validation was started and the value
+         *         should not be written before it completes,
+         *         <code>false</code> if there is nothing to wait for
+         */
+        private boolean startAsyncValidation() {
+            if (asyncValidators.isEmpty()) {
+                return false;
+            }
+            FIELDVALUE value = field.getValue();
+            if (asyncValidationResult != null
+                    && Objects.equals(value, asyncValidatedValue)) {
+                return false;
+            }
+            resetAsyncValidation();
+
+            ValueContext context = createValueContext();
+            if (converterValidatorChain.convertToModel(value, context)
+                    .isError()) {
+                // Synchronous errors are reported without waiting
+                return false;
+            }
+
+            int round = asyncValidationRound;
+            Executor executor = getBinder().getValidationExecutor();
+            List<CompletableFuture<ValidationResult>> futures = asyncValidators
+                    .stream().map(step -> step.validate(value, context,
+                            executor))
+                    .collect(Collectors.toList());
+            pendingAsyncValidations = futures;
+
+            UI ui = UI.getCurrent();
+            VaadinSession session = ui == null ? VaadinSession.getCurrent()
+                    : null;
+            Thread thread = Thread.currentThread();
+            CompletableFuture
+                    .allOf(futures.toArray(new CompletableFuture<?>[0]))
+                    .whenComplete((ignore, throwable) -> {
+                        Command command = () -> completeAsyncValidation(round,
+                                value, futures, throwable);
+                        if (ui != null) {
+                            try {
+                                ui.access(command);
+                            } catch (UIDetachedException e) {
+                                // The result is no longer relevant
+                            }
+                        } else if (session != null) {
+                            session.access(command);
+                        } else if (Thread.currentThread() == thread) {
+                            command.execute();
+                        } else {
+                            // Nothing guards the binder against concurrent
+                            // access from this thread
+                            getLogger().error(
+                                    "Asynchronous validation of {} completed "
+                                            + "in another thread without a "
+                                            + "current UI or session, "
+                                            + "ignoring the result",
+                                    field);
+                        }
+                    });
+            return true;
+        }
+
+        private void completeAsyncValidation(int round, FIELDVALUE value,
+                List<CompletableFuture<ValidationResult>> futures,
+                Throwable throwable) {
+            if (round != asyncValidationRound || binder == null) {
+                // Superseded by a newer value or unbound
+                return;
+            }
+            pendingAsyncValidations = null;
+            Throwable cause = throwable instanceof CompletionException
+                    && throwable.getCause() != null ? throwable.getCause()
+                            : throwable;
+            if (cause instanceof CancellationException) {
+                return;
+            }
+
+            asyncValidatedValue = value;
+            if (cause != null) {
+                // Shown as a validation error instead of writing the value
+                asyncValidationResult = ValidationResult
+                        .error(ASYNC_VALIDATION_FAILED_MESSAGE);
+                reportAsyncValidationFailure(cause);
+            } else {
+                asyncValidationResult = futures.stream()
+                        .map(CompletableFuture::join)
+                        .filter(ValidationResult::isError).findFirst()
+                        .orElseGet(ValidationResult::ok);
+            }
+
+            if (Objects.equals(field.getValue(), value)) {
+                getBinder().writeChangesOrValidate(this);
+            }
+        }
+
+        private void reportAsyncValidationFailure(Throwable cause) {
+            VaadinSession session = VaadinSession.getCurrent();
+            if (session != null && session.getErrorHandler() != null) {
+                session.getErrorHandler().error(new ErrorEvent(cause));
+            } else {
+                getLogger().error("Asynchronous validation of {} failed",
+                        field, cause);
+            }
+        }
+
+        /**
+         * Cancels any pending asynchronous validation and discards the result
+         * of the previous one.
+         */
+        private void resetAsyncValidation() {
+            asyncValidationRound++;
+            if (pendingAsyncValidations != null) {
+                pendingAsyncValidations
+                        .forEach(future -> future.cancel(false));
+                pendingAsyncValidations = null;
+            }
+            asyncValidatedValue = null;
+            asyncValidationResult = null;
+        }
+
+        private boolean isValidationPending() {
+            return pendingAsyncValidations != null;
+        }
+
+        private boolean dependsOn(HasValue<?, ?> otherField) {
+            return validationDependencies.contains(otherField);
         }
 
         private BindingValidationStatus<TARGET> toValidationStatus(
@@ -1124,6 +1434,7 @@ public class Binder<BEAN> implements Serializable {
         private void initFieldValue(BEAN bean, boolean writeBackChangedValues) {
             assert bean != null;
             assert onValueChange != null;
+            resetAsyncValidation();
             valueInit = true;
             try {
                 TARGET originalValue = getter.apply(bean);
@@ -1200,6 +1511,7 @@ public class Binder<BEAN> implements Serializable {
 
         @Override
         public void read(BEAN bean) {
+            resetAsyncValidation();
             field.setValue(convertToFieldType(getter.apply(bean)));
         }
 
@@ -1227,6 +1539,10 @@ public class Binder<BEAN> implements Serializable {
         public Setter<BEAN, TARGET> getSetter() {
             return setter;
         }
+
+        private static Logger getLogger() {
+            return LoggerFactory.getLogger(Binder.class.getName());
+        }
     }
 
     /**
@@ -1265,6 +1581,41 @@ public class Binder<BEAN> implements Serializable {
 
     }
 
+    /**
+     * An asynchronous validator together with the converter and validator
+     * chain leading to the point where it was added, so that the validator
+     * receives a value of the type it was declared for.
+     *
+     * @param <FIELDVALUE>
+     *            the value type of the field
+     * @param <T>
+     *            the type of the validated value
+     */
+    private static class AsyncValidationStep<FIELDVALUE, T>
+            implements Serializable {
+
+        private final Converter<FIELDVALUE, T> chain;
+        private final AsyncValidator<? super T> validator;
+
+        private AsyncValidationStep(Converter<FIELDVALUE, T> chain,
+                AsyncValidator<? super T> validator) {
+            this.chain = chain;
+            this.validator = validator;
+        }
+
+        private CompletableFuture<ValidationResult> validate(FIELDVALUE value,
+                ValueContext context, Executor executor) {
+            Result<T> result = chain.convertToModel(value, context);
+            if (result.isError()) {
+                return CompletableFuture.completedFuture(ValidationResult
+                        .error(result.getMessage().orElse("")));
+            }
+            return validator.apply(
+                    result.getOrThrow(IllegalStateException::new), context,
+                    executor);
+        }
+    }
+
     /**
      * Converter decorator-strategy pattern to use initially provided "delegate"
      * converter to execute its logic until the {@code setIdentity()} method is
@@ -1305,6 +1656,10 @@ public class Binder<BEAN> implements Serializable {
         }
     }
 
+    private static final String ASYNC_VALIDATION_PENDING_MESSAGE = "Validation is still pending";
+
+    private static final String ASYNC_VALIDATION_FAILED_MESSAGE = "Validation failed";
+
     private final PropertySet<BEAN> propertySet;
 
     /**
@@ -1322,6 +1677,21 @@ public class Binder<BEAN> implements Serializable {
 
     private final List<Validator<? super BEAN>> validators = new ArrayList<>();
 
+    /**
+     * The fields each bean level validator depends on, in the same order as
+     * {@link #validators}, or <code>null</code> for validators depending on
+     * all fields.
+     */
+    private final List<Set<HasValue<?, ?>>> validatorDependencies = new ArrayList<>();
+
+    /**
+     * The latest bean level validation results for the current bean, in the
+     * same order as {@link #validators}, or <code>null</code> if not known.
+     */
+    private List<ValidationResult> beanValidationResults;
+
+    private transient Executor validationExecutor;
+
     private final Map<HasValue<?, ?>, ConverterDelegate<?>> initialConverters = new IdentityHashMap<>(
             4);
 
@@ -1422,8 +1792,51 @@ public class Binder<BEAN> implements Serializable {
      */
     protected void handleFieldValueChange(Binding<BEAN, ?> binding) {
         changedBindings.add(binding);
+        if (binding instanceof BindingImpl
+                && ((BindingImpl<BEAN, ?, ?>) binding).startAsyncValidation()) {
+            // Show the status of the synchronous validators right away, the
+            // value is written once the asynchronous validators complete
+            ((BindingImpl<BEAN, ?, ?>) binding).validateIgnoringPending();
+        } else {
+            writeChangesOrValidate(binding);
+        }
+
+        // Validate bindings depending on the changed field. Changed bindings
+        // have already been validated when writing to the bean.
+        HasValue<?, ?> field = binding.getField();
+        getBindings().stream()
+                .filter(other -> other != binding && other.dependsOn(field))
+                .filter(other -> getBean() == null
+                        || !changedBindings.contains(other))
+                .forEach(BindingImpl::validateIgnoringPending);
+    }
+
+    /**
+     * Writes the changed bindings to the bean if using
+     * {@link #setBean(Object)}, or validates the given binding if not.
+     *
+     * @param binding
+     *            the binding whose value has been changed
+     */
+    private void writeChangesOrValidate(Binding<BEAN, ?> binding) {
         if (getBean() != null) {
-            doWriteIfValid(getBean(), changedBindings);
+            /*
+             * Bindings still waiting for asynchronous validators are left in
+             * the changed bindings and written once the validators complete.
+             */
+            List<Binding<BEAN, ?>> validated = changedBindings.stream()
+                    .filter(changed -> !isValidationPending(changed))
+                    .collect(Collectors.toList());
+            if (validated.isEmpty()) {
+                // Nothing to write before the validators complete
+                return;
+            }
+            // A copy, since doWriteIfValid clears the given bindings once
+            // they are written
+            if (doWriteIfValid(getBean(), new ArrayList<>(validated))
+                    .isOk()) {
+                changedBindings.removeAll(validated);
+            }
         } else {
             binding.validate();
         }
@@ -1690,6 +2103,7 @@ public class Binder<BEAN> implements Serializable {
             clearFields();
         } else {
             changedBindings.clear();
+            beanValidationResults = null;
             getBindings()
                     .forEach(binding -> {
                         // Some bindings may have been removed from binder
@@ -1796,7 +2210,7 @@ public class Binder<BEAN> implements Serializable {
             bindings.forEach(binding -> ((BindingImpl<BEAN, ?, ?>) binding)
                     .writeFieldValue(bean));
             // Now run bean level validation against the updated bean
-            binderResults = validateBean(bean);
+            binderResults = validateBean(bean, bindings);
             if (binderResults.stream().anyMatch(ValidationResult::isError)) {
                 // Bean validator failed, revert values
                 restoreBeanState(bean, oldValues);
@@ -1884,6 +2298,36 @@ public class Binder<BEAN> implements Serializable {
     public Binder<BEAN> withValidator(Validator<? super BEAN> validator) {
         Objects.requireNonNull(validator, "validator cannot be null");
         validators.add(validator);
+        validatorDependencies.add(null);
+        beanValidationResults = null;
+        return this;
+    }
+
+    /**
+     * Adds a bean level validator that only depends on the values of the given
+     * fields.
+     * <p>
+     * When a field value changes and the changes are written to the bean set
+     * using {@link #setBean(Object)}, the validator is only run again if one
+     * of the changed fields is among its dependencies. Otherwise its previous
+     * result for the bean is reused, which avoids running expensive
+     * validators on every change in big forms. The validator is always run by
+     * {@link #validate()}.
+     *
+     * @see #withValidator(Validator)
+     *
+     * @param validator
+     *            the validator to add, not null
+     * @param dependencies
+     *            the fields whose values the validator depends on, not null
+     * @return this binder, for chaining
+     */
+    public Binder<BEAN> withValidator(Validator<? super BEAN> validator,
+            HasValue<?, ?>... dependencies) {
+        Objects.requireNonNull(dependencies, "dependencies cannot be null");
+        withValidator(validator);
+        validatorDependencies.set(validatorDependencies.size() - 1,
+                new HashSet<>(Arrays.asList(dependencies)));
         return this;
     }
 
@@ -2066,10 +2510,100 @@ public class Binder<BEAN> implements Serializable {
      */
     private List<ValidationResult> validateBean(BEAN bean) {
         Objects.requireNonNull(bean, "bean cannot be null");
-        return validators.stream()
+        List<ValidationResult> results = validators.stream()
                 .map(validator -> validator.apply(bean, new ValueContext()))
                 .collect(Collectors.collectingAndThen(Collectors.toList(),
                         Collections::unmodifiableList));
+        if (bean == getBean()) {
+            beanValidationResults = results;
+        }
+        return results;
+    }
+
+    /**
+     * Validates the {@code bean} after the given bindings have been written to
+     * it. Validators declaring dependencies that don't include any of the
+     * fields of the bindings are not run again if their previous result for
+     * the current bean is known.
+     *
+     * @param bean
+     *            the bean to validate
+     * @param changed
+     *            the bindings that have been written to the bean
+     * @return a list of validation errors or an empty list if validation
+     *         succeeded
+     */
+    private List<ValidationResult> validateBean(BEAN bean,
+            Collection<Binding<BEAN, ?>> changed) {
+        if (bean != getBean() || beanValidationResults == null) {
+            return validateBean(bean);
+        }
+        Set<HasValue<?, ?>> changedFields = changed.stream()
+                .map(Binding::getField).collect(Collectors.toSet());
+
+        List<ValidationResult> results = new ArrayList<>(validators.size());
+        for (int i = 0; i < validators.size(); i++) {
+            Set<HasValue<?, ?>> dependencies = validatorDependencies.get(i);
+            if (dependencies != null
+                    && Collections.disjoint(dependencies, changedFields)) {
+                results.add(beanValidationResults.get(i));
+            } else {
+                results.add(
+                        validators.get(i).apply(bean, new ValueContext()));
+            }
+        }
+        beanValidationResults = Collections.unmodifiableList(results);
+        return beanValidationResults;
+    }
+
+    /**
+     * Sets the executor used for running asynchronous validators added using
+     * {@link BindingBuilder#withAsyncValidator(Validator)}, and passed to
+     * validators added using
+     * {@link BindingBuilder#withAsyncValidator(AsyncValidator)}.
+     * <p>
+     * The executor is not serialized together with the binder. After
+     * deserialization, the default executor is used until a new executor is
+     * set.
+     *
+     * @param executor
+     *            the executor to use, or <code>null</code> to use the common
+     *            fork join pool
+     */
+    public void setValidationExecutor(Executor executor) {
+        validationExecutor = executor;
+    }
+
+    /**
+     * Gets the executor used for running asynchronous validators.
+     *
+     * @see #setValidationExecutor(Executor)
+     *
+     * @return the executor, not <code>null</code>
+     */
+    public Executor getValidationExecutor() {
+        if (validationExecutor == null) {
+            return ForkJoinPool.commonPool();
+        }
+        return validationExecutor;
+    }
+
+    private static boolean isValidationPending(Binding<?, ?> binding) {
+        return binding instanceof BindingImpl
+                && ((BindingImpl<?, ?, ?>) binding).isValidationPending();
+    }
+
+    /**
+     * Checks whether any asynchronous validators are still running for the
+     * current field values.
+     *
+     * @see BindingBuilder#withAsyncValidator(AsyncValidator)
+     *
+     * @return <code>true</code> if there are pending asynchronous
+     *         validations, <code>false</code> otherwise
+     */
+    public boolean isValidationPending() {
+        return getBindings().stream().anyMatch(BindingImpl::isValidationPending);
     }
 
     /**
@@ -2445,6 +2979,7 @@ public class Binder<BEAN> implements Serializable {
 
     private void doRemoveBean(boolean fireStatusEvent) {
         changedBindings.clear();
+        beanValidationResults = null;
         if (bean != null) {
             bean = null;
         }
@@ -0,0 +1,425 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.vaadin.flow.function.ValueProvider;
+
+/**
+ * A {@link DataKeyMapper} that generates compact keys from a numeric counter
+ * and optionally limits the number of mapped objects.
+ * <p>
+ * Keys are rendered in base 36 and the objects are stored by the numeric value
+ * of their key, so that no key strings need to be retained by the mapper. When
+ * a capacity is set, mapping a new object evicts the least recently used
+ * mappings that exceed the capacity. A mapping is used whenever its key is
+ * requested or the object is looked up by the key. Keys can be pinned with
+ * {@link #pin(String)}, and pinned mappings are never evicted even if the
+ * capacity is exceeded.
+ * <p>
+ * The mapper is not used by default. It can be taken into use with
+ * {@link DataCommunicator#setKeyMapper(DataKeyMapper)}, which pins the keys of
+ * the items that are active on the client until the client has confirmed
+ * their removal. Note that a capacity smaller than the number of other items
+ * the client may still refer to, such as the items in a selection, causes keys
+ * sent by the client to no longer resolve to any object.
+ *
+ * @param <V>
+ *            the type of mapped objects
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+public class CompactKeyMapper<V> implements DataKeyMapper<V> {
+
+    private static final String NULL_KEY = "null";
+
+    private long lastKey = 0;
+
+    private int capacity = 0;
+
+    // Insertion order is the order of use, see LinkedHashMap#accessOrder
+    private LinkedHashMap<Object, Long> objectIdKeyMap = createIdKeyMap();
+
+    private final LongObjectMap<V> keyObjectMap = new LongObjectMap<>();
+
+    private final Set<Long> pinnedKeys = new HashSet<>();
+
+    private ValueProvider<V, Object> identifierGetter;
+
+    /**
+     * Constructs a new unbounded mapper.
+     *
+     * @param identifierGetter
+     *            has to return a unique key for every bean, and the returned
+     *            key has to follow general {@code hashCode()} and
+     *            {@code equals()} contract, see {@link Object#hashCode()} for
+     *            details.
+     */
+    public CompactKeyMapper(ValueProvider<V, Object> identifierGetter) {
+        this.identifierGetter = identifierGetter;
+    }
+
+    /**
+     * Constructs a new unbounded mapper with trivial
+     * {@code identifierGetter}.
+     */
+    public CompactKeyMapper() {
+        this(v -> v);
+    }
+
+    /**
+     * Sets the maximum number of objects to keep mapped. When a new object is
+     * mapped and the capacity is exceeded, the least recently used mappings
+     * that are not pinned are removed. Keys of removed mappings are not
+     * reused.
+     *
+     * @param capacity
+     *            the maximum number of mapped objects, or <code>0</code> for
+     *            no limit
+     */
+    public void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                    "Capacity cannot be negative, got " + capacity);
+        }
+        this.capacity = capacity;
+        evictExcessMappings(capacity);
+    }
+
+    /**
+     * Gets the maximum number of objects to keep mapped.
+     *
+     * @return the maximum number of mapped objects, or <code>0</code> if there
+     *         is no limit
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public String key(V dataObject) {
+        if (dataObject == null) {
+            return NULL_KEY;
+        }
+
+        Object id = identifierGetter.apply(dataObject);
+        Long key = objectIdKeyMap.get(id);
+        if (key != null) {
+            return encode(key.longValue());
+        }
+
+        // Make room before mapping so that the new mapping is never evicted
+        evictExcessMappings(capacity - 1);
+        long newKey = createKey();
+        objectIdKeyMap.put(id, Long.valueOf(newKey));
+        keyObjectMap.put(newKey, dataObject);
+
+        return encode(newKey);
+    }
+
+    @Override
+    public boolean has(V dataObject) {
+        return objectIdKeyMap.containsKey(identifierGetter.apply(dataObject));
+    }
+
+    @Override
+    public V get(String key) {
+        long numericKey = decode(key);
+        V value = keyObjectMap.get(numericKey);
+        if (value != null && capacity > 0) {
+            // Mark the mapping as used
+            objectIdKeyMap.get(identifierGetter.apply(value));
+        }
+        return value;
+    }
+
+    @Override
+    public void remove(V dataObject) {
+        Long key = objectIdKeyMap.remove(identifierGetter.apply(dataObject));
+        if (key != null) {
+            keyObjectMap.remove(key.longValue());
+            pinnedKeys.remove(key);
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        objectIdKeyMap.clear();
+        keyObjectMap.clear();
+        pinnedKeys.clear();
+    }
+
+    /**
+     * Pins the mapping of the given key so that it is not evicted when the
+     * capacity is exceeded. The mapping stays pinned until it is unpinned or
+     * removed. Does nothing if the key is not mapped.
+     *
+     * @param key
+     *            the key to pin
+     */
+    public void pin(String key) {
+        long numericKey = decode(key);
+        if (keyObjectMap.get(numericKey) != null) {
+            pinnedKeys.add(Long.valueOf(numericKey));
+        }
+    }
+
+    /**
+     * Unpins the mapping of the given key so that it can again be evicted when
+     * the capacity is exceeded.
+     *
+     * @param key
+     *            the key to unpin
+     */
+    public void unpin(String key) {
+        if (pinnedKeys.remove(Long.valueOf(decode(key)))) {
+            evictExcessMappings(capacity);
+        }
+    }
+
+    /**
+     * Checks if the mapping of the given key is pinned.
+     *
+     * @param key
+     *            the key to check
+     * @return <code>true</code> if the key is pinned, <code>false</code>
+     *         otherwise
+     */
+    public boolean isPinned(String key) {
+        return pinnedKeys.contains(Long.valueOf(decode(key)));
+    }
+
+    /**
+     * Checks if the given key is mapped to an object.
+     *
+     * @param key
+     *            the key to check
+     * @return <code>true</code> if the key is currently mapped,
+     *         <code>false</code> otherwise
+     */
+    public boolean containsKey(String key) {
+        return keyObjectMap.get(decode(key)) != null;
+    }
+
+    @Override
+    public void refresh(V dataObject) {
+        Long key = objectIdKeyMap.get(identifierGetter.apply(dataObject));
+        if (key != null) {
+            keyObjectMap.put(key.longValue(), dataObject);
+        }
+    }
+
+    @Override
+    public void setIdentifierGetter(ValueProvider<V, Object> identifierGetter) {
+        if (this.identifierGetter != identifierGetter) {
+            this.identifierGetter = identifierGetter;
+            LinkedHashMap<Object, Long> oldMap = objectIdKeyMap;
+            objectIdKeyMap = createIdKeyMap();
+            for (Long key : oldMap.values()) {
+                V value = keyObjectMap.get(key.longValue());
+                objectIdKeyMap.put(identifierGetter.apply(value), key);
+            }
+        }
+    }
+
+    private long createKey() {
+        long key = ++lastKey;
+        if (NULL_KEY.equals(encode(key))) {
+            // Never hand out the key used for null
+            key = ++lastKey;
+        }
+        return key;
+    }
+
+    private void evictExcessMappings(int limit) {
+        if (capacity == 0) {
+            return;
+        }
+        Iterator<Map.Entry<Object, Long>> iterator = objectIdKeyMap.entrySet()
+                .iterator();
+        // Pinned keys are always mapped, so only unpinned mappings are counted
+        while (objectIdKeyMap.size() > limit
+                && objectIdKeyMap.size() > pinnedKeys.size()) {
+            Long key = iterator.next().getValue();
+            if (!pinnedKeys.contains(key)) {
+                iterator.remove();
+                keyObjectMap.remove(key.longValue());
+            }
+        }
+    }
+
+    private static LinkedHashMap<Object, Long> createIdKeyMap() {
+        return new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    private static String encode(long key) {
+        return Long.toString(key, Character.MAX_RADIX);
+    }
+
+    /**
+     * Decodes a key to its numeric value, or <code>0</code> if the key was not
+     * generated by this mapper.
+     */
+    private static long decode(String key) {
+        if (key == null || key.isEmpty() || key.length() > 12) {
+            return 0;
+        }
+        long value = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'z') {
+                digit = c - 'a' + 10;
+            } else {
+                return 0;
+            }
+            if (i == 0 && digit == 0) {
+                // Generated keys never have leading zeros
+                return 0;
+            }
+            value = value * Character.MAX_RADIX + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Map from positive long keys to values using open addressing with linear
+     * probing over primitive arrays, so that keys are never boxed.
+     */
+    private static class LongObjectMap<V> implements Serializable {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private long[] keys = new long[INITIAL_CAPACITY];
+
+        private Object[] values = new Object[INITIAL_CAPACITY];
+
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        V get(long key) {
+            if (key <= 0) {
+                return null;
+            }
+            int slot = findSlot(key);
+            return keys[slot] == key ? (V) values[slot] : null;
+        }
+
+        void put(long key, V value) {
+            assert key > 0 : "Key must be positive";
+
+            int slot = findSlot(key);
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+
+            // Keep the load factor at most 0.75
+            if (size * 4 > keys.length * 3) {
+                resize(keys.length * 2);
+            }
+        }
+
+        void remove(long key) {
+            if (key <= 0) {
+                return;
+            }
+            int slot = findSlot(key);
+            if (keys[slot] != key) {
+                return;
+            }
+            size--;
+
+            // Shift following entries of the same probe sequence backwards
+            int mask = keys.length - 1;
+            int free = slot;
+            int current = slot;
+            while (true) {
+                current = (current + 1) & mask;
+                long currentKey = keys[current];
+                if (currentKey == 0) {
+                    break;
+                }
+                int home = hash(currentKey, mask);
+                boolean reachable = free <= current
+                        ? free < home && home <= current
+                        : free < home || home <= current;
+                if (!reachable) {
+                    keys[free] = currentKey;
+                    values[free] = values[current];
+                    free = current;
+                }
+            }
+            keys[free] = 0;
+            values[free] = null;
+
+            // Release memory after a large data set has been scrolled through
+            if (keys.length > INITIAL_CAPACITY && size * 8 < keys.length) {
+                resize(keys.length / 2);
+            }
+        }
+
+        void clear() {
+            keys = new long[INITIAL_CAPACITY];
+            values = new Object[INITIAL_CAPACITY];
+            size = 0;
+        }
+
+        private int findSlot(long key) {
+            int mask = keys.length - 1;
+            int slot = hash(key, mask);
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void resize(int newCapacity) {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+
+            keys = new long[newCapacity];
+            values = new Object[newCapacity];
+
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = findSlot(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int hash(long key, int mask) {
+            // Keys are sequential, spread them to avoid long probe runs
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -101,6 +101,12 @@ public class DataCommunicator<T> implements Serializable {
     private SerializableConsumer<ExecutionContext> flushRequest;
     private SerializableConsumer<ExecutionContext> flushUpdatedDataRequest;
 
+    private int readAhead = 0;
+
+    // Items fetched ahead of the requested range, valid until the next reset
+    private Range readAheadRange = Range.withLength(0, 0);
+    private List<T> readAheadItems = Collections.emptyList();
+
     private static class SizeVerifier<T> implements Consumer<T>, Serializable {
 
         private int size;
@@ -173,6 +179,7 @@ public class DataCommunicator<T> implements Serializable {
         resendEntireRange = true;
         dataGenerator.destroyAllData();
         updatedData.clear();
+        clearReadAheadItems();
         requestFlush();
     }
 
@@ -187,6 +194,7 @@ public class DataCommunicator<T> implements Serializable {
                 "DataCommunicator can not refresh null object");
         getKeyMapper().refresh(data);
         dataGenerator.refreshData(data);
+        clearReadAheadItems();
         updatedData.add(data);
         requestFlushUpdatedData();
     }
@@ -205,6 +213,40 @@ public class DataCommunicator<T> implements Serializable {
         requestFlush();
     }
 
+    /**
+     * Sets the number of items to fetch from the data provider in addition to
+     * the requested range, both before and after it. Items that are fetched
+     * ahead are kept in memory and used when the client requests them, until
+     * the data, the filter or the sorting changes.
+     * <p>
+     * Reading ahead reduces the number of queries made to the data provider
+     * when the client scrolls through the data, at the cost of fetching and
+     * holding items that might never be shown. By default, no items are read
+     * ahead.
+     *
+     * @param readAhead
+     *            the number of items to read ahead in each direction, not
+     *            negative
+     */
+    public void setReadAhead(int readAhead) {
+        if (readAhead < 0) {
+            throw new IllegalArgumentException(
+                    "Read ahead cannot be negative, got " + readAhead);
+        }
+        this.readAhead = readAhead;
+        clearReadAheadItems();
+    }
+
+    /**
+     * Gets the number of items fetched from the data provider in addition to
+     * the requested range, both before and after it.
+     *
+     * @return the number of items read ahead in each direction
+     */
+    public int getReadAhead() {
+        return readAhead;
+    }
+
     /**
      * Gets the current data provider from this DataCommunicator.
      *
@@ -276,6 +318,10 @@ public class DataCommunicator<T> implements Serializable {
      * Sets the {@link DataKeyMapper} used in this {@link DataCommunicator}. Key
      * mapper can be used to map keys sent to the client-side back to their
      * respective data objects.
+     * <p>
+     * By default a {@link KeyMapper} is used. A {@link CompactKeyMapper} can be
+     * set to produce shorter keys and to optionally limit the number of mapped
+     * objects.
      * 
      * @param keyMapper
      *            the keyMapper
@@ -635,9 +681,10 @@ public class DataCommunicator<T> implements Serializable {
 
         // XXX Explicitly refresh anything that is updated
         List<String> activeKeys = new ArrayList<>(range.length());
-        fetchFromProvider(range.getStart(), range.length()).forEach(bean -> {
+        fetchItems(range).forEach(bean -> {
             boolean mapperHasKey = keyMapper.has(bean);
             String key = keyMapper.key(bean);
+            pinKey(key);
             if (mapperHasKey) {
                 // Ensure latest instance from provider is used
                 keyMapper.refresh(bean);
@@ -650,6 +697,58 @@ public class DataCommunicator<T> implements Serializable {
         return new Activation(activeKeys, needsSizeRecheck);
     }
 
+    /**
+     * Keeps the key of an active item mapped until the client has confirmed
+     * its removal, see {@link #doUnregister(Integer)}.
+     */
+    private void pinKey(String key) {
+        if (keyMapper instanceof CompactKeyMapper) {
+            ((CompactKeyMapper<T>) keyMapper).pin(key);
+        }
+    }
+
+    private Stream<T> fetchItems(Range range) {
+        if (readAhead == 0) {
+            return fetchFromProvider(range.getStart(), range.length());
+        }
+        /*
+         * The read ahead range never extends past the known size, so only the
+         * part of the requested range within the size needs to be covered.
+         * Otherwise every request near the end would fetch again.
+         */
+        Range needed = range.restrictTo(Range.withLength(0, assumedSize));
+        if (needed.isEmpty()) {
+            return Stream.empty();
+        }
+        if (!readAheadRange.contains(needed.getStart())
+                || needed.getEnd() > readAheadRange.getEnd()) {
+            /*
+             * Items past the end of the data set are not fetched, but a
+             * shorter result than expected still triggers a new size query
+             * since the requested range is not fully covered.
+             */
+            int start = Math.max(0, range.getStart() - readAhead);
+            int end = Math.max(range.getEnd(),
+                    Math.min(range.getEnd() + readAhead, assumedSize));
+            readAheadItems = fetchFromProvider(start, end - start)
+                    .collect(Collectors.toCollection(ArrayList::new));
+            readAheadRange = Range.withLength(start, readAheadItems.size());
+        }
+        Range available = range.restrictTo(readAheadRange);
+        if (available.isEmpty()) {
+            return Stream.empty();
+        }
+        return readAheadItems
+                .subList(available.getStart() - readAheadRange.getStart(),
+                        available.getEnd() - readAheadRange.getStart())
+                .stream();
+    }
+
+    private void clearReadAheadItems() {
+        readAheadRange = Range.withLength(0, 0);
+        readAheadItems = Collections.emptyList();
+    }
+
     private JsonValue generateJson(T item) {
         JsonObject json = Json.createObject();
         json.put("key", getKeyMapper().key(item));
@@ -15,10 +15,15 @@
  */
 package com.vaadin.flow.data.provider;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.function.SerializableComparator;
@@ -26,6 +31,9 @@ import com.vaadin.flow.function.SerializablePredicate;
 
 /**
  * {@link DataProvider} wrapper for {@link Collection}s.
+ * <p>
+ * Optionally, the filtered and sorted items of the latest query can be cached,
+ * see {@link #setFilteredItemsCached(boolean)}.
  *
  * @param <T>
  *            data type
@@ -40,6 +48,54 @@ public class ListDataProvider<T>
 
     private final Collection<T> backend;
 
+    private int parallelFilteringThreshold = 0;
+
+    private boolean filteredItemsCached = false;
+
+    private transient volatile FilteredItems<T> filteredItems;
+
+    /**
+     * The result of filtering and optionally sorting the backing collection.
+     * The items are never modified after creation.
+     */
+    private static class FilteredItems<T> implements Serializable {
+        private final int backendSize;
+        private final Object queryFilter;
+        private final boolean sorted;
+        private final Comparator<T> querySorting;
+        private final Comparator<T> providerSorting;
+        private final List<T> items;
+
+        private FilteredItems(int backendSize, Object queryFilter,
+                boolean sorted, Comparator<T> querySorting,
+                Comparator<T> providerSorting, List<T> items) {
+            this.backendSize = backendSize;
+            this.queryFilter = queryFilter;
+            this.sorted = sorted;
+            this.querySorting = querySorting;
+            this.providerSorting = providerSorting;
+            this.items = items;
+        }
+
+        private boolean isFilteredBy(int backendSize, Object queryFilter) {
+            return this.backendSize == backendSize
+                    && Objects.equals(this.queryFilter, queryFilter);
+        }
+
+        private boolean isInBackendOrder() {
+            return !sorted || querySorting == null && providerSorting == null;
+        }
+
+        private boolean isSortedBy(Comparator<T> querySorting,
+                Comparator<T> providerSorting) {
+            if (querySorting == null && providerSorting == null) {
+                return isInBackendOrder();
+            }
+            return sorted && this.querySorting == querySorting
+                    && this.providerSorting == providerSorting;
+        }
+    }
+
     /**
      * Constructs a new ListDataProvider.
      * <p>
@@ -65,30 +121,159 @@ public class ListDataProvider<T>
         return backend;
     }
 
+    /**
+     * Sets the number of items in the backing collection from which on filters
+     * are evaluated using a parallel stream. The filters must then be safe to
+     * call concurrently from multiple threads.
+     * <p>
+     * By default, filters are never evaluated in parallel.
+     *
+     * @param parallelFilteringThreshold
+     *            the minimum number of items for filtering in parallel, or
+     *            <code>0</code> to never filter in parallel
+     */
+    public void setParallelFilteringThreshold(int parallelFilteringThreshold) {
+        if (parallelFilteringThreshold < 0) {
+            throw new IllegalArgumentException(
+                    "Threshold cannot be negative, got "
+                            + parallelFilteringThreshold);
+        }
+        this.parallelFilteringThreshold = parallelFilteringThreshold;
+    }
+
+    /**
+     * Gets the number of items in the backing collection from which on filters
+     * are evaluated using a parallel stream.
+     *
+     * @return the minimum number of items for filtering in parallel, or
+     *         <code>0</code> if filters are never evaluated in parallel
+     */
+    public int getParallelFilteringThreshold() {
+        return parallelFilteringThreshold;
+    }
+
+    /**
+     * Sets whether the filtered and sorted items of the latest query are
+     * cached. With the cache, fetching subsequent pages with the same filter
+     * and sorting only needs to slice the cached result.
+     * <p>
+     * The cache is cleared by {@link #refreshAll()} and
+     * {@link #refreshItem(Object)}, and when the number of items in the backing
+     * collection changes. Any other change to the items that affects filtering
+     * or sorting is not noticed, and stale results are returned until one of
+     * those methods is called. The cache should thus only be enabled if the
+     * items are always refreshed after being modified.
+     * <p>
+     * By default, the items are not cached.
+     *
+     * @param filteredItemsCached
+     *            <code>true</code> to cache the filtered and sorted items,
+     *            <code>false</code> to filter and sort them for every query
+     */
+    public void setFilteredItemsCached(boolean filteredItemsCached) {
+        this.filteredItemsCached = filteredItemsCached;
+        filteredItems = null;
+    }
+
+    /**
+     * Gets whether the filtered and sorted items of the latest query are
+     * cached.
+     *
+     * @return <code>true</code> if the filtered and sorted items are cached,
+     *         <code>false</code> otherwise
+     * @see #setFilteredItemsCached(boolean)
+     */
+    public boolean isFilteredItemsCached() {
+        return filteredItemsCached;
+    }
+
     @Override
     public Stream<T> fetch(Query<T, SerializablePredicate<T>> query) {
-        Stream<T> stream = getFilteredStream(query);
+        if (!filteredItemsCached) {
+            Stream<T> stream = getFilteredStream(query, backend.size());
+            Optional<Comparator<T>> comparing = getComparator(
+                    query.getInMemorySorting(), sortOrder);
+            if (comparing.isPresent()) {
+                stream = stream.sorted(comparing.get());
+            }
+            return stream.skip(query.getOffset()).limit(query.getLimit());
+        }
 
-        Optional<Comparator<T>> comparing = Stream
-                .of(query.getInMemorySorting(), sortOrder)
-                .filter(Objects::nonNull)
-                .reduce((c1, c2) -> c1.thenComparing(c2));
+        List<T> items = getFilteredItems(query, true);
+
+        int offset = Math.min(query.getOffset(), items.size());
+        int end = offset + Math.min(query.getLimit(), items.size() - offset);
+        return items.subList(offset, end).stream();
+    }
 
-        if (comparing.isPresent()) {
-            stream = stream.sorted(comparing.get());
+    @Override
+    public int size(Query<T, SerializablePredicate<T>> query) {
+        if (!filteredItemsCached) {
+            return (int) getFilteredStream(query, backend.size()).count();
         }
+        return getFilteredItems(query, false).size();
+    }
 
-        return stream.skip(query.getOffset()).limit(query.getLimit());
+    @Override
+    public void refreshAll() {
+        filteredItems = null;
+        super.refreshAll();
     }
 
     @Override
-    public int size(Query<T, SerializablePredicate<T>> query) {
-        return (int) getFilteredStream(query).count();
+    public void refreshItem(T item) {
+        filteredItems = null;
+        super.refreshItem(item);
+    }
+
+    private List<T> getFilteredItems(Query<T, SerializablePredicate<T>> query,
+            boolean sort) {
+        int backendSize = backend.size();
+        Object queryFilter = query.getFilter().orElse(null);
+        Comparator<T> querySorting = sort ? query.getInMemorySorting() : null;
+        Comparator<T> providerSorting = sort ? sortOrder : null;
+
+        FilteredItems<T> cached = filteredItems;
+        if (cached == null || !cached.isFilteredBy(backendSize, queryFilter)) {
+            cached = null;
+        } else if (!sort || cached.isSortedBy(querySorting, providerSorting)) {
+            return cached.items;
+        }
+
+        List<T> items;
+        if (cached != null && cached.isInBackendOrder()) {
+            // Same filter, only the sorting differs
+            items = new ArrayList<>(cached.items);
+        } else {
+            items = getFilteredStream(query, backendSize)
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+
+        getComparator(querySorting, providerSorting).ifPresent(items::sort);
+
+        items = Collections.unmodifiableList(items);
+        filteredItems = new FilteredItems<>(backendSize, queryFilter, sort,
+                querySorting, providerSorting, items);
+        return items;
+    }
+
+    private static <T> Optional<Comparator<T>> getComparator(
+            Comparator<T> querySorting, Comparator<T> providerSorting) {
+        return Stream.of(querySorting, providerSorting)
+                .filter(Objects::nonNull)
+                .reduce((c1, c2) -> c1.thenComparing(c2));
     }
 
     private Stream<T> getFilteredStream(
-            Query<T, SerializablePredicate<T>> query) {
-        Stream<T> stream = backend.stream();
+            Query<T, SerializablePredicate<T>> query, int backendSize) {
+        Stream<T> stream;
+        if (parallelFilteringThreshold > 0
+                && backendSize >= parallelFilteringThreshold) {
+            // The encounter order is retained when collecting the items
+            stream = backend.parallelStream();
+        } else {
+            stream = backend.stream();
+        }
 
         // Apply our own filters first so that query filters never see the items
         // that would already have been filtered out
@@ -16,14 +16,13 @@
 package com.vaadin.flow.data.provider.hierarchy;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -39,6 +38,14 @@ import com.vaadin.flow.internal.Range;
  * Keeps track of the expanded nodes, and size of of the subtrees for each
  * expanded node.
  * <p>
+ * The flattened hierarchy is indexed lazily: the children of each visible
+ * expanded node are fetched once and kept together with the sizes of their
+ * expanded subtrees. Finding the index of an item or the size of the tree is
+ * logarithmic in the number of children per level, and expanding or
+ * collapsing an item only fetches or discards the affected subtree. The index
+ * is discarded when the filter or sorting changes, or when
+ * {@link #invalidateHierarchy()} is called.
+ * <p>
  * This class is framework internal implementation details, and can be changed /
  * moved at any point. This means that you should not directly use this for
  * anything.
@@ -53,10 +60,14 @@ import com.vaadin.flow.internal.Range;
 public class HierarchyMapper<T, F> implements Serializable {
 
     // childMap is only used for finding parents of items and clean up on
-    // removing children of expanded nodes.
-    private Map<T, Set<T>> childMap = new HashMap<>();
+    // removing children of expanded nodes. Keys are the ids of the parents.
+    private Map<Object, Set<T>> childMap = new HashMap<>();
     private Map<Object, T> parentIdMap = new HashMap<>();
 
+    // Index of the visible part of the hierarchy, mapped by the id of the
+    // parent item, or null for the root level
+    private Map<Object, ChildIndex<T>> childIndexes = new HashMap<>();
+
     private final HierarchicalDataProvider<T, F> provider;
     private F filter;
     private List<QuerySortOrder> backEndSorting;
@@ -64,6 +75,76 @@ public class HierarchyMapper<T, F> implements Serializable {
 
     private Set<Object> expandedItemIds = new HashSet<>();
 
+    /**
+     * The children of a visible expanded item, or the root items, together
+     * with the number of rows each of them occupies in the flattened hierarchy.
+     * A child occupies one row for itself and the rows of its expanded
+     * subtree. The row counts are kept in a Fenwick tree so that both prefix
+     * sums and updates are logarithmic.
+     */
+    private static class ChildIndex<T> implements Serializable {
+        private final List<T> items;
+        private final Map<Object, Integer> positions;
+        private final int[] tree;
+        private int size;
+
+        private ChildIndex(List<T> items, List<Object> ids, int[] rowCounts) {
+            this.items = items;
+            positions = new HashMap<>(ids.size() * 4 / 3 + 1);
+            for (int i = 0; i < ids.size(); i++) {
+                positions.put(ids.get(i), i);
+            }
+
+            tree = new int[rowCounts.length + 1];
+            for (int i = 1; i <= rowCounts.length; i++) {
+                tree[i] += rowCounts[i - 1];
+                size += rowCounts[i - 1];
+                int parent = i + (i & -i);
+                if (parent <= rowCounts.length) {
+                    tree[parent] += tree[i];
+                }
+            }
+        }
+
+        /**
+         * Gets the number of rows occupied by the children before the given
+         * position.
+         */
+        private int rowsBefore(int position) {
+            int rows = 0;
+            for (int i = position; i > 0; i -= i & -i) {
+                rows += tree[i];
+            }
+            return rows;
+        }
+
+        /**
+         * Gets the position of the child that occupies the given row, i.e.
+         * the largest position for which {@link #rowsBefore(int)} is not
+         * greater than the row.
+         */
+        private int positionOfRow(int row) {
+            int position = 0;
+            int remaining = row;
+            int step = Integer.highestOneBit(items.size());
+            for (; step > 0; step >>= 1) {
+                int next = position + step;
+                if (next <= items.size() && tree[next] <= remaining) {
+                    position = next;
+                    remaining -= tree[next];
+                }
+            }
+            return position;
+        }
+
+        private void addRows(int position, int delta) {
+            for (int i = position + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+            size += delta;
+        }
+    }
+
     /**
      * Constructs a new HierarchyMapper.
      *
@@ -80,7 +161,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the amount of available data
      */
     public int getTreeSize() {
-        return (int) getHierarchy(null).count();
+        return getRootIndex().size;
     }
 
     /**
@@ -102,8 +183,11 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getParentIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(getParentOfItem(item));
+        T parent = getParentOfItem(item);
+        if (parent == null) {
+            return -1;
+        }
+        return getIndex(parent);
     }
 
     /**
@@ -115,8 +199,11 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(item);
+        if (item == null) {
+            return -1;
+        }
+        getRootIndex();
+        return getIndexOfId(getDataProvider().getId(item));
     }
 
     /**
@@ -157,8 +244,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public Range expand(T item, Integer position) {
         if (doExpand(item) && position != null) {
-            return Range.withLength(position + 1,
-                    (int) getHierarchy(item, false).count());
+            return Range.withLength(position + 1, getSubtreeSize(item));
         }
 
         return Range.withLength(0, 0);
@@ -176,8 +262,16 @@ public class HierarchyMapper<T, F> implements Serializable {
     private boolean doExpand(T item) {
         boolean expanded = false;
         if (!isExpanded(item) && hasChildren(item)) {
-            expandedItemIds.add(getDataProvider().getId(item));
+            Object id = getDataProvider().getId(item);
+            expandedItemIds.add(id);
             expanded = true;
+
+            if (isVisible(id)) {
+                ChildIndex<T> childIndex = createChildIndex(item);
+                if (childIndex != null) {
+                    addRows(id, childIndex.size);
+                }
+            }
         }
         return expanded;
     }
@@ -193,7 +287,7 @@ public class HierarchyMapper<T, F> implements Serializable {
             return false;
         }
         if (isExpanded(item)) {
-            expandedItemIds.remove(getDataProvider().getId(item));
+            doCollapse(getDataProvider().getId(item));
             return true;
         }
         return false;
@@ -211,16 +305,33 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public Range collapse(T item, Integer position) {
         Range removedRows = Range.withLength(0, 0);
-        if (isExpanded(item)) {
+        if (item != null && isExpanded(item)) {
             if (position != null) {
                 removedRows = Range.withLength(position + 1,
-                        (int) getHierarchy(item, false).count());
+                        getSubtreeSize(item));
             }
-            expandedItemIds.remove(getDataProvider().getId(item));
+            doCollapse(getDataProvider().getId(item));
         }
         return removedRows;
     }
 
+    /**
+     * Collapses the item with the given id and removes its subtree from the
+     * index.
+     *
+     * @param id
+     *            the id of the item to collapse
+     */
+    private void doCollapse(Object id) {
+        ChildIndex<T> childIndex = childIndexes.get(id);
+        if (childIndex != null) {
+            int removedRows = childIndex.size;
+            removeChildIndexes(id);
+            addRows(id, -removedRows);
+        }
+        expandedItemIds.remove(id);
+    }
+
 
     /**
      * Gets the current in-memory sorting.
@@ -240,6 +351,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setInMemorySorting(Comparator<T> inMemorySorting) {
         this.inMemorySorting = inMemorySorting;
+        invalidateHierarchy();
     }
 
     /**
@@ -260,6 +372,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setBackEndSorting(List<QuerySortOrder> backEndSorting) {
         this.backEndSorting = backEndSorting;
+        invalidateHierarchy();
     }
 
     /**
@@ -280,6 +393,16 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setFilter(Object filter) {
         this.filter = (F) filter;
+        invalidateHierarchy();
+    }
+
+    /**
+     * Discards the indexed hierarchy so that it is fetched again from the data
+     * provider when it is needed the next time. Should be called whenever the
+     * data of the data provider has changed. The expanded items are retained.
+     */
+    public void invalidateHierarchy() {
+        childIndexes.clear();
     }
 
     /**
@@ -314,7 +437,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the stream of items
      */
     public Stream<T> fetchHierarchyItems(Range range) {
-        return getHierarchy(null).skip(range.getStart()).limit(range.length());
+        return fetchIndexedItems(getRootIndex(), range);
     }
 
     /**
@@ -328,6 +451,15 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the stream of items
      */
     public Stream<T> fetchHierarchyItems(T parent, Range range) {
+        if (parent == null) {
+            return fetchHierarchyItems(range);
+        }
+        getRootIndex();
+        ChildIndex<T> childIndex = childIndexes
+                .get(getDataProvider().getId(parent));
+        if (childIndex != null) {
+            return fetchIndexedItems(childIndex, range);
+        }
         return getHierarchy(parent, false).skip(range.getStart())
                 .limit(range.length());
     }
@@ -427,23 +559,21 @@ public class HierarchyMapper<T, F> implements Serializable {
      *            the item id
      */
     protected void removeChildren(Object id) {
-        // Clean up removed nodes from child map
-        Iterator<Entry<T, Set<T>>> iterator = childMap.entrySet().iterator();
-        Set<T> invalidatedChildren = new HashSet<>();
-        while (iterator.hasNext()) {
-            Entry<T, Set<T>> entry = iterator.next();
-            T key = entry.getKey();
-            if (key != null && getDataProvider().getId(key).equals(id)) {
-                invalidatedChildren.addAll(entry.getValue());
-                iterator.remove();
-            }
+        if (childIndexes.containsKey(id)) {
+            // Visible rows are removed, the index can't be trusted anymore
+            invalidateHierarchy();
         }
+
+        // Clean up removed nodes from child map
+        Set<T> invalidatedChildren = id == null ? null : childMap.remove(id);
         expandedItemIds.remove(id);
-        invalidatedChildren.stream().map(getDataProvider()::getId)
-                .forEach(x -> {
-                    removeChildren(x);
-                    parentIdMap.remove(x);
-                });
+        if (invalidatedChildren != null) {
+            invalidatedChildren.stream().map(getDataProvider()::getId)
+                    .forEach(x -> {
+                        removeChildren(x);
+                        parentIdMap.remove(x);
+                    });
+        }
     }
 
     /**
@@ -459,21 +589,208 @@ public class HierarchyMapper<T, F> implements Serializable {
             return Optional.empty();
         }
 
-        final List<Object> collect = getHierarchy(null).map(provider::getId)
-                .collect(Collectors.toList());
-        int index = collect.indexOf(getDataProvider().getId(target));
+        int index = getIndex(target);
         return Optional.ofNullable(index < 0 ? null : index);
     }
 
     /**
-     * Gets the full hierarchy tree starting from given node.
+     * Gets the index of the root level, creating the index of the visible
+     * hierarchy if it doesn't exist.
+     *
+     * @return the root level index, not {@code null}
+     */
+    private ChildIndex<T> getRootIndex() {
+        ChildIndex<T> rootIndex = childIndexes.get(null);
+        if (rootIndex == null) {
+            rootIndex = createChildIndex(null);
+        }
+        return rootIndex;
+    }
+
+    /**
+     * Fetches the children of the given expanded parent and indexes them
+     * together with the children of all expanded descendants.
      *
      * @param parent
-     *            the parent node to start from
-     * @return the flattened hierarchy as a stream
+     *            the parent, or {@code null} for the root level
+     * @return the index of the children, or {@code null} if the parent has no
+     *         children; never {@code null} for the root level
+     */
+    private ChildIndex<T> createChildIndex(T parent) {
+        Object parentId = parent == null ? null
+                : getDataProvider().getId(parent);
+        List<T> children = doFetchDirectChildren(parent)
+                .collect(Collectors.toList());
+        if (children.isEmpty()) {
+            removeChildren(parentId);
+            if (parent != null) {
+                return null;
+            }
+        } else {
+            registerChildren(parent, children);
+        }
+
+        List<Object> ids = new ArrayList<>(children.size());
+        int[] rowCounts = new int[children.size()];
+        for (int i = 0; i < children.size(); i++) {
+            T child = children.get(i);
+            ids.add(getDataProvider().getId(child));
+            rowCounts[i] = 1;
+            if (isExpanded(child)) {
+                ChildIndex<T> childIndex = createChildIndex(child);
+                if (childIndex != null) {
+                    rowCounts[i] += childIndex.size;
+                }
+            }
+        }
+
+        ChildIndex<T> childIndex = new ChildIndex<>(children, ids, rowCounts);
+        childIndexes.put(parentId, childIndex);
+        return childIndex;
+    }
+
+    /**
+     * Removes the index of the children of the item with the given id, and
+     * the indexes of all its descendants.
+     *
+     * @param id
+     *            the item id
      */
-    private Stream<T> getHierarchy(T parent) {
-        return getHierarchy(parent, true);
+    private void removeChildIndexes(Object id) {
+        ChildIndex<T> childIndex = childIndexes.remove(id);
+        if (childIndex != null) {
+            childIndex.positions.keySet().forEach(this::removeChildIndexes);
+        }
+    }
+
+    /**
+     * Checks whether the item with the given id is shown in the indexed
+     * hierarchy, i.e. whether it is a root item or all of its ancestors are
+     * expanded.
+     *
+     * @param id
+     *            the item id
+     * @return {@code true} if the item is visible in the index, otherwise
+     *         {@code false}
+     */
+    private boolean isVisible(Object id) {
+        if (!childIndexes.containsKey(null)) {
+            // Nothing indexed yet
+            return false;
+        }
+        ChildIndex<T> parentIndex = childIndexes.get(getParentId(id));
+        return parentIndex != null && parentIndex.positions.containsKey(id);
+    }
+
+    /**
+     * Adds rows to the subtree of the item with the given id and all of its
+     * ancestors.
+     *
+     * @param id
+     *            the id of a visible item
+     * @param delta
+     *            the number of rows to add, or a negative number to remove
+     *            rows
+     */
+    private void addRows(Object id, int delta) {
+        Object current = id;
+        while (true) {
+            Object parentId = getParentId(current);
+            ChildIndex<T> parentIndex = childIndexes.get(parentId);
+            parentIndex.addRows(parentIndex.positions.get(current), delta);
+            if (parentId == null) {
+                return;
+            }
+            current = parentId;
+        }
+    }
+
+    /**
+     * Gets the index of the item with the given id in the indexed hierarchy.
+     *
+     * @param id
+     *            the item id
+     * @return the index, or {@code -1} if the item is not visible
+     */
+    private int getIndexOfId(Object id) {
+        int index = -1;
+        Object current = id;
+        while (true) {
+            Object parentId = getParentId(current);
+            ChildIndex<T> parentIndex = childIndexes.get(parentId);
+            Integer position = parentIndex == null ? null
+                    : parentIndex.positions.get(current);
+            if (position == null) {
+                return -1;
+            }
+            index += parentIndex.rowsBefore(position) + 1;
+            if (parentId == null) {
+                return index;
+            }
+            current = parentId;
+        }
+    }
+
+    private Object getParentId(Object id) {
+        T parent = parentIdMap.get(id);
+        return parent == null ? null : getDataProvider().getId(parent);
+    }
+
+    /**
+     * Gets the number of rows shown below the given expanded item.
+     *
+     * @param item
+     *            the expanded item
+     * @return the number of rows in the subtree, not including the item
+     */
+    private int getSubtreeSize(T item) {
+        ChildIndex<T> childIndex = childIndexes
+                .get(getDataProvider().getId(item));
+        if (childIndex != null) {
+            return childIndex.size;
+        }
+        return (int) getHierarchy(item, false).count();
+    }
+
+    /**
+     * Gets a range of rows from the flattened hierarchy of the given index.
+     *
+     * @param childIndex
+     *            the index of a level
+     * @param range
+     *            the range of rows relative to the level
+     * @return the items in the range
+     */
+    private Stream<T> fetchIndexedItems(ChildIndex<T> childIndex,
+            Range range) {
+        List<T> items = new ArrayList<>(
+                Math.min(range.length(), childIndex.size));
+        if (range.getStart() < childIndex.size) {
+            collectIndexedItems(childIndex, range.getStart(), range.length(),
+                    items);
+        }
+        return items.stream();
+    }
+
+    private void collectIndexedItems(ChildIndex<T> childIndex, int startRow,
+            int limit, List<T> items) {
+        int position = childIndex.positionOfRow(startRow);
+        // Row of the start relative to the row of the child at position
+        int offset = startRow - childIndex.rowsBefore(position);
+        for (; position < childIndex.items.size()
+                && items.size() < limit; position++) {
+            T child = childIndex.items.get(position);
+            if (offset == 0) {
+                items.add(child);
+            }
+            ChildIndex<T> grandChildIndex = childIndexes
+                    .get(getDataProvider().getId(child));
+            if (grandChildIndex != null && items.size() < limit) {
+                collectIndexedItems(grandChildIndex,
+                        offset == 0 ? 0 : offset - 1, limit, items);
+            }
+            offset = 0;
+        }
     }
 
     /**
@@ -585,7 +902,8 @@ public class HierarchyMapper<T, F> implements Serializable {
      *            list of parents children to be registered.
      */
     protected void registerChildren(T parent, List<T> childList) {
-        childMap.put(parent, new HashSet<>(childList));
+        childMap.put(parent == null ? null : getDataProvider().getId(parent),
+                new HashSet<>(childList));
         childList.forEach(
                 x -> parentIdMap.put(getDataProvider().getId(x), parent));
     }
@@ -616,6 +934,7 @@ public class HierarchyMapper<T, F> implements Serializable {
         childMap.clear();
         parentIdMap.clear();
         expandedItemIds.clear();
+        childIndexes.clear();
     }
 
     /**
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.binder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.flow.data.binder.testcomponents.TestTextField;
+import com.vaadin.flow.tests.data.bean.Person;
+
+/**
+ * Tests for asynchronous and incremental validation in {@link Binder}.
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+public class BinderAsyncValidationTest
+        extends BinderTestBase<Binder<Person>, Person> {
+
+    private static final String TAKEN_ERROR_MESSAGE = "Name is taken";
+
+    private transient List<CompletableFuture<ValidationResult>> pending;
+
+    private transient List<String> validatedValues;
+
+    @Before
+    public void setUp() {
+        binder = new Binder<>();
+        item = new Person();
+        item.setFirstName("Johannes");
+        item.setAge(32);
+        pending = new ArrayList<>();
+        validatedValues = new ArrayList<>();
+    }
+
+    private AsyncValidator<String> pendingValidator() {
+        return (value, context, executor) -> {
+            CompletableFuture<ValidationResult> future = new CompletableFuture<>();
+            pending.add(future);
+            validatedValues.add(value);
+            return future;
+        };
+    }
+
+    @Test
+    public void asyncValidator_beanSet_valueWrittenAfterValidationPasses() {
+        binder.forField(nameField).withAsyncValidator(pendingValidator())
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+
+        nameField.setValue("Foo");
+        Assert.assertEquals("Johannes", item.getFirstName());
+        Assert.assertTrue(binder.isValidationPending());
+
+        pending.get(0).complete(ValidationResult.ok());
+
+        Assert.assertFalse(binder.isValidationPending());
+        Assert.assertEquals("Foo", item.getFirstName());
+        assertValidField(nameField);
+    }
+
+    @Test
+    public void asyncValidator_beanSet_errorShownAndValueNotWritten() {
+        binder.forField(nameField).withAsyncValidator(pendingValidator())
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+
+        nameField.setValue("Foo");
+        pending.get(0).complete(ValidationResult.error(TAKEN_ERROR_MESSAGE));
+
+        Assert.assertEquals("Johannes", item.getFirstName());
+        assertInvalidField(TAKEN_ERROR_MESSAGE, nameField);
+        Assert.assertFalse(binder.validate().isOk());
+    }
+
+    @Test
+    public void asyncValidator_valueChangedDuringValidation_staleResultIgnored() {
+        binder.forField(nameField).withAsyncValidator(pendingValidator())
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+
+        nameField.setValue("Foo");
+        nameField.setValue("Bar");
+        Assert.assertTrue(pending.get(0).isCancelled());
+
+        pending.get(0).complete(ValidationResult.ok());
+        Assert.assertEquals("Johannes", item.getFirstName());
+        Assert.assertTrue(binder.isValidationPending());
+
+        pending.get(1).complete(ValidationResult.ok());
+        Assert.assertEquals("Bar", item.getFirstName());
+    }
+
+    @Test
+    public void asyncValidator_otherFieldChangedWhilePending_pendingValueNotWritten() {
+        binder.forField(nameField).withAsyncValidator(pendingValidator())
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.forField(ageField).withConverter(stringToInteger)
+                .bind(Person::getAge, Person::setAge);
+        binder.setBean(item);
+
+        nameField.setValue("Foo");
+        ageField.setValue("10");
+
+        Assert.assertEquals(10, item.getAge());
+        Assert.assertEquals("Johannes", item.getFirstName());
+        Assert.assertTrue(binder.isValidationPending());
+
+        pending.get(0).complete(ValidationResult.error(TAKEN_ERROR_MESSAGE));
+
+        Assert.assertEquals("Johannes", item.getFirstName());
+        Assert.assertEquals(10, item.getAge());
+        assertInvalidField(TAKEN_ERROR_MESSAGE, nameField);
+    }
+
+    @Test
+    public void asyncValidators_completedOneByOne_eachValueWrittenOnce() {
+        AtomicInteger beanValidatorRuns = new AtomicInteger();
+        binder.forField(nameField).withAsyncValidator(pendingValidator())
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.forField(ageField).withConverter(stringToInteger)
+                .withAsyncValidator((value, context, executor) -> {
+                    CompletableFuture<ValidationResult> future = new CompletableFuture<>();
+                    pending.add(future);
+                    return future;
+                }).bind(Person::getAge, Person::setAge);
+        binder.withValidator(Validator.from(person -> {
+            beanValidatorRuns.incrementAndGet();
+            return true;
+        }, ""));
+        binder.setBean(item);
+        beanValidatorRuns.set(0);
+
+        nameField.setValue("Foo");
+        ageField.setValue("10");
+        Assert.assertEquals(0, beanValidatorRuns.get());
+
+        pending.get(0).complete(ValidationResult.ok());
+        Assert.assertEquals("Foo", item.getFirstName());
+        Assert.assertEquals(32, item.getAge());
+        Assert.assertEquals(1, beanValidatorRuns.get());
+        Assert.assertTrue(binder.hasChanges());
+
+        pending.get(1).complete(ValidationResult.ok());
+        Assert.assertEquals(10, item.getAge());
+        Assert.assertEquals(2, beanValidatorRuns.get());
+        Assert.assertFalse(binder.hasChanges());
+    }
+
+    @Test
+    public void asyncValidator_validationPending_validateAndWriteBeanFail() {
+        binder.forField(nameField).withAsyncValidator(pendingValidator())
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.readBean(item);
+
+        nameField.setValue("Foo");
+
+        Assert.assertFalse(binder.validate().isOk());
+        Assert.assertFalse(binder.writeBeanIfValid(item));
+        Assert.assertEquals("Johannes", item.getFirstName());
+
+        pending.get(0).complete(ValidationResult.ok());
+
+        Assert.assertTrue(binder.validate().isOk());
+        Assert.assertTrue(binder.writeBeanIfValid(item));
+        Assert.assertEquals("Foo", item.getFirstName());
+    }
+
+    @Test
+    public void asyncValidator_syncValidationFails_asyncValidatorNotRun() {
+        binder.forField(nameField).withValidator(notEmpty)
+                .withAsyncValidator(pendingValidator())
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+
+        nameField.setValue("");
+
+        Assert.assertTrue(pending.isEmpty());
+        Assert.assertFalse(binder.isValidationPending());
+        assertInvalidField(EMPTY_ERROR_MESSAGE, nameField);
+    }
+
+    @Test
+    public void asyncValidator_afterConverter_receivesConvertedValue() {
+        List<Integer> validated = new ArrayList<>();
+        binder.forField(ageField).withConverter(stringToInteger)
+                .withAsyncValidator((value, context,
+                        executor) -> {
+                    validated.add(value);
+                    return CompletableFuture
+                            .completedFuture(ValidationResult.ok());
+                }).bind(Person::getAge, Person::setAge);
+        binder.setBean(item);
+
+        ageField.setValue("10");
+
+        Assert.assertEquals(1, validated.size());
+        Assert.assertEquals(Integer.valueOf(10), validated.get(0));
+        Assert.assertEquals(10, item.getAge());
+    }
+
+    @Test
+    public void asyncValidator_validatorRunUsingExecutor() {
+        AtomicInteger executed = new AtomicInteger();
+        binder.setValidationExecutor(command -> {
+            executed.incrementAndGet();
+            command.run();
+        });
+        binder.forField(nameField).withAsyncValidator(notEmpty)
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+
+        nameField.setValue("");
+
+        Assert.assertEquals(1, executed.get());
+        Assert.assertEquals("Johannes", item.getFirstName());
+        assertInvalidField(EMPTY_ERROR_MESSAGE, nameField);
+
+        // The result is cached for the validated value
+        binder.validate();
+        Assert.assertEquals(1, executed.get());
+
+        // Remove the executor before serializing the binder
+        binder.setValidationExecutor(null);
+    }
+
+    @Test
+    public void asyncValidator_validatorFails_fieldInvalidAndValueNotWritten() {
+        binder.forField(nameField).withAsyncValidator(pendingValidator())
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+
+        nameField.setValue("Foo");
+        pending.get(0).completeExceptionally(new RuntimeException());
+
+        Assert.assertFalse(binder.isValidationPending());
+        Assert.assertEquals("Johannes", item.getFirstName());
+        assertInvalidField("Validation failed", nameField);
+    }
+
+    @Test
+    public void asyncValidator_noUIAndCompletedInOtherThread_resultIgnored()
+            throws InterruptedException {
+        binder.forField(nameField).withAsyncValidator(pendingValidator())
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.setBean(item);
+
+        nameField.setValue("Foo");
+        Thread thread = new Thread(
+                () -> pending.get(0).complete(ValidationResult.ok()));
+        thread.start();
+        thread.join();
+
+        Assert.assertTrue(binder.isValidationPending());
+        Assert.assertEquals("Johannes", item.getFirstName());
+    }
+
+    @Test
+    public void asyncValidator_noBean_bindingValidated() {
+        binder.forField(nameField).withAsyncValidator(pendingValidator())
+                .bind(Person::getFirstName, Person::setFirstName);
+
+        nameField.setValue("Foo");
+        pending.get(0).complete(ValidationResult.error(TAKEN_ERROR_MESSAGE));
+
+        assertInvalidField(TAKEN_ERROR_MESSAGE, nameField);
+        Assert.assertEquals(1, validatedValues.size());
+    }
+
+    @Test
+    public void beanValidatorWithDependencies_unrelatedFieldChanged_notRunAgain() {
+        AtomicInteger nameValidatorRuns = new AtomicInteger();
+        AtomicInteger anyValidatorRuns = new AtomicInteger();
+        binder.forField(nameField).bind(Person::getFirstName,
+                Person::setFirstName);
+        binder.forField(ageField).withConverter(stringToInteger)
+                .bind(Person::getAge, Person::setAge);
+        binder.withValidator(Validator.from(person -> {
+            nameValidatorRuns.incrementAndGet();
+            return true;
+        }, ""), nameField);
+        binder.withValidator(Validator.from(person -> {
+            anyValidatorRuns.incrementAndGet();
+            return true;
+        }, ""));
+        binder.setBean(item);
+
+        nameField.setValue("Foo");
+        Assert.assertEquals(1, nameValidatorRuns.get());
+        Assert.assertEquals(1, anyValidatorRuns.get());
+
+        ageField.setValue("10");
+        Assert.assertEquals(1, nameValidatorRuns.get());
+        Assert.assertEquals(2, anyValidatorRuns.get());
+
+        nameField.setValue("Bar");
+        Assert.assertEquals(2, nameValidatorRuns.get());
+        Assert.assertEquals(3, anyValidatorRuns.get());
+
+        binder.validate();
+        Assert.assertEquals(3, nameValidatorRuns.get());
+    }
+
+    @Test
+    public void beanValidatorWithDependencies_rejectedChange_validatedAgain() {
+        binder.forField(nameField).bind(Person::getFirstName,
+                Person::setFirstName);
+        binder.forField(ageField).withConverter(stringToInteger)
+                .bind(Person::getAge, Person::setAge);
+        binder.withValidator(Validator.from(
+                person -> !"Foo".equals(person.getFirstName()), "No Foo"),
+                nameField);
+        binder.setBean(item);
+
+        nameField.setValue("Foo");
+        Assert.assertEquals("Johannes", item.getFirstName());
+
+        // The rejected name change is still pending and validated again
+        ageField.setValue("10");
+        Assert.assertEquals("Johannes", item.getFirstName());
+        Assert.assertEquals(32, item.getAge());
+
+        nameField.setValue("Bar");
+        Assert.assertEquals("Bar", item.getFirstName());
+        Assert.assertEquals(10, item.getAge());
+    }
+
+    @Test
+    public void validationDependencies_dependencyChanged_bindingValidated() {
+        TestTextField confirmField = new TestTextField();
+        binder.forField(nameField).bind(Person::getFirstName,
+                Person::setFirstName);
+        binder.forField(confirmField)
+                .withValidator(value -> value.equals(nameField.getValue()),
+                        "Names don't match")
+                .withValidationDependencies(nameField)
+                .bind(Person::getLastName, Person::setLastName);
+
+        confirmField.setValue("Foo");
+        assertInvalidField("Names don't match", confirmField);
+
+        nameField.setValue("Foo");
+        assertValidField(confirmField);
+    }
+}
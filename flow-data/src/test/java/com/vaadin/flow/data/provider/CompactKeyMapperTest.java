@@ -0,0 +1,176 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompactKeyMapperTest {
+
+    private final CompactKeyMapper<String> mapper = new CompactKeyMapper<>();
+
+    @Test
+    public void key_sameObject_sameKey() {
+        String key = mapper.key("foo");
+
+        Assert.assertEquals(key, mapper.key("foo"));
+        Assert.assertNotEquals(key, mapper.key("bar"));
+        Assert.assertEquals("foo", mapper.get(key));
+        Assert.assertTrue(mapper.has("foo"));
+        Assert.assertTrue(mapper.containsKey(key));
+    }
+
+    @Test
+    public void key_manyObjects_uniqueCompactKeys() {
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            String key = mapper.key("item" + i);
+            Assert.assertTrue(keys.add(key));
+            Assert.assertTrue(key.length() <= 3);
+            Assert.assertNotEquals("null", key);
+        }
+        for (int i = 0; i < 5000; i++) {
+            Assert.assertEquals("item" + i, mapper.get(mapper.key("item" + i)));
+        }
+    }
+
+    @Test
+    public void get_unknownKeys_returnsNull() {
+        String key = mapper.key("foo");
+
+        Assert.assertNull(mapper.get("null"));
+        Assert.assertNull(mapper.get(null));
+        Assert.assertNull(mapper.get(""));
+        Assert.assertNull(mapper.get("0" + key));
+        Assert.assertNull(mapper.get(key.toUpperCase() + "A"));
+        Assert.assertNull(mapper.get("not a key"));
+        Assert.assertNull(mapper.get("zzzzzzzzzzzzzzzzzzzz"));
+        Assert.assertFalse(mapper.containsKey("bar"));
+    }
+
+    @Test
+    public void key_null_nullKeyNotMapped() {
+        Assert.assertEquals("null", mapper.key(null));
+        Assert.assertNull(mapper.get("null"));
+    }
+
+    @Test
+    public void remove_keyDroppedAndNotReused() {
+        String key = mapper.key("foo");
+        mapper.remove("foo");
+
+        Assert.assertFalse(mapper.has("foo"));
+        Assert.assertNull(mapper.get(key));
+        Assert.assertNotEquals(key, mapper.key("foo"));
+    }
+
+    @Test
+    public void removeAll_allKeysDropped() {
+        String key = mapper.key("foo");
+        mapper.key("bar");
+        mapper.removeAll();
+
+        Assert.assertFalse(mapper.has("foo"));
+        Assert.assertFalse(mapper.has("bar"));
+        Assert.assertNull(mapper.get(key));
+    }
+
+    @Test
+    public void setCapacity_leastRecentlyUsedEvicted() {
+        mapper.setCapacity(2);
+        String foo = mapper.key("foo");
+        String bar = mapper.key("bar");
+
+        // Use foo so that bar becomes the least recently used
+        mapper.get(foo);
+        String baz = mapper.key("baz");
+
+        Assert.assertEquals("foo", mapper.get(foo));
+        Assert.assertNull(mapper.get(bar));
+        Assert.assertFalse(mapper.has("bar"));
+        Assert.assertEquals("baz", mapper.get(baz));
+
+        mapper.setCapacity(1);
+        Assert.assertFalse(mapper.has("foo"));
+        Assert.assertTrue(mapper.has("baz"));
+    }
+
+    @Test
+    public void setCapacity_pinnedKeysNotEvicted() {
+        mapper.setCapacity(2);
+        Set<String> pinned = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            String key = mapper.key("item" + i);
+            mapper.pin(key);
+            pinned.add(key);
+        }
+        String foo = mapper.key("foo");
+        String bar = mapper.key("bar");
+
+        for (String key : pinned) {
+            Assert.assertTrue(mapper.isPinned(key));
+            Assert.assertNotNull(mapper.get(key));
+        }
+        // Only the newest unpinned mapping fits with the pinned ones
+        Assert.assertNull(mapper.get(foo));
+        Assert.assertEquals("bar", mapper.get(bar));
+
+        mapper.unpin(mapper.key("item0"));
+        Assert.assertFalse(mapper.has("item0"));
+
+        String item1 = mapper.key("item1");
+        mapper.remove("item1");
+        Assert.assertFalse(mapper.isPinned(item1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setCapacity_negative_throws() {
+        mapper.setCapacity(-1);
+    }
+
+    @Test
+    public void refreshAndIdentifierGetter_mappingsUpdated() {
+        CompactKeyMapper<StrBean> beanMapper = new CompactKeyMapper<>();
+        beanMapper.setIdentifierGetter(StrBean::getId);
+        StrBean bean = new StrBean("foo", 1, 0);
+        String key = beanMapper.key(bean);
+
+        StrBean updated = new StrBean("bar", 1, 0);
+        Assert.assertTrue(beanMapper.has(updated));
+        beanMapper.refresh(updated);
+        Assert.assertSame(updated, beanMapper.get(key));
+
+        beanMapper.setIdentifierGetter(StrBean::getValue);
+        Assert.assertTrue(beanMapper.has(new StrBean("bar", 2, 0)));
+        Assert.assertFalse(beanMapper.has(bean));
+        Assert.assertEquals(key, beanMapper.key(updated));
+    }
+
+    @Test
+    public void serialize_mappingsPreserved() {
+        String key = mapper.key("foo");
+
+        CompactKeyMapper<String> copy = SerializationUtils
+                .deserialize(SerializationUtils.serialize(mapper));
+
+        Assert.assertEquals("foo", copy.get(key));
+        Assert.assertEquals(key, copy.key("foo"));
+    }
+}
@@ -28,6 +28,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
@@ -342,6 +343,128 @@ public class DataCommunicatorTest {
         Mockito.verify(dataProvider, Mockito.times(1)).fetch(Mockito.any());
     }
 
+    @Test
+    public void readAhead_scrollWithinReadAheadRange_noNewFetch() {
+        AbstractDataProvider<Item, Object> dataProvider = Mockito
+                .spy(createDataProvider());
+        dataCommunicator.setReadAhead(20);
+        dataCommunicator.setDataProvider(dataProvider, null);
+
+        dataCommunicator.setRequestedRange(10, 20);
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(10, 20), lastSet);
+
+        dataCommunicator.setRequestedRange(20, 20);
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(30, 10), lastSet);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        Mockito.verify(dataProvider, Mockito.times(1)).fetch(query.capture());
+        Assert.assertEquals(0, query.getValue().getOffset());
+        Assert.assertEquals(50, query.getValue().getLimit());
+
+        // Beyond the items read ahead
+        dataCommunicator.setRequestedRange(45, 20);
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(45, 20), lastSet);
+        Mockito.verify(dataProvider, Mockito.times(2)).fetch(Mockito.any());
+    }
+
+    @Test
+    public void readAhead_dataChanged_itemsFetchedAgain() {
+        AbstractDataProvider<Item, Object> dataProvider = Mockito
+                .spy(createDataProvider());
+        dataCommunicator.setReadAhead(20);
+        dataCommunicator.setDataProvider(dataProvider, null);
+
+        dataCommunicator.setRequestedRange(0, 20);
+        fakeClientCommunication();
+
+        dataProvider.refreshAll();
+        dataCommunicator.setRequestedRange(10, 20);
+        fakeClientCommunication();
+
+        Assert.assertEquals(Range.withLength(10, 20), lastSet);
+        Mockito.verify(dataProvider, Mockito.times(2)).fetch(Mockito.any());
+    }
+
+    @Test
+    public void readAhead_endOfData_onlyExistingItemsFetched() {
+        AbstractDataProvider<Item, Object> dataProvider = Mockito
+                .spy(createDataProvider());
+        dataCommunicator.setReadAhead(20);
+        dataCommunicator.setDataProvider(dataProvider, null);
+
+        dataCommunicator.setRequestedRange(90, 20);
+        fakeClientCommunication();
+
+        Assert.assertEquals(Range.withLength(90, 10), lastSet);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        Mockito.verify(dataProvider, Mockito.times(1)).fetch(query.capture());
+        Assert.assertEquals(70, query.getValue().getOffset());
+        Assert.assertEquals(30, query.getValue().getLimit());
+        Mockito.verify(dataProvider, Mockito.times(1)).size(Mockito.any());
+    }
+
+    @Test
+    public void readAhead_scrollAtEndOfData_noNewFetch() {
+        AbstractDataProvider<Item, Object> dataProvider = Mockito
+                .spy(createDataProvider());
+        dataCommunicator.setReadAhead(20);
+        dataCommunicator.setDataProvider(dataProvider, null);
+
+        dataCommunicator.setRequestedRange(70, 20);
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(70, 20), lastSet);
+
+        dataCommunicator.setRequestedRange(85, 20);
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(90, 10), lastSet);
+
+        dataCommunicator.setRequestedRange(75, 20);
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(75, 10), lastSet);
+
+        Mockito.verify(dataProvider, Mockito.times(1)).fetch(Mockito.any());
+    }
+
+    @Test
+    public void compactKeyMapper_capacitySmallerThanActiveItems_activeKeysRetained() {
+        CompactKeyMapper<Item> keyMapper = new CompactKeyMapper<>();
+        keyMapper.setCapacity(10);
+        dataCommunicator.setKeyMapper(keyMapper);
+        dataCommunicator.setDataProvider(createDataProvider(), null);
+
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+        for (int i = 0; i < 50; i++) {
+            Assert.assertTrue(keyMapper.has(new Item(i)));
+            Assert.assertEquals(i,
+                    keyMapper.get(keyMapper.key(new Item(i))).id);
+        }
+
+        // Items scrolled out of view are kept until the client confirms
+        dataCommunicator.setRequestedRange(50, 50);
+        fakeClientCommunication();
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(keyMapper.has(new Item(i)));
+        }
+
+        dataCommunicator.confirmUpdate(lastUpdateId);
+        fakeClientCommunication();
+        for (int i = 0; i < 50; i++) {
+            Assert.assertFalse(keyMapper.has(new Item(i)));
+        }
+        for (int i = 50; i < 100; i++) {
+            Assert.assertTrue(keyMapper.has(new Item(i)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setReadAhead_negative_throws() {
+        dataCommunicator.setReadAhead(-1);
+    }
+
     private void fakeClientCommunication() {
         ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
         ui.getInternals().getStateTree().collectChanges(ignore -> {
@@ -18,6 +18,7 @@ package com.vaadin.flow.data.provider;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.SerializationUtils;
@@ -25,6 +26,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import com.vaadin.flow.function.SerializableComparator;
+import com.vaadin.flow.function.SerializablePredicate;
 
 public class ListDataProviderTest
         extends DataProviderTestBase<ListDataProvider<StrBean>> {
@@ -250,4 +252,93 @@ public class ListDataProviderTest
         SerializationUtils.serialize(provider);
     }
 
+    @Test
+    public void fetchPages_sameQuery_itemsFilteredOnce() {
+        AtomicInteger evaluations = new AtomicInteger();
+        SerializablePredicate<StrBean> filter = bean -> {
+            evaluations.incrementAndGet();
+            return bean.getRandomNumber() > 5;
+        };
+        SerializableComparator<StrBean> comparator = (b1, b2) -> Integer
+                .compare(b1.getId(), b2.getId());
+        ListDataProvider<StrBean> provider = getDataProvider();
+        provider.setFilteredItemsCached(true);
+
+        int size = provider.size(new Query<>(filter));
+        List<StrBean> all = provider
+                .fetch(new Query<>(0, size, null, comparator, filter))
+                .collect(Collectors.toList());
+        List<StrBean> page = provider
+                .fetch(new Query<>(10, 10, null, comparator, filter))
+                .collect(Collectors.toList());
+
+        Assert.assertEquals(data.size(), evaluations.get());
+        Assert.assertEquals(size, all.size());
+        Assert.assertEquals(all.subList(10, 20), page);
+    }
+
+    @Test
+    public void refreshAll_itemsFilteredAgain() {
+        ListDataProvider<StrBean> provider = getDataProvider();
+        provider.setFilteredItemsCached(true);
+        Query<StrBean, SerializablePredicate<StrBean>> query = new Query<>(
+                fooFilter);
+        int size = provider.size(query);
+
+        data.stream().filter(fooFilter).findFirst().get().setValue("Bar");
+        provider.refreshAll();
+        Assert.assertEquals(size - 1, provider.size(query));
+    }
+
+    @Test
+    public void itemModifiedInPlace_notCached_changeVisible() {
+        ListDataProvider<StrBean> provider = getDataProvider();
+        Query<StrBean, SerializablePredicate<StrBean>> query = new Query<>(
+                fooFilter);
+        int size = provider.size(query);
+
+        data.stream().filter(fooFilter).findFirst().get().setValue("Bar");
+        Assert.assertEquals(size - 1, provider.size(query));
+        Assert.assertEquals(size - 1, provider.fetch(query).count());
+    }
+
+    @Test
+    public void backendSizeChanged_newItemsIncluded() {
+        ListDataProvider<StrBean> provider = getDataProvider();
+        provider.setFilteredItemsCached(true);
+        Assert.assertEquals(data.size(), provider.size(new Query<>()));
+
+        StrBean bean = new StrBean("New", 1000, 0);
+        data.add(bean);
+
+        Assert.assertEquals(data.size(), provider.size(new Query<>()));
+        Assert.assertEquals(bean,
+                provider.fetch(new Query<>()).reduce((b1, b2) -> b2).get());
+    }
+
+    @Test
+    public void fetch_offsetAndLimitOutsideItems_partialOrEmptyResult() {
+        ListDataProvider<StrBean> provider = getDataProvider();
+
+        Assert.assertEquals(5, provider
+                .fetch(new Query<>(data.size() - 5, 10, null, null, null))
+                .count());
+        Assert.assertEquals(0, provider
+                .fetch(new Query<>(data.size() + 5, 10, null, null, null))
+                .count());
+    }
+
+    @Test
+    public void parallelFilteringThreshold_sameItemsInSameOrder() {
+        ListDataProvider<StrBean> provider = getDataProvider();
+        List<StrBean> sequential = provider.fetch(new Query<>(gt5Filter))
+                .collect(Collectors.toList());
+
+        provider.setParallelFilteringThreshold(10);
+        provider.refreshAll();
+
+        Assert.assertEquals(sequential, provider
+                .fetch(new Query<>(gt5Filter)).collect(Collectors.toList()));
+    }
+
 }
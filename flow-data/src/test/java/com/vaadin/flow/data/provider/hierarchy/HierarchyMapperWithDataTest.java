@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -225,6 +226,36 @@ public class HierarchyMapperWithDataTest {
         verifyFetchIsCorrect(expectedResult, range);
     }
 
+    @Test
+    public void randomExpandAndCollapse_indexesMatchFlattenedHierarchy() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            Node node = testData.get(random.nextInt(testData.size()));
+            if (random.nextBoolean()) {
+                expand(node);
+            } else {
+                collapse(node);
+            }
+            verifyIndexes();
+        }
+    }
+
+    @Test
+    public void dataChanged_invalidateHierarchy_newItemIndexed() {
+        Node root = roots.get(0);
+        expand(root);
+        verifyIndexes();
+
+        Node newChild = new Node(testData.size(), root);
+        data.addItem(root, newChild);
+        mapper.invalidateHierarchy();
+
+        assertEquals(ROOT_COUNT + PARENT_COUNT + 1, mapper.getTreeSize());
+        assertEquals(Integer.valueOf(PARENT_COUNT + 1),
+                mapper.getIndex(newChild));
+        verifyIndexes();
+    }
+
     private void expand(Node node) {
         insertRows(mapper.expand(node, mapper.getIndexOf(node).orElse(null)));
     }
@@ -233,6 +264,32 @@ public class HierarchyMapperWithDataTest {
         removeRows(mapper.collapse(node, mapper.getIndexOf(node).orElse(null)));
     }
 
+    private void verifyIndexes() {
+        List<Node> expected = new ArrayList<>();
+        roots.forEach(root -> flatten(root, expected));
+
+        assertEquals(expected.size(), mapper.getTreeSize());
+        assertEquals(expected, mapper
+                .fetchHierarchyItems(Range.withLength(0, expected.size()))
+                .collect(Collectors.toList()));
+        for (int i = 0; i < expected.size(); i++) {
+            Node node = expected.get(i);
+            assertEquals(Integer.valueOf(i), mapper.getIndex(node));
+            assertEquals(Integer.valueOf(expected.indexOf(node.getParent())),
+                    mapper.getParentIndex(node));
+            assertEquals(expected.subList(i, Math.min(i + 3, expected.size())),
+                    mapper.fetchHierarchyItems(Range.withLength(i, 3))
+                            .collect(Collectors.toList()));
+        }
+    }
+
+    private void flatten(Node node, List<Node> flattened) {
+        flattened.add(node);
+        if (mapper.isExpanded(node)) {
+            data.getChildren(node).forEach(child -> flatten(child, flattened));
+        }
+    }
+
     private void verifyFetchIsCorrect(List<Node> expectedResult, Range range) {
         List<Node> collect = mapper.fetchHierarchyItems(range)
                 .collect(Collectors.toList());
@@ -358,6 +358,11 @@ public class UI extends Component
      * to be available whereas {@link #access(Command)} defers the task to a
      * later point in time.</li>
      * </ul>
+     * <p>
+     * When UI locking is enabled, only this UI is locked instead of the whole
+     * session. Locking the session from within the command releases the lock
+     * of this UI until the session lock has been acquired, see
+     * {@link VaadinSession#lock()}.
      *
      *
      * @param command
@@ -404,7 +409,12 @@ public class UI extends Component
 
         VaadinService.verifyNoOtherSessionLocked(session);
 
-        session.lock();
+        boolean uiLocking = isUILockingEnabled(session);
+        if (uiLocking) {
+            getInternals().lock();
+        } else {
+            session.lock();
+        }
         try {
             if (getSession() == null) {
                 // UI was detached after fetching the session but before we
@@ -415,7 +425,11 @@ public class UI extends Component
             old = CurrentInstance.setCurrent(this);
             command.execute();
         } finally {
-            session.unlock();
+            if (uiLocking) {
+                getInternals().unlock();
+            } else {
+                session.unlock();
+            }
             if (old != null) {
                 CurrentInstance.restoreInstances(old);
             }
@@ -431,6 +445,12 @@ public class UI extends Component
      * exclusive access to this UI. If the session is not locked, the lock will
      * be acquired and the command is run right away. If the session is
      * currently locked, the command will be run before that lock is released.
+     * When UI locking is enabled, the lock of this UI is used instead of the
+     * session lock. The command then has exclusive access to this UI only as
+     * long as it does not lock the session. {@link VaadinSession#lock()} and
+     * {@link VaadinSession#unlock()} release the lock of this UI while waiting
+     * for the session lock and while running pending session access tasks, so
+     * other threads may modify this UI in between.
      * </p>
      * <p>
      * RPC handlers for components inside this UI do not need to use this method
@@ -485,7 +505,7 @@ public class UI extends Component
             return null;
         }
 
-        return session.access(new ErrorHandlingCommand() {
+        ErrorHandlingCommand accessCommand = new ErrorHandlingCommand() {
             @Override
             public void execute() {
                 accessSynchronously(command, detachHandler);
@@ -505,7 +525,17 @@ public class UI extends Component
                     getLogger().error(e.getMessage(), e);
                 }
             }
-        });
+        };
+
+        if (isUILockingEnabled(session)) {
+            return session.getService().accessUI(this, accessCommand);
+        }
+        return session.access(accessCommand);
+    }
+
+    private static boolean isUILockingEnabled(VaadinSession session) {
+        VaadinService service = session.getService();
+        return service != null && service.isUILockingEnabled();
     }
 
     /**
@@ -632,7 +662,7 @@ public class UI extends Component
         if (session == null) {
             throw new UIDetachedException("Cannot push a detached UI");
         }
-        session.checkHasLock();
+        session.checkHasUILock(this);
 
         if (!getPushConfiguration().getPushMode().isEnabled()) {
             throw new IllegalStateException("Push not enabled");
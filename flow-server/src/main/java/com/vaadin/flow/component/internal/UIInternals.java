@@ -15,6 +15,8 @@
  */
 package com.vaadin.flow.component.internal;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -23,6 +25,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,6 +41,7 @@ import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.ComponentUtil;
 import com.vaadin.flow.component.HasElement;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.dependency.HtmlImport;
 import com.vaadin.flow.component.dependency.JavaScript;
 import com.vaadin.flow.component.dependency.StyleSheet;
@@ -42,8 +51,10 @@ import com.vaadin.flow.component.page.Page;
 import com.vaadin.flow.component.page.Page.ExecutionCanceler;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.dom.impl.BasicElementStateProvider;
+import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.internal.ReflectTools;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.internal.nodefeature.LoadingIndicatorConfigurationMap;
@@ -62,10 +73,12 @@ import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.router.internal.AfterNavigationHandler;
 import com.vaadin.flow.router.internal.BeforeEnterHandler;
 import com.vaadin.flow.router.internal.BeforeLeaveHandler;
+import com.vaadin.flow.server.FutureAccess;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.WebBrowser;
 import com.vaadin.flow.server.communication.PushConnection;
+import com.vaadin.flow.server.communication.ServerMessageLog;
 import com.vaadin.flow.shared.Registration;
 import com.vaadin.flow.shared.communication.PushMode;
 import com.vaadin.flow.theme.AbstractTheme;
@@ -131,6 +144,12 @@ public class UIInternals implements Serializable {
 
     private int serverSyncId = 0;
 
+    /*
+     * Not serialized since it may hold several full responses and a
+     * deserialized UI can't tell what the client has seen anyway.
+     */
+    private transient ServerMessageLog serverMessageLog = new ServerMessageLog();
+
     private final StateTree stateTree;
 
     private PushConnection pushConnection = null;
@@ -138,9 +157,23 @@ public class UIInternals implements Serializable {
     /**
      * Timestamp for keeping track of the last heartbeat of the related UI.
      * Updated to the current time whenever the application receives a heartbeat
-     * or UIDL request from the client for the related UI.
+     * or UIDL request from the client for the related UI. Heartbeat requests
+     * update it without holding the session lock.
      */
-    private long lastHeartbeatTimestamp = System.currentTimeMillis();
+    private final AtomicLong lastHeartbeatTimestamp = new AtomicLong(
+            System.currentTimeMillis());
+
+    /**
+     * Whether a heartbeat has been received without the lock and the heartbeat
+     * listeners have not yet been notified about it.
+     */
+    private transient AtomicBoolean heartbeatEventPending = new AtomicBoolean();
+
+    /**
+     * Whether there are any heartbeat listeners. Maintained with the lock held
+     * but read without locking when a heartbeat is received.
+     */
+    private volatile boolean hasHeartbeatListeners;
 
     private List<JavaScriptInvocation> pendingJsInvocations = new ArrayList<>();
 
@@ -182,6 +215,27 @@ public class UIInternals implements Serializable {
 
     private String appId;
 
+    /**
+     * Lock used for the related UI when UI locking is enabled.
+     *
+     * @see DeploymentConfiguration#isUILockingEnabled()
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * The UIs whose locks are held by the current thread, in the order they
+     * were acquired, used for detecting attempts to lock two UIs at the same
+     * time and for releasing the locks while waiting for the session lock.
+     */
+    private static final ThreadLocal<List<UIInternals>> lockedUIs = new ThreadLocal<>();
+
+    /*
+     * Pending tasks can't be serialized and the queue should be empty when the
+     * UI is serialized as long as it doesn't happen while some other thread
+     * has the lock.
+     */
+    private transient ConcurrentLinkedQueue<FutureAccess> pendingAccessQueue = new ConcurrentLinkedQueue<>();
+
     /**
      * Creates a new instance for the given UI.
      *
@@ -275,6 +329,17 @@ public class UIInternals implements Serializable {
         serverSyncId++;
     }
 
+    /**
+     * Gets the log of messages sent to the client which the client has not
+     * yet acknowledged. The log is used for resynchronizing the client if it
+     * has missed some messages.
+     *
+     * @return the server message log, not <code>null</code>
+     */
+    public ServerMessageLog getServerMessageLog() {
+        return serverMessageLog;
+    }
+
     /**
      * Returns the timestamp of the last received heartbeat for the related UI.
      * <p>
@@ -288,7 +353,7 @@ public class UIInternals implements Serializable {
      *         since the epoch.
      */
     public long getLastHeartbeatTimestamp() {
-        return lastHeartbeatTimestamp;
+        return lastHeartbeatTimestamp.get();
     }
 
     /**
@@ -305,8 +370,46 @@ public class UIInternals implements Serializable {
      *            since the epoch.
      */
     public void setLastHeartbeatTimestamp(long lastHeartbeat) {
-        lastHeartbeatTimestamp = lastHeartbeat;
-        HeartbeatEvent heartbeatEvent = new HeartbeatEvent(ui, lastHeartbeat);
+        lastHeartbeatTimestamp.set(lastHeartbeat);
+        fireHeartbeatEvent(lastHeartbeat);
+    }
+
+    /**
+     * Records a heartbeat received for the related UI without requiring the
+     * session lock. The heartbeat timestamp is updated right away, whereas
+     * heartbeat listeners are notified the next time the UI is accessed with
+     * the lock held. Several heartbeats received before that result in one
+     * event with the latest timestamp.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @param heartbeat
+     *            the time the heartbeat request occurred, in milliseconds since
+     *            the epoch
+     * @see #setLastHeartbeatTimestamp(long)
+     */
+    public void receiveHeartbeat(long heartbeat) {
+        lastHeartbeatTimestamp.accumulateAndGet(heartbeat, Math::max);
+
+        if (hasHeartbeatListeners
+                && heartbeatEventPending.compareAndSet(false, true)) {
+            try {
+                // Runs right away if the lock is free, otherwise when unlocked
+                ui.access(this::firePendingHeartbeatEvent);
+            } catch (UIDetachedException e) {
+                heartbeatEventPending.set(false);
+            }
+        }
+    }
+
+    private void firePendingHeartbeatEvent() {
+        if (heartbeatEventPending.compareAndSet(true, false)) {
+            fireHeartbeatEvent(lastHeartbeatTimestamp.get());
+        }
+    }
+
+    private void fireHeartbeatEvent(long heartbeat) {
+        HeartbeatEvent heartbeatEvent = new HeartbeatEvent(ui, heartbeat);
         getListeners(HeartbeatListener.class)
                 .forEach(listener -> listener.heartbeat(heartbeatEvent));
     }
@@ -330,6 +433,198 @@ public class UIInternals implements Serializable {
                 .toArray(new Class<?>[0]);
     }
 
+    /**
+     * Gets the {@link Lock} instance that is used for protecting the state of
+     * the related UI from concurrent access when UI locking is enabled.
+     * <p>
+     * When UI locking is not enabled, the UI state is protected by the
+     * session lock and this lock is not used.
+     *
+     * @return the lock for the related UI, never <code>null</code>
+     * @see DeploymentConfiguration#isUILockingEnabled()
+     */
+    public Lock getLockInstance() {
+        return lock;
+    }
+
+    /**
+     * Checks if the current thread holds the lock of the related UI.
+     *
+     * @return <code>true</code> if the current thread holds the UI lock,
+     *         <code>false</code> otherwise
+     * @see #lock()
+     */
+    public boolean hasLock() {
+        return lock.isHeldByCurrentThread();
+    }
+
+    /**
+     * Checks if the current thread holds the lock of any UI.
+     *
+     * @return <code>true</code> if the current thread holds a UI lock,
+     *         <code>false</code> otherwise
+     */
+    public static boolean hasAnyUILock() {
+        return lockedUIs.get() != null;
+    }
+
+    /**
+     * Temporarily releases all UI locks held by the current thread, without
+     * running pending access tasks or pushing changes. This is used for
+     * acquiring the session lock while holding a UI lock, since the session
+     * lock must always be acquired before any UI lock.
+     * <p>
+     * Other threads may access the UIs until the locks are acquired again by
+     * running the returned command.
+     *
+     * @return a command that acquires the released locks again with the same
+     *         hold counts, not <code>null</code>
+     */
+    public static Runnable releaseUILocks() {
+        List<UIInternals> released = lockedUIs.get();
+        if (released == null) {
+            return () -> {
+            };
+        }
+        lockedUIs.remove();
+        int[] holdCounts = new int[released.size()];
+        for (int i = 0; i < holdCounts.length; i++) {
+            ReentrantLock uiLock = released.get(i).lock;
+            holdCounts[i] = uiLock.getHoldCount();
+            for (int j = 0; j < holdCounts[i]; j++) {
+                uiLock.unlock();
+            }
+        }
+        return () -> {
+            // Acquired in the original order, which doesn't deadlock with
+            // threads that follow the locking rules
+            for (int i = 0; i < holdCounts.length; i++) {
+                for (int j = 0; j < holdCounts[i]; j++) {
+                    released.get(i).lock.lock();
+                }
+            }
+            lockedUIs.set(released);
+        };
+    }
+
+    /**
+     * Locks the related UI to protect its state from concurrent access. This
+     * is used by the framework instead of locking the session when UI locking
+     * is enabled.
+     * <p>
+     * The lock of a UI must not be acquired while holding the lock of another
+     * UI and the session must not be locked while holding the lock of a UI.
+     * The session lock may however be held when locking a UI.
+     *
+     * @throws IllegalStateException
+     *             if the current thread holds the lock of another UI
+     * @see #unlock()
+     * @see DeploymentConfiguration#isUILockingEnabled()
+     */
+    public void lock() {
+        if (!hasLock() && hasAnyUILock()) {
+            /*
+             * There is no order between the locks of different UIs, so
+             * blocking for another UI while holding one could deadlock.
+             */
+            throw new IllegalStateException(
+                    "Cannot lock a UI while holding the lock of another UI. "
+                            + "Use UI.access(Command) instead.");
+        }
+        lock.lock();
+        lockAcquired();
+    }
+
+    /**
+     * Acquires the lock of the related UI only if it is not held by another
+     * thread. Unlike {@link #lock()}, this may be used while holding the lock
+     * of another UI since it never blocks.
+     *
+     * @return <code>true</code> if the lock was acquired, <code>false</code>
+     *         otherwise
+     * @see #unlock()
+     */
+    public boolean tryLock() {
+        if (lock.tryLock()) {
+            lockAcquired();
+            return true;
+        }
+        return false;
+    }
+
+    private void lockAcquired() {
+        if (lock.getHoldCount() == 1) {
+            List<UIInternals> locked = lockedUIs.get();
+            if (locked == null) {
+                locked = new ArrayList<>(1);
+                lockedUIs.set(locked);
+            }
+            locked.add(this);
+        }
+    }
+
+    /**
+     * Unlocks the related UI. If the lock is released by this invocation,
+     * pending access tasks of the UI are run and pending changes are pushed to
+     * the client if the push mode of the UI is {@link PushMode#AUTOMATIC
+     * automatic}.
+     *
+     * @see #lock()
+     */
+    public void unlock() {
+        assert hasLock() : "Trying to unlock the UI but it has not been locked by this thread";
+        boolean ultimateRelease = false;
+        try {
+            if (lock.getHoldCount() == 1 && session != null) {
+                ultimateRelease = true;
+                VaadinService service = session.getService();
+                service.runPendingAccessTasks(ui);
+
+                if (ui.getPushConfiguration()
+                        .getPushMode() == PushMode.AUTOMATIC) {
+                    Map<Class<?>, CurrentInstance> oldCurrent = CurrentInstance
+                            .setCurrent(ui);
+                    try {
+                        ui.push();
+                    } finally {
+                        CurrentInstance.restoreInstances(oldCurrent);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+            List<UIInternals> locked = lockedUIs.get();
+            if (!lock.isHeldByCurrentThread() && locked != null) {
+                locked.remove(this);
+                if (locked.isEmpty()) {
+                    lockedUIs.remove();
+                }
+            }
+        }
+
+        /*
+         * Purge again if a task was enqueued after the queue was purged but
+         * before the lock was released, in the same way as for the session.
+         */
+        VaadinSession currentSession = session;
+        if (ultimateRelease && currentSession != null
+                && !pendingAccessQueue.isEmpty()) {
+            currentSession.getService().ensureAccessQueuePurged(ui);
+        }
+    }
+
+    /**
+     * Gets the queue of tasks submitted using
+     * {@link UI#access(com.vaadin.flow.server.Command)} when UI locking is
+     * enabled. It is safe to call this method and access the returned queue
+     * without holding the lock.
+     *
+     * @return the queue of pending access tasks
+     */
+    public Queue<FutureAccess> getPendingAccessQueue() {
+        return pendingAccessQueue;
+    }
+
     private static String getSessionDetails(VaadinSession session) {
         if (session == null) {
             return null;
@@ -465,11 +760,18 @@ public class UIInternals implements Serializable {
     }
 
     public Registration addHeartbeatListener(HeartbeatListener listener) {
-        return addListener(HeartbeatListener.class, listener);
+        Registration registration = addListener(HeartbeatListener.class,
+                listener);
+        hasHeartbeatListeners = true;
+        return () -> {
+            registration.remove();
+            hasHeartbeatListeners = !getListeners(HeartbeatListener.class)
+                    .isEmpty();
+        };
     }
 
     private <E> Registration addListener(Class<E> handler, E listener) {
-        session.checkHasLock();
+        session.checkHasUILock(ui);
         List<E> list = (List<E>) listeners
                 .computeIfAbsent(handler, key -> new ArrayList<>());
         list.add(listener);
@@ -520,7 +822,7 @@ public class UIInternals implements Serializable {
      */
     public ExecutionCanceler addJavaScriptInvocation(
             JavaScriptInvocation invocation) {
-        session.checkHasLock();
+        session.checkHasUILock(ui);
         pendingJsInvocations.add(invocation);
         return () -> pendingJsInvocations.remove(invocation);
     }
@@ -968,4 +1270,12 @@ public class UIInternals implements Serializable {
     public UI getUI() {
         return ui;
     }
+
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        pendingAccessQueue = new ConcurrentLinkedQueue<>();
+        heartbeatEventPending = new AtomicBoolean();
+        serverMessageLog = new ServerMessageLog();
+    }
 }
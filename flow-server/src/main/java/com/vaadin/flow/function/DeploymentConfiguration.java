@@ -21,6 +21,7 @@ import java.util.Properties;
 import java.util.function.Function;
 
 import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.DefaultDeploymentConfiguration;
 import com.vaadin.flow.server.WrappedSession;
 import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.communication.PushMode;
@@ -324,4 +325,103 @@ public interface DeploymentConfiguration extends Serializable {
     default boolean isBrotli() {
         return getBooleanProperty(Constants.SERVLET_PARAMETER_BROTLI, false);
     }
+
+    /**
+     * Checks whether each UI should be locked separately when handling
+     * requests that target a single UI, allowing requests for different UIs
+     * in the same session to be processed concurrently. The session lock is
+     * then only used for session level state.
+     * <p>
+     * The session lock must then always be acquired before the lock of a UI.
+     * Locking the session while holding the lock of a UI, e.g. by calling
+     * {@link com.vaadin.flow.server.VaadinSession#lock()} in
+     * {@link com.vaadin.flow.component.UI#access(com.vaadin.flow.server.Command)},
+     * releases the UI lock until the session lock has been acquired. Other
+     * threads may access the UI in between.
+     *
+     * @return <code>true</code> to lock each UI separately,
+     *         <code>false</code> to lock the whole session
+     * @see com.vaadin.flow.component.internal.UIInternals#lock()
+     */
+    default boolean isUILockingEnabled() {
+        return getBooleanProperty(Constants.SERVLET_PARAMETER_UI_LOCKING,
+                false);
+    }
+
+    /**
+     * Checks whether stream resource downloads and uploads should be
+     * processed using non-blocking servlet I/O, so that the request thread is
+     * released while waiting for a slow client. This has effect only if the
+     * servlet supports asynchronous processing.
+     *
+     * @return <code>true</code> to use non-blocking I/O for streams,
+     *         <code>false</code> to use blocking I/O
+     */
+    default boolean isAsyncStreaming() {
+        return getBooleanProperty(Constants.SERVLET_PARAMETER_ASYNC_STREAMING,
+                false);
+    }
+
+    /**
+     * Gets the size of the buffer used when copying stream resource and upload
+     * data.
+     *
+     * @return the buffer size in bytes
+     */
+    default int getStreamBufferSize() {
+        return getApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_STREAM_BUFFER_SIZE,
+                DefaultDeploymentConfiguration.DEFAULT_STREAM_BUFFER_SIZE,
+                Integer::parseInt);
+    }
+
+    /**
+     * Checks whether the rendered bootstrap page should be cached as a
+     * template and reused for initial requests with the same page
+     * configuration, so that only the per request parts of the page have to
+     * be generated. The bootstrap page is never cached when there are
+     * bootstrap listeners or when the page is configured using a page
+     * configurator.
+     *
+     * @return <code>true</code> to cache bootstrap page templates,
+     *         <code>false</code> to render the whole bootstrap page for each
+     *         request
+     */
+    default boolean isBootstrapTemplateCacheEnabled() {
+        return getBooleanProperty(
+                Constants.SERVLET_PARAMETER_BOOTSTRAP_TEMPLATE_CACHE,
+                isProductionMode());
+    }
+
+    /**
+     * Checks whether state tree changes should be sent to the client as
+     * compact JSON arrays with numeric change types and positional values
+     * instead of JSON objects with named properties. The client accepts both
+     * encodings.
+     *
+     * @return <code>true</code> to use the compact change encoding,
+     *         <code>false</code> to use JSON objects
+     */
+    default boolean isCompactChangeEncoding() {
+        return getBooleanProperty(
+                Constants.SERVLET_PARAMETER_COMPACT_CHANGE_ENCODING,
+                isProductionMode());
+    }
+
+    /**
+     * Gets the number of threads used for serializing and writing push
+     * messages. When positive, pushing only collects the changes while the
+     * session is locked, and consecutive messages to the same UI that have
+     * not yet been written are sent together as one message. When zero,
+     * messages are serialized and written by the pushing thread.
+     *
+     * @return the number of push writer threads, or <code>0</code> to write
+     *         messages in the pushing thread
+     */
+    default int getPushWriterThreads() {
+        return getApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_PUSH_WRITER_THREADS,
+                DefaultDeploymentConfiguration.DEFAULT_PUSH_WRITER_THREADS,
+                Integer::parseInt);
+    }
 }
@@ -16,9 +16,14 @@
 package com.vaadin.flow.internal;
 
 import java.io.Serializable;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import elemental.json.JsonObject;
 import elemental.json.JsonValue;
@@ -31,15 +36,55 @@ import elemental.json.JsonValue;
  * This is a way of deduplicating JSON values that are expected to be sent to
  * the same client multiple times, since all references to the same JSON
  * structure will be encoded as the same id.
+ * <p>
+ * Keys for values that are used by many state nodes can be shared through
+ * {@link #intern(Object, Supplier)}, so that the id of each distinct value is
+ * calculated only once for as long as the value is in use.
  *
  * @author Vaadin Ltd
  * @since 1.0
  */
 public class ConstantPoolKey implements Serializable {
-    // Only stored until delivered to the client
-    private JsonValue json;
+    private static final ConcurrentHashMap<Object, InternedKeyReference> interned = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<ConstantPoolKey> clearedReferences = new ReferenceQueue<>();
+
+    // Kept for any constant pool that has not yet delivered the value
+    private final JsonValue json;
     private final String id;
 
+    private static class InternedKeyReference
+            extends WeakReference<ConstantPoolKey> {
+        private final Object cacheKey;
+
+        private InternedKeyReference(Object cacheKey, ConstantPoolKey key) {
+            super(key, clearedReferences);
+            this.cacheKey = cacheKey;
+        }
+    }
+
+    /**
+     * Cache key for interning deserialized instances by their id, distinct
+     * from any structural cache key.
+     */
+    private static class IdCacheKey {
+        private final String id;
+
+        private IdCacheKey(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof IdCacheKey
+                    && ((IdCacheKey) obj).id.equals(id);
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode();
+        }
+    }
+
     /**
      * Creates a new constant pool key for the given JSON value. The value
      * should not be modified after this instance has been created since it
@@ -55,6 +100,55 @@ public class ConstantPoolKey implements Serializable {
         id = calculateHash(json);
     }
 
+    /**
+     * Gets a shared constant pool key for the value identified by the given
+     * cache key, creating the key using the given JSON factory only if there
+     * is no shared key for an equal cache key.
+     * <p>
+     * The cache key must be a value object that uniquely describes the
+     * produced JSON and must not be modified after it has been passed to this
+     * method. Shared keys are only weakly referenced and are released when no
+     * longer used by any state node.
+     *
+     * @param cacheKey
+     *            a value describing the JSON constant, not <code>null</code>
+     * @param jsonFactory
+     *            a factory for the JSON constant, not <code>null</code>
+     * @return a shared constant pool key for the value, not <code>null</code>
+     */
+    public static ConstantPoolKey intern(Object cacheKey,
+            Supplier<JsonValue> jsonFactory) {
+        Objects.requireNonNull(cacheKey, "Cache key cannot be null");
+
+        return internKey(cacheKey,
+                () -> new ConstantPoolKey(jsonFactory.get()));
+    }
+
+    private static ConstantPoolKey internKey(Object cacheKey,
+            Supplier<ConstantPoolKey> keyFactory) {
+        expungeClearedReferences();
+
+        InternedKeyReference reference = interned.get(cacheKey);
+        ConstantPoolKey key = reference == null ? null : reference.get();
+        if (key == null) {
+            key = keyFactory.get();
+            /*
+             * A concurrent call might create an equal key, which is harmless
+             * since both keys have the same id.
+             */
+            interned.put(cacheKey, new InternedKeyReference(cacheKey, key));
+        }
+        return key;
+    }
+
+    private static void expungeClearedReferences() {
+        InternedKeyReference reference;
+        while ((reference = (InternedKeyReference) clearedReferences
+                .poll()) != null) {
+            interned.remove(reference.cacheKey, reference);
+        }
+    }
+
     /**
      * Gets the id used to identify the referenced JSON constant.
      *
@@ -66,20 +160,22 @@ public class ConstantPoolKey implements Serializable {
 
     /**
      * Exports the this key into a JSON object to send to the client. This
-     * method should only be called once and only by the {@link ConstantPool}
-     * instance that manages this value.
+     * method should only be called once per {@link ConstantPool} and only by
+     * the constant pool instances that manage this value.
      *
      * @param clientConstantPoolUpdate
      *            the constant pool update that is to be sent to the client, not
      *            <code>null</code>
      */
     public void export(JsonObject clientConstantPoolUpdate) {
-        assert json != null : "Process can only be called once";
         assert id.equals(calculateHash(json)) : "Json value has been changed";
 
         clientConstantPoolUpdate.put(id, json);
+    }
 
-        json = null;
+    private Object readResolve() {
+        // Share a single instance between deserialized state nodes
+        return internKey(new IdCacheKey(id), () -> this);
     }
 
     /**
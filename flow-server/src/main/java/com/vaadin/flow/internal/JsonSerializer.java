@@ -15,9 +15,11 @@
  */
 package com.vaadin.flow.internal;
 
-import java.beans.BeanInfo;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
@@ -43,9 +45,95 @@ import elemental.json.JsonValue;
 /**
  * General-purpose serializer of Java objects to {@link JsonValue} and
  * deserializer of JsonValue to Java objects.
+ * <p>
+ * The bean properties of each class are introspected only once and the
+ * resulting accessors are cached for subsequent conversions.
  */
 public final class JsonSerializer {
 
+    private static final MethodType GETTER_TYPE = MethodType
+            .methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType
+            .methodType(void.class, Object.class, Object.class);
+
+    private static final ReflectionCache<Object, BeanCodec> beanCodecs = new ReflectionCache<>(
+            BeanCodec::new);
+
+    /**
+     * Cached accessors for the bean properties of a class.
+     */
+    private static final class BeanCodec {
+        private final String[] readerNames;
+        private final MethodHandle[] readers;
+        private final Map<String, BeanPropertyWriter> writers = new HashMap<>();
+
+        private BeanCodec(Class<?> type) {
+            try {
+                PropertyDescriptor[] descriptors = Introspector
+                        .getBeanInfo(type).getPropertyDescriptors();
+                List<String> names = new ArrayList<>(descriptors.length);
+                List<MethodHandle> handles = new ArrayList<>(
+                        descriptors.length);
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                for (PropertyDescriptor pd : descriptors) {
+                    Method reader = pd.getReadMethod();
+                    if (reader != null && !"class".equals(pd.getName())) {
+                        names.add(pd.getName());
+                        handles.add(
+                                lookup.unreflect(reader).asType(GETTER_TYPE));
+                    }
+                    Method writer = pd.getWriteMethod();
+                    if (writer != null) {
+                        writers.put(pd.getName(), new BeanPropertyWriter(
+                                lookup.unreflect(writer).asType(SETTER_TYPE),
+                                writer.getParameterTypes()[0],
+                                writer.getGenericParameterTypes()[0]));
+                    }
+                }
+                readerNames = names.toArray(new String[names.size()]);
+                readers = handles.toArray(new MethodHandle[handles.size()]);
+            } catch (Exception e) {
+                throw new IllegalArgumentException(
+                        "Could not introspect the properties of " + type, e);
+            }
+        }
+
+        private JsonObject write(Object bean) throws Throwable {
+            JsonObject json = Json.createObject();
+            for (int i = 0; i < readers.length; i++) {
+                json.put(readerNames[i],
+                        toJson((Object) readers[i].invokeExact(bean)));
+            }
+            return json;
+        }
+
+        private void read(Object instance, JsonObject json, String[] keys)
+                throws Throwable {
+            for (String key : keys) {
+                BeanPropertyWriter writer = writers.get(key);
+                if (writer != null) {
+                    Object value = toObject(writer.type, writer.genericType,
+                            json.get(key));
+                    writer.setter.invokeExact(instance, value);
+                }
+            }
+        }
+    }
+
+    private static final class BeanPropertyWriter {
+        private final MethodHandle setter;
+        private final Class<?> type;
+        private final Type genericType;
+
+        private BeanPropertyWriter(MethodHandle setter, Class<?> type,
+                Type genericType) {
+            this.setter = setter;
+            this.type = type;
+            this.genericType = genericType;
+        }
+    }
+
     private JsonSerializer() {
     }
 
@@ -79,20 +167,10 @@ public final class JsonSerializer {
         }
 
         try {
-            JsonObject json = Json.createObject();
-            BeanInfo info = Introspector.getBeanInfo(bean.getClass());
-            for (PropertyDescriptor pd : info.getPropertyDescriptors()) {
-                if ("class".equals(pd.getName())) {
-                    continue;
-                }
-                Method reader = pd.getReadMethod();
-                if (reader != null) {
-                    json.put(pd.getName(), toJson(reader.invoke(bean)));
-                }
-            }
-
-            return json;
-        } catch (Exception e) {
+            return beanCodecs.get(bean.getClass()).write(bean);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new IllegalArgumentException(
                     "Could not serialize object of type " + bean.getClass()
                             + " to JsonValue",
@@ -210,31 +288,12 @@ public final class JsonSerializer {
                 return instance;
             }
 
-            BeanInfo info = Introspector.getBeanInfo(type);
-            Map<String, Method> writers = new HashMap<>();
-
-            for (PropertyDescriptor pd : info.getPropertyDescriptors()) {
-                Method writer = pd.getWriteMethod();
-                if (writer != null) {
-                    writers.put(pd.getName(), writer);
-                }
-            }
-            for (String key : keys) {
-                JsonValue jsonValue = jsonObject.get(key);
-
-                Method method = writers.get(key);
-                if (method != null) {
-                    Class<?> parameterType = method.getParameterTypes()[0];
-                    Type genericParameterType = method
-                            .getGenericParameterTypes()[0];
-                    Object value = toObject(parameterType, genericParameterType,
-                            jsonValue);
-                    method.invoke(instance, value);
-                }
-            }
+            beanCodecs.get(type).read(instance, jsonObject, keys);
 
             return instance;
-        } catch (Exception e) {
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new IllegalArgumentException(
                     "Could not deserialize object of type " + type
                             + " from JsonValue",
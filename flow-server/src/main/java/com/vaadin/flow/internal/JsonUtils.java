@@ -16,6 +16,8 @@
 
 package com.vaadin.flow.internal;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.AbstractList;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -31,6 +33,7 @@ import java.util.stream.Stream;
 
 import elemental.json.Json;
 import elemental.json.JsonArray;
+import elemental.json.JsonException;
 import elemental.json.JsonNumber;
 import elemental.json.JsonObject;
 import elemental.json.JsonType;
@@ -275,4 +278,143 @@ public final class JsonUtils {
 
         return object;
     }
+
+    /**
+     * Writes the JSON representation of the given value to a writer.
+     * <p>
+     * The output is the same as produced by {@link JsonValue#toJson()}, but
+     * objects, arrays and strings are written directly to the writer instead
+     * of being concatenated into intermediate strings.
+     *
+     * @param value
+     *            the JSON value to write, not <code>null</code>
+     * @param writer
+     *            the writer to write to, not <code>null</code>
+     * @throws IOException
+     *             if writing to the writer fails
+     */
+    public static void writeJson(JsonValue value, Writer writer)
+            throws IOException {
+        assert value != null;
+        assert writer != null;
+
+        switch (value.getType()) {
+        case OBJECT:
+            writeJsonObject((JsonObject) value, writer);
+            break;
+        case ARRAY:
+            writeJsonArray((JsonArray) value, writer);
+            break;
+        case STRING:
+            writeJsonString(value.asString(), writer);
+            break;
+        default:
+            // Numbers, booleans and null are short, let elemental format them
+            writer.write(value.toJson());
+        }
+    }
+
+    /**
+     * Writes the given string as a quoted and escaped JSON string literal to a
+     * writer.
+     *
+     * @param string
+     *            the string to write, not <code>null</code>
+     * @param writer
+     *            the writer to write to, not <code>null</code>
+     * @throws IOException
+     *             if writing to the writer fails
+     */
+    public static void writeJsonString(String string, Writer writer)
+            throws IOException {
+        writer.write('"');
+        int length = string.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            String escaped = getEscapeSequence(c);
+            if (escaped != null) {
+                writer.write(string, start, i - start);
+                writer.write(escaped);
+                start = i + 1;
+            }
+        }
+        writer.write(string, start, length - start);
+        writer.write('"');
+    }
+
+    private static void writeJsonObject(JsonObject object, Writer writer)
+            throws IOException {
+        writer.write('{');
+        boolean first = true;
+        for (String key : object.keys()) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            writeJsonString(key, writer);
+            writer.write(':');
+            writeJson(object.get(key), writer);
+        }
+        writer.write('}');
+    }
+
+    private static void writeJsonArray(JsonArray array, Writer writer)
+            throws IOException {
+        writer.write('[');
+        for (int i = 0; i < array.length(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            JsonValue item = array.get(i);
+            if (item == null) {
+                throw new JsonException("Array contains a null item");
+            }
+            writeJson(item, writer);
+        }
+        writer.write(']');
+    }
+
+    /**
+     * Gets the escape sequence for a character using the same rules as
+     * {@link elemental.json.impl.JsonUtil#quote(String)}.
+     *
+     * @param c
+     *            the character to escape
+     * @return the escape sequence, or <code>null</code> if the character
+     *         should be written as is
+     */
+    private static String getEscapeSequence(char c) {
+        switch (c) {
+        case '\b':
+            return "\\b";
+        case '\t':
+            return "\\t";
+        case '\n':
+            return "\\n";
+        case '\f':
+            return "\\f";
+        case '\r':
+            return "\\r";
+        case '"':
+            return "\\\"";
+        case '\\':
+            return "\\\\";
+        default:
+            if (isControlChar(c)) {
+                String hex = Integer.toString(c, 16);
+                return "\\u" + "0000".substring(hex.length()) + hex;
+            }
+            return null;
+        }
+    }
+
+    private static boolean isControlChar(char c) {
+        return c <= 0x1f || (c >= 0x7f && c <= 0x9f) || c == '\u00ad'
+                || c == '\u070f' || c == '\u17b4' || c == '\u17b5'
+                || c == '\ufeff' || (c >= '\u0600' && c <= '\u0604')
+                || (c >= '\u200c' && c <= '\u200f')
+                || (c >= '\u2028' && c <= '\u202f')
+                || (c >= '\u2060' && c <= '\u206f') || c >= '\ufff0';
+    }
 }
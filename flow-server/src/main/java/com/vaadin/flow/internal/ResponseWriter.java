@@ -21,7 +21,12 @@ import java.io.InputStream;
 import java.io.Serializable;
 import java.net.URL;
 import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.servlet.ServletOutputStream;
 import javax.servlet.ServletRequest;
@@ -45,6 +50,13 @@ public class ResponseWriter implements Serializable {
 
     private final int bufferSize;
     private final boolean brotliEnabled;
+    private final boolean eTagsEnabled;
+
+    /*
+     * Strong ETags by resource URL. Resources can only change by redeploying
+     * in production mode, so each tag is computed only once.
+     */
+    private final Map<String, String> eTags = new ConcurrentHashMap<>();
 
     /**
      * Create a response writer with buffer size equal to
@@ -67,22 +79,30 @@ public class ResponseWriter implements Serializable {
      */
     @Deprecated
     public ResponseWriter(int bufferSize) {
-        this(bufferSize, false);
+        this(bufferSize, false, false);
     }
 
     /**
      * Create a response writer with the given deployment configuration.
+     * <p>
+     * In production mode, the written resources are tagged with strong ETags
+     * based on the resource contents and conditional requests using
+     * <code>If-None-Match</code> are answered with
+     * <code>304 Not Modified</code>.
      *
      * @param deploymentConfiguration
      *            the deployment configuration to use, not <code>null</code>
      */
     public ResponseWriter(DeploymentConfiguration deploymentConfiguration) {
-        this(DEFAULT_BUFFER_SIZE, deploymentConfiguration.isBrotli());
+        this(DEFAULT_BUFFER_SIZE, deploymentConfiguration.isBrotli(),
+                deploymentConfiguration.isProductionMode());
     }
 
-    private ResponseWriter(int bufferSize, boolean brotliEnabled) {
+    private ResponseWriter(int bufferSize, boolean brotliEnabled,
+            boolean eTagsEnabled) {
         this.brotliEnabled = brotliEnabled;
         this.bufferSize = bufferSize;
+        this.eTagsEnabled = eTagsEnabled;
     }
 
     /**
@@ -106,51 +126,18 @@ public class ResponseWriter implements Serializable {
             throws IOException {
         writeContentType(filenameWithPath, request, response);
 
-        URLConnection connection = null;
-        InputStream dataStream = null;
+        DataResource data = resolveDataResource(filenameWithPath, resourceUrl,
+                request);
+        writeContentEncoding(data, response);
 
-        if (brotliEnabled && acceptsBrotliResource(request)) {
-            String brotliFilenameWithPath = filenameWithPath + ".br";
-            try {
-                URL url = request.getServletContext()
-                        .getResource(brotliFilenameWithPath);
-                if (url != null) {
-                    connection = url.openConnection();
-                    dataStream = connection.getInputStream();
-                    response.setHeader("Content-Encoding", "br");
-                }
-            } catch (Exception e) {
-                getLogger().debug(
-                        "Unexpected exception looking for Brotli resource {}",
-                        brotliFilenameWithPath, e);
-            }
+        // Conditional requests are answered from the cached ETag before any
+        // connection to the resource is opened
+        if (eTagsEnabled && writeETag(data.url, request, response)) {
+            return;
         }
 
-        if (dataStream == null && acceptsGzippedResource(request)) {
-            // try to serve a gzipped version if available
-            String gzippedFilenameWithPath = filenameWithPath + ".gz";
-            try {
-                URL url = request.getServletContext()
-                        .getResource(gzippedFilenameWithPath);
-                if (url != null) {
-                    connection = url.openConnection();
-                    dataStream = connection.getInputStream();
-                    response.setHeader("Content-Encoding", "gzip");
-                }
-            } catch (Exception e) {
-                getLogger().debug(
-                        "Unexpected exception looking for gzipped resource {}",
-                        gzippedFilenameWithPath, e);
-            }
-        }
-
-        if (dataStream == null) {
-            // compressed resource not available, get non compressed
-            connection = resourceUrl.openConnection();
-            dataStream = connection.getInputStream();
-        } else {
-            response.setHeader("Vary", "Accept-Encoding");
-        }
+        URLConnection connection = data.url.openConnection();
+        InputStream dataStream = connection.getInputStream();
 
         try {
             long length = connection.getContentLengthLong();
@@ -166,12 +153,183 @@ public class ResponseWriter implements Serializable {
         } catch (IOException e) {
             getLogger().debug("Error writing static file to user", e);
         } finally {
-            try {
-                dataStream.close();
-            } catch (IOException e) {
-                getLogger().debug("Error closing input stream for resource", e);
+            closeStream(dataStream);
+        }
+    }
+
+    /**
+     * Sets a <code>304 Not Modified</code> status if the
+     * <code>If-None-Match</code> header of the request matches the ETag of the
+     * resource that {@link #writeResponseContents(String, URL,
+     * HttpServletRequest, HttpServletResponse)} would write. No connection to
+     * the resource is opened once its ETag has been computed.
+     *
+     * @param filenameWithPath
+     *            the name of the file being requested
+     * @param resourceUrl
+     *            the URL to the file, reported by the servlet container
+     * @param request
+     *            the request object to read from
+     * @param response
+     *            the response object to write to
+     * @return <code>true</code> if a <code>304 Not Modified</code> status has
+     *         been set, <code>false</code> if the contents should be written
+     */
+    public boolean writeNotModifiedIfETagMatches(String filenameWithPath,
+            URL resourceUrl, HttpServletRequest request,
+            HttpServletResponse response) {
+        if (!eTagsEnabled || request.getHeader("If-None-Match") == null) {
+            return false;
+        }
+        DataResource data = resolveDataResource(filenameWithPath, resourceUrl,
+                request);
+        if (writeETag(data.url, request, response)) {
+            writeContentEncoding(data, response);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Finds the compressed or plain resource to write for the request without
+     * opening a connection to it.
+     */
+    private DataResource resolveDataResource(String filenameWithPath,
+            URL resourceUrl, HttpServletRequest request) {
+        if (brotliEnabled && acceptsBrotliResource(request)) {
+            URL url = findResource(filenameWithPath + ".br", request);
+            if (url != null) {
+                return new DataResource(url, "br");
+            }
+        }
+        if (acceptsGzippedResource(request)) {
+            // try to serve a gzipped version if available
+            URL url = findResource(filenameWithPath + ".gz", request);
+            if (url != null) {
+                return new DataResource(url, "gzip");
+            }
+        }
+        // compressed resource not available, use non compressed
+        return new DataResource(resourceUrl, null);
+    }
+
+    private URL findResource(String filenameWithPath,
+            HttpServletRequest request) {
+        try {
+            return request.getServletContext().getResource(filenameWithPath);
+        } catch (Exception e) {
+            getLogger().debug("Unexpected exception looking for resource {}",
+                    filenameWithPath, e);
+            return null;
+        }
+    }
+
+    private static void writeContentEncoding(DataResource data,
+            HttpServletResponse response) {
+        if (data.contentEncoding != null) {
+            response.setHeader("Content-Encoding", data.contentEncoding);
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+    }
+
+    private void closeStream(InputStream dataStream) {
+        try {
+            dataStream.close();
+        } catch (IOException e) {
+            getLogger().debug("Error closing input stream for resource", e);
+        }
+    }
+
+    /**
+     * Writes the ETag of the resource to the response and checks it against
+     * the <code>If-None-Match</code> header of the request.
+     *
+     * @return <code>true</code> if the browser has the current version of the
+     *         resource and a <code>304 Not Modified</code> status has been set,
+     *         <code>false</code> if the contents should be written
+     */
+    private boolean writeETag(URL dataUrl, HttpServletRequest request,
+            HttpServletResponse response) {
+        String eTag = getETag(dataUrl);
+        if (eTag == null) {
+            return false;
+        }
+        response.setHeader("ETag", eTag);
+        if (matchesETag(request.getHeader("If-None-Match"), eTag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the strong ETag for the contents of the given resource, as written
+     * by {@link #writeResponseContents(String, URL, HttpServletRequest,
+     * HttpServletResponse)}.
+     *
+     * @param url
+     *            the URL of the resource, not <code>null</code>
+     * @return the ETag of the resource, or <code>null</code> if ETags are not
+     *         enabled or the ETag could not be computed
+     */
+    public String getETag(URL url) {
+        if (!eTagsEnabled) {
+            return null;
+        }
+        String key = url.toExternalForm();
+        String eTag = eTags.get(key);
+        if (eTag == null) {
+            eTag = computeETag(url);
+            if (eTag != null) {
+                eTags.putIfAbsent(key, eTag);
             }
         }
+        return eTag;
+    }
+
+    private String computeETag(URL url) {
+        try (InputStream stream = url.openStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] buffer = new byte[bufferSize];
+            int bytes;
+            while ((bytes = stream.read(buffer)) >= 0) {
+                digest.update(buffer, 0, bytes);
+            }
+            return '"' + Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(digest.digest()) + '"';
+        } catch (IOException | NoSuchAlgorithmException e) {
+            getLogger().debug("Unable to compute ETag for {}", url, e);
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether an <code>If-None-Match</code> header value matches the
+     * given entity tag using the weak comparison function.
+     *
+     * @param ifNoneMatch
+     *            the header value, may be <code>null</code>
+     * @param eTag
+     *            the current entity tag of the resource
+     * @return <code>true</code> if the header matches the tag
+     */
+    static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag)) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private void writeStream(ServletOutputStream outputStream,
@@ -268,6 +426,19 @@ public class ResponseWriter implements Serializable {
                 || Objects.equals("0.000", qValue);
     }
 
+    /**
+     * A resource variant to write, with the content encoding to use for it.
+     */
+    private static class DataResource implements Serializable {
+        private final URL url;
+        private final String contentEncoding;
+
+        private DataResource(URL url, String contentEncoding) {
+            this.url = url;
+            this.contentEncoding = contentEncoding;
+        }
+    }
+
     private Logger getLogger() {
         return LoggerFactory.getLogger(getClass().getName());
     }
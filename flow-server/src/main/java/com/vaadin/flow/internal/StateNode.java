@@ -160,6 +160,19 @@ public class StateNode implements Serializable {
 
     private boolean isInitialChanges = true;
 
+    /**
+     * Whether this node is in the dirty node list of its state tree. Managed
+     * by {@link StateTree}.
+     */
+    boolean dirty;
+
+    /**
+     * Whether this node has already been collected in an ongoing
+     * {@link StateTree#collectChanges(Consumer)} round. Managed by
+     * {@link StateTree}.
+     */
+    boolean collectingChanges;
+
     private ArrayList<StateTree.BeforeClientResponseEntry> beforeClientResponseEntries;
     private boolean enabled = true;
 
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * Map from state node ids to state nodes using open addressing with linear
+ * probing over primitive arrays, so that ids are never boxed.
+ * <p>
+ * Only positive ids can be mapped since <code>0</code> is used to mark empty
+ * slots. Only the mappings are serialized, not the empty slots.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+class StateNodeIdMap implements Serializable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private transient int[] keys = new int[INITIAL_CAPACITY];
+
+    private transient StateNode[] values = new StateNode[INITIAL_CAPACITY];
+
+    private transient int size;
+
+    /**
+     * Gets the node mapped to the given id.
+     *
+     * @param id
+     *            the node id
+     * @return the mapped node, or <code>null</code> if there is no mapping for
+     *         the id
+     */
+    StateNode get(int id) {
+        if (id <= 0) {
+            return null;
+        }
+        int slot = findSlot(id);
+        return keys[slot] == id ? values[slot] : null;
+    }
+
+    /**
+     * Checks whether there is a mapping for the given id.
+     *
+     * @param id
+     *            the node id
+     * @return <code>true</code> if the id is mapped, otherwise
+     *         <code>false</code>
+     */
+    boolean containsKey(int id) {
+        return id > 0 && keys[findSlot(id)] == id;
+    }
+
+    /**
+     * Maps the given id to the given node.
+     *
+     * @param id
+     *            the node id, must be positive
+     * @param node
+     *            the node to map, not <code>null</code>
+     * @return the node previously mapped to the id, or <code>null</code> if
+     *         there was no previous mapping
+     */
+    StateNode put(int id, StateNode node) {
+        assert id > 0 : "Node id must be positive";
+        assert node != null;
+
+        int slot = findSlot(id);
+        if (keys[slot] == id) {
+            StateNode previous = values[slot];
+            values[slot] = node;
+            return previous;
+        }
+
+        keys[slot] = id;
+        values[slot] = node;
+        size++;
+
+        // Keep the load factor at most 0.75
+        if (size * 4 > keys.length * 3) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the mapping for the given id.
+     *
+     * @param id
+     *            the node id
+     * @return the removed node, or <code>null</code> if there was no mapping
+     *         for the id
+     */
+    StateNode remove(int id) {
+        if (id <= 0) {
+            return null;
+        }
+        int slot = findSlot(id);
+        if (keys[slot] != id) {
+            return null;
+        }
+        StateNode removed = values[slot];
+        size--;
+
+        /*
+         * Shift following entries of the same probe sequence backwards instead
+         * of leaving a tombstone, so that lookups never have to skip removed
+         * slots.
+         */
+        int mask = keys.length - 1;
+        int free = slot;
+        int current = slot;
+        while (true) {
+            current = (current + 1) & mask;
+            int key = keys[current];
+            if (key == 0) {
+                break;
+            }
+            int home = hash(key, mask);
+            boolean reachable = free <= current
+                    ? free < home && home <= current
+                    : free < home || home <= current;
+            if (!reachable) {
+                keys[free] = key;
+                values[free] = values[current];
+                free = current;
+            }
+        }
+        keys[free] = 0;
+        values[free] = null;
+
+        return removed;
+    }
+
+    /**
+     * Gets the number of mapped ids.
+     *
+     * @return the number of mappings
+     */
+    int size() {
+        return size;
+    }
+
+    private int findSlot(int id) {
+        int mask = keys.length - 1;
+        int slot = hash(id, mask);
+        while (keys[slot] != 0 && keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        StateNode[] oldValues = values;
+
+        keys = new int[capacity];
+        values = new StateNode[capacity];
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                out.writeInt(keys[i]);
+                out.writeObject(values[i]);
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        int capacity = INITIAL_CAPACITY;
+        while (count * 4 > capacity * 3) {
+            capacity *= 2;
+        }
+        keys = new int[capacity];
+        values = new StateNode[capacity];
+        for (int i = 0; i < count; i++) {
+            int id = in.readInt();
+            put(id, (StateNode) in.readObject());
+        }
+    }
+
+    private static int hash(int id, int mask) {
+        // Ids are mostly sequential, spread them to avoid long probe runs
+        int hash = id * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
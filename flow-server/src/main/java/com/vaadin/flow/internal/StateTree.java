@@ -17,13 +17,12 @@
 package com.vaadin.flow.internal;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -121,9 +120,13 @@ public class StateTree implements NodeOwner {
         void remove();
     }
 
-    private Set<StateNode> dirtyNodes = new LinkedHashSet<>();
+    /*
+     * Nodes in the order they were marked dirty. Duplicates are avoided using
+     * StateNode.dirty instead of a set lookup.
+     */
+    private ArrayList<StateNode> dirtyNodes = new ArrayList<>();
 
-    private final Map<Integer, StateNode> idToNode = new HashMap<>();
+    private final StateNodeIdMap idToNode = new StateNodeIdMap();
 
     private int nextId = 1;
 
@@ -192,7 +195,7 @@ public class StateTree implements NodeOwner {
     public void unregister(StateNode node) {
         assert node.getOwner() == this;
 
-        Integer id = node.getId();
+        int id = node.getId();
 
         StateNode removedNode = idToNode.remove(id);
 
@@ -236,17 +239,27 @@ public class StateTree implements NodeOwner {
      *            a consumer accepting node changes
      */
     public void collectChanges(Consumer<NodeChange> collector) {
-        Set<StateNode> allDirtyNodes = new LinkedHashSet<>();
+        List<StateNode> allDirtyNodes = new ArrayList<>();
         boolean evaluateNewDirtyNodes = true;
 
         // The updateActiveState method can create new dirty nodes, so they need
         // to be collected as well
         while (evaluateNewDirtyNodes) {
-            Set<StateNode> dirtyNodesSet = collectDirtyNodes();
-            dirtyNodesSet.forEach(StateNode::updateActiveState);
-            evaluateNewDirtyNodes = allDirtyNodes.addAll(dirtyNodesSet);
+            List<StateNode> dirtyNodesList = drainDirtyNodes();
+            dirtyNodesList.forEach(StateNode::updateActiveState);
+
+            evaluateNewDirtyNodes = false;
+            for (StateNode node : dirtyNodesList) {
+                if (!node.collectingChanges) {
+                    node.collectingChanges = true;
+                    allDirtyNodes.add(node);
+                    evaluateNewDirtyNodes = true;
+                }
+            }
         }
 
+        allDirtyNodes.forEach(node -> node.collectingChanges = false);
+
         // TODO fire preCollect events
 
         allDirtyNodes.forEach(node -> node.collectChanges(collector));
@@ -257,7 +270,10 @@ public class StateTree implements NodeOwner {
         assert node.getOwner() == this;
         checkHasLock();
 
-        dirtyNodes.add(node);
+        if (!node.dirty) {
+            node.dirty = true;
+            dirtyNodes.add(node);
+        }
     }
 
     /**
@@ -267,8 +283,13 @@ public class StateTree implements NodeOwner {
      * @return a set of dirty nodes, in the order they were marked dirty
      */
     public Set<StateNode> collectDirtyNodes() {
-        Set<StateNode> collectedNodes = dirtyNodes;
-        dirtyNodes = new LinkedHashSet<>();
+        return new LinkedHashSet<>(drainDirtyNodes());
+    }
+
+    private List<StateNode> drainDirtyNodes() {
+        List<StateNode> collectedNodes = dirtyNodes;
+        collectedNodes.forEach(node -> node.dirty = false);
+        dirtyNodes = new ArrayList<>();
         return collectedNodes;
     }
 
@@ -387,7 +408,7 @@ public class StateTree implements NodeOwner {
     private void checkHasLock() {
         VaadinSession session = uiInternals.getSession();
         if (session != null) {
-            session.checkHasLock();
+            session.checkHasUILock(getUI());
         }
     }
 }
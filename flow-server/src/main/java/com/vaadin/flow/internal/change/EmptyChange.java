@@ -20,6 +20,7 @@ import com.vaadin.flow.internal.nodefeature.NodeFeature;
 import com.vaadin.flow.internal.nodefeature.NodeList;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -53,4 +54,13 @@ public class EmptyChange extends NodeFeatureChange {
         super.populateJson(json, constantPool);
     }
 
+    @Override
+    public JsonArray toCompactJson(ConstantPool constantPool) {
+        if (NodeList.class.isAssignableFrom(getFeature())) {
+            return createCompactJson(JsonConstants.COMPACT_CHANGE_NOOP_LIST);
+        } else {
+            return createCompactJson(JsonConstants.COMPACT_CHANGE_NOOP_MAP);
+        }
+    }
+
 }
@@ -111,20 +111,36 @@ public class ListAddChange<T extends Serializable>
 
         json.put(JsonConstants.CHANGE_SPLICE_INDEX, getIndex());
 
-        Function<Object, JsonValue> mapper;
         String addKey;
         if (nodeValues) {
             addKey = JsonConstants.CHANGE_SPLICE_ADD_NODES;
-            mapper = item -> Json.create(((StateNode) item).getId());
         } else {
             addKey = JsonConstants.CHANGE_SPLICE_ADD;
+        }
+        json.put(addKey, encodeNewItems(constantPool));
+    }
+
+    @Override
+    public JsonArray toCompactJson(ConstantPool constantPool) {
+        JsonArray json = createCompactJson(
+                nodeValues ? JsonConstants.COMPACT_CHANGE_SPLICE_NODES
+                        : JsonConstants.COMPACT_CHANGE_SPLICE);
+        json.set(3, getIndex());
+        json.set(4, 0);
+        json.set(5, encodeNewItems(constantPool));
+        return json;
+    }
+
+    private JsonArray encodeNewItems(ConstantPool constantPool) {
+        Function<Object, JsonValue> mapper;
+        if (nodeValues) {
+            mapper = item -> Json.create(((StateNode) item).getId());
+        } else {
             mapper = item -> JsonCodec.encodeWithConstantPool(item,
                     constantPool);
         }
 
-        JsonArray newItemsJson = newItems.stream().map(mapper)
-                .collect(JsonUtils.asArray());
-        json.put(addKey, newItemsJson);
+        return newItems.stream().map(mapper).collect(JsonUtils.asArray());
     }
 
 }
@@ -21,6 +21,7 @@ import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.nodefeature.NodeList;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -57,4 +58,9 @@ public class ListClearChange<T extends Serializable>
         super.populateJson(json, constantPool);
     }
 
+    @Override
+    public JsonArray toCompactJson(ConstantPool constantPool) {
+        return createCompactJson(JsonConstants.COMPACT_CHANGE_CLEAR);
+    }
+
 }
@@ -16,15 +16,20 @@
 package com.vaadin.flow.internal.change;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
 
 import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.nodefeature.NodeList;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
  * Change describing a remove operation in a {@link NodeList list} node feature.
+ * The change may cover a contiguous range of removed items starting from the
+ * index of the change.
  *
  * @author Vaadin Ltd
  * @since 1.0
@@ -35,7 +40,7 @@ import elemental.json.JsonObject;
 public class ListRemoveChange<T extends Serializable>
         extends AbstractListChange<T> {
 
-    private final T removedItem;
+    private final List<? extends T> removedItems;
 
     /**
      * Creates a new list remove change.
@@ -49,24 +54,51 @@ public class ListRemoveChange<T extends Serializable>
      *            a removed item
      */
     public ListRemoveChange(NodeList<T> list, int index, T removedItem) {
+        this(list, index, Collections.singletonList(removedItem));
+    }
+
+    /**
+     * Creates a new list remove change for a contiguous range of items.
+     *
+     * @param list
+     *            the changed list
+     * @param index
+     *            the index of the first removed item
+     * @param removedItems
+     *            the removed items in the order they were in the list, not
+     *            empty
+     */
+    public ListRemoveChange(NodeList<T> list, int index,
+            List<? extends T> removedItems) {
         super(list, index);
-        this.removedItem = removedItem;
+        assert !removedItems.isEmpty();
+        this.removedItems = removedItems;
     }
 
     /**
-     * Gets the removed item.
+     * Gets the removed item. If the change covers multiple items, the first
+     * of them is returned.
      * <p>
      * This method is public only for testing reasons.
      *
      * @return the removed item
      */
     public T getRemovedItem() {
-        return removedItem;
+        return removedItems.get(0);
+    }
+
+    /**
+     * Gets all the items removed by this change.
+     *
+     * @return the removed items in the order they were in the list
+     */
+    public List<T> getRemovedItems() {
+        return Collections.unmodifiableList(removedItems);
     }
 
     @Override
     public AbstractListChange<T> copy(int indx) {
-        return new ListRemoveChange<>(getNodeList(), indx, getRemovedItem());
+        return new ListRemoveChange<>(getNodeList(), indx, removedItems);
     }
 
     @Override
@@ -76,6 +108,15 @@ public class ListRemoveChange<T extends Serializable>
         super.populateJson(json, constantPool);
 
         json.put(JsonConstants.CHANGE_SPLICE_INDEX, getIndex());
-        json.put(JsonConstants.CHANGE_SPLICE_REMOVE, 1);
+        json.put(JsonConstants.CHANGE_SPLICE_REMOVE, removedItems.size());
+    }
+
+    @Override
+    public JsonArray toCompactJson(ConstantPool constantPool) {
+        JsonArray json = createCompactJson(
+                JsonConstants.COMPACT_CHANGE_SPLICE);
+        json.set(3, getIndex());
+        json.set(4, removedItems.size());
+        return json;
     }
 }
@@ -23,6 +23,7 @@ import com.vaadin.flow.internal.nodefeature.NodeFeature;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -91,4 +92,19 @@ public class MapPutChange extends NodeFeatureChange {
                     JsonCodec.encodeWithConstantPool(value, constantPool));
         }
     }
+
+    @Override
+    public JsonArray toCompactJson(ConstantPool constantPool) {
+        JsonArray json;
+        if (value instanceof StateNode) {
+            json = createCompactJson(JsonConstants.COMPACT_CHANGE_PUT_NODE);
+            json.set(3, encodeCompactKey(key, constantPool));
+            json.set(4, ((StateNode) value).getId());
+        } else {
+            json = createCompactJson(JsonConstants.COMPACT_CHANGE_PUT);
+            json.set(3, encodeCompactKey(key, constantPool));
+            json.set(4, JsonCodec.encodeWithConstantPool(value, constantPool));
+        }
+        return json;
+    }
 }
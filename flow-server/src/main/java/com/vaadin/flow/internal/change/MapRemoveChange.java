@@ -20,6 +20,7 @@ import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.nodefeature.NodeMap;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -65,4 +66,12 @@ public class MapRemoveChange extends NodeFeatureChange {
 
         json.put(JsonConstants.CHANGE_MAP_KEY, key);
     }
+
+    @Override
+    public JsonArray toCompactJson(ConstantPool constantPool) {
+        JsonArray json = createCompactJson(
+                JsonConstants.COMPACT_CHANGE_REMOVE);
+        json.set(3, encodeCompactKey(key, constantPool));
+        return json;
+    }
 }
@@ -23,7 +23,9 @@ import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonValue;
 
 /**
  * Base class describing a change to a state node.
@@ -72,6 +74,38 @@ public abstract class NodeChange implements Serializable {
         return json;
     }
 
+    /**
+     * Serializes this change to a compact JSON array with a numeric change
+     * type and positional values, as described for
+     * {@link JsonConstants#COMPACT_CHANGE_ATTACH}. Changes without a compact
+     * representation are serialized using {@link #toJson(ConstantPool)},
+     * which the client also accepts.
+     *
+     * @param constantPool
+     *            the constant pool to use for serializing constant pool
+     *            references
+     *
+     * @return a compact json representation of this change
+     */
+    public JsonValue toCompactJson(ConstantPool constantPool) {
+        return toJson(constantPool);
+    }
+
+    /**
+     * Creates a compact JSON array for this change, containing the given
+     * change type and the id of the changed node.
+     *
+     * @param type
+     *            the compact change type
+     * @return a new compact json array
+     */
+    protected JsonArray createCompactJson(int type) {
+        JsonArray json = Json.createArray();
+        json.set(0, type);
+        json.set(1, node.getId());
+        return json;
+    }
+
     /**
      * Overridden by subclasses to populate a JSON object when serializing.
      *
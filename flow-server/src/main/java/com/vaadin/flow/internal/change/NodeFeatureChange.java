@@ -17,12 +17,15 @@
 package com.vaadin.flow.internal.change;
 
 import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.ConstantPoolKey;
 import com.vaadin.flow.internal.nodefeature.NodeFeature;
 import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonValue;
 
 /**
  * Base class for all node changes related to a feature.
@@ -32,6 +35,12 @@ import elemental.json.JsonObject;
  */
 public abstract class NodeFeatureChange extends NodeChange {
 
+    /**
+     * Map keys shorter than this are sent as is in compact changes since a
+     * constant pool reference wouldn't be any shorter.
+     */
+    private static final int MIN_POOLED_KEY_LENGTH = 20;
+
     private final Class<? extends NodeFeature> feature;
 
     /**
@@ -60,4 +69,32 @@ public abstract class NodeFeatureChange extends NodeChange {
         json.put(JsonConstants.CHANGE_FEATURE,
                 Json.create(NodeFeatureRegistry.getId(feature)));
     }
+
+    @Override
+    protected JsonArray createCompactJson(int type) {
+        JsonArray json = super.createCompactJson(type);
+        json.set(2, NodeFeatureRegistry.getId(feature));
+        return json;
+    }
+
+    /**
+     * Encodes a map key for a compact change. Long keys are interned using
+     * the constant pool and encoded as an array containing the constant id.
+     *
+     * @param key
+     *            the map key to encode, not <code>null</code>
+     * @param constantPool
+     *            the constant pool to use for interning the key
+     * @return the encoded key
+     */
+    protected static JsonValue encodeCompactKey(String key,
+            ConstantPool constantPool) {
+        if (key.length() < MIN_POOLED_KEY_LENGTH) {
+            return Json.create(key);
+        }
+        JsonArray reference = Json.createArray();
+        reference.set(0, constantPool.getConstantId(
+                ConstantPoolKey.intern(key, () -> Json.create(key))));
+        return reference;
+    }
 }
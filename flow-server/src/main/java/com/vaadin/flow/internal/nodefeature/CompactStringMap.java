@@ -0,0 +1,287 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal.nodefeature;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Map from strings to values using open addressing with linear probing over
+ * parallel key and value arrays. Compared to a {@link java.util.HashMap}, no
+ * entry objects are created, which makes a big difference for the small maps
+ * used for the features of every state node.
+ * <p>
+ * Keys are interned when added so that equal keys in different maps share the
+ * same instance, and lookups with constant keys usually match by identity.
+ * <p>
+ * Iterators don't support removal and are not fail-fast. Only the mappings are
+ * serialized, and keys are interned again when deserialized.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+class CompactStringMap extends AbstractMap<String, Serializable>
+        implements Serializable {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final class EntrySet
+            extends AbstractSet<Entry<String, Serializable>> {
+        @Override
+        public Iterator<Entry<String, Serializable>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private final class EntryIterator
+            implements Iterator<Entry<String, Serializable>> {
+        private int next = findOccupied(0);
+
+        @Override
+        public boolean hasNext() {
+            return next < keys.length;
+        }
+
+        @Override
+        public Entry<String, Serializable> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int slot = next;
+            next = findOccupied(slot + 1);
+            return new SimpleImmutableEntry<>(keys[slot], values[slot]);
+        }
+    }
+
+    private transient String[] keys;
+
+    private transient Serializable[] values;
+
+    private transient int size;
+
+    /**
+     * Creates an empty map.
+     */
+    CompactStringMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map with room for the given number of keys.
+     *
+     * @param expectedSize
+     *            the number of keys to make room for
+     */
+    CompactStringMap(int expectedSize) {
+        init(expectedSize);
+    }
+
+    private void init(int expectedSize) {
+        int capacity = INITIAL_CAPACITY;
+        while (expectedSize * 4 > capacity * 3) {
+            capacity *= 2;
+        }
+        keys = new String[capacity];
+        values = new Serializable[capacity];
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && keys[findSlot(key)] != null;
+    }
+
+    @Override
+    public Serializable get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        return values[findSlot(key)];
+    }
+
+    @Override
+    public Serializable put(String key, Serializable value) {
+        assert key != null;
+
+        int slot = findSlot(key);
+        if (keys[slot] != null) {
+            Serializable previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+
+        keys[slot] = key.intern();
+        values[slot] = value;
+        size++;
+
+        // Keep the load factor at most 0.75
+        if (size * 4 > keys.length * 3) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+    @Override
+    public Serializable remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int slot = findSlot(key);
+        if (keys[slot] == null) {
+            return null;
+        }
+        Serializable removed = values[slot];
+        size--;
+
+        /*
+         * Shift following entries of the same probe sequence backwards instead
+         * of leaving a tombstone, so that lookups never have to skip removed
+         * slots.
+         */
+        int mask = keys.length - 1;
+        int free = slot;
+        int current = slot;
+        while (true) {
+            current = (current + 1) & mask;
+            String currentKey = keys[current];
+            if (currentKey == null) {
+                break;
+            }
+            int home = hash(currentKey, mask);
+            boolean reachable = free <= current
+                    ? free < home && home <= current
+                    : free < home || home <= current;
+            if (!reachable) {
+                keys[free] = currentKey;
+                values[free] = values[current];
+                free = current;
+            }
+        }
+        keys[free] = null;
+        values[free] = null;
+
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        keys = new String[INITIAL_CAPACITY];
+        values = new Serializable[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Passes each value in this map to the given action.
+     *
+     * @param action
+     *            the action to run for each value
+     */
+    void forEachValue(Consumer<Serializable> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept(values[i]);
+            }
+        }
+    }
+
+    @Override
+    public Set<Entry<String, Serializable>> entrySet() {
+        return new EntrySet();
+    }
+
+    private int findOccupied(int from) {
+        int slot = from;
+        while (slot < keys.length && keys[slot] == null) {
+            slot++;
+        }
+        return slot;
+    }
+
+    private int findSlot(Object key) {
+        int mask = keys.length - 1;
+        int slot = hash(key, mask);
+        while (true) {
+            String slotKey = keys[slot];
+            if (slotKey == null || slotKey == key || slotKey.equals(key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void resize(int capacity) {
+        String[] oldKeys = keys;
+        Serializable[] oldValues = values;
+
+        keys = new String[capacity];
+        values = new Serializable[capacity];
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                out.writeObject(keys[i]);
+                out.writeObject(values[i]);
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        init(count);
+        for (int i = 0; i < count; i++) {
+            String key = (String) in.readObject();
+            put(key, (Serializable) in.readObject());
+        }
+    }
+
+    private static int hash(Object key, int mask) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -65,10 +65,12 @@ public class ElementListenerMap extends NodeMap {
         private Map<Integer, Set<DebouncePhase>> debounceSettings = new HashMap<>();
 
         public void addDebouncePhases(int timeout, Set<DebouncePhase> phases) {
-            if (phases == null) {
-                phases = EnumSet.noneOf(DebouncePhase.class);
+            // Copy the phases so that this instance can be used as a value
+            EnumSet<DebouncePhase> copy = EnumSet.noneOf(DebouncePhase.class);
+            if (phases != null) {
+                copy.addAll(phases);
             }
-            debounceSettings.merge(Integer.valueOf(timeout), phases,
+            debounceSettings.merge(Integer.valueOf(timeout), copy,
                     (phases1, phases2) -> {
                         EnumSet<DebouncePhase> merge = EnumSet.copyOf(phases1);
                         merge.addAll(phases2);
@@ -97,6 +99,18 @@ public class ElementListenerMap extends NodeMap {
             }
 
         }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ExpressionSettings
+                    && ((ExpressionSettings) obj).debounceSettings
+                            .equals(debounceSettings);
+        }
+
+        @Override
+        public int hashCode() {
+            return debounceSettings.hashCode();
+        }
     }
 
     private static class DomEventListenerWrapper
@@ -356,11 +370,11 @@ public class ElementListenerMap extends NodeMap {
     private void updateEventSettings(String eventType) {
         Map<String, ExpressionSettings> eventSettings = collectEventExpressions(
                 eventType);
-        JsonObject eventSettingsJson = JsonUtils.createObject(eventSettings,
-                ExpressionSettings::toJson);
 
-        ConstantPoolKey constantPoolKey = new ConstantPoolKey(
-                eventSettingsJson);
+        // Elements with the same settings share the key and its id
+        ConstantPoolKey constantPoolKey = ConstantPoolKey.intern(eventSettings,
+                () -> JsonUtils.createObject(eventSettings,
+                        ExpressionSettings::toJson));
 
         put(eventType, constantPoolKey);
     }
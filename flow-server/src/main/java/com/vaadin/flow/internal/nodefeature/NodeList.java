@@ -144,6 +144,15 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
 
     private boolean isPopulated;
 
+    /*
+     * The last change in the change tracker if it has been created by merging
+     * operations, together with its mutable item list so that further
+     * operations can be merged into it without copying the items again.
+     */
+    private AbstractListChange<T> mergedChange;
+
+    private List<T> mergedItems;
+
     /**
      * Creates a new list for the given node.
      *
@@ -276,12 +285,112 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
     private void addChange(AbstractListChange<T> change) {
         getNode().markAsDirty();
 
-        // XXX combine with previous changes if possible
-        getChangeTracker().add(change);
+        List<AbstractListChange<T>> tracker = getChangeTracker();
+        if (change instanceof ListClearChange<?>) {
+            // Nothing before a clear needs to be sent to the client
+            tracker.clear();
+            tracker.add(change);
+        } else if (tracker.isEmpty() || !mergeWithLast(tracker, change)) {
+            tracker.add(change);
+        }
 
         // TODO Fire some listeners
     }
 
+    /**
+     * Tries to merge the change into the last change in the tracker so that
+     * contiguous operations are sent as a single splice.
+     *
+     * @param tracker
+     *            the change tracker, not empty
+     * @param change
+     *            the change to merge
+     * @return <code>true</code> if the change was merged, <code>false</code>
+     *         if it should be added to the tracker as is
+     */
+    private boolean mergeWithLast(List<AbstractListChange<T>> tracker,
+            AbstractListChange<T> change) {
+        AbstractListChange<T> last = tracker.get(tracker.size() - 1);
+        if (change instanceof ListAddChange<?>
+                && last instanceof ListAddChange<?>) {
+            return mergeAdd(tracker, (ListAddChange<T>) last,
+                    (ListAddChange<T>) change);
+        } else if (change instanceof ListRemoveChange<?>
+                && ((ListRemoveChange<T>) change).getRemovedItems()
+                        .size() == 1) {
+            ListRemoveChange<T> remove = (ListRemoveChange<T>) change;
+            if (last instanceof ListAddChange<?>) {
+                return cancelAdd(tracker, (ListAddChange<T>) last, remove);
+            } else if (last instanceof ListRemoveChange<?>) {
+                return mergeRemove(tracker, (ListRemoveChange<T>) last,
+                        remove);
+            }
+        }
+        return false;
+    }
+
+    private boolean mergeAdd(List<AbstractListChange<T>> tracker,
+            ListAddChange<T> last, ListAddChange<T> add) {
+        int offset = add.getIndex() - last.getIndex();
+        if (offset < 0 || offset > last.getNewItems().size()) {
+            return false;
+        }
+        getMergedItems(tracker, last, last.getNewItems()).addAll(offset,
+                add.getNewItems());
+        return true;
+    }
+
+    private boolean cancelAdd(List<AbstractListChange<T>> tracker,
+            ListAddChange<T> last, ListRemoveChange<T> remove) {
+        int offset = remove.getIndex() - last.getIndex();
+        List<T> newItems = last.getNewItems();
+        if (offset < 0 || offset >= newItems.size()
+                || newItems.get(offset) != remove.getRemovedItem()) {
+            return false;
+        }
+        List<T> items = getMergedItems(tracker, last, newItems);
+        items.remove(offset);
+        if (items.isEmpty()) {
+            tracker.remove(tracker.size() - 1);
+            mergedChange = null;
+            mergedItems = null;
+        }
+        return true;
+    }
+
+    private boolean mergeRemove(List<AbstractListChange<T>> tracker,
+            ListRemoveChange<T> last, ListRemoveChange<T> remove) {
+        if (remove.getIndex() == last.getIndex()) {
+            // Removing forwards, e.g. using an iterator
+            getMergedItems(tracker, last, last.getRemovedItems())
+                    .add(remove.getRemovedItem());
+            return true;
+        } else if (remove.getIndex() == last.getIndex() - 1) {
+            // Removing backwards from the end of the range
+            getMergedItems(tracker, last, last.getRemovedItems()).add(0,
+                    remove.getRemovedItem());
+            mergedChange = mergedChange.copy(remove.getIndex());
+            tracker.set(tracker.size() - 1, mergedChange);
+            return true;
+        }
+        return false;
+    }
+
+    private List<T> getMergedItems(List<AbstractListChange<T>> tracker,
+            AbstractListChange<T> last, List<T> items) {
+        if (last != mergedChange) {
+            mergedItems = new ArrayList<>(items);
+            if (last instanceof ListAddChange<?>) {
+                mergedChange = ((ListAddChange<T>) last).copy(mergedItems);
+            } else {
+                mergedChange = new ListRemoveChange<>(this, last.getIndex(),
+                        mergedItems);
+            }
+            tracker.set(tracker.size() - 1, mergedChange);
+        }
+        return mergedItems;
+    }
+
     private void setAccessed() {
         // TODO Set up listener if we're in a computation
     }
@@ -289,6 +398,8 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
     @Override
     public void collectChanges(Consumer<NodeChange> collector) {
         boolean hasRemoveAll = false;
+        mergedChange = null;
+        mergedItems = null;
 
         // This map contains items wrapped by AbstractListChanges as keys and
         // index in the following allChanges list as a value (it allows to get
@@ -300,13 +411,26 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
         // will be replaced by null and "add" will be adjusted. Indeces in
         // changes in between will be adjusted
         List<AbstractListChange<T>> allChanges = new ArrayList<>();
-        int index = 0;
         for (AbstractListChange<T> change : getChangeTracker()) {
+            int index = allChanges.size();
             if (change instanceof ListRemoveChange<?>) {
                 // the remove change => find an appropriate "add" event, adjust
                 // it and adjust everything in between
-                adjustChanges(index, (ListRemoveChange<T>) change, indices,
-                        allChanges);
+                ListRemoveChange<T> remove = (ListRemoveChange<T>) change;
+                List<T> removedItems = remove.getRemovedItems();
+                if (removedItems.size() == 1 || removedItems.stream()
+                        .noneMatch(indices::containsKey)) {
+                    adjustChanges(index, remove, indices, allChanges);
+                } else {
+                    // a merged remove of some items added in this round,
+                    // handle the items one by one
+                    for (T item : removedItems) {
+                        adjustChanges(allChanges.size(),
+                                new ListRemoveChange<>(this, remove.getIndex(),
+                                        item),
+                                indices, allChanges);
+                    }
+                }
             } else if (change instanceof ListAddChange<?>) {
                 allChanges.add(change);
                 int i = index;
@@ -317,12 +441,12 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
                         .forEach(item -> indices.put(item, i));
             } else if (change instanceof ListClearChange<?>) {
                 hasRemoveAll = true;
+                indices.clear();
                 allChanges.clear();
                 allChanges.add(change);
             } else {
                 assert false : "AbstractListChange has only three subtypes: add, remove and clear";
             }
-            index++;
         }
 
         List<AbstractListChange<T>> changes;
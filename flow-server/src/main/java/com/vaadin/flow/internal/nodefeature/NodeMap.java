@@ -19,7 +19,6 @@ package com.vaadin.flow.internal.nodefeature;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -112,11 +111,11 @@ public abstract class NodeMap extends NodeFeature {
         }
     }
 
-    private static class HashMapValues extends HashMap<String, Serializable>
+    private static class CompactValues extends CompactStringMap
             implements Values {
 
-        public HashMapValues(Values previousValues) {
-            super(previousValues == null ? 0 : previousValues.size());
+        public CompactValues(Values previousValues) {
+            super(previousValues == null ? 0 : previousValues.size() + 1);
             if (previousValues != null) {
                 previousValues.keySet().forEach(
                         key -> super.put(key, previousValues.get(key)));
@@ -202,7 +201,7 @@ public abstract class NodeMap extends NodeFeature {
             values = new SingleValue(key, value);
         } else {
             if (values instanceof SingleValue && !values.containsKey(key)) {
-                values = new HashMapValues(values);
+                values = new CompactValues(values);
             }
             values.set(key, value);
         }
@@ -349,11 +348,11 @@ public abstract class NodeMap extends NodeFeature {
                 values = null;
             }
         } else {
-            assert values instanceof HashMapValues;
-            HashMapValues hashMapValues = (HashMapValues) values;
-            oldValue = hashMapValues.remove(key);
+            assert values instanceof CompactValues;
+            CompactValues compactValues = (CompactValues) values;
+            oldValue = compactValues.remove(key);
 
-            if (hashMapValues.isEmpty()) {
+            if (compactValues.isEmpty()) {
                 values = null;
             }
         }
@@ -398,7 +397,7 @@ public abstract class NodeMap extends NodeFeature {
     }
 
     private Map<String, Serializable> getChangeTracker() {
-        return getNode().getChangeTracker(this, HashMap::new);
+        return getNode().getChangeTracker(this, CompactStringMap::new);
     }
 
     private void setAccessed(String key) {
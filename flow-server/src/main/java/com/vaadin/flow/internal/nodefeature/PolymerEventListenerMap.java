@@ -103,8 +103,9 @@ public class PolymerEventListenerMap extends NodeMap {
 
     private static ConstantPoolKey createConstantPoolKey(
             List<String> eventData) {
-        return new ConstantPoolKey(eventData.stream().map(Json::create)
-                .collect(JsonUtils.asArray()));
+        List<String> cacheKey = new ArrayList<>(eventData);
+        return ConstantPoolKey.intern(cacheKey, () -> cacheKey.stream()
+                .map(Json::create).collect(JsonUtils.asArray()));
     }
 
     private void removeListener(String eventType) {
@@ -55,10 +55,10 @@ public class BeforeLeaveEvent extends BeforeEvent {
         public void setReferences(NavigationHandler handler,
                 NavigationEvent event) {
             if (event != null) {
-                event.getUI().getSession().hasLock();
+                event.getUI().getSession().hasUILock(event.getUI());
             } else {
-                assert UI.getCurrent() != null
-                        && UI.getCurrent().getSession().hasLock();
+                assert UI.getCurrent() != null && UI.getCurrent().getSession()
+                        .hasUILock(UI.getCurrent());
             }
             this.handler = handler;
             this.event = event;
@@ -70,7 +70,8 @@ public class BeforeLeaveEvent extends BeforeEvent {
         public void proceed() {
             BeforeLeaveEvent.this.continueNavigationAction = null;
             if (handler != null && event != null) {
-                if (!event.getUI().getSession().hasLock()) {
+                if (!event.getUI().getSession()
+                        .hasUILock(event.getUI())) {
                     throw new IllegalStateException(
                             "The method 'proceed' may not be called without the session lock. "
                                     + "Use UI.access() to execute any UI related code from a separate thread properly");
@@ -179,6 +179,24 @@ public abstract class AbstractRouteRegistry implements RouteRegistry {
         return configuredRoutes;
     }
 
+    /**
+     * Finds the navigation target for the longest registered route path that
+     * is a prefix of the given path segments and accepts the remaining
+     * segments as parameters.
+     * <p>
+     * This gives the same result as trying
+     * {@link #getNavigationTarget(String, List)} for each prefix of the
+     * segments starting from the longest one, but resolves the route in a
+     * single pass.
+     *
+     * @param segments
+     *            path segments to resolve, not {@code null}
+     * @return optional of the matched route
+     */
+    public Optional<RouteMatch> findRoute(List<String> segments) {
+        return getConfiguration().findRoute(segments);
+    }
+
     @Override
     public List<RouteData> getRegisteredRoutes() {
         return getRegisteredRoutes(configuredRoutes);
@@ -72,6 +72,17 @@ public class ConfigureRoutes extends ConfiguredRoutes implements Serializable {
         this.exceptionTargetMap = exceptionTargetsMap;
     }
 
+    /**
+     * Override so that route resolution uses the current editable routes
+     * instead of a precompiled trie.
+     *
+     * @return route trie built from the current routes
+     */
+    @Override
+    protected RouteTrie getRouteTrie() {
+        return new RouteTrie(getRoutesMap());
+    }
+
     /**
      * Override so that the getters use the correct routes map for data.
      *
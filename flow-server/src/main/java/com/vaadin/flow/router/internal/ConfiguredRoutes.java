@@ -39,6 +39,7 @@ public class ConfiguredRoutes implements Serializable {
     private final Map<String, RouteTarget> routes;
     private final Map<Class<? extends Component>, String> targetRoutes;
     private final Map<Class<? extends Exception>, Class<? extends Component>> exceptionTargets;
+    private final RouteTrie routeTrie;
 
     /**
      * Create an immutable RouteConfiguration.
@@ -47,6 +48,7 @@ public class ConfiguredRoutes implements Serializable {
         routes = Collections.emptyMap();
         targetRoutes = Collections.emptyMap();
         exceptionTargets = Collections.emptyMap();
+        routeTrie = new RouteTrie(routes);
     }
 
     /**
@@ -77,6 +79,7 @@ public class ConfiguredRoutes implements Serializable {
         this.exceptionTargets = exceptionTargetMap.isEmpty() ?
                 Collections.emptyMap() :
                 Collections.unmodifiableMap(exceptionTargetMap);
+        this.routeTrie = new RouteTrie(this.routes);
     }
 
     protected Map<String, RouteTarget> getRoutesMap() {
@@ -161,6 +164,28 @@ public class ConfiguredRoutes implements Serializable {
         return Optional.empty();
     }
 
+    /**
+     * Find the navigation target for the longest registered route path that
+     * is a prefix of the given path segments and accepts the remaining
+     * segments as parameters.
+     *
+     * @param segments
+     *         path segments to resolve
+     * @return {@link Optional} containing the matched route if found
+     */
+    public Optional<RouteMatch> findRoute(List<String> segments) {
+        return Optional.ofNullable(getRouteTrie().match(segments));
+    }
+
+    /**
+     * Get the trie used for resolving routes by path segments.
+     *
+     * @return route trie for the registered routes
+     */
+    protected RouteTrie getRouteTrie() {
+        return routeTrie;
+    }
+
     /**
      * Get all registered paths that have been registered.
      *
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.router.internal;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.vaadin.flow.component.Component;
+
+/**
+ * The result of resolving a navigation target for path segments: the
+ * registered route path that matched a prefix of the segments together with
+ * the navigation target accepting the remaining segments as parameters.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+public final class RouteMatch implements Serializable {
+
+    private final String path;
+    private final Class<? extends Component> navigationTarget;
+    private final List<String> parameterSegments;
+    private final int routeSegmentCount;
+
+    /**
+     * Creates a new route match.
+     *
+     * @param path
+     *            the registered route path, not <code>null</code>
+     * @param navigationTarget
+     *            the navigation target, not <code>null</code>
+     * @param parameterSegments
+     *            the segments following the route path, not <code>null</code>
+     * @param routeSegmentCount
+     *            the number of segments matched by the route path
+     */
+    public RouteMatch(String path,
+            Class<? extends Component> navigationTarget,
+            List<String> parameterSegments, int routeSegmentCount) {
+        assert path != null;
+        assert navigationTarget != null;
+        assert parameterSegments != null;
+
+        this.path = path;
+        this.navigationTarget = navigationTarget;
+        this.parameterSegments = parameterSegments;
+        this.routeSegmentCount = routeSegmentCount;
+    }
+
+    /**
+     * Gets the registered route path which matched.
+     *
+     * @return the route path
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the navigation target for the matched route and parameters.
+     *
+     * @return the navigation target
+     */
+    public Class<? extends Component> getNavigationTarget() {
+        return navigationTarget;
+    }
+
+    /**
+     * Gets the segments following the matched route path.
+     *
+     * @return the parameter segments, may be empty
+     */
+    public List<String> getParameterSegments() {
+        return parameterSegments;
+    }
+
+    /**
+     * Gets the number of path segments matched by the route path. Matches
+     * with a higher count take precedence since they are more specific.
+     *
+     * @return the number of matched route path segments
+     */
+    public int getRouteSegmentCount() {
+        return routeSegmentCount;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.router.internal;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.server.startup.RouteTarget;
+
+/**
+ * Immutable trie of registered route paths keyed by path segment.
+ * <p>
+ * Resolving path segments walks the trie once as deep as the registered
+ * paths go and then checks the route targets on the way back up, so that the
+ * longest registered path accepting the remaining segments as parameters is
+ * found without building or looking up any intermediate path strings.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+public final class RouteTrie implements Serializable {
+
+    private static final class Node implements Serializable {
+        private final Node parent;
+        private Map<String, Node> children = Collections.emptyMap();
+        private String path;
+        private RouteTarget target;
+
+        private Node(Node parent) {
+            this.parent = parent;
+        }
+
+        private Node getOrCreateChild(String segment) {
+            if (children.isEmpty()) {
+                children = new HashMap<>();
+            }
+            return children.computeIfAbsent(segment, key -> new Node(this));
+        }
+
+        private RouteMatch match(List<String> segments, int routeSegments) {
+            if (target == null) {
+                return null;
+            }
+            List<String> parameters = segments.subList(routeSegments,
+                    segments.size());
+            Class<? extends Component> navigationTarget = target
+                    .getTarget(parameters);
+            if (navigationTarget == null) {
+                return null;
+            }
+            return new RouteMatch(path, navigationTarget, parameters,
+                    routeSegments);
+        }
+    }
+
+    private final Node root = new Node(null);
+
+    /**
+     * Creates a trie for the given routes.
+     *
+     * @param routes
+     *            the route targets by route path, not <code>null</code>
+     */
+    public RouteTrie(Map<String, RouteTarget> routes) {
+        routes.forEach(this::add);
+    }
+
+    private void add(String path, RouteTarget target) {
+        Node node = root;
+        if (!path.isEmpty()) {
+            for (String segment : path.split("/", -1)) {
+                node = node.getOrCreateChild(segment);
+            }
+        }
+        node.path = path;
+        node.target = target;
+    }
+
+    /**
+     * Finds the longest registered route path which is a prefix of the given
+     * segments and has a navigation target accepting the rest of the segments
+     * as parameters.
+     * <p>
+     * The root route <code>""</code> is matched last, with all the segments
+     * as parameters, unless the first segment is empty in which case the root
+     * route consumes it.
+     *
+     * @param segments
+     *            the path segments to resolve, not <code>null</code>
+     * @return the match, or <code>null</code> if no route matches
+     */
+    public RouteMatch match(List<String> segments) {
+        int size = segments.size();
+        if (size == 0) {
+            return null;
+        }
+
+        Node node = root;
+        int depth = 0;
+        while (depth < size) {
+            Node child = node.children.get(segments.get(depth));
+            if (child == null) {
+                break;
+            }
+            node = child;
+            depth++;
+        }
+
+        boolean emptyFirstSegment = segments.get(0).isEmpty();
+        for (; depth > 0; depth--, node = node.parent) {
+            if (depth == 1 && emptyFirstSegment) {
+                // An empty first segment is the root route itself
+                break;
+            }
+            RouteMatch match = node.match(segments, depth);
+            if (match != null) {
+                return match;
+            }
+        }
+        return root.match(segments, emptyFirstSegment ? 1 : 0);
+    }
+}
@@ -24,17 +24,28 @@ import java.util.stream.Collectors;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.internal.AnnotationReader;
+import com.vaadin.flow.internal.ReflectionCache;
 import com.vaadin.flow.router.ParentLayout;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.RouteAlias;
 import com.vaadin.flow.router.RoutePrefix;
 import com.vaadin.flow.router.RouterLayout;
+import com.vaadin.flow.server.RouteRegistry;
+import com.vaadin.flow.server.SessionRouteRegistry;
+import com.vaadin.flow.server.startup.ApplicationRouteRegistry;
 
 /**
  * Utility class with methods for route handling.
  */
 public class RouteUtil {
 
+    /*
+     * Whether the single pass lookup of a registry type gives the same result
+     * as its getNavigationTarget(String, List), which subclasses may override.
+     */
+    private static final ReflectionCache<AbstractRouteRegistry, Boolean> SINGLE_PASS_LOOKUP = new ReflectionCache<>(
+            RouteUtil::isSinglePassLookupConsistent);
+
     protected RouteUtil() {
     }
 
@@ -275,4 +286,70 @@ public class RouteUtil {
         }
         return route.value();
     }
+
+    /**
+     * Finds the navigation target for the longest route path registered in
+     * the given registry that is a prefix of the given path segments and
+     * accepts the remaining segments as parameters.
+     * <p>
+     * Registries extending {@link AbstractRouteRegistry} resolve the route in
+     * a single pass, unless they override
+     * {@link RouteRegistry#getNavigationTarget(String, List)} without also
+     * overriding {@link AbstractRouteRegistry#findRoute(List)}. For other
+     * registries each prefix is tried separately, starting from the longest
+     * one.
+     *
+     * @param registry
+     *            the registry to find the route from
+     * @param segments
+     *            path segments to resolve
+     * @return optional of the matched route
+     */
+    public static Optional<RouteMatch> findRoute(RouteRegistry registry,
+            List<String> segments) {
+        if (registry instanceof AbstractRouteRegistry && SINGLE_PASS_LOOKUP
+                .get(((AbstractRouteRegistry) registry).getClass())) {
+            return ((AbstractRouteRegistry) registry).findRoute(segments);
+        }
+        if (segments.isEmpty()) {
+            return Optional.empty();
+        }
+
+        boolean emptyFirstSegment = segments.get(0).isEmpty();
+        for (int count = segments.size(); count > 0; count--) {
+            String path = String.join("/", segments.subList(0, count));
+            Optional<RouteMatch> match = findRoute(registry, path, segments,
+                    count);
+            if (match.isPresent() || (count == 1 && emptyFirstSegment)) {
+                return match;
+            }
+        }
+        return findRoute(registry, "", segments, 0);
+    }
+
+    private static boolean isSinglePassLookupConsistent(
+            Class<AbstractRouteRegistry> type) {
+        try {
+            Class<?> lookupClass = type.getMethod("getNavigationTarget",
+                    String.class, List.class).getDeclaringClass();
+            Class<?> findClass = type.getMethod("findRoute", List.class)
+                    .getDeclaringClass();
+            return lookupClass == ApplicationRouteRegistry.class
+                    || lookupClass == SessionRouteRegistry.class
+                    || lookupClass.isAssignableFrom(findClass);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(
+                    "Route registry methods not found in " + type.getName(),
+                    e);
+        }
+    }
+
+    private static Optional<RouteMatch> findRoute(RouteRegistry registry,
+            String path, List<String> segments, int routeSegmentCount) {
+        List<String> parameters = segments.subList(routeSegmentCount,
+                segments.size());
+        return registry.getNavigationTarget(path, parameters)
+                .map(target -> new RouteMatch(path, target, parameters,
+                        routeSegmentCount));
+    }
 }
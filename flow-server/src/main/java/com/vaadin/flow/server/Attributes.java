@@ -16,7 +16,8 @@
 package com.vaadin.flow.server;
 
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * The {@link Attributes} class represents a set of attributes.
@@ -27,7 +28,7 @@ import java.util.HashMap;
  */
 public class Attributes implements Serializable {
 
-    private final HashMap<String, Object> attributes = new HashMap<>();
+    private final ConcurrentHashMap<String, Object> attributes = new ConcurrentHashMap<>();
 
     /**
      * Stores a value in this set.
@@ -133,6 +134,27 @@ public class Attributes implements Serializable {
         }
     }
 
+    /**
+     * Gets the value stored for the given type, atomically storing a new value
+     * if there is none.
+     *
+     * @param <T>
+     *            the attribute type
+     * @param type
+     *            the type of the value to get, can not be <code>null</code>
+     * @param supplier
+     *            the supplier of the value to store if no value is stored,
+     *            not <code>null</code>
+     * @return the stored value
+     */
+    <T> T computeIfAbsent(Class<T> type, Supplier<T> supplier) {
+        if (type == null) {
+            throw new IllegalArgumentException("type can not be null");
+        }
+        return type.cast(attributes.computeIfAbsent(type.getName(),
+                name -> supplier.get()));
+    }
+
     /**
      * Returns <code>true</code> if there are no attributes.
      *
@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -33,9 +34,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.ServiceLoader;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -55,6 +59,7 @@ import org.slf4j.LoggerFactory;
 import com.vaadin.flow.client.ClientResourcesUtils;
 import com.vaadin.flow.component.PushConfiguration;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.component.page.Inline;
 import com.vaadin.flow.component.page.Push;
 import com.vaadin.flow.component.page.Viewport;
@@ -117,6 +122,21 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
 
     static Supplier<String> clientEngineFile = () -> LazyClientEngineInit.CLIENT_ENGINE_FILE;
 
+    /**
+     * Placeholder for the bootstrap script contents in cached bootstrap page
+     * templates. Random so that it can't occur in the rendered page.
+     */
+    private static final String BOOTSTRAP_SCRIPT_MARKER = "//"
+            + UUID.randomUUID();
+
+    /**
+     * Upper bound for the number of cached bootstrap page templates, in case
+     * the application uses e.g. a large number of distinct page titles.
+     */
+    private static final int MAX_BOOTSTRAP_TEMPLATES = 256;
+
+    private final Map<BootstrapTemplateKey, BootstrapTemplate> bootstrapTemplates = new ConcurrentHashMap<>();
+
     private static Logger getLogger() {
         return LoggerFactory.getLogger(BootstrapHandler.class.getName());
     }
@@ -387,6 +407,122 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
 
     }
 
+    /**
+     * The distinct configuration of a cacheable bootstrap page. Everything
+     * that affects the rendered page apart from the bootstrap script is
+     * either part of the key or is the same for the whole application.
+     */
+    private static final class BootstrapTemplateKey implements Serializable {
+        private final Class<? extends UI> uiClass;
+        private final Class<?> pageConfigurationHolder;
+        private final String language;
+        private final String title;
+        private final String serviceUrl;
+        private final String contextRootPath;
+        private final boolean es6Supported;
+        private final boolean es5AdapterNeeded;
+        private final boolean pushEnabled;
+        private final String dependencies;
+
+        private BootstrapTemplateKey(BootstrapContext context, String title,
+                String dependencies) {
+            UI ui = context.getUI();
+            WebBrowser browser = context.getSession().getBrowser();
+            uiClass = ui.getClass();
+            pageConfigurationHolder = context.pageConfigurationHolder;
+            language = ui.getLocale().getLanguage();
+            this.title = title;
+            serviceUrl = getServiceUrl(context);
+            contextRootPath = ui.getInternals().getContextRootRelativePath();
+            es6Supported = browser.isEs6Supported();
+            es5AdapterNeeded = browser.isEs5AdapterNeeded();
+            pushEnabled = context.getPushMode().isEnabled();
+            this.dependencies = dependencies;
+        }
+
+        /**
+         * Creates a key for the page of the given context, or an empty
+         * optional if the dependencies rendered into the page can't be
+         * identified without their contents.
+         */
+        private static Optional<BootstrapTemplateKey> create(
+                BootstrapContext context, String title,
+                Map<LoadMode, JsonArray> dependenciesToProcessOnServer) {
+            StringBuilder dependencies = new StringBuilder();
+            for (Map.Entry<LoadMode, JsonArray> entry : dependenciesToProcessOnServer
+                    .entrySet()) {
+                JsonArray array = entry.getValue();
+                for (int i = 0; i < array.length(); i++) {
+                    JsonObject dependency = array.getObject(i);
+                    if (!dependency.hasKey(Dependency.KEY_URL)) {
+                        return Optional.empty();
+                    }
+                    dependencies.append(entry.getKey()).append(':')
+                            .append(dependency.getString(Dependency.KEY_TYPE))
+                            .append(':')
+                            .append(dependency.getString(Dependency.KEY_URL))
+                            .append('\n');
+                }
+            }
+            return Optional.of(new BootstrapTemplateKey(context, title,
+                    dependencies.toString()));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof BootstrapTemplateKey)) {
+                return false;
+            }
+            BootstrapTemplateKey that = (BootstrapTemplateKey) obj;
+            return es6Supported == that.es6Supported
+                    && es5AdapterNeeded == that.es5AdapterNeeded
+                    && pushEnabled == that.pushEnabled
+                    && uiClass.equals(that.uiClass)
+                    && Objects.equals(pageConfigurationHolder,
+                            that.pageConfigurationHolder)
+                    && language.equals(that.language)
+                    && Objects.equals(title, that.title)
+                    && serviceUrl.equals(that.serviceUrl)
+                    && contextRootPath.equals(that.contextRootPath)
+                    && dependencies.equals(that.dependencies);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uiClass, pageConfigurationHolder, language,
+                    title, serviceUrl, contextRootPath, es6Supported,
+                    es5AdapterNeeded, pushEnabled, dependencies);
+        }
+    }
+
+    /**
+     * A pre-rendered bootstrap page split around the contents of the
+     * bootstrap script.
+     */
+    private static final class BootstrapTemplate implements Serializable {
+        private final String beforeScript;
+        private final String afterScript;
+
+        private BootstrapTemplate(String html) {
+            int index = html.indexOf(BOOTSTRAP_SCRIPT_MARKER);
+            assert index >= 0 : "Bootstrap script marker not found";
+            beforeScript = html.substring(0, index);
+            afterScript = html
+                    .substring(index + BOOTSTRAP_SCRIPT_MARKER.length());
+        }
+
+        private String render(String bootstrapScriptContents) {
+            return new StringBuilder(beforeScript.length()
+                    + bootstrapScriptContents.length() + afterScript.length())
+                            .append(beforeScript)
+                            .append(bootstrapScriptContents)
+                            .append(afterScript).toString();
+        }
+    }
+
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
             VaadinRequest request, VaadinResponse response) throws IOException {
@@ -396,16 +532,93 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
         BootstrapContext context = createAndInitUI(uiClass, request, response,
                 session);
 
-        ServletHelper.setResponseNoCacheHeaders(response::setHeader,
-                response::setDateHeader);
-
-        Document document = getBootstrapPage(context);
-        writeBootstrapPage(response, document.outerHtml());
+        UIInternals internals = context.getUI().getInternals();
+        try {
+            ServletHelper.setResponseNoCacheHeaders(response::setHeader,
+                    response::setDateHeader);
+
+            writeBootstrapPage(response, getBootstrapHtml(context));
+        } finally {
+            if (internals.hasLock()) {
+                // Locked by createAndInitUI when UI locking is enabled
+                internals.unlock();
+            }
+        }
 
         return true;
     }
 
+    /**
+     * Gets the HTML of the bootstrap page for the given context. If the page
+     * can be cached, it's rendered only once for each distinct page
+     * configuration and only the bootstrap script, which contains the per
+     * request parts such as the application id and the initial UIDL, is
+     * generated for each request.
+     *
+     * @param context
+     *            the bootstrap context
+     * @return the bootstrap page HTML
+     */
+    String getBootstrapHtml(BootstrapContext context) {
+        if (!isBootstrapTemplateCacheable(context)) {
+            return getBootstrapPage(context).outerHtml();
+        }
+
+        // The title must be resolved before the initial UIDL is generated
+        // since resolving it cancels the pending title update
+        Optional<String> title = resolvePageTitle(context);
+        JsonObject initialUIDL = getInitialUidl(context.getUI());
+        Map<LoadMode, JsonArray> dependenciesToProcessOnServer = popDependenciesToProcessOnServer(
+                initialUIDL);
+
+        Optional<BootstrapTemplateKey> key = BootstrapTemplateKey.create(
+                context, title.orElse(null), dependenciesToProcessOnServer);
+        if (!key.isPresent()) {
+            return getBootstrapPage(context, dependenciesToProcessOnServer,
+                    getBootstrapScript(initialUIDL, context)).outerHtml();
+        }
+
+        BootstrapTemplate template = bootstrapTemplates.get(key.get());
+        if (template == null) {
+            Document document = getBootstrapPage(context,
+                    dependenciesToProcessOnServer,
+                    createInlineJavaScriptElement(BOOTSTRAP_SCRIPT_MARKER));
+            template = new BootstrapTemplate(document.outerHtml());
+            if (bootstrapTemplates.size() < MAX_BOOTSTRAP_TEMPLATES) {
+                bootstrapTemplates.putIfAbsent(key.get(), template);
+            }
+        }
+        return template.render(
+                getBootstrapScriptContents(initialUIDL, context));
+    }
+
+    private static boolean isBootstrapTemplateCacheable(
+            BootstrapContext context) {
+        VaadinSession session = context.getSession();
+        if (!session.getConfiguration().isBootstrapTemplateCacheEnabled()) {
+            return false;
+        }
+        // Bootstrap listeners and page configurators may modify the page
+        // based on anything in the request
+        return !session.getService().hasBootstrapListeners()
+                && context.getUI().getChildren().noneMatch(
+                        component -> component instanceof PageConfigurator);
+    }
+
     static Document getBootstrapPage(BootstrapContext context) {
+        // The title must be resolved before the initial UIDL is generated
+        // since resolving it cancels the pending title update
+        resolvePageTitle(context);
+        JsonObject initialUIDL = getInitialUidl(context.getUI());
+        Map<LoadMode, JsonArray> dependenciesToProcessOnServer = popDependenciesToProcessOnServer(
+                initialUIDL);
+        return getBootstrapPage(context, dependenciesToProcessOnServer,
+                getBootstrapScript(initialUIDL, context));
+    }
+
+    private static Document getBootstrapPage(BootstrapContext context,
+            Map<LoadMode, JsonArray> dependenciesToProcessOnServer,
+            Element bootstrapScript) {
         Document document = new Document("");
         DocumentType doctype = new DocumentType("html", "", "",
                 document.baseUri());
@@ -416,7 +629,7 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
         html.appendElement("body");
 
         List<Element> dependenciesToInlineInBody = setupDocumentHead(head,
-                context);
+                context, dependenciesToProcessOnServer, bootstrapScript);
         dependenciesToInlineInBody
                 .forEach(dependency -> document.body().appendChild(dependency));
         setupDocumentBody(document);
@@ -572,14 +785,13 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
     }
 
     private static List<Element> setupDocumentHead(Element head,
-            BootstrapContext context) {
+            BootstrapContext context,
+            Map<LoadMode, JsonArray> dependenciesToProcessOnServer,
+            Element bootstrapScript) {
         setupMetaAndTitle(head, context);
         setupCss(head, context);
 
-        JsonObject initialUIDL = getInitialUidl(context.getUI());
-        Map<LoadMode, JsonArray> dependenciesToProcessOnServer = popDependenciesToProcessOnServer(
-                initialUIDL);
-        setupFrameworkLibraries(head, initialUIDL, context);
+        setupFrameworkLibraries(head, bootstrapScript, context);
         return applyUserDependencies(head, context,
                 dependenciesToProcessOnServer);
     }
@@ -632,7 +844,7 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
     }
 
     private static void setupFrameworkLibraries(Element head,
-            JsonObject initialUIDL, BootstrapContext context) {
+            Element bootstrapScript, BootstrapContext context) {
         inlineEs6Collections(head, context);
         appendWebComponentsPolyfills(head, context);
 
@@ -640,7 +852,7 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
             head.appendChild(getPushScript(context));
         }
 
-        head.appendChild(getBootstrapScript(initialUIDL, context));
+        head.appendChild(bootstrapScript);
         head.appendChild(createJavaScriptElement(getClientEngineUrl(context)));
     }
 
@@ -915,8 +1127,14 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
 
     private static Element getBootstrapScript(JsonValue initialUIDL,
             BootstrapContext context) {
-        return createInlineJavaScriptElement("//<![CDATA[\n"
-                + getBootstrapJS(initialUIDL, context) + "//]]>");
+        return createInlineJavaScriptElement(
+                getBootstrapScriptContents(initialUIDL, context));
+    }
+
+    private static String getBootstrapScriptContents(JsonValue initialUIDL,
+            BootstrapContext context) {
+        return "//<![CDATA[\n" + getBootstrapJS(initialUIDL, context)
+                + "//]]>";
     }
 
     private static String getBootstrapJS(JsonValue initialUIDL,
@@ -1084,6 +1302,26 @@ appConfig.put(ApplicationConstants.UI_TAG, context.getUI().getElement().getTag()
             VaadinRequest request, VaadinResponse response,
             VaadinSession session) {
         UI ui = ReflectTools.createInstance(uiClass);
+        boolean uiLocking = session.getService().isUILockingEnabled();
+        if (uiLocking) {
+            /*
+             * The state of the UI is guarded by its own lock, which is
+             * released once the bootstrap page has been written.
+             */
+            ui.getInternals().lock();
+        }
+        try {
+            return initUI(ui, request, response, session);
+        } catch (RuntimeException e) {
+            if (uiLocking) {
+                ui.getInternals().unlock();
+            }
+            throw e;
+        }
+    }
+
+    private BootstrapContext initUI(UI ui, VaadinRequest request,
+            VaadinResponse response, VaadinSession session) {
         ui.getInternals().setContextRoot(
                 ServletHelper.getContextRootRelativePath(request) + "/");
 
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.internal.JsonCodec;
+import com.vaadin.flow.internal.JsonSerializer;
+import com.vaadin.flow.shared.Registration;
+
+import elemental.json.JsonValue;
+
+/**
+ * A topic for publishing the same value to components in many UIs, e.g. for
+ * showing live data such as stock prices or status information to all users.
+ * <p>
+ * Publishing a value updates the subscribed components of each session in
+ * one access task, instead of acquiring the lock and collecting the changes
+ * separately for each UI as with a loop calling {@link UI#access(Command)}.
+ * When UI locking is enabled, there is one access task for each UI. Beans and
+ * collections bound to element properties using
+ * {@link #bindProperty(Component, String)} are converted to JSON once for
+ * each published value and the same JSON is used in all UIs.
+ * <p>
+ * A component only receives values while it is attached. When a component is
+ * attached, or subscribed while attached, it immediately receives the latest
+ * published value if there is one.
+ * <p>
+ * A topic is typically stored in a static field or an application scoped
+ * bean. It is safe to publish values from any thread, but subscribing must be
+ * done while holding the session lock. Subscriptions are not preserved when
+ * sessions are serialized.
+ *
+ * @param <T>
+ *            the type of the published values
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+public class BroadcastTopic<T> implements Serializable {
+
+    /**
+     * A published value and its lazily created JSON representation.
+     */
+    private static class Publication<T> implements Serializable {
+        private final T value;
+        private transient JsonValue json;
+
+        private Publication(T value) {
+            this.value = value;
+        }
+
+        private synchronized JsonValue getJson() {
+            if (json == null) {
+                if (value == null || JsonCodec
+                        .canEncodeWithoutTypeInfo(value.getClass())) {
+                    json = JsonCodec.encodeWithoutTypeInfo(value);
+                } else {
+                    json = JsonSerializer.toJson(value);
+                }
+            }
+            return json;
+        }
+    }
+
+    private static class Subscription<T> implements Serializable {
+        private transient BroadcastTopic<T> topic;
+        private final Component component;
+        private final SerializableConsumer<T> listener;
+        private final String property;
+
+        private Registration attachRegistration;
+        private Registration detachRegistration;
+
+        // The UI and session the subscription is registered with, if any
+        private volatile UI ui;
+        private volatile VaadinSession session;
+
+        private Subscription(BroadcastTopic<T> topic, Component component,
+                SerializableConsumer<T> listener, String property) {
+            this.topic = topic;
+            this.component = component;
+            this.listener = listener;
+            this.property = property;
+        }
+
+        private void deliver(Publication<T> publication) {
+            if (listener != null) {
+                listener.accept(publication.value);
+                return;
+            }
+            Element element = component.getElement();
+            Object value = publication.value;
+            if (value instanceof String) {
+                element.setProperty(property, (String) value);
+            } else if (value instanceof Boolean) {
+                element.setProperty(property, (Boolean) value);
+            } else if (isExactAsDouble(value)) {
+                element.setProperty(property,
+                        ((Number) value).doubleValue());
+            } else if (value instanceof Number) {
+                // Would lose precision as a double, e.g. Long or BigDecimal
+                element.setProperty(property, value.toString());
+            } else {
+                element.setPropertyJson(property, publication.getJson());
+            }
+        }
+
+        private static boolean isExactAsDouble(Object value) {
+            return value instanceof Double || value instanceof Float
+                    || value instanceof Integer || value instanceof Short
+                    || value instanceof Byte;
+        }
+    }
+
+    private transient Map<VaadinSession, Set<Subscription<T>>> subscriptions = new ConcurrentHashMap<>();
+
+    private transient volatile Publication<T> latest;
+
+    /**
+     * Subscribes the given component to this topic. The listener is run with
+     * the session of the component locked for each value published while the
+     * component is attached.
+     *
+     * @param component
+     *            the component to update, not <code>null</code>
+     * @param listener
+     *            the listener updating the component with published values,
+     *            not <code>null</code>
+     * @return a handle that can be used for unsubscribing
+     */
+    public Registration subscribe(Component component,
+            SerializableConsumer<T> listener) {
+        Objects.requireNonNull(component, "Component cannot be null");
+        Objects.requireNonNull(listener, "Listener cannot be null");
+        return addSubscription(
+                new Subscription<>(this, component, listener, null));
+    }
+
+    /**
+     * Binds an element property of the given component to the values
+     * published to this topic. Strings, booleans and numbers that are exactly
+     * representable as a double, i.e. {@link Double}, {@link Float},
+     * {@link Integer}, {@link Short} and {@link Byte}, are set as is. Other
+     * numbers, such as {@link Long} and {@link java.math.BigDecimal}, are set
+     * as strings so that no precision is lost. Other values are converted to
+     * JSON as with {@link JsonSerializer#toJson(Object)}, once for each
+     * published value.
+     *
+     * @param component
+     *            the component to update, not <code>null</code>
+     * @param property
+     *            the name of the element property to set, not
+     *            <code>null</code>
+     * @return a handle that can be used for removing the binding
+     */
+    public Registration bindProperty(Component component, String property) {
+        Objects.requireNonNull(component, "Component cannot be null");
+        Objects.requireNonNull(property, "Property cannot be null");
+        return addSubscription(
+                new Subscription<>(this, component, null, property));
+    }
+
+    /**
+     * Publishes a value to all subscribed components. The components are
+     * updated asynchronously while holding the lock of their session or UI.
+     *
+     * @param value
+     *            the value to publish
+     */
+    public void publish(T value) {
+        Publication<T> publication = new Publication<>(value);
+        latest = publication;
+
+        subscriptions.forEach((session, sessionSubscriptions) -> {
+            if (session.getService().isUILockingEnabled()) {
+                groupByUI(sessionSubscriptions)
+                        .forEach((ui, uiSubscriptions) -> ui.accessLater(
+                                () -> deliver(uiSubscriptions, publication),
+                                () -> {
+                                    // Detached UIs are unregistered
+                                }).run());
+            } else {
+                session.access(() -> deliver(sessionSubscriptions,
+                        publication));
+            }
+        });
+    }
+
+    private static <T> Map<UI, List<Subscription<T>>> groupByUI(
+            Collection<Subscription<T>> sessionSubscriptions) {
+        Map<UI, List<Subscription<T>>> byUI = new LinkedHashMap<>();
+        for (Subscription<T> subscription : sessionSubscriptions) {
+            UI ui = subscription.ui;
+            if (ui != null) {
+                byUI.computeIfAbsent(ui, key -> new ArrayList<>())
+                        .add(subscription);
+            }
+        }
+        return byUI;
+    }
+
+    private static <T> void deliver(
+            Collection<Subscription<T>> sessionSubscriptions,
+            Publication<T> publication) {
+        for (Subscription<T> subscription : sessionSubscriptions) {
+            UI ui = subscription.ui;
+            if (ui == null) {
+                // Detached after publishing
+                continue;
+            }
+            Map<Class<?>, CurrentInstance> old = CurrentInstance.setCurrent(ui);
+            try {
+                subscription.deliver(publication);
+            } catch (RuntimeException e) {
+                LoggerFactory.getLogger(BroadcastTopic.class.getName())
+                        .error("Error delivering a published value", e);
+            } finally {
+                CurrentInstance.restoreInstances(old);
+            }
+        }
+    }
+
+    private Registration addSubscription(Subscription<T> subscription) {
+        Element element = subscription.component.getElement();
+        subscription.attachRegistration = element.addAttachListener(
+                event -> subscription.component.getUI()
+                        .ifPresent(ui -> register(subscription, ui)));
+        subscription.detachRegistration = element
+                .addDetachListener(event -> unregister(subscription));
+        subscription.component.getUI()
+                .ifPresent(ui -> register(subscription, ui));
+
+        return () -> {
+            subscription.attachRegistration.remove();
+            subscription.detachRegistration.remove();
+            unregister(subscription);
+        };
+    }
+
+    private static <T> void register(Subscription<T> subscription, UI ui) {
+        BroadcastTopic<T> topic = subscription.topic;
+        VaadinSession session = ui.getSession();
+        if (topic == null || session == null) {
+            return;
+        }
+        unregister(subscription);
+        subscription.ui = ui;
+        subscription.session = session;
+        // With UI locking, UIs of the same session may register concurrently
+        topic.subscriptions.compute(session, (key, sessionSubscriptions) -> {
+            Set<Subscription<T>> updated = sessionSubscriptions;
+            if (updated == null) {
+                updated = ConcurrentHashMap.newKeySet();
+            }
+            updated.add(subscription);
+            return updated;
+        });
+
+        Publication<T> publication = topic.latest;
+        if (publication != null) {
+            subscription.deliver(publication);
+        }
+    }
+
+    private static <T> void unregister(Subscription<T> subscription) {
+        BroadcastTopic<T> topic = subscription.topic;
+        VaadinSession session = subscription.session;
+        subscription.ui = null;
+        subscription.session = null;
+        if (topic == null || session == null) {
+            return;
+        }
+        topic.subscriptions.computeIfPresent(session,
+                (key, sessionSubscriptions) -> {
+                    sessionSubscriptions.remove(subscription);
+                    return sessionSubscriptions.isEmpty() ? null
+                            : sessionSubscriptions;
+                });
+    }
+
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        subscriptions = new ConcurrentHashMap<>();
+    }
+}
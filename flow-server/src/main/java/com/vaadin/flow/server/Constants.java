@@ -48,6 +48,47 @@ public final class Constants implements Serializable {
      */
     public static final String SERVLET_PARAMETER_BROTLI = "brotli";
 
+    /**
+     * Configuration name for the parameter that determines whether each UI
+     * should be locked separately instead of locking the whole session when
+     * handling requests for a UI.
+     */
+    public static final String SERVLET_PARAMETER_UI_LOCKING = "uiLocking";
+
+    /**
+     * Configuration name for the parameter that determines whether stream
+     * resource downloads and uploads should use non-blocking servlet I/O when
+     * the servlet supports asynchronous processing.
+     */
+    public static final String SERVLET_PARAMETER_ASYNC_STREAMING = "asyncStreaming";
+
+    /**
+     * Configuration name for the parameter that determines the size of the
+     * buffer, in bytes, used when copying stream resource and upload data.
+     */
+    public static final String SERVLET_PARAMETER_STREAM_BUFFER_SIZE = "streamBufferSize";
+
+    /**
+     * Configuration name for the parameter that determines whether rendered
+     * bootstrap pages should be cached and reused for subsequent initial
+     * requests with the same page configuration.
+     */
+    public static final String SERVLET_PARAMETER_BOOTSTRAP_TEMPLATE_CACHE = "bootstrapTemplateCache";
+
+    /**
+     * Configuration name for the parameter that determines whether state tree
+     * changes should be sent to the client using the compact positional
+     * encoding instead of JSON objects with named properties.
+     */
+    public static final String SERVLET_PARAMETER_COMPACT_CHANGE_ENCODING = "compactChangeEncoding";
+
+    /**
+     * Configuration name for the parameter that determines the number of
+     * threads used for serializing and writing push messages outside the
+     * session lock.
+     */
+    public static final String SERVLET_PARAMETER_PUSH_WRITER_THREADS = "pushWriterThreads";
+
     /**
      * Configuration name for loading the ES5 adapters.
      */
@@ -77,6 +77,26 @@ public class DefaultDeploymentConfiguration
 
     public static final boolean DEFAULT_SEND_URLS_AS_PARAMETERS = true;
 
+    /**
+     * Default value for {@link #isUILockingEnabled()} = {@value} .
+     */
+    public static final boolean DEFAULT_UI_LOCKING = false;
+
+    /**
+     * Default value for {@link #isAsyncStreaming()} = {@value} .
+     */
+    public static final boolean DEFAULT_ASYNC_STREAMING = false;
+
+    /**
+     * Default value for {@link #getStreamBufferSize()} = {@value} .
+     */
+    public static final int DEFAULT_STREAM_BUFFER_SIZE = 32 * 1024;
+
+    /**
+     * Default value for {@link #getPushWriterThreads()} = {@value} .
+     */
+    public static final int DEFAULT_PUSH_WRITER_THREADS = 0;
+
     private boolean productionMode;
     private boolean xsrfProtectionEnabled;
     private int heartbeatInterval;
@@ -87,6 +107,12 @@ public class DefaultDeploymentConfiguration
     private boolean syncIdCheck;
     private boolean sendUrlsAsParameters;
     private boolean requestTiming;
+    private boolean uiLocking;
+    private boolean asyncStreaming;
+    private int streamBufferSize;
+    private boolean bootstrapTemplateCache;
+    private boolean compactChangeEncoding;
+    private int pushWriterThreads;
     private static AtomicBoolean loggWarning = new AtomicBoolean(true);
 
     /**
@@ -115,6 +141,12 @@ public class DefaultDeploymentConfiguration
         checkPushURL();
         checkSyncIdCheck();
         checkSendUrlsAsParameters();
+        checkUILocking();
+        checkAsyncStreaming();
+        checkStreamBufferSize();
+        checkBootstrapTemplateCache();
+        checkCompactChangeEncoding();
+        checkPushWriterThreads();
     }
 
     /**
@@ -193,6 +225,68 @@ public class DefaultDeploymentConfiguration
         return sendUrlsAsParameters;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The default value is <code>false</code>.
+     */
+    @Override
+    public boolean isUILockingEnabled() {
+        return uiLocking;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The default value is <code>false</code>.
+     */
+    @Override
+    public boolean isAsyncStreaming() {
+        return asyncStreaming;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The default value is 32 KB.
+     */
+    @Override
+    public int getStreamBufferSize() {
+        return streamBufferSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The default is <code>true</code> when in production mode and
+     * <code>false</code> when not in production mode.
+     */
+    @Override
+    public boolean isBootstrapTemplateCacheEnabled() {
+        return bootstrapTemplateCache;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The default is <code>true</code> when in production mode and
+     * <code>false</code> when not in production mode.
+     */
+    @Override
+    public boolean isCompactChangeEncoding() {
+        return compactChangeEncoding;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The default is <code>0</code>, writing messages in the pushing thread.
+     */
+    @Override
+    public int getPushWriterThreads() {
+        return pushWriterThreads;
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -295,6 +389,63 @@ public class DefaultDeploymentConfiguration
                 DEFAULT_SYNC_ID_CHECK);
     }
 
+    private void checkUILocking() {
+        uiLocking = getBooleanProperty(Constants.SERVLET_PARAMETER_UI_LOCKING,
+                DEFAULT_UI_LOCKING);
+    }
+
+    private void checkAsyncStreaming() {
+        asyncStreaming = getBooleanProperty(
+                Constants.SERVLET_PARAMETER_ASYNC_STREAMING,
+                DEFAULT_ASYNC_STREAMING);
+    }
+
+    private void checkStreamBufferSize() {
+        try {
+            streamBufferSize = getApplicationOrSystemProperty(
+                    Constants.SERVLET_PARAMETER_STREAM_BUFFER_SIZE,
+                    DEFAULT_STREAM_BUFFER_SIZE, Integer::parseInt);
+        } catch (NumberFormatException e) {
+            getLogger().warn(
+                    "streamBufferSize has been set to a non integer value. "
+                            + "The default of {} will be used.",
+                    DEFAULT_STREAM_BUFFER_SIZE);
+            streamBufferSize = DEFAULT_STREAM_BUFFER_SIZE;
+        }
+        if (streamBufferSize <= 0) {
+            streamBufferSize = DEFAULT_STREAM_BUFFER_SIZE;
+        }
+    }
+
+    private void checkBootstrapTemplateCache() {
+        bootstrapTemplateCache = getBooleanProperty(
+                Constants.SERVLET_PARAMETER_BOOTSTRAP_TEMPLATE_CACHE,
+                productionMode);
+    }
+
+    private void checkPushWriterThreads() {
+        try {
+            pushWriterThreads = getApplicationOrSystemProperty(
+                    Constants.SERVLET_PARAMETER_PUSH_WRITER_THREADS,
+                    DEFAULT_PUSH_WRITER_THREADS, Integer::parseInt);
+        } catch (NumberFormatException e) {
+            getLogger().warn(
+                    "pushWriterThreads has been set to a non integer value. "
+                            + "The default of {} will be used.",
+                    DEFAULT_PUSH_WRITER_THREADS);
+            pushWriterThreads = DEFAULT_PUSH_WRITER_THREADS;
+        }
+        if (pushWriterThreads < 0) {
+            pushWriterThreads = DEFAULT_PUSH_WRITER_THREADS;
+        }
+    }
+
+    private void checkCompactChangeEncoding() {
+        compactChangeEncoding = getBooleanProperty(
+                Constants.SERVLET_PARAMETER_COMPACT_CHANGE_ENCODING,
+                productionMode);
+    }
+
     private void checkSendUrlsAsParameters() {
         sendUrlsAsParameters = getBooleanProperty(
                 Constants.SERVLET_PARAMETER_SEND_URLS_AS_PARAMETERS,
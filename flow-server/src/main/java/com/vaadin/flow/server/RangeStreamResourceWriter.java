@@ -0,0 +1,66 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream consumer which in addition to the full data is able to write
+ * any byte range of it. Used for serving HTTP range requests for a
+ * {@link StreamResource}.
+ *
+ * @see SeekableInputStreamFactory
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+public interface RangeStreamResourceWriter extends StreamResourceWriter {
+
+    /**
+     * Gets the total length of the data in bytes.
+     * <p>
+     * This method is called under the session lock.
+     *
+     * @param session
+     *            vaadin session
+     * @return the length of the data in bytes, or a negative value if the
+     *         length is not known in which case only the full data is written
+     */
+    long getContentLength(VaadinSession session);
+
+    /**
+     * Writes the given range of the data to {@code stream} using
+     * {@code session} as a context.
+     * <p>
+     * Note that the method is not called under the session lock. It means that
+     * if implementation requires access to the application/session data then
+     * the session has to be locked explicitly.
+     *
+     * @param stream
+     *            data output stream
+     * @param session
+     *            vaadin session
+     * @param start
+     *            the offset of the first byte to write
+     * @param length
+     *            the number of bytes to write
+     * @throws IOException
+     *             if an IO error occurred
+     */
+    void accept(OutputStream stream, VaadinSession session, long start,
+            long length) throws IOException;
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.InputStream;
+
+/**
+ * Input stream factory which is able to create input streams starting from
+ * any position of the resource data. A {@link StreamResource} created using a
+ * seekable factory supports HTTP range requests, so that e.g. interrupted
+ * downloads can be resumed and media players can seek without transferring
+ * the data from the beginning.
+ *
+ * @see StreamResource#StreamResource(String, InputStreamFactory)
+ * @see RangeStreamResourceWriter
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+public interface SeekableInputStreamFactory extends InputStreamFactory {
+
+    /**
+     * Gets the total length of the resource data in bytes.
+     * <p>
+     * This method is called under the Vaadin session lock.
+     *
+     * @return the length of the data in bytes, or a negative value if the
+     *         length is not known in which case range requests are not
+     *         supported for the resource
+     */
+    long getContentLength();
+
+    /**
+     * Produce {@link InputStream} instance to read resource data starting from
+     * the given byte offset.
+     * <p>
+     * This method is called under the Vaadin session lock. Whether the
+     * returned stream is read under the lock is controlled by
+     * {@link #requiresLock()} in the same way as for
+     * {@link #createInputStream()}.
+     * <p>
+     * Return value may not be null.
+     *
+     * @param offset
+     *            the offset of the first byte to read, not negative and less
+     *            than the content length
+     * @return data input stream positioned at the given offset. May not be
+     *         null.
+     */
+    InputStream createInputStream(long offset);
+
+    @Override
+    default InputStream createInputStream() {
+        return createInputStream(0);
+    }
+}
@@ -88,6 +88,28 @@ public class ServletHelper implements Serializable {
                 .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER));
     }
 
+    /**
+     * Returns the type of the given request.
+     *
+     * @param request
+     *            the request to check
+     * @return the type of the request, or <code>null</code> if the request
+     *         does not have any of the types defined in {@link RequestType}
+     */
+    public static RequestType getRequestType(VaadinRequest request) {
+        String identifier = request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER);
+        if (identifier == null) {
+            return null;
+        }
+        for (RequestType requestType : RequestType.values()) {
+            if (requestType.getIdentifier().equals(identifier)) {
+                return requestType;
+            }
+        }
+        return null;
+    }
+
     /**
      * Helper to find the most most suitable Locale. These potential sources are
      * checked in order until a Locale is found:
@@ -31,6 +31,8 @@ import com.vaadin.flow.router.RoutesChangedEvent;
 import com.vaadin.flow.router.RoutesChangedListener;
 import com.vaadin.flow.router.internal.AbstractRouteRegistry;
 import com.vaadin.flow.router.internal.ConfiguredRoutes;
+import com.vaadin.flow.router.internal.RouteMatch;
+import com.vaadin.flow.router.internal.RouteUtil;
 import com.vaadin.flow.shared.Registration;
 
 /**
@@ -78,12 +80,10 @@ public class SessionRouteRegistry extends AbstractRouteRegistry {
     public static RouteRegistry getSessionRegistry(VaadinSession session) {
         Objects.requireNonNull(session,
                 "Null session is not supported for session route registry");
-        SessionRouteRegistry registry = session
-                .getAttribute(SessionRouteRegistry.class);
-        if (registry == null) {
-            registry = new SessionRouteRegistry(session, session.getService());
-            session.setAttribute(SessionRouteRegistry.class, registry);
-        }
+        // Navigation only holds the UI lock when UI locking is enabled
+        SessionRouteRegistry registry = session.getOrCreateAttribute(
+                SessionRouteRegistry.class,
+                () -> new SessionRouteRegistry(session, session.getService()));
         if (!registry.session.equals(session)) {
             throw new IllegalStateException(
                     "Session has as the attribute a route registered to another session");
@@ -174,6 +174,20 @@ public class SessionRouteRegistry extends AbstractRouteRegistry {
         return parentRegistry.getNavigationTarget(pathString, segments);
     }
 
+    @Override
+    public Optional<RouteMatch> findRoute(List<String> segments) {
+        Optional<RouteMatch> sessionMatch = super.findRoute(segments);
+        Optional<RouteMatch> parentMatch = RouteUtil.findRoute(parentRegistry,
+                segments);
+        // The longer route wins, session routes take precedence on a tie
+        if (!parentMatch.isPresent() || (sessionMatch.isPresent()
+                && sessionMatch.get().getRouteSegmentCount() >= parentMatch
+                        .get().getRouteSegmentCount())) {
+            return sessionMatch;
+        }
+        return parentMatch;
+    }
+
     @Override
     public Optional<String> getTargetUrl(
             Class<? extends Component> navigationTarget) {
@@ -99,9 +99,22 @@ public class StaticFileServer implements StaticFileHandler {
         // Intentionally writing cache headers also for 304 responses
         writeCacheHeaders(filenameWithPath, response);
 
+        // A matching If-None-Match is answered before any connection to the
+        // resource is opened for its modification timestamp
+        if (responseWriter.writeNotModifiedIfETagMatches(filenameWithPath,
+                resourceUrl, request, response)) {
+            return true;
+        }
+
         long timestamp = writeModificationTimestamp(resourceUrl, request,
                 response);
-        if (browserHasNewestVersion(request, timestamp)) {
+        // If-None-Match takes precedence over If-Modified-Since (RFC 7232) and
+        // is handled by the response writer in production mode, unless there
+        // is no ETag to compare with
+        boolean eTagCheck = deploymentConfiguration.isProductionMode()
+                && request.getHeader("If-None-Match") != null
+                && responseWriter.getETag(resourceUrl) != null;
+        if (!eTagCheck && browserHasNewestVersion(request, timestamp)) {
             // Browser is up to date, nothing further to do than set the
             // response code
             response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
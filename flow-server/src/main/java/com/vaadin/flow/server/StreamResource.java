@@ -18,6 +18,7 @@ package com.vaadin.flow.server;
 import javax.servlet.ServletContext;
 
 import com.vaadin.flow.function.ContentTypeResolver;
+import com.vaadin.flow.function.DeploymentConfiguration;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -58,9 +59,7 @@ public class StreamResource extends AbstractStreamResource {
 
     private static class Pipe implements StreamResourceWriter {
 
-        private static final int BUFFER_SIZE = 1024;
-
-        private InputStreamFactory factory;
+        protected final InputStreamFactory factory;
 
         private Pipe(InputStreamFactory factory) {
             this.factory = factory;
@@ -69,44 +68,98 @@ public class StreamResource extends AbstractStreamResource {
         @Override
         public void accept(OutputStream stream, VaadinSession session)
                 throws IOException {
-            try (InputStream input = createInputStream(session)) {
-                copy(session, input, stream);
-            }
-        }
-
-        private InputStream createInputStream(VaadinSession session) {
+            InputStream input;
+            int bufferSize;
             session.lock();
             try {
-                return factory.createInputStream();
+                input = factory.createInputStream();
+                bufferSize = getBufferSize(session);
             } finally {
                 session.unlock();
             }
+            try {
+                copy(session, input, stream, Long.MAX_VALUE, bufferSize);
+            } finally {
+                input.close();
+            }
+        }
+
+        protected int getBufferSize(VaadinSession session) {
+            DeploymentConfiguration configuration = session.getConfiguration();
+            return configuration == null
+                    ? DefaultDeploymentConfiguration.DEFAULT_STREAM_BUFFER_SIZE
+                    : configuration.getStreamBufferSize();
         }
 
-        private void copy(VaadinSession session, InputStream source,
-                OutputStream out) throws IOException {
-            byte[] buf = new byte[BUFFER_SIZE];
+        protected void copy(VaadinSession session, InputStream source,
+                OutputStream out, long length, int bufferSize)
+                throws IOException {
+            byte[] buf = new byte[bufferSize];
+            long remaining = length;
             int n;
-            while ((n = read(session, source, buf)) > 0) {
+            while (remaining > 0 && (n = read(session, source, buf,
+                    (int) Math.min(buf.length, remaining))) > 0) {
                 out.write(buf, 0, n);
+                remaining -= n;
             }
         }
 
         private int read(VaadinSession session, InputStream source,
-                byte[] buffer) throws IOException {
+                byte[] buffer, int length) throws IOException {
             if (factory.requiresLock()) {
                 session.lock();
                 try {
-                    return source.read(buffer);
+                    return source.read(buffer, 0, length);
                 } finally {
                     session.unlock();
                 }
             } else {
-                return source.read(buffer);
+                return source.read(buffer, 0, length);
             }
         }
     }
 
+    private static class SeekablePipe extends Pipe
+            implements RangeStreamResourceWriter {
+
+        private SeekablePipe(SeekableInputStreamFactory factory) {
+            super(factory);
+        }
+
+        @Override
+        public long getContentLength(VaadinSession session) {
+            session.lock();
+            try {
+                return getFactory().getContentLength();
+            } finally {
+                session.unlock();
+            }
+        }
+
+        @Override
+        public void accept(OutputStream stream, VaadinSession session,
+                long start, long length) throws IOException {
+            InputStream input;
+            int bufferSize;
+            session.lock();
+            try {
+                input = getFactory().createInputStream(start);
+                bufferSize = getBufferSize(session);
+            } finally {
+                session.unlock();
+            }
+            try {
+                copy(session, input, stream, length, bufferSize);
+            } finally {
+                input.close();
+            }
+        }
+
+        private SeekableInputStreamFactory getFactory() {
+            return (SeekableInputStreamFactory) factory;
+        }
+    }
+
     /**
      * Creates {@link StreamResource} instance using mandatory parameters
      * {@code name} as a resource file name and output stream {@code writer} as
@@ -143,6 +196,9 @@ public class StreamResource extends AbstractStreamResource {
      * {@code name} parameter value will be used in URI (generated when resource
      * is registered) in a way that the {@code name} is the last segment of the
      * path. So this is synthetic file name (not real one).
+     * <p>
+     * If {@code factory} is a {@link SeekableInputStreamFactory}, HTTP range
+     * requests are supported for the resource.
      *
      * @param name
      *            resource file name. May not be null.
@@ -150,7 +206,9 @@ public class StreamResource extends AbstractStreamResource {
      *            data input stream factory. May not be null.
      */
     public StreamResource(String name, InputStreamFactory factory) {
-        this(name, new Pipe(factory));
+        this(name, factory instanceof SeekableInputStreamFactory
+                ? new SeekablePipe((SeekableInputStreamFactory) factory)
+                : new Pipe(factory));
         assert name != null;
     }
 
@@ -159,6 +217,8 @@ public class StreamResource extends AbstractStreamResource {
      * <p>
      * Writer writes data in the output stream provided as an argument to its
      * {@link StreamResourceWriter#accept(OutputStream, VaadinSession)} method.
+     * If the writer is a {@link RangeStreamResourceWriter}, HTTP range requests
+     * are supported for the resource.
      *
      * @return stream resource writer
      */
@@ -166,6 +226,25 @@ public class StreamResource extends AbstractStreamResource {
         return writer;
     }
 
+    /**
+     * Gets the input stream factory of the resource if it was created using
+     * {@link #StreamResource(String, InputStreamFactory)}.
+     * <p>
+     * Resources based on an input stream factory can be written without
+     * blocking a request thread while the client is not ready to receive more
+     * data.
+     *
+     * @return the input stream factory, or an empty optional if the resource
+     *         was created using a {@link StreamResourceWriter}
+     * @since 1.4
+     */
+    public Optional<InputStreamFactory> getInputStreamFactory() {
+        if (writer instanceof Pipe) {
+            return Optional.of(((Pipe) writer).factory);
+        }
+        return Optional.empty();
+    }
+
     /**
      * Sets the resolver which is used to lookup the content type of the
      * resource.
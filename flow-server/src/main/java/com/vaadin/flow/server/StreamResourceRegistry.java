@@ -18,9 +18,9 @@ package com.vaadin.flow.server;
 import java.io.Serializable;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.vaadin.flow.server.communication.StreamRequestHandler;
 
@@ -32,7 +32,11 @@ import com.vaadin.flow.server.communication.StreamRequestHandler;
  */
 public class StreamResourceRegistry implements Serializable {
 
-    private final Map<URI, AbstractStreamResource> res = new HashMap<>();
+    /*
+     * Concurrent since resources are also registered and looked up while
+     * holding only the lock of a UI when UI locking is enabled.
+     */
+    private final Map<URI, AbstractStreamResource> res = new ConcurrentHashMap<>();
 
     private final VaadinSession session;
 
@@ -93,7 +97,7 @@ public class StreamResourceRegistry implements Serializable {
      */
     public StreamRegistration registerResource(
             AbstractStreamResource resource) {
-        session.checkHasLock(
+        session.checkHasAccess(
                 "Session needs to be locked when registering stream resources.");
         StreamRegistration registration = new Registration(this,
                 resource.getId(), resource.getName());
@@ -147,7 +151,7 @@ public class StreamResourceRegistry implements Serializable {
      *         been registered with this URI
      */
     public Optional<AbstractStreamResource> getResource(URI uri) {
-        session.checkHasLock();
+        session.checkHasAccess();
         return Optional.ofNullable(res.get(uri));
     }
 
@@ -165,7 +169,7 @@ public class StreamResourceRegistry implements Serializable {
      */
     public <T extends AbstractStreamResource> Optional<T> getResource(
             Class<T> type, URI uri) {
-        session.checkHasLock();
+        session.checkHasAccess();
         AbstractStreamResource abstractStreamResource = res.get(uri);
         if (abstractStreamResource != null
                 && type.isAssignableFrom(abstractStreamResource.getClass())) {
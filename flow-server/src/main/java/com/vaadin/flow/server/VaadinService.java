@@ -36,12 +36,18 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
@@ -54,6 +60,7 @@ import org.slf4j.LoggerFactory;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.DependencyTreeCache;
 import com.vaadin.flow.component.internal.HtmlImportParser;
+import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.di.DefaultInstantiator;
 import com.vaadin.flow.di.Instantiator;
 import com.vaadin.flow.function.DeploymentConfiguration;
@@ -66,6 +73,7 @@ import com.vaadin.flow.server.ServletHelper.RequestType;
 import com.vaadin.flow.server.communication.AtmospherePushConnection;
 import com.vaadin.flow.server.communication.HeartbeatHandler;
 import com.vaadin.flow.server.communication.PwaHandler;
+import com.vaadin.flow.server.communication.RequestHandlerDispatcher;
 import com.vaadin.flow.server.communication.SessionRequestHandler;
 import com.vaadin.flow.server.communication.StreamRequestHandler;
 import com.vaadin.flow.server.communication.UidlRequestHandler;
@@ -171,6 +179,8 @@ public abstract class VaadinService implements Serializable {
 
     private Iterable<RequestHandler> requestHandlers;
 
+    private RequestHandlerDispatcher requestHandlerDispatcher;
+
     private Iterable<BootstrapListener> bootstrapListeners;
 
     private Iterable<DependencyFilter> dependencyFilters;
@@ -197,6 +207,8 @@ public abstract class VaadinService implements Serializable {
 
     private Registration htmlImportDependencyCacheClearRegistration;
 
+    private transient volatile ExecutorService pushWriterExecutor;
+
     /**
      * Creates a new vaadin service based on a deployment configuration.
      *
@@ -270,6 +282,8 @@ public abstract class VaadinService implements Serializable {
         Collections.reverse(handlers);
 
         requestHandlers = Collections.unmodifiableCollection(handlers);
+        requestHandlerDispatcher = new RequestHandlerDispatcher(
+                requestHandlers);
 
         dependencyFilters = Stream
                 .concat(instantiator.getDependencyFilters(
@@ -595,6 +609,18 @@ public abstract class VaadinService implements Serializable {
                 .forEach(listener -> listener.modifyBootstrapPage(response));
     }
 
+    /**
+     * Checks whether there are any registered {@link BootstrapListener}s
+     * which might modify the bootstrap page.
+     *
+     * @return <code>true</code> if there are bootstrap listeners,
+     *         <code>false</code> otherwise
+     */
+    boolean hasBootstrapListeners() {
+        return bootstrapListeners != null
+                && bootstrapListeners.iterator().hasNext();
+    }
+
     /**
      * Handles destruction of the given session. Internally ensures proper
      * locking is done.
@@ -649,7 +675,9 @@ public abstract class VaadinService implements Serializable {
      * Attempts to find a Vaadin service session associated with this request.
      * <p>
      * Handles locking of the session internally to avoid creation of duplicate
-     * sessions by two threads simultaneously.
+     * sessions by two threads simultaneously. The session of a heartbeat
+     * request is looked up without locking, so that heartbeats are not blocked
+     * by other requests.
      * </p>
      *
      * @param request
@@ -793,6 +821,14 @@ public abstract class VaadinService implements Serializable {
 
     private VaadinSession findOrCreateVaadinSession(VaadinRequest request)
             throws SessionExpiredException {
+        if (isHeartbeatRequest(request)) {
+            // Heartbeats must not wait for other requests holding the lock
+            VaadinSession session = findExistingSessionWithoutLock(request);
+            if (session != null) {
+                return session;
+            }
+        }
+
         boolean requestCanCreateSession = requestCanCreateSession(request);
         WrappedSession wrappedSession = getWrappedSession(request,
                 requestCanCreateSession);
@@ -812,6 +848,36 @@ public abstract class VaadinService implements Serializable {
 
     }
 
+    /**
+     * Finds the existing Vaadin session of a request without locking the
+     * session. Returns <code>null</code> if the session has not yet been used
+     * with this service instance, e.g. after being deserialized, in which case
+     * it must be loaded with the session locked.
+     */
+    private VaadinSession findExistingSessionWithoutLock(
+            VaadinRequest request) throws SessionExpiredException {
+        WrappedSession wrappedSession = getWrappedSession(request, false);
+        VaadinSession session;
+        try {
+            session = readFromHttpSession(wrappedSession);
+        } catch (IllegalStateException e) {
+            // The session has been invalidated
+            throw new SessionExpiredException();
+        }
+        if (session == null) {
+            throw new SessionExpiredException();
+        }
+        if (session.getService() != this
+                || session.getLockInstance() == null) {
+            return null;
+        }
+        return session;
+    }
+
+    private static boolean isHeartbeatRequest(VaadinRequest request) {
+        return ServletHelper.isRequestType(request, RequestType.HEARTBEAT);
+    }
+
     /**
      * Finds or creates a Vaadin session. Assumes necessary synchronization has
      * been done by the caller to ensure this is not called simultaneously by
@@ -1370,6 +1436,12 @@ public abstract class VaadinService implements Serializable {
              */
             return true;
         }
+        Lock uiLockInstance = ui.getInternals().getLockInstance();
+        if (uiLockInstance instanceof ReentrantLock
+                && ((ReentrantLock) uiLockInstance).isLocked()) {
+            // The UI is being accessed with UI locking enabled
+            return true;
+        }
 
         // Check timeout
         long now = System.currentTimeMillis();
@@ -1438,9 +1510,8 @@ public abstract class VaadinService implements Serializable {
      */
     public void requestEnd(VaadinRequest request, VaadinResponse response,
             VaadinSession session) {
-        if (session != null) {
+        if (session != null && lockForRequestEnd(request, session)) {
             assert VaadinSession.getCurrent() == session;
-            session.lock();
             try {
                 cleanupSession(session);
                 final long duration = (System.nanoTime() - (Long) request
@@ -1453,6 +1524,20 @@ public abstract class VaadinService implements Serializable {
         CurrentInstance.clearAll();
     }
 
+    /**
+     * Locks the session for the cleanup done when a request ends. Heartbeats
+     * skip the cleanup if the session is locked by another thread, since it
+     * is also done at the end of any later request.
+     */
+    private static boolean lockForRequestEnd(VaadinRequest request,
+            VaadinSession session) {
+        if (isHeartbeatRequest(request)) {
+            return session.getLockInstance().tryLock();
+        }
+        session.lock();
+        return true;
+    }
+
     /**
      * Returns the request handlers that are registered with this service. The
      * iteration order of the returned collection is the same as the order in
@@ -1465,6 +1550,15 @@ public abstract class VaadinService implements Serializable {
         return requestHandlers;
     }
 
+    private RequestHandlerDispatcher getRequestHandlerDispatcher() {
+        Iterable<RequestHandler> handlers = getRequestHandlers();
+        if (handlers == requestHandlers) {
+            return requestHandlerDispatcher;
+        }
+        // Handlers from an override may change between requests
+        return new RequestHandlerDispatcher(handlers);
+    }
+
     /**
      * Gets the filters which all resource dependencies are passed through
      * before being sent to the client for loading.
@@ -1479,6 +1573,11 @@ public abstract class VaadinService implements Serializable {
     /**
      * Handles the incoming request and writes the response into the response
      * object. Uses {@link #getRequestHandlers()} for handling the request.
+     * The request is only passed to the handlers which may handle a request of
+     * its {@link ServletHelper.RequestType type} and path, see
+     * {@link RequestHandlerDispatcher}. If {@link #getRequestHandlers()} is
+     * overridden to return other handlers than the ones registered when the
+     * service was initialized, the returned handlers are used.
      * <p>
      * If a session expiration is detected during request handling then each
      * {@link RequestHandler request handler} has an opportunity to handle the
@@ -1507,10 +1606,9 @@ public abstract class VaadinService implements Serializable {
                 return;
             }
 
-            for (RequestHandler handler : getRequestHandlers()) {
-                if (handler.handleRequest(vaadinSession, request, response)) {
-                    return;
-                }
+            if (getRequestHandlerDispatcher().handleRequest(vaadinSession,
+                    request, response)) {
+                return;
             }
 
             // Request not handled by any RequestHandler
@@ -1938,7 +2036,84 @@ public abstract class VaadinService implements Serializable {
     public void runPendingAccessTasks(VaadinSession session) {
         session.checkHasLock();
 
-        if (session.getPendingAccessQueue().isEmpty()) {
+        runPendingAccessTasks(session.getPendingAccessQueue(),
+                () -> CurrentInstance.setCurrent(session));
+    }
+
+    /**
+     * Checks whether UI locking is enabled for this service.
+     *
+     * @return <code>true</code> if each UI is locked separately,
+     *         <code>false</code> if the session lock is used for UIs
+     * @see DeploymentConfiguration#isUILockingEnabled()
+     */
+    public boolean isUILockingEnabled() {
+        DeploymentConfiguration configuration = getDeploymentConfiguration();
+        return configuration != null && configuration.isUILockingEnabled();
+    }
+
+    /**
+     * Implementation for {@link UI#access(Command)} when UI locking is
+     * enabled. The command is run with only the given UI locked, so that
+     * other UIs in the same session can be accessed concurrently.
+     *
+     * @param ui
+     *         the UI to access
+     * @param command
+     *         the command to run with the UI locked
+     * @return a future that can be used to check for task completion and to
+     * cancel the task
+     * @see DeploymentConfiguration#isUILockingEnabled()
+     * @see #accessSession(VaadinSession, Command)
+     */
+    public Future<Void> accessUI(UI ui, Command command) {
+        FutureAccess future = new FutureAccess(ui.getSession(), command);
+        ui.getInternals().getPendingAccessQueue().add(future);
+
+        ensureAccessQueuePurged(ui);
+
+        return future;
+    }
+
+    /**
+     * Makes sure the pending access queue is purged for the provided UI when
+     * UI locking is enabled. If the UI is currently locked by the current
+     * thread or some other thread, the queue will be purged when the UI is
+     * unlocked. If the lock is not held by any thread, it is acquired and the
+     * queue is purged right away.
+     *
+     * @param ui
+     *         the UI for which the access queue should be purged
+     * @see #ensureAccessQueuePurged(VaadinSession)
+     */
+    public void ensureAccessQueuePurged(UI ui) {
+        UIInternals internals = ui.getInternals();
+        if (internals.tryLock()) {
+            // unlock triggers runPendingAccessTasks
+            internals.unlock();
+        }
+    }
+
+    /**
+     * Purges the queue of pending access invocations enqueued with
+     * {@link UI#access(Command)} when UI locking is enabled.
+     * <p>
+     * This method is automatically run by the framework at appropriate
+     * situations and is not intended to be used by application developers.
+     *
+     * @param ui
+     *         the UI to purge the queue for
+     */
+    public void runPendingAccessTasks(UI ui) {
+        assert ui.getInternals().hasLock() : "UI has not been locked by this thread";
+
+        runPendingAccessTasks(ui.getInternals().getPendingAccessQueue(),
+                () -> CurrentInstance.setCurrent(ui));
+    }
+
+    private static void runPendingAccessTasks(Queue<FutureAccess> queue,
+            Runnable currentInstanceSetter) {
+        if (queue.isEmpty()) {
             return;
         }
 
@@ -1947,10 +2122,9 @@ public abstract class VaadinService implements Serializable {
         // Dump all current instances, not only the ones dumped by setCurrent
         Map<Class<?>, CurrentInstance> oldInstances = CurrentInstance
                 .getInstances();
-        CurrentInstance.setCurrent(session);
+        currentInstanceSetter.run();
         try {
-            while ((pendingAccess = session.getPendingAccessQueue().poll())
-                    != null) {
+            while ((pendingAccess = queue.poll()) != null) {
                 if (!pendingAccess.isCancelled()) {
                     pendingAccess.run();
 
@@ -2002,6 +2176,49 @@ public abstract class VaadinService implements Serializable {
         ServiceDestroyEvent event = new ServiceDestroyEvent(this);
         serviceDestroyListeners
                 .forEach(listener -> listener.serviceDestroy(event));
+
+        if (pushWriterExecutor != null) {
+            pushWriterExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Gets the executor used for serializing and writing push messages outside
+     * the session lock. The executor uses the number of threads configured
+     * using {@link DeploymentConfiguration#getPushWriterThreads()} and is
+     * shut down when this service is destroyed.
+     * <p>
+     * The default executor is a {@link ScheduledExecutorService}, which lets
+     * writes to slow clients be retried later instead of blocking one of its
+     * threads while waiting for the previous write to complete.
+     *
+     * @return the push writer executor, or <code>null</code> if push messages
+     *         should be written by the pushing thread
+     */
+    public Executor getPushWriterExecutor() {
+        int threads = getDeploymentConfiguration().getPushWriterThreads();
+        if (threads <= 0) {
+            return null;
+        }
+        ExecutorService executor = pushWriterExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = pushWriterExecutor;
+                if (executor == null) {
+                    AtomicInteger threadNumber = new AtomicInteger();
+                    executor = Executors.newScheduledThreadPool(threads,
+                            runnable -> {
+                                Thread thread = new Thread(runnable,
+                                        "vaadin-push-writer-" + threadNumber
+                                                .incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                    pushWriterExecutor = executor;
+                }
+            }
+        }
+        return executor;
     }
 
     /**
@@ -25,23 +25,26 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.shared.communication.PushMode;
@@ -67,6 +70,8 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
 
     private static final String SESSION_NOT_LOCKED_MESSAGE = "Cannot access state in VaadinSession or UI without locking the session.";
 
+    private static final String UI_NOT_LOCKED_MESSAGE = "Cannot access state in UI without locking the UI.";
+
     /**
      * The name of the parameter that is by default used in e.g. web.xml to
      * define the name of the default {@link UI} class.
@@ -74,35 +79,45 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
     // javadoc in UI should be updated if this value is changed
     public static final String UI_PARAMETER = "UI";
 
+    /*
+     * The fields below that are read while holding only the lock of a UI when
+     * UI locking is enabled are volatile or concurrent. They are still only
+     * modified while holding the session lock.
+     */
+
     /**
      * Configuration for the session.
      */
-    private DeploymentConfiguration configuration;
+    private volatile DeploymentConfiguration configuration;
 
     /**
      * Default locale of the session.
      */
-    private Locale locale = Locale.getDefault();
+    private volatile Locale locale = Locale.getDefault();
 
     /**
      * Session wide error handler which is used by default if an error is left
      * unhandled.
      */
-    private ErrorHandler errorHandler = new DefaultErrorHandler();
-    private LinkedList<RequestHandler> requestHandlers = new LinkedList<>();
+    private volatile ErrorHandler errorHandler = new DefaultErrorHandler();
+    private List<RequestHandler> requestHandlers = new CopyOnWriteArrayList<>();
 
     private int nextUIId = 0;
-    private Map<Integer, UI> uIs = new HashMap<>();
+    /*
+     * Concurrent since the UIs may be looked up by threads holding only the
+     * lock of a UI when UI locking is enabled.
+     */
+    private Map<Integer, UI> uIs = new ConcurrentHashMap<>();
 
     protected WebBrowser browser = new WebBrowser();
 
-    private long cumulativeRequestDuration = 0;
+    private volatile long cumulativeRequestDuration = 0;
 
-    private long lastRequestDuration = -1;
+    private volatile long lastRequestDuration = -1;
 
-    private long lastRequestTimestamp = System.currentTimeMillis();
+    private volatile long lastRequestTimestamp = System.currentTimeMillis();
 
-    private VaadinSessionState state = VaadinSessionState.OPEN;
+    private volatile VaadinSessionState state = VaadinSessionState.OPEN;
 
     private transient WrappedSession session;
 
@@ -192,7 +207,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the web browser object
      */
     public WebBrowser getBrowser() {
-        checkHasLock();
+        checkHasAccess();
         return browser;
     }
 
@@ -201,7 +216,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * milliseconds.
      */
     public long getCumulativeRequestDuration() {
-        checkHasLock();
+        checkHasAccess();
         return cumulativeRequestDuration;
     }
 
@@ -223,7 +238,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * milliseconds.
      */
     public long getLastRequestDuration() {
-        checkHasLock();
+        checkHasAccess();
         return lastRequestDuration;
     }
 
@@ -246,7 +261,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * the epoch.
      */
     public long getLastRequestTimestamp() {
-        checkHasLock();
+        checkHasAccess();
         return lastRequestTimestamp;
     }
 
@@ -316,7 +331,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the deployment configuration
      */
     public DeploymentConfiguration getConfiguration() {
-        checkHasLock();
+        checkHasAccess();
         return configuration;
     }
 
@@ -329,7 +344,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the locale of this session.
      */
     public Locale getLocale() {
-        checkHasLock();
+        checkHasAccess();
         return locale;
     }
 
@@ -346,7 +361,14 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         checkHasLock();
         this.locale = locale;
 
-        getUIs().forEach(ui -> ui.setLocale(locale));
+        for (UI ui : getUIs()) {
+            if (isUILockingEnabled()) {
+                // The state of each UI is guarded by the lock of the UI
+                ui.access(() -> ui.setLocale(locale));
+            } else {
+                ui.setLocale(locale);
+            }
+        }
     }
 
     /**
@@ -355,7 +377,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the current error handler
      */
     public ErrorHandler getErrorHandler() {
-        checkHasLock();
+        checkHasAccess();
         return errorHandler;
     }
 
@@ -384,7 +406,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      */
     public void addRequestHandler(RequestHandler handler) {
         checkHasLock();
-        requestHandlers.addFirst(handler);
+        requestHandlers.add(0, handler);
     }
 
     /**
@@ -409,7 +431,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @see #removeRequestHandler(RequestHandler)
      */
     public Collection<RequestHandler> getRequestHandlers() {
-        checkHasLock();
+        checkHasAccess();
         return Collections.unmodifiableCollection(requestHandlers);
     }
 
@@ -460,7 +482,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return a collection of UIs belonging to this application
      */
     public Collection<UI> getUIs() {
-        checkHasLock();
+        checkHasAccess();
         return Collections.unmodifiableCollection(uIs.values());
     }
 
@@ -474,7 +496,23 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return The UI with the given id or null if not found
      */
     public UI getUIById(int uiId) {
-        checkHasLock();
+        checkHasAccess();
+        return uIs.get(uiId);
+    }
+
+    /**
+     * Returns a UI with the given id without requiring the session lock. The
+     * UI may be concurrently modified or removed by threads holding the lock,
+     * so only thread safe methods of the returned UI may be used.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @param uiId
+     *         The UI id
+     * @return The UI with the given id or null if not found
+     * @see #getUIById(int)
+     */
+    public UI getUIByIdWithoutLock(int uiId) {
         return uIs.get(uiId);
     }
 
@@ -489,6 +527,82 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return l.isHeldByCurrentThread();
     }
 
+    /**
+     * Checks if the current thread has exclusive access to the state of the
+     * given UI of this session. When UI locking is enabled, this requires the
+     * lock of the UI. Otherwise the state of the UI is protected by the
+     * session lock.
+     *
+     * @param ui
+     *         the UI to check, not <code>null</code>
+     * @return true if the thread has exclusive access to the UI, false
+     * otherwise
+     * @see DeploymentConfiguration#isUILockingEnabled()
+     */
+    public boolean hasUILock(UI ui) {
+        if (isUILockingEnabled()) {
+            return ui.getInternals().hasLock();
+        }
+        return hasLock();
+    }
+
+    /**
+     * Potentially checks whether the current thread has exclusive access to the
+     * state of the given UI of this session, and fails with a standard error
+     * message if not.
+     * <p>
+     * The check is done in the same way as for {@link #checkHasLock()}.
+     *
+     * @param ui
+     *         the UI to check, not <code>null</code>
+     * @see #hasUILock(UI)
+     */
+    public void checkHasUILock(UI ui) {
+        checkLock(hasUILock(ui), isUILockingEnabled() ? UI_NOT_LOCKED_MESSAGE
+                : SESSION_NOT_LOCKED_MESSAGE);
+    }
+
+    private boolean hasCurrentUILock() {
+        if (!isUILockingEnabled()) {
+            return false;
+        }
+        UI ui = UI.getCurrent();
+        return ui != null && ui.getInternals().getSession() == this
+                && ui.getInternals().hasLock();
+    }
+
+    private boolean isUILockingEnabled() {
+        DeploymentConfiguration config = configuration;
+        return config != null && config.isUILockingEnabled();
+    }
+
+    /**
+     * Potentially checks whether the current thread may access session state
+     * that is safe for concurrent access. That is the case when holding the
+     * session lock or, with UI locking enabled, the lock of the current UI of
+     * this session.
+     *
+     * @param message
+     *         the error message to include when failing if the check is done
+     *         and the access is not allowed
+     */
+    void checkHasAccess(String message) {
+        checkLock(hasLock() || hasCurrentUILock(), message);
+    }
+
+    void checkHasAccess() {
+        checkHasAccess(SESSION_NOT_LOCKED_MESSAGE);
+    }
+
+    private void checkLock(boolean hasLock, String message) {
+        DeploymentConfiguration config = configuration;
+        if (config == null || config.isProductionMode()) {
+            assert hasLock : message;
+        } else if (!hasLock) {
+            throw new IllegalStateException(message);
+        }
+    }
+
     /**
      * Potentially checks whether this session is currently locked by the
      * current thread, and fails with the given message if not.
@@ -503,11 +617,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      *         and the session is not locked
      */
     public void checkHasLock(String message) {
-        if (configuration == null || configuration.isProductionMode()) {
-            assert hasLock() : message;
-        } else if (!hasLock()) {
-            throw new IllegalStateException(message);
-        }
+        checkLock(hasLock(), message);
     }
 
     /**
@@ -607,6 +717,12 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      *
      * This method will block until the lock can be retrieved.
      * <p>
+     * When {@link DeploymentConfiguration#isUILockingEnabled() UI locking} is
+     * enabled, the session lock is always acquired before any UI lock. If the
+     * current thread holds the lock of a UI, that lock is therefore released
+     * while waiting for the session lock and acquired again after it. Other
+     * threads may modify the UI in between.
+     * <p>
      * {@link #getLockInstance()} can be used if more control over the locking
      * is required.
      *
@@ -615,7 +731,37 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @see #hasLock()
      */
     public void lock() {
-        getLockInstance().lock();
+        if (isUILockingEnabled() && !hasLock()
+                && UIInternals.hasAnyUILock()) {
+            /*
+             * Waiting for the session lock while holding a UI lock could
+             * deadlock with a thread accessing the UI from within the session
+             * lock.
+             */
+            Runnable relockUIs = UIInternals.releaseUILocks();
+            try {
+                getLockInstance().lock();
+            } finally {
+                relockUIs.run();
+            }
+        } else {
+            getLockInstance().lock();
+        }
+    }
+
+    private void runPendingAccessTasks() {
+        if (!isUILockingEnabled() || !UIInternals.hasAnyUILock()) {
+            getService().runPendingAccessTasks(this);
+            return;
+        }
+        // The tasks may lock any UI, which they can't do while holding the
+        // lock of another UI
+        Runnable relockUIs = UIInternals.releaseUILocks();
+        try {
+            getService().runPendingAccessTasks(this);
+        } finally {
+            relockUIs.run();
+        }
     }
 
     /**
@@ -625,6 +771,11 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * For UIs in this session that have its push mode set to
      * {@link PushMode#AUTOMATIC automatic}, pending changes will be pushed to
      * their respective clients.
+     * <p>
+     * When {@link DeploymentConfiguration#isUILockingEnabled() UI locking} is
+     * enabled and the current thread holds the lock of a UI, that lock is
+     * released while the pending access tasks of the session are run, since
+     * the tasks may lock any UI. Other threads may modify the UI in between.
      *
      * @see #lock()
      * @see UI#push()
@@ -639,9 +790,16 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
              */
             if (((ReentrantLock) getLockInstance()).getHoldCount() == 1) {
                 ultimateRelease = true;
-                getService().runPendingAccessTasks(this);
-
-                for (UI ui : getUIs()) {
+                runPendingAccessTasks();
+
+                /*
+                 * With UI locking, changes are pushed when the lock of each UI
+                 * is released instead.
+                 */
+                Collection<UI> uisToPush = isUILockingEnabled()
+                        ? Collections.emptyList()
+                        : getUIs();
+                for (UI ui : uisToPush) {
                     if (ui.getPushConfiguration().getPushMode()
                             == PushMode.AUTOMATIC) {
                         Map<Class<?>, CurrentInstance> oldCurrent = CurrentInstance
@@ -728,7 +886,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @see #setAttribute(String, Object)
      */
     public Object getAttribute(String name) {
-        checkHasLock();
+        checkHasAccess();
         return attributes.getAttribute(name);
     }
 
@@ -753,10 +911,31 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @see #getAttribute(String)
      */
     public <T> T getAttribute(Class<T> type) {
-        checkHasLock();
+        checkHasAccess();
         return attributes.getAttribute(type);
     }
 
+    /**
+     * Gets the value stored for the given type, atomically storing a value
+     * created by the given supplier if there is none. Unlike
+     * {@link #setAttribute(Class, Object)}, this only requires the lock of the
+     * current UI when UI locking is enabled, since a stored value is never
+     * replaced.
+     *
+     * @param type
+     *         the type of the value to get, can not be <code>null</code>
+     * @param supplier
+     *         the supplier of the value to store if no value is stored, not
+     *         <code>null</code>
+     * @param <T>
+     *         the type of the value to get
+     * @return the stored value
+     */
+    <T> T getOrCreateAttribute(Class<T> type, Supplier<T> supplier) {
+        checkHasAccess();
+        return attributes.computeIfAbsent(type, supplier);
+    }
+
     /**
      * Creates a new unique id for a UI.
      *
@@ -813,7 +992,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the current state
      */
     public VaadinSessionState getState() {
-        checkHasLock();
+        checkHasAccess();
         return state;
     }
 
@@ -948,7 +1127,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the csrf token string
      */
     public String getCsrfToken() {
-        checkHasLock();
+        checkHasAccess();
         return csrfToken;
     }
 
@@ -959,7 +1138,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the push connection identifier string
      */
     public String getPushId() {
-        checkHasLock();
+        checkHasAccess();
         return pushId;
     }
 
@@ -21,7 +21,13 @@ import java.io.ObjectInputStream;
 import java.io.Reader;
 import java.io.Serializable;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -33,6 +39,7 @@ import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.internal.UsageStatistics;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.shared.communication.PushConstants;
 
 import elemental.json.JsonObject;
@@ -40,17 +47,50 @@ import elemental.json.JsonObject;
 /**
  * A {@link PushConnection} implementation using the Atmosphere push support
  * that is by default included in Vaadin.
+ * <p>
+ * If the service has a
+ * {@link com.vaadin.flow.server.VaadinService#getPushWriterExecutor() push
+ * writer executor}, only collecting the changes to push is done by the
+ * pushing thread while holding the session lock. The messages are serialized
+ * and written by the executor, one message at a time for each connection.
+ * Messages that are still waiting to be written when the next push happens
+ * are combined with it into one message.
  *
  * @author Vaadin Ltd
  * @since 1.0
  */
 public class AtmospherePushConnection implements PushConnection {
 
+    /**
+     * The maximum number of messages waiting to be written before they are
+     * combined into one message.
+     */
+    static final int MAX_QUEUED_MESSAGES = 16;
+
+    private static final long WRITE_TIMEOUT_MILLIS = 1000;
+
+    /**
+     * How often to check whether the previous message to a slow client has
+     * been written, when the writer executor can schedule tasks.
+     */
+    private static final long WRITE_RETRY_MILLIS = 10;
+
     private UI ui;
     private transient State state = State.DISCONNECTED;
-    private transient AtmosphereResource resource;
+    private transient volatile AtmosphereResource resource;
     private transient FragmentedMessage incomingMessage;
-    private transient Future<Object> outgoingMessage;
+    private transient volatile Future<Object> outgoingMessage;
+    private transient volatile long outgoingMessageDeadline;
+
+    /*
+     * Messages waiting for the push writer executor, guarded by queueLock.
+     */
+    private transient Object queueLock = new Object();
+    private transient String queuedResyncMessage;
+    private transient List<JsonObject> queuedMessages = new ArrayList<>();
+    private transient ServerMessageLog queuedMessageLog;
+    private transient boolean writerScheduled;
+    private transient Executor writerExecutor;
 
     /**
      * Represents a message that can arrive as multiple fragments.
@@ -193,13 +233,251 @@ public class AtmospherePushConnection implements PushConnection {
             try {
                 JsonObject response = new UidlWriter().createUidl(getUI(),
                         async);
-                sendMessage("for(;;);[" + response.toJson() + "]");
+
+                ServerMessageLog messageLog = getUI().getInternals()
+                        .getServerMessageLog();
+                // Serialized once for both the log and the client, by the
+                // writer executor if there is one
+                messageLog.add(UidlWriter.getLastSyncId(getUI()), response,
+                        async);
+
+                Executor writerExecutor = getWriterExecutor();
+                if (messageLog.isResyncRequested()) {
+                    String resyncMessage = messageLog
+                            .createResyncMessage(response);
+                    if (writerExecutor == null) {
+                        sendMessage(resyncMessage);
+                    } else {
+                        enqueue(resyncMessage, null, messageLog,
+                                writerExecutor);
+                    }
+                } else if (writerExecutor == null) {
+                    sendMessage(serialize(response, messageLog));
+                } else {
+                    enqueue(null, response, messageLog, writerExecutor);
+                }
             } catch (Exception e) {
                 throw new RuntimeException("Push failed", e);
             }
         }
     }
 
+    private Executor getWriterExecutor() {
+        VaadinSession session = getUI().getSession();
+        if (session == null) {
+            return null;
+        }
+        return session.getService().getPushWriterExecutor();
+    }
+
+    /**
+     * Queues a message to be written by the push writer executor.
+     *
+     * @param resyncMessage
+     *            a resynchronization message replacing all queued messages,
+     *            or <code>null</code>
+     * @param message
+     *            a message to queue, or <code>null</code> if queuing a
+     *            resynchronization message
+     * @param messageLog
+     *            the server message log to record the size of the serialized
+     *            messages in
+     * @param writerExecutor
+     *            the executor to write the messages with
+     */
+    private void enqueue(String resyncMessage, JsonObject message,
+            ServerMessageLog messageLog, Executor writerExecutor) {
+        boolean schedule;
+        synchronized (queueLock) {
+            if (resyncMessage != null) {
+                // The resync message includes all the queued messages
+                queuedMessages.clear();
+                queuedResyncMessage = resyncMessage;
+            } else {
+                queuedMessages.add(message);
+                if (queuedMessages.size() > MAX_QUEUED_MESSAGES) {
+                    // The client is not keeping up, combine the messages
+                    // instead of letting the queue grow
+                    JsonObject combined = ServerMessageLog
+                            .combine(queuedMessages);
+                    queuedMessages.clear();
+                    queuedMessages.add(combined);
+                }
+            }
+            schedule = !writerScheduled;
+            writerScheduled = true;
+            this.writerExecutor = writerExecutor;
+            queuedMessageLog = messageLog;
+        }
+
+        if (schedule) {
+            try {
+                writerExecutor.execute(this::writeQueuedMessages);
+            } catch (RejectedExecutionException e) {
+                // The service is being destroyed
+                writeQueuedMessages();
+            }
+        }
+    }
+
+    /**
+     * Writes the queued messages until the queue is empty. Run by the push
+     * writer executor without holding the session lock.
+     * <p>
+     * Only one message is kept in flight for each connection so that a slow
+     * client causes pushes to be combined instead of piling up. If the
+     * previous message is still being written, the writer is run again later
+     * instead of blocking a thread of the shared executor, as long as the
+     * executor is a {@link ScheduledExecutorService}. The queue stays
+     * scheduled meanwhile, so new messages are only added to it.
+     */
+    private void writeQueuedMessages() {
+        while (true) {
+            synchronized (queueLock) {
+                if (queuedResyncMessage == null && queuedMessages.isEmpty()) {
+                    writerScheduled = false;
+                    queueLock.notifyAll();
+                    return;
+                }
+            }
+
+            if (isOutgoingMessagePending()) {
+                if (scheduleWriteQueuedMessages()) {
+                    // Continued by the scheduled task
+                    return;
+                }
+                awaitOutgoingMessage();
+            }
+
+            String resyncMessage;
+            List<JsonObject> messages;
+            ServerMessageLog messageLog;
+            synchronized (queueLock) {
+                resyncMessage = queuedResyncMessage;
+                messages = queuedMessages;
+                messageLog = queuedMessageLog;
+                if (resyncMessage != null) {
+                    // Messages queued after the resync are written next
+                    queuedResyncMessage = null;
+                    messages = Collections.emptyList();
+                } else {
+                    queuedMessages = new ArrayList<>();
+                }
+            }
+
+            try {
+                if (resyncMessage != null) {
+                    write(resyncMessage);
+                } else if (messages.size() == 1) {
+                    write(serialize(messages.get(0), messageLog));
+                } else if (!messages.isEmpty()) {
+                    String combined = ServerMessageLog
+                            .createCombinedMessage(messages);
+                    for (JsonObject message : messages) {
+                        messageLog.serialized(message,
+                                combined.length() / messages.size());
+                    }
+                    write(combined);
+                }
+            } catch (RuntimeException e) {
+                getLogger().error("Writing push message failed", e);
+            }
+        }
+    }
+
+    private static String serialize(JsonObject message,
+            ServerMessageLog messageLog) {
+        String serialized = ServerMessageLog.createMessage(message);
+        messageLog.serialized(message, serialized.length());
+        return serialized;
+    }
+
+    private boolean isOutgoingMessagePending() {
+        Future<Object> previous = outgoingMessage;
+        return previous != null && !previous.isDone()
+                && System.currentTimeMillis() < outgoingMessageDeadline;
+    }
+
+    /**
+     * Schedules {@link #writeQueuedMessages()} to be run again after a short
+     * delay, if supported by the writer executor.
+     *
+     * @return <code>true</code> if the writer was scheduled,
+     *         <code>false</code> if the caller should wait for the outgoing
+     *         message instead
+     */
+    private boolean scheduleWriteQueuedMessages() {
+        Executor executor;
+        synchronized (queueLock) {
+            executor = writerExecutor;
+        }
+        if (!(executor instanceof ScheduledExecutorService)) {
+            return false;
+        }
+        try {
+            ((ScheduledExecutorService) executor).schedule(
+                    this::writeQueuedMessages, WRITE_RETRY_MILLIS,
+                    TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // The service is being destroyed
+            return false;
+        }
+    }
+
+    private void write(String message) {
+        AtmosphereResource currentResource = resource;
+        if (currentResource == null) {
+            // The client resynchronizes the missed messages when it
+            // reconnects
+            getLogger().debug(
+                    "Push connection lost before the message was written");
+            return;
+        }
+        outgoingMessageDeadline = System.currentTimeMillis()
+                + WRITE_TIMEOUT_MILLIS;
+        outgoingMessage = currentResource.getBroadcaster().broadcast(message,
+                currentResource);
+    }
+
+    private void awaitOutgoingMessage() {
+        Future<Object> previous = outgoingMessage;
+        if (previous == null) {
+            return;
+        }
+        try {
+            previous.get(WRITE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            getLogger().debug("Error waiting for previous push message", e);
+        }
+    }
+
+    /**
+     * Waits until the push writer executor has written all queued messages,
+     * at most {@value #WRITE_TIMEOUT_MILLIS} ms.
+     */
+    private void awaitQueuedMessages() {
+        long deadline = System.currentTimeMillis() + WRITE_TIMEOUT_MILLIS;
+        synchronized (queueLock) {
+            while (writerScheduled) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    getLogger().info(
+                            "Timeout waiting for queued messages to be written before disconnect");
+                    return;
+                }
+                try {
+                    queueLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
     /**
      * Sends the given message to the current client. Cannot be called if
      * {@link #isConnected()} returns false.
@@ -322,6 +600,8 @@ public class AtmospherePushConnection implements PushConnection {
             return;
         }
 
+        awaitQueuedMessages();
+
         if (outgoingMessage != null) {
             // Wait for the last message to be sent before closing the
             // connection (assumes that futures are completed in order)
@@ -387,6 +667,8 @@ public class AtmospherePushConnection implements PushConnection {
             throws IOException, ClassNotFoundException {
         stream.defaultReadObject();
         state = State.DISCONNECTED;
+        queueLock = new Object();
+        queuedMessages = new ArrayList<>();
     }
 
     private static Logger getLogger() {
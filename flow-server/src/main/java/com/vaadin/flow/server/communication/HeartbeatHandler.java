@@ -22,9 +22,9 @@ import javax.servlet.http.HttpServletResponse;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.server.RequestHandler;
 import com.vaadin.flow.server.ServletHelper;
 import com.vaadin.flow.server.SessionExpiredHandler;
-import com.vaadin.flow.server.SynchronizedRequestHandler;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinSession;
@@ -38,33 +38,82 @@ import com.vaadin.flow.shared.ApplicationConstants;
  * no UIDL requests for a prolonged period of time. UIs that do not receive
  * either heartbeat or UIDL requests are eventually removed from the session and
  * garbage collected.
+ * <p>
+ * Heartbeat requests are handled without locking the session so that they are
+ * not blocked by other requests holding the lock. Heartbeat listeners are
+ * notified the next time the UI is accessed with the lock held.
  *
  * @author Vaadin Ltd
  * @since 1.0
  */
-public class HeartbeatHandler extends SynchronizedRequestHandler
-        implements SessionExpiredHandler {
+public class HeartbeatHandler
+        implements RequestHandler, SessionExpiredHandler {
 
-    @Override
+    /**
+     * Checks whether the given request is a heartbeat request.
+     *
+     * @param request
+     *            the request to check
+     * @return <code>true</code> if the request is a heartbeat request,
+     *         <code>false</code> otherwise
+     */
     protected boolean canHandleRequest(VaadinRequest request) {
         return ServletHelper.isRequestType(request, RequestType.HEARTBEAT);
     }
 
     /**
-     * Handles a heartbeat request for the given session. Reads the GET
-     * parameter named {@link ApplicationConstants#UI_ID_PARAMETER} to identify
-     * the UI. If the UI is found in the session, sets it
-     * {@link UIInternals#getLastHeartbeatTimestamp() heartbeat timestamp} to
-     * the current time. Otherwise, writes a HTTP Not Found error to the
-     * response.
+     * Handles a heartbeat request for the given session without locking the
+     * session. Reads the GET parameter named
+     * {@link ApplicationConstants#UI_ID_PARAMETER} to identify the UI. If the
+     * UI is found in the session, records a heartbeat for it using
+     * {@link UIInternals#receiveHeartbeat(long)}. Otherwise, writes a HTTP Not
+     * Found error to the response.
      */
     @Override
-    public boolean synchronizedHandleRequest(VaadinSession session,
-            VaadinRequest request, VaadinResponse response) throws IOException {
-        UI ui = session.getService().findUI(request);
+    public boolean handleRequest(VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        if (!canHandleRequest(request)) {
+            return false;
+        }
+
+        UI ui = null;
+        String uiIdString = request
+                .getParameter(ApplicationConstants.UI_ID_PARAMETER);
+        if (uiIdString != null) {
+            ui = session.getUIByIdWithoutLock(Integer.parseInt(uiIdString));
+        }
         if (ui != null) {
-            ui.getInternals()
-                    .setLastHeartbeatTimestamp(System.currentTimeMillis());
+            ui.getInternals().receiveHeartbeat(System.currentTimeMillis());
+            acknowledgeMessages(ui, request);
+        }
+        writeResponse(ui != null, response);
+
+        return true;
+    }
+
+    /**
+     * Removes the messages the client has seen from the server message log of
+     * the UI, according to the sync id sent with the heartbeat. This keeps the
+     * log small for UIs that receive pushed messages without sending any
+     * requests of their own.
+     */
+    private static void acknowledgeMessages(UI ui, VaadinRequest request) {
+        String syncId = request
+                .getParameter(ApplicationConstants.SERVER_SYNC_ID);
+        if (syncId == null) {
+            return;
+        }
+        try {
+            ui.getInternals().getServerMessageLog()
+                    .acknowledge(Integer.parseInt(syncId));
+        } catch (NumberFormatException e) {
+            // Ignore, the messages are acknowledged with the next request
+        }
+    }
+
+    private static void writeResponse(boolean uiFound,
+            VaadinResponse response) throws IOException {
+        if (uiFound) {
             // Ensure that the browser does not cache heartbeat responses.
             // iOS 6 Safari requires this (#10370)
             response.setHeader("Cache-Control", "no-cache");
@@ -75,8 +124,6 @@ public class HeartbeatHandler extends SynchronizedRequestHandler
             response.sendError(HttpServletResponse.SC_NOT_FOUND,
                     "UI not found");
         }
-
-        return true;
     }
 
     /*
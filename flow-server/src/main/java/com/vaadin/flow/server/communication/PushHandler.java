@@ -205,9 +205,16 @@ public class PushHandler {
             }
 
             UI ui = null;
-            session.lock();
+            boolean uiLocking = service.isUILockingEnabled();
+            if (uiLocking) {
+                ui = findAndLockUI(session, vaadinRequest);
+            } else {
+                session.lock();
+            }
             try {
-                ui = service.findUI(vaadinRequest);
+                if (!uiLocking) {
+                    ui = service.findUI(vaadinRequest);
+                }
                 assert UI.getCurrent() == ui;
 
                 if (ui == null) {
@@ -242,7 +249,11 @@ public class PushHandler {
                 callErrorHandler(session, e);
             } finally {
                 try {
-                    session.unlock();
+                    if (!uiLocking) {
+                        session.unlock();
+                    } else if (ui != null) {
+                        ui.getInternals().unlock();
+                    }
                 } catch (Exception e) {
                     getLogger().warn(
                             "Error while unlocking session", e);
@@ -262,6 +273,36 @@ public class PushHandler {
         }
     }
 
+    /**
+     * Finds the UI for the request with the session locked and then locks only
+     * the UI. Used when UI locking is enabled.
+     *
+     * @return the locked UI, or <code>null</code> if no UI was found
+     */
+    private UI findAndLockUI(VaadinSession session,
+            VaadinServletRequest vaadinRequest) {
+        UI ui;
+        session.lock();
+        try {
+            session.setLastRequestTimestamp(System.currentTimeMillis());
+            ui = service.findUI(vaadinRequest);
+        } finally {
+            session.unlock();
+        }
+        if (ui == null) {
+            return null;
+        }
+
+        ui.getInternals().lock();
+        if (ui.getSession() == null) {
+            // UI was closed after it was found but before it was locked
+            ui.getInternals().unlock();
+            UI.setCurrent(null);
+            return null;
+        }
+        return ui;
+    }
+
     /**
      * Call the session's error handler.
      */
@@ -370,7 +411,17 @@ public class PushHandler {
                             id, resource.transport());
                 }
 
-                pushConnection.connectionLost();
+                if (service.isUILockingEnabled()) {
+                    // The push connection is part of the state of the UI
+                    ui.getInternals().lock();
+                    try {
+                        pushConnection.connectionLost();
+                    } finally {
+                        ui.getInternals().unlock();
+                    }
+                } else {
+                    pushConnection.connectionLost();
+                }
             }
 
         } catch (final Exception e) {
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.vaadin.flow.server.BootstrapHandler;
+import com.vaadin.flow.server.RequestHandler;
+import com.vaadin.flow.server.ServletHelper;
+import com.vaadin.flow.server.ServletHelper.RequestType;
+import com.vaadin.flow.server.UnsupportedBrowserHandler;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Dispatches requests to the request handlers of a service based on the
+ * {@link RequestType} and the path of the request.
+ * <p>
+ * The request is classified once and only passed to the handlers that may
+ * handle that kind of request, in the same order as in the handler list given
+ * to the constructor. The framework handlers with a known purpose are matched
+ * by their exact class, so that subclasses overriding their behavior are
+ * treated like any other handler. Other handlers, e.g. the ones added through
+ * {@link com.vaadin.flow.server.ServiceInitEvent} or
+ * {@link SessionRequestHandler}, are called for every request.
+ * <p>
+ * A request with a type is passed to the framework handler for that type and
+ * to the generic handlers, skipping the framework handlers that load pages and
+ * resources. The handlers for typed requests always produce a response, so
+ * those would not be reached for such a request anyway, except for the browser
+ * check in {@link UnsupportedBrowserHandler}, which is only relevant for
+ * loading pages. If no handler for the type is registered, all handlers are
+ * called. Requests without a type skip the typed handlers and the framework
+ * handlers whose path prefix does not match the request path.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+public final class RequestHandlerDispatcher implements Serializable {
+
+    private static final Map<Class<?>, RequestType> TYPED_HANDLERS = new HashMap<>();
+
+    private static final Map<Class<?>, String> PATH_HANDLERS = new HashMap<>();
+
+    static {
+        TYPED_HANDLERS.put(HeartbeatHandler.class, RequestType.HEARTBEAT);
+        TYPED_HANDLERS.put(UidlRequestHandler.class, RequestType.UIDL);
+        TYPED_HANDLERS.put(PushRequestHandler.class, RequestType.PUSH);
+
+        PATH_HANDLERS.put(StreamRequestHandler.class,
+                "/" + StreamRequestHandler.DYN_RES_PREFIX);
+        PATH_HANDLERS.put(WebComponentProvider.class,
+                WebComponentProvider.PATH_PREFIX);
+        PATH_HANDLERS.put(WebComponentBootstrap.class,
+                WebComponentBootstrap.PATH_PREFIX);
+        PATH_HANDLERS.put(FaviconHandler.class, "/favicon.ico");
+        // Handle untyped requests regardless of the path
+        PATH_HANDLERS.put(PwaHandler.class, "");
+        PATH_HANDLERS.put(UnsupportedBrowserHandler.class, "");
+        PATH_HANDLERS.put(BootstrapHandler.class, "");
+    }
+
+    private final List<RequestHandler> allHandlers;
+
+    private final Map<RequestType, List<RequestHandler>> typedHandlers = new EnumMap<>(
+            RequestType.class);
+
+    private final List<PathHandler> untypedHandlers = new ArrayList<>();
+
+    private static class PathHandler implements Serializable {
+        private final RequestHandler handler;
+        private final String pathPrefix;
+
+        private PathHandler(RequestHandler handler, String pathPrefix) {
+            this.handler = handler;
+            this.pathPrefix = pathPrefix;
+        }
+
+        private boolean accepts(String pathInfo) {
+            return pathPrefix == null || pathPrefix.isEmpty()
+                    || (pathInfo != null && pathInfo.startsWith(pathPrefix));
+        }
+    }
+
+    /**
+     * Creates a dispatcher for the given request handlers.
+     *
+     * @param handlers
+     *            the request handlers in the order they should be invoked, not
+     *            <code>null</code>
+     */
+    public RequestHandlerDispatcher(Iterable<RequestHandler> handlers) {
+        allHandlers = new ArrayList<>();
+        handlers.forEach(allHandlers::add);
+
+        for (RequestType requestType : RequestType.values()) {
+            if (allHandlers.stream().anyMatch(handler -> TYPED_HANDLERS
+                    .get(handler.getClass()) == requestType)) {
+                List<RequestHandler> list = new ArrayList<>();
+                for (RequestHandler handler : allHandlers) {
+                    Class<?> type = handler.getClass();
+                    if (TYPED_HANDLERS.get(type) == requestType
+                            || isGeneric(type)) {
+                        list.add(handler);
+                    }
+                }
+                typedHandlers.put(requestType, list);
+            }
+        }
+
+        for (RequestHandler handler : allHandlers) {
+            Class<?> type = handler.getClass();
+            if (!TYPED_HANDLERS.containsKey(type)) {
+                untypedHandlers
+                        .add(new PathHandler(handler, PATH_HANDLERS.get(type)));
+            }
+        }
+    }
+
+    private static boolean isGeneric(Class<?> handlerType) {
+        return !TYPED_HANDLERS.containsKey(handlerType)
+                && !PATH_HANDLERS.containsKey(handlerType);
+    }
+
+    /**
+     * Passes the request to the matching request handlers until one of them
+     * has produced a response.
+     *
+     * @param session
+     *            the session for the request
+     * @param request
+     *            the request to handle
+     * @param response
+     *            the response object to which a response can be written
+     * @return <code>true</code> if a response has been written,
+     *         <code>false</code> if no handler handled the request
+     * @throws IOException
+     *             if an IO error occurred
+     * @see RequestHandler#handleRequest(VaadinSession, VaadinRequest,
+     *      VaadinResponse)
+     */
+    public boolean handleRequest(VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        RequestType requestType = ServletHelper.getRequestType(request);
+        if (requestType != null) {
+            List<RequestHandler> handlers = typedHandlers
+                    .getOrDefault(requestType, allHandlers);
+            for (RequestHandler handler : handlers) {
+                if (handler.handleRequest(session, request, response)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        String pathInfo = request.getPathInfo();
+        for (PathHandler pathHandler : untypedHandlers) {
+            if (pathHandler.accepts(pathInfo) && pathHandler.handler
+                    .handleRequest(session, request, response)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
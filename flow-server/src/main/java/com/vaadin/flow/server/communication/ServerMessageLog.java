@@ -0,0 +1,506 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.shared.ApplicationConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonException;
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
+import elemental.json.impl.JsonUtil;
+
+/**
+ * Keeps track of the messages sent to the client of a UI that the client has
+ * not yet acknowledged, so that a client which has missed messages, e.g.
+ * because of a bad connection, can be resynchronized by replaying them
+ * instead of reloading the whole page.
+ * <p>
+ * The client acknowledges messages by sending the id of the last message it
+ * has seen with each request and heartbeat. Only unacknowledged messages up to
+ * a bounded total size are kept. If the messages the client has missed are no
+ * longer available, or if the client might already have applied some of them,
+ * the client is asked to reload the page. Since that is always the case for
+ * messages pushed asynchronously from the server, only the sync id of such
+ * messages is kept.
+ * <p>
+ * Messages may be added before they have been serialized, e.g. by a push
+ * connection that serializes its messages without holding the session lock.
+ * The log is therefore thread safe.
+ * <p>
+ * The log is not serialized together with the UI, since a deserialized UI
+ * can't tell which messages have reached the client anyway.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+public class ServerMessageLog implements Serializable {
+
+    /**
+     * The maximum total size of the unacknowledged messages to keep, in
+     * bytes.
+     */
+    static final int MAX_SIZE = 256 * 1024;
+
+    /**
+     * The size counted for each message in addition to its content, in bytes.
+     */
+    private static final int ENTRY_SIZE = 32;
+
+    private static final String MESSAGE_PREFIX = "for(;;);[";
+    private static final String MESSAGE_SUFFIX = "]";
+    private static final String TIMINGS = "timings";
+    private static final String META = "meta";
+    private static final String ASYNC = "async";
+    private static final int NO_RESYNC = Integer.MIN_VALUE;
+
+    private static class LoggedMessage implements Serializable {
+        private final int syncId;
+        private final byte[] utf8Message;
+        private final String message;
+        private final JsonObject json;
+        private final boolean async;
+        private int size;
+
+        private LoggedMessage(int syncId, byte[] utf8Message, String message,
+                JsonObject json, boolean async) {
+            this.syncId = syncId;
+            this.utf8Message = utf8Message;
+            this.message = message;
+            this.json = json;
+            this.async = async;
+            if (utf8Message != null) {
+                size = ENTRY_SIZE + utf8Message.length;
+            } else if (message != null) {
+                // Strings take two bytes per character
+                size = ENTRY_SIZE + message.length() * 2;
+            } else {
+                // Updated when the JSON message is serialized
+                size = ENTRY_SIZE;
+            }
+        }
+
+        private JsonObject getJson() {
+            if (json != null) {
+                return json;
+            }
+            return parse(message != null ? message
+                    : new String(utf8Message, StandardCharsets.UTF_8));
+        }
+    }
+
+    private final Deque<LoggedMessage> messages = new ArrayDeque<>();
+
+    private int size;
+
+    private int resyncAfter = NO_RESYNC;
+
+    /**
+     * Removes all messages up to and including the given sync id, since the
+     * client has seen them.
+     *
+     * @param lastSeenSyncId
+     *            the id of the last message seen by the client
+     */
+    public synchronized void acknowledge(int lastSeenSyncId) {
+        while (!messages.isEmpty()
+                && messages.peekFirst().syncId <= lastSeenSyncId) {
+            removeFirst();
+        }
+    }
+
+    /**
+     * Adds a response to a client request that has been sent to the client.
+     * Messages without a sync id are not kept since they can't be replayed.
+     *
+     * @param syncId
+     *            the sync id of the message, or <code>-1</code> if sync ids
+     *            are not used
+     * @param message
+     *            the message as sent to the client, encoded in UTF-8, not
+     *            <code>null</code>; the array is kept without copying and
+     *            must not be modified afterwards
+     */
+    public void add(int syncId, byte[] message) {
+        assert message != null;
+        add(new LoggedMessage(syncId, message, null, null, false));
+    }
+
+    /**
+     * Adds a response to a client request that has been sent to the client.
+     * Messages without a sync id are not kept since they can't be replayed.
+     *
+     * @param syncId
+     *            the sync id of the message, or <code>-1</code> if sync ids
+     *            are not used
+     * @param message
+     *            the message as sent to the client, not <code>null</code>
+     */
+    public void add(int syncId, String message) {
+        add(syncId, message, false);
+    }
+
+    /**
+     * Adds a message that has been or will be sent to the client. Messages
+     * without a sync id are not kept since they can't be replayed, and only
+     * the sync id of asynchronous messages is kept.
+     *
+     * @param syncId
+     *            the sync id of the message, or <code>-1</code> if sync ids
+     *            are not used
+     * @param message
+     *            the message as sent to the client, not <code>null</code>
+     * @param async
+     *            <code>true</code> if the message is pushed asynchronously
+     *            from the server, <code>false</code> if it is a response to a
+     *            client request
+     */
+    public void add(int syncId, String message, boolean async) {
+        assert message != null;
+        add(new LoggedMessage(syncId, null, async ? null : message, null,
+                async));
+    }
+
+    /**
+     * Adds a JSON message that will be serialized and sent to the client.
+     * Messages without a sync id are not kept since they can't be replayed,
+     * and only the sync id of asynchronous messages is kept. The message must
+     * not be modified after it has been added.
+     * <p>
+     * The size of the message is not known until
+     * {@link #serialized(JsonObject, int)} is called for it.
+     *
+     * @param syncId
+     *            the sync id of the message, or <code>-1</code> if sync ids
+     *            are not used
+     * @param message
+     *            the JSON message to send to the client, not
+     *            <code>null</code>
+     * @param async
+     *            <code>true</code> if the message is pushed asynchronously
+     *            from the server, <code>false</code> if it is a response to a
+     *            client request
+     */
+    public void add(int syncId, JsonObject message, boolean async) {
+        assert message != null;
+        add(new LoggedMessage(syncId, null, null, async ? null : message,
+                async));
+    }
+
+    private synchronized void add(LoggedMessage message) {
+        if (message.syncId < 0) {
+            return;
+        }
+        messages.addLast(message);
+        size += message.size;
+        trim();
+    }
+
+    /**
+     * Records the size of a JSON message added with
+     * {@link #add(int, JsonObject, boolean)} once it has been serialized.
+     *
+     * @param message
+     *            the JSON message, not <code>null</code>
+     * @param length
+     *            the length of the serialized message, in characters
+     */
+    public synchronized void serialized(JsonObject message, int length) {
+        if (!message.hasKey(ApplicationConstants.SERVER_SYNC_ID)) {
+            return;
+        }
+        int syncId = (int) message
+                .getNumber(ApplicationConstants.SERVER_SYNC_ID);
+        // Recent messages are serialized first
+        Iterator<LoggedMessage> iterator = messages.descendingIterator();
+        while (iterator.hasNext()) {
+            LoggedMessage loggedMessage = iterator.next();
+            if (loggedMessage.syncId < syncId) {
+                return;
+            }
+            if (loggedMessage.json == message) {
+                int newSize = ENTRY_SIZE + length * 2;
+                size += newSize - loggedMessage.size;
+                loggedMessage.size = newSize;
+                trim();
+                return;
+            }
+        }
+    }
+
+    private void trim() {
+        while (size > MAX_SIZE) {
+            removeFirst();
+        }
+    }
+
+    private void removeFirst() {
+        size -= messages.removeFirst().size;
+    }
+
+    /**
+     * Requests the client to be resynchronized with the next message sent to
+     * it.
+     *
+     * @param lastSeenSyncId
+     *            the id of the last message seen by the client, or
+     *            <code>-1</code> if not known
+     */
+    public synchronized void requestResync(int lastSeenSyncId) {
+        resyncAfter = lastSeenSyncId;
+    }
+
+    /**
+     * Checks whether the client should be resynchronized instead of sending
+     * the latest message as is.
+     *
+     * @return <code>true</code> if a resynchronization has been requested,
+     *         <code>false</code> otherwise
+     */
+    public synchronized boolean isResyncRequested() {
+        return resyncAfter != NO_RESYNC;
+    }
+
+    /**
+     * Creates a message that resynchronizes the client by combining all the
+     * messages it has not seen, including the latest one, into one message.
+     * <p>
+     * A message asking the client to reload the page is returned instead if
+     * some of the messages are no longer available, or if some of them were
+     * pushed asynchronously. The client might have applied pushed messages
+     * after sending the request that asked for the resynchronization, and
+     * applying their changes again would corrupt its state.
+     * <p>
+     * This clears the resynchronization request.
+     *
+     * @return the message to send to the client, not <code>null</code>
+     */
+    public String createResyncMessage() {
+        return createResyncMessage(null);
+    }
+
+    /**
+     * Creates a message that resynchronizes the client by combining all the
+     * messages it has not seen, including the given latest one, into one
+     * message. This is needed if the latest message is pushed asynchronously,
+     * since its content is not kept in the log.
+     * <p>
+     * This clears the resynchronization request.
+     *
+     * @param latestMessage
+     *            the latest message, already added to the log, or
+     *            <code>null</code> to use the content kept in the log
+     * @return the message to send to the client, not <code>null</code>
+     * @see #createResyncMessage()
+     */
+    public String createResyncMessage(JsonObject latestMessage) {
+        List<JsonObject> unseen;
+        synchronized (this) {
+            assert isResyncRequested();
+            int lastSeenSyncId = resyncAfter;
+            resyncAfter = NO_RESYNC;
+
+            if (lastSeenSyncId < 0) {
+                return createRefreshMessage();
+            }
+            acknowledge(lastSeenSyncId);
+            if (messages.isEmpty()
+                    || messages.peekFirst().syncId != lastSeenSyncId + 1) {
+                return createRefreshMessage();
+            }
+
+            unseen = new ArrayList<>(messages.size());
+            try {
+                for (LoggedMessage message : messages) {
+                    // The latest message is the one sent with the resync
+                    if (message == messages.peekLast()
+                            && latestMessage != null) {
+                        unseen.add(latestMessage);
+                    } else if (message.async) {
+                        return createRefreshMessage();
+                    } else {
+                        unseen.add(message.getJson());
+                    }
+                }
+            } catch (JsonException | IllegalArgumentException e) {
+                return createRefreshMessage();
+            }
+        }
+
+        JsonObject combined = combine(unseen);
+        // Tells the client to drop any older messages it is waiting for and
+        // to accept the sync id even though it has not seen the ids of the
+        // combined messages
+        combined.remove(ApplicationConstants.COMBINED_FIRST_SYNC_ID);
+        combined.put(ApplicationConstants.RESYNCHRONIZE_ID, true);
+        return createMessage(combined);
+    }
+
+    /**
+     * Creates a message to send to the client from the given JSON message.
+     *
+     * @param message
+     *            the JSON message, not <code>null</code>
+     * @return the message to send to the client
+     */
+    static String createMessage(JsonObject message) {
+        return MESSAGE_PREFIX + message.toJson() + MESSAGE_SUFFIX;
+    }
+
+    /**
+     * Creates one message that has the same effect on the client as the given
+     * consecutive messages. The messages themselves are not modified.
+     *
+     * @param messages
+     *            the messages to combine, in the order they were created, not
+     *            empty
+     * @return the combined message to send to the client
+     */
+    static String createCombinedMessage(List<JsonObject> messages) {
+        return createMessage(combine(messages));
+    }
+
+    /**
+     * Combines the given consecutive messages into one JSON message that has
+     * the same effect on the client. The messages themselves are not
+     * modified.
+     * <p>
+     * The combined message tells the sync id of the first included message to
+     * the client, which handles it in order with the other messages like the
+     * first included message would be handled.
+     *
+     * @param messages
+     *            the messages to combine, in the order they were created, not
+     *            empty
+     * @return the combined JSON message
+     */
+    static JsonObject combine(List<JsonObject> messages) {
+        assert !messages.isEmpty();
+        JsonObject combined = Json.createObject();
+        boolean response = false;
+        for (JsonObject message : messages) {
+            merge(combined, message);
+            response |= isResponse(message);
+        }
+
+        JsonObject first = messages.get(0);
+        if (first.hasKey(ApplicationConstants.COMBINED_FIRST_SYNC_ID)) {
+            combined.put(ApplicationConstants.COMBINED_FIRST_SYNC_ID, first
+                    .getNumber(ApplicationConstants.COMBINED_FIRST_SYNC_ID));
+        } else if (first.hasKey(ApplicationConstants.SERVER_SYNC_ID)) {
+            combined.put(ApplicationConstants.COMBINED_FIRST_SYNC_ID,
+                    first.getNumber(ApplicationConstants.SERVER_SYNC_ID));
+        }
+
+        if (response && combined.hasKey(META)) {
+            // The client ends the pending request when handling a response
+            combined.getObject(META).remove(ASYNC);
+        }
+        return combined;
+    }
+
+    private static boolean isResponse(JsonObject message) {
+        return !message.hasKey(META) || !message.getObject(META).hasKey(ASYNC);
+    }
+
+    private static JsonObject parse(String message) {
+        if (!message.startsWith(MESSAGE_PREFIX)
+                || !message.endsWith(MESSAGE_SUFFIX)) {
+            throw new IllegalArgumentException(
+                    "Unexpected message format: " + message);
+        }
+        return JsonUtil.parse(message.substring(MESSAGE_PREFIX.length(),
+                message.length() - MESSAGE_SUFFIX.length()));
+    }
+
+    /*
+     * Changes, JavaScript invocations and dependencies are appended in the
+     * order they were sent, constants and meta data are combined, and for
+     * anything else such as the sync ids, the latest value is used.
+     */
+    private static void merge(JsonObject target, JsonObject message) {
+        for (String key : message.keys()) {
+            JsonValue value = message.get(key);
+            JsonValue current = target.get(key);
+            if (current == null || TIMINGS.equals(key)
+                    || current.getType() != value.getType()) {
+                // Copy containers so that merging further messages doesn't
+                // modify the messages being merged
+                target.put(key, copyContainer(value));
+            } else if (value.getType() == JsonType.ARRAY) {
+                JsonArray array = (JsonArray) current;
+                JsonArray values = (JsonArray) value;
+                for (int i = 0; i < values.length(); i++) {
+                    array.set(array.length(), values.<JsonValue> get(i));
+                }
+            } else if (value.getType() == JsonType.OBJECT) {
+                JsonObject object = (JsonObject) current;
+                JsonObject values = (JsonObject) value;
+                for (String valueKey : values.keys()) {
+                    object.put(valueKey, values.<JsonValue> get(valueKey));
+                }
+            } else {
+                target.put(key, value);
+            }
+        }
+    }
+
+    private static JsonValue copyContainer(JsonValue value) {
+        if (value.getType() == JsonType.ARRAY) {
+            JsonArray values = (JsonArray) value;
+            JsonArray copy = Json.createArray();
+            for (int i = 0; i < values.length(); i++) {
+                copy.set(i, values.<JsonValue> get(i));
+            }
+            return copy;
+        } else if (value.getType() == JsonType.OBJECT) {
+            JsonObject values = (JsonObject) value;
+            JsonObject copy = Json.createObject();
+            for (String key : values.keys()) {
+                copy.put(key, values.<JsonValue> get(key));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    private static String createRefreshMessage() {
+        return VaadinService.createCriticalNotificationJSON(null, null, null,
+                null);
+    }
+
+    /**
+     * Gets the number of unacknowledged messages currently kept.
+     *
+     * @return the number of messages
+     */
+    synchronized int size() {
+        return messages.size();
+    }
+}
@@ -38,6 +38,7 @@ import com.vaadin.flow.internal.MessageDigestUtil;
 import com.vaadin.flow.server.ErrorEvent;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.rpc.AttachExistingElementRpcHandler;
 import com.vaadin.flow.server.communication.rpc.AttachTemplateChildRpcHandler;
 import com.vaadin.flow.server.communication.rpc.EventRpcHandler;
@@ -219,6 +220,11 @@ public class ServerRpcHandler implements Serializable {
     /**
      * Reads JSON containing zero or more serialized RPC calls (including legacy
      * variable changes) and executes the calls.
+     * <p>
+     * If the client asks to be resynchronized or the message id shows that
+     * the client has missed a response, a resynchronization is requested from
+     * the {@link ServerMessageLog} of the UI so that the next message sent to
+     * the client replays the messages it hasn't seen.
      *
      * @param ui
      *            The {@link UI} receiving the calls. Cannot be null.
@@ -234,7 +240,11 @@ public class ServerRpcHandler implements Serializable {
      */
     public void handleRpc(UI ui, Reader reader, VaadinRequest request)
             throws IOException, InvalidUIDLSecurityKeyException {
-        ui.getSession().setLastRequestTimestamp(System.currentTimeMillis());
+        VaadinSession session = ui.getSession();
+        if (session.hasLock()) {
+            // With UI locking, set by the request handler while finding the UI
+            session.setLastRequestTimestamp(System.currentTimeMillis());
+        }
 
         String changeMessage = getMessage(reader);
 
@@ -258,14 +268,18 @@ public class ServerRpcHandler implements Serializable {
         }
         byte[] messageHash = MessageDigestUtil.sha256(hashMessage);
 
+        // Messages the client has seen no longer need to be replayed
+        ServerMessageLog messageLog = ui.getInternals().getServerMessageLog();
+        messageLog.acknowledge(rpcRequest.getSyncId());
+
         int expectedId = ui.getInternals().getLastProcessedClientToServerId()
                 + 1;
         int requestId = rpcRequest.getClientToServerId();
 
         if (requestId != -1 && requestId != expectedId) {
-            // Invalid message id, skip RPC processing but force a full
-            // re-synchronization of the client as it might have not received
-            // the previous response (e.g. due to a bad connection)
+            // Invalid message id, skip RPC processing but resynchronize the
+            // client as it might have not received the previous response (e.g.
+            // due to a bad connection)
 
             // Must resync also for duplicate messages because the server might
             // have generated a response for the first message but the response
@@ -273,7 +287,6 @@ public class ServerRpcHandler implements Serializable {
             // it would only get an empty response (because the dirty flags have
             // been cleared on the server) and would be out of sync
 
-            String message;
             if (requestId == expectedId - 1 && Arrays.equals(messageHash,
                     ui.getInternals().getLastProcessedMessageHash())) {
                 /*
@@ -281,28 +294,21 @@ public class ServerRpcHandler implements Serializable {
                  * situation is most likely triggered by a timeout or such
                  * causing a message to be resent.
                  */
-                message = "Confirmed duplicate message from the client.";
+                getLogger().debug(
+                        "Confirmed duplicate message from the client. "
+                                + "Resynchronizing the client.");
             } else {
-                message = "Unexpected message id from the client.";
-            }
-
-            /*
-             * If the reason for ending up here is intermittent, then we should
-             * just issue a full resync since we cannot know the state of the
-             * client engine.
-             *
-             * There are reasons to believe that there are deterministic issues
-             * that trigger this condition, and we'd like to collect more data
-             * to uncover anything such before actually implementing the resync
-             * that would thus hide most symptoms of the actual root cause bugs.
-             */
-            String messageStart = changeMessage;
-            if (messageStart.length() > 1000) {
-                messageStart = messageStart.substring(0, 1000);
+                String messageStart = changeMessage;
+                if (messageStart.length() > 1000) {
+                    messageStart = messageStart.substring(0, 1000);
+                }
+                getLogger().warn(
+                        "Unexpected message id from the client. Expected sync "
+                                + "id: {}, got {}. Resynchronizing the client. "
+                                + "Message start: {}",
+                        expectedId, requestId, messageStart);
             }
-            throw new UnsupportedOperationException(
-                    message + " Expected sync id: " + expectedId + ", got "
-                            + requestId + ". Message start: " + messageStart);
+            messageLog.requestResync(rpcRequest.getSyncId());
         } else {
             // Message id ok, process RPCs
             ui.getInternals().setLastProcessedClientToServerId(expectedId,
@@ -311,8 +317,7 @@ public class ServerRpcHandler implements Serializable {
         }
 
         if (rpcRequest.isResynchronize()) {
-            // FIXME Implement
-            throw new UnsupportedOperationException("FIXME: Implement resync");
+            messageLog.requestResync(rpcRequest.getSyncId());
         }
 
     }
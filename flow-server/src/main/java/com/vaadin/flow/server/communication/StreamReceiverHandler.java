@@ -15,6 +15,9 @@
  */
 package com.vaadin.flow.server.communication;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import java.io.BufferedWriter;
 import java.io.IOException;
@@ -23,6 +26,7 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.Serializable;
+import java.util.Map;
 
 import org.apache.commons.fileupload.FileItemIterator;
 import org.apache.commons.fileupload.FileItemStream;
@@ -32,7 +36,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.server.DefaultDeploymentConfiguration;
 import com.vaadin.flow.server.ErrorEvent;
 import com.vaadin.flow.server.NoInputStreamException;
 import com.vaadin.flow.server.NoOutputStreamException;
@@ -42,6 +49,8 @@ import com.vaadin.flow.server.StreamVariable;
 import com.vaadin.flow.server.UploadException;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.VaadinServletResponse;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.streaming.StreamingEndEventImpl;
 import com.vaadin.flow.server.communication.streaming.StreamingErrorEventImpl;
@@ -60,8 +69,6 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  */
 public class StreamReceiverHandler implements Serializable {
 
-    private static final int MAX_UPLOAD_BUFFER_SIZE = 4 * 1024;
-
     /* Minimum interval which will be used for streaming progress events. */
     public static final int DEFAULT_STREAMING_PROGRESS_EVENT_INTERVAL_MS = 500;
 
@@ -233,6 +240,20 @@ public class StreamReceiverHandler implements Serializable {
         // is accessible in portlets
         final String filename = "unknown";
         final String mimeType = filename;
+
+        if (StreamRequestHandler.isAsyncStreaming(request, response)) {
+            try {
+                validateNode(session, owner);
+                startAsyncUpload(session, (VaadinServletRequest) request,
+                        (VaadinServletResponse) response, streamReceiver,
+                        filename, mimeType, contentLength);
+            } catch (UploadException e) {
+                session.getErrorHandler().error(new ErrorEvent(e));
+                sendUploadResponse(response);
+            }
+            return;
+        }
+
         final InputStream stream = request.getInputStream();
 
         try {
@@ -248,19 +269,7 @@ public class StreamReceiverHandler implements Serializable {
             InputStream inputStream, StreamReceiver streamReceiver,
             String filename, String mimeType, long contentLength,
             StateNode node) throws UploadException {
-        session.lock();
-        try {
-            if (node == null) {
-                throw new UploadException(
-                        "File upload ignored because the node for the stream variable was not found");
-            }
-            if (!node.isAttached()) {
-                throw new UploadException("Warning: file upload ignored for "
-                        + node.getId() + " because the component was disabled");
-            }
-        } finally {
-            session.unlock();
-        }
+        validateNode(session, node);
         try {
             // Store ui reference so we can do cleanup even if node is
             // detached in some event handler
@@ -279,6 +288,47 @@ public class StreamReceiverHandler implements Serializable {
         }
     }
 
+    private void validateNode(VaadinSession session, StateNode node)
+            throws UploadException {
+        session.lock();
+        try {
+            if (node == null) {
+                throw new UploadException(
+                        "File upload ignored because the node for the stream variable was not found");
+            }
+            if (!node.isAttached()) {
+                throw new UploadException("Warning: file upload ignored for "
+                        + node.getId() + " because the component was disabled");
+            }
+        } finally {
+            session.unlock();
+        }
+    }
+
+    private void startAsyncUpload(VaadinSession session,
+            VaadinServletRequest request, VaadinServletResponse response,
+            StreamReceiver streamReceiver, String filename, String mimeType,
+            long contentLength) throws IOException {
+        StreamVariable streamVariable = streamReceiver.getStreamVariable();
+        if (streamVariable == null) {
+            throw new IllegalStateException(
+                    "StreamVariable for the post not found");
+        }
+        XhrUploadReadListener listener = new XhrUploadReadListener(session,
+                UI.getCurrent(), streamReceiver, streamVariable, filename,
+                mimeType, contentLength, response,
+                request.getService().getDeploymentConfiguration()
+                        .getStreamBufferSize());
+
+        AsyncContext context = request.startAsync();
+        // The listener completes the request when all data has been read
+        context.setTimeout(0);
+        ServletInputStream input = request.getInputStream();
+        if (listener.start(context, input)) {
+            input.setReadListener(listener);
+        }
+    }
+
     /**
      * To prevent event storming, streaming progress events are sent in this
      * interval rather than every time the buffer is filled. This fixes #13155.
@@ -352,11 +402,13 @@ public class StreamReceiverHandler implements Serializable {
                 filename, type, contentLength);
         try {
             boolean listenProgress;
+            int bufferSize;
             session.lock();
             try {
                 streamVariable.streamingStarted(startedEvent);
                 out = streamVariable.getOutputStream();
                 listenProgress = streamVariable.listenProgress();
+                bufferSize = getBufferSize(session);
             } finally {
                 session.unlock();
             }
@@ -371,7 +423,7 @@ public class StreamReceiverHandler implements Serializable {
                 throw new NoInputStreamException();
             }
 
-            final byte[] buffer = new byte[MAX_UPLOAD_BUFFER_SIZE];
+            final byte[] buffer = new byte[bufferSize];
             long lastStreamingEvent = 0;
             int bytesReadToBuffer;
             do {
@@ -434,6 +486,13 @@ public class StreamReceiverHandler implements Serializable {
         return startedEvent.isDisposed();
     }
 
+    private static int getBufferSize(VaadinSession session) {
+        DeploymentConfiguration configuration = session.getConfiguration();
+        return configuration == null
+                ? DefaultDeploymentConfiguration.DEFAULT_STREAM_BUFFER_SIZE
+                : configuration.getStreamBufferSize();
+    }
+
     private long updateProgress(VaadinSession session,
             StreamVariable streamVariable,
             StreamingProgressEventImpl progressEvent, long lastStreamingEvent,
@@ -466,6 +525,204 @@ public class StreamReceiverHandler implements Serializable {
         }
     }
 
+    /**
+     * Streams a plain file post to a stream variable using non-blocking
+     * servlet I/O, firing the same events as the blocking implementation.
+     */
+    private class XhrUploadReadListener implements ReadListener {
+
+        private final VaadinSession session;
+        private final UI ui;
+        private final StreamReceiver streamReceiver;
+        private final StreamVariable streamVariable;
+        private final String filename;
+        private final String mimeType;
+        private final long contentLength;
+        private final VaadinResponse response;
+        private final byte[] buffer;
+
+        private final StreamingStartEventImpl startedEvent;
+        private AsyncContext context;
+        private ServletInputStream input;
+        private OutputStream out;
+        private boolean listenProgress;
+        private long totalBytes;
+        private long lastStreamingEvent;
+        private boolean completed;
+
+        private XhrUploadReadListener(VaadinSession session, UI ui,
+                StreamReceiver streamReceiver, StreamVariable streamVariable,
+                String filename, String mimeType, long contentLength,
+                VaadinResponse response, int bufferSize) {
+            this.session = session;
+            this.ui = ui;
+            this.streamReceiver = streamReceiver;
+            this.streamVariable = streamVariable;
+            this.filename = filename;
+            this.mimeType = mimeType;
+            this.contentLength = contentLength;
+            this.response = response;
+            buffer = new byte[bufferSize];
+            startedEvent = new StreamingStartEventImpl(filename, mimeType,
+                    contentLength);
+        }
+
+        /**
+         * Notifies the stream variable that streaming has started.
+         *
+         * @return <code>true</code> if data should be read,
+         *         <code>false</code> if the upload has already been completed
+         *         because of an error
+         */
+        private boolean start(AsyncContext context, ServletInputStream input) {
+            this.context = context;
+            this.input = input;
+            session.lock();
+            try {
+                streamVariable.streamingStarted(startedEvent);
+                out = streamVariable.getOutputStream();
+                listenProgress = streamVariable.listenProgress();
+            } catch (Exception e) {
+                fail(e);
+                return false;
+            } finally {
+                session.unlock();
+            }
+            if (out == null) {
+                fail(new NoOutputStreamException());
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            Map<Class<?>, CurrentInstance> old = setCurrentInstances();
+            try {
+                int bytesRead;
+                while (!completed && input.isReady()
+                        && (bytesRead = input.read(buffer)) != -1) {
+                    out.write(buffer, 0, bytesRead);
+                    totalBytes += bytesRead;
+                    if (listenProgress) {
+                        fireProgress(bytesRead);
+                    }
+                    if (streamVariable.isInterrupted()) {
+                        throw new UploadInterruptedException();
+                    }
+                }
+            } catch (UploadInterruptedException e) {
+                interrupted(e);
+            } catch (Exception e) {
+                fail(e);
+            } finally {
+                CurrentInstance.restoreInstances(old);
+            }
+        }
+
+        @Override
+        public void onAllDataRead() throws IOException {
+            if (completed) {
+                return;
+            }
+            Map<Class<?>, CurrentInstance> old = setCurrentInstances();
+            try {
+                if (listenProgress) {
+                    fireProgress(0);
+                }
+                out.close();
+                StreamVariable.StreamingEndEvent event = new StreamingEndEventImpl(
+                        filename, mimeType, totalBytes);
+                session.lock();
+                try {
+                    streamVariable.streamingFinished(event);
+                } finally {
+                    session.unlock();
+                }
+                if (startedEvent.isDisposed()) {
+                    cleanStreamVariable(session, streamReceiver);
+                }
+                complete();
+            } catch (Exception e) {
+                fail(e);
+            } finally {
+                CurrentInstance.restoreInstances(old);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            Map<Class<?>, CurrentInstance> old = setCurrentInstances();
+            try {
+                fail(throwable);
+            } finally {
+                CurrentInstance.restoreInstances(old);
+            }
+        }
+
+        private Map<Class<?>, CurrentInstance> setCurrentInstances() {
+            // Callbacks are run by container threads without Vaadin context
+            return ui == null ? CurrentInstance.setCurrent(session)
+                    : CurrentInstance.setCurrent(ui);
+        }
+
+        private void fireProgress(int bytesRead) {
+            StreamingProgressEventImpl progressEvent = new StreamingProgressEventImpl(
+                    filename, mimeType, contentLength, totalBytes);
+            lastStreamingEvent = updateProgress(session, streamVariable,
+                    progressEvent, lastStreamingEvent, bytesRead);
+        }
+
+        private void interrupted(UploadInterruptedException exception) {
+            tryToCloseStream(out);
+            StreamVariable.StreamingErrorEvent event = new StreamingErrorEventImpl(
+                    filename, mimeType, contentLength, totalBytes, exception);
+            session.lock();
+            try {
+                streamVariable.streamingFailed(event);
+            } finally {
+                session.unlock();
+            }
+            complete();
+        }
+
+        private void fail(Throwable throwable) {
+            if (completed) {
+                return;
+            }
+            tryToCloseStream(out);
+            Exception exception = throwable instanceof Exception
+                    ? (Exception) throwable
+                    : new UploadException(throwable.getMessage());
+            session.lock();
+            try {
+                StreamVariable.StreamingErrorEvent event = new StreamingErrorEventImpl(
+                        filename, mimeType, contentLength, totalBytes,
+                        exception);
+                streamVariable.streamingFailed(event);
+                session.getErrorHandler()
+                        .error(new ErrorEvent(new UploadException(exception)));
+            } finally {
+                session.unlock();
+            }
+            complete();
+        }
+
+        private void complete() {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            try {
+                sendUploadResponse(response);
+            } catch (IOException e) {
+                getLogger().debug("Error writing upload response", e);
+            } finally {
+                context.complete();
+            }
+        }
+    }
+
     private static Logger getLogger() {
         return LoggerFactory.getLogger(StreamReceiverHandler.class.getName());
     }
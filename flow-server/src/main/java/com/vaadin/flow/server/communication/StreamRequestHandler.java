@@ -33,6 +33,8 @@ import com.vaadin.flow.server.StreamReceiver;
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.VaadinServletResponse;
 import com.vaadin.flow.server.VaadinSession;
 
 /**
@@ -102,6 +104,26 @@ public class StreamRequestHandler implements RequestHandler {
         return true;
     }
 
+    /**
+     * Checks whether the given stream request should be processed using
+     * non-blocking servlet I/O.
+     *
+     * @param request
+     *            the request to check
+     * @param response
+     *            the response of the request
+     * @return <code>true</code> if asynchronous streaming is enabled and
+     *         supported for the request, otherwise <code>false</code>
+     */
+    static boolean isAsyncStreaming(VaadinRequest request,
+            VaadinResponse response) {
+        return request instanceof VaadinServletRequest
+                && response instanceof VaadinServletResponse
+                && ((VaadinServletRequest) request).isAsyncSupported()
+                && request.getService().getDeploymentConfiguration()
+                        .isAsyncStreaming();
+    }
+
     /**
      * Parse the pathInfo for id data.
   s   * <p>
@@ -15,19 +15,33 @@
  */
 package com.vaadin.flow.server.communication;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.vaadin.flow.server.InputStreamFactory;
+import com.vaadin.flow.server.RangeStreamResourceWriter;
+import com.vaadin.flow.server.SeekableInputStreamFactory;
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.StreamResourceWriter;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.VaadinServletResponse;
 import com.vaadin.flow.server.VaadinSession;
 
-import java.io.IOException;
-import java.io.OutputStream;
-import java.io.Serializable;
-
 /**
  * Handles {@link StreamResource} instances registered in {@link VaadinSession}.
  *
@@ -37,6 +51,14 @@ import java.io.Serializable;
  */
 public class StreamResourceHandler implements Serializable {
 
+    private static final String BYTES_UNIT = "bytes";
+
+    /**
+     * The maximum number of ranges accepted in a single request. Requests with
+     * more ranges are served the full content instead.
+     */
+    private static final int MAX_RANGES = 16;
+
     /**
      * Handle sending for a stream resource request.
      * 
@@ -57,24 +79,225 @@ public class StreamResourceHandler implements Serializable {
             throws IOException {
 
         StreamResourceWriter writer;
+        String contentType;
+        long contentLength = -1;
         session.lock();
         try {
             ServletContext context = ((VaadinServletRequest) request)
                     .getServletContext();
-            response.setContentType(streamResource.getContentTypeResolver()
-                    .apply(streamResource, context));
+            contentType = streamResource.getContentTypeResolver()
+                    .apply(streamResource, context);
+            response.setContentType(contentType);
             response.setCacheTime(streamResource.getCacheTime());
             writer = streamResource.getWriter();
             if (writer == null) {
                 throw new IOException(
                         "Stream resource produces null input stream");
             }
+            if (writer instanceof RangeStreamResourceWriter) {
+                contentLength = ((RangeStreamResourceWriter) writer)
+                        .getContentLength(session);
+            }
         } finally {
             session.unlock();
         }
+
+        if (contentLength < 0) {
+            writeContent(session, request, response, streamResource, 0, -1);
+            return;
+        }
+
+        RangeStreamResourceWriter rangeWriter = (RangeStreamResourceWriter) writer;
+        response.setHeader("Accept-Ranges", BYTES_UNIT);
+
+        List<long[]> ranges = parseRanges(request, contentLength);
+        if (ranges == null) {
+            response.setHeader("Content-Length",
+                    Long.toString(contentLength));
+            writeContent(session, request, response, streamResource, 0, -1);
+        } else if (ranges.isEmpty()) {
+            response.setStatus(
+                    HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader("Content-Range",
+                    BYTES_UNIT + " */" + contentLength);
+        } else if (ranges.size() == 1) {
+            long[] range = ranges.get(0);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range",
+                    getContentRange(range, contentLength));
+            response.setHeader("Content-Length", Long.toString(range[1]));
+            writeContent(session, request, response, streamResource,
+                    range[0], range[1]);
+        } else {
+            writeMultipleRanges(session, response, rangeWriter, ranges,
+                    contentType, contentLength);
+        }
+    }
+
+    /**
+     * Writes the full content, or a single range of it if {@code length} is
+     * not negative, to the response. Resources based on an input stream
+     * factory are written using non-blocking I/O when asynchronous streaming
+     * is enabled.
+     */
+    private void writeContent(VaadinSession session, VaadinRequest request,
+            VaadinResponse response, StreamResource streamResource, long start,
+            long length) throws IOException {
+        Optional<InputStreamFactory> factory = streamResource
+                .getInputStreamFactory();
+        if (factory.isPresent()
+                && StreamRequestHandler.isAsyncStreaming(request, response)) {
+            writeAsync(session, (VaadinServletRequest) request,
+                    (VaadinServletResponse) response, factory.get(), start,
+                    length < 0 ? Long.MAX_VALUE : length);
+            return;
+        }
+
+        StreamResourceWriter writer = streamResource.getWriter();
         try (OutputStream outputStream = response.getOutputStream()) {
-            writer.accept(outputStream, session);
+            if (length < 0) {
+                writer.accept(outputStream, session);
+            } else {
+                ((RangeStreamResourceWriter) writer).accept(outputStream,
+                        session, start, length);
+            }
+        }
+    }
+
+    private void writeAsync(VaadinSession session,
+            VaadinServletRequest request, VaadinServletResponse response,
+            InputStreamFactory factory, long start, long length)
+            throws IOException {
+        InputStream input;
+        session.lock();
+        try {
+            input = start > 0
+                    ? ((SeekableInputStreamFactory) factory)
+                            .createInputStream(start)
+                    : factory.createInputStream();
+        } finally {
+            session.unlock();
+        }
+        int bufferSize = request.getService().getDeploymentConfiguration()
+                .getStreamBufferSize();
+
+        AsyncContext context = request.startAsync();
+        // The listener completes the request when all data has been written
+        context.setTimeout(0);
+        ServletOutputStream output = response.getOutputStream();
+        output.setWriteListener(new StreamResourceWriteListener(session,
+                factory, input, length, context, output, bufferSize));
+    }
+
+    private void writeMultipleRanges(VaadinSession session,
+            VaadinResponse response, RangeStreamResourceWriter writer,
+            List<long[]> ranges, String contentType, long contentLength)
+            throws IOException {
+        String boundary = UUID.randomUUID().toString();
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        try (OutputStream outputStream = response.getOutputStream()) {
+            for (long[] range : ranges) {
+                StringBuilder header = new StringBuilder();
+                header.append("\r\n--").append(boundary).append("\r\n");
+                if (contentType != null) {
+                    header.append("Content-Type: ").append(contentType)
+                            .append("\r\n");
+                }
+                header.append("Content-Range: ")
+                        .append(getContentRange(range, contentLength))
+                        .append("\r\n\r\n");
+                outputStream.write(header.toString()
+                        .getBytes(StandardCharsets.US_ASCII));
+                writer.accept(outputStream, session, range[0], range[1]);
+            }
+            outputStream.write(("\r\n--" + boundary + "--\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    private static String getContentRange(long[] range, long contentLength) {
+        return BYTES_UNIT + " " + range[0] + "-" + (range[0] + range[1] - 1)
+                + "/" + contentLength;
+    }
+
+    /**
+     * Parses the byte ranges requested using the {@code Range} header.
+     *
+     * @param request
+     *            the request to get the header from
+     * @param contentLength
+     *            the total length of the content
+     * @return <code>null</code> if the full content should be served, an empty
+     *         list if none of the ranges can be satisfied, otherwise the
+     *         ranges as <code>{start, length}</code> pairs
+     */
+    private static List<long[]> parseRanges(VaadinRequest request,
+            long contentLength) {
+        String header = request.getHeader("Range");
+        // If-Range validators are not supported, always send everything
+        if (header == null || request.getHeader("If-Range") != null) {
+            return null;
+        }
+        header = header.trim();
+        if (!header.startsWith(BYTES_UNIT + "=")) {
+            return null;
+        }
+
+        String[] specs = header.substring(BYTES_UNIT.length() + 1).split(",");
+        if (specs.length > MAX_RANGES) {
+            return null;
+        }
+        List<long[]> ranges = new ArrayList<>(specs.length);
+        for (String spec : specs) {
+            long[] range;
+            try {
+                range = parseRange(spec.trim(), contentLength);
+            } catch (NumberFormatException e) {
+                // Syntactically invalid header is ignored
+                return null;
+            }
+            if (range != null) {
+                ranges.add(range);
+            }
+        }
+        return ranges.isEmpty() ? Collections.emptyList() : ranges;
+    }
+
+    private static long[] parseRange(String spec, long contentLength) {
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            throw new NumberFormatException("Invalid range: " + spec);
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        if (first.isEmpty()) {
+            // Suffix range: the last N bytes
+            long suffix = parseNonNegative(last);
+            if (suffix == 0 || contentLength == 0) {
+                return null;
+            }
+            long length = Math.min(suffix, contentLength);
+            return new long[] { contentLength - length, length };
+        }
+        long start = parseNonNegative(first);
+        long end = last.isEmpty() ? contentLength - 1 : parseNonNegative(last);
+        if (end < start) {
+            throw new NumberFormatException("Invalid range: " + spec);
+        }
+        if (start >= contentLength) {
+            return null;
+        }
+        end = Math.min(end, contentLength - 1);
+        return new long[] { start, end - start + 1 };
+    }
+
+    private static long parseNonNegative(String value) {
+        long result = Long.parseLong(value);
+        if (result < 0 || value.startsWith("+")) {
+            throw new NumberFormatException("Invalid number: " + value);
         }
+        return result;
     }
 
 }
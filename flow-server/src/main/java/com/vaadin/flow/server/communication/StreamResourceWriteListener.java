@@ -0,0 +1,137 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.server.InputStreamFactory;
+import com.vaadin.flow.server.StreamResource;
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Writes the data of a {@link StreamResource} to an asynchronous response
+ * using non-blocking servlet I/O. Data is only read from the resource input
+ * stream when the response is ready to accept more data, so no container
+ * thread is blocked while waiting for a slow client.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 1.4
+ */
+class StreamResourceWriteListener implements WriteListener {
+
+    private final VaadinSession session;
+    private final InputStreamFactory factory;
+    private final InputStream input;
+    private final AsyncContext context;
+    private final ServletOutputStream output;
+    private final byte[] buffer;
+
+    private long remaining;
+    private boolean completed;
+
+    /**
+     * Creates a new listener.
+     *
+     * @param session
+     *            the session of the resource
+     * @param factory
+     *            the factory which created the input stream, used to check
+     *            whether reading requires the session lock
+     * @param input
+     *            the input stream to read the data from
+     * @param length
+     *            the maximum number of bytes to write
+     * @param context
+     *            the asynchronous context of the request
+     * @param output
+     *            the response output stream
+     * @param bufferSize
+     *            the size of the copy buffer
+     */
+    StreamResourceWriteListener(VaadinSession session,
+            InputStreamFactory factory, InputStream input, long length,
+            AsyncContext context, ServletOutputStream output,
+            int bufferSize) {
+        this.session = session;
+        this.factory = factory;
+        this.input = input;
+        this.context = context;
+        this.output = output;
+        remaining = length;
+        buffer = new byte[bufferSize];
+    }
+
+    @Override
+    public void onWritePossible() throws IOException {
+        while (!completed && output.isReady()) {
+            int read = remaining > 0
+                    ? read((int) Math.min(buffer.length, remaining))
+                    : -1;
+            if (read < 0) {
+                complete();
+            } else {
+                output.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        getLogger().debug("Error writing stream resource", throwable);
+        complete();
+    }
+
+    private int read(int length) throws IOException {
+        if (factory.requiresLock()) {
+            session.lock();
+            try {
+                return input.read(buffer, 0, length);
+            } finally {
+                session.unlock();
+            }
+        }
+        return input.read(buffer, 0, length);
+    }
+
+    private void complete() {
+        if (completed) {
+            return;
+        }
+        completed = true;
+        try {
+            input.close();
+        } catch (IOException e) {
+            getLogger().debug("Error closing stream resource input", e);
+        }
+        context.complete();
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory
+                .getLogger(StreamResourceWriteListener.class.getName());
+    }
+}
@@ -18,9 +18,11 @@ package com.vaadin.flow.server.communication;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.StringWriter;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
 
 import org.slf4j.Logger;
@@ -39,7 +41,6 @@ import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurity
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.JsonException;
-import elemental.json.JsonObject;
 
 /**
  * Processes a UIDL request from the client.
@@ -47,6 +48,9 @@ import elemental.json.JsonObject;
  * Uses {@link ServerRpcHandler} to execute client-to-server RPC invocations and
  * {@link UidlWriter} to write state changes and client RPC calls back to the
  * client.
+ * <p>
+ * When UI locking is enabled, the session is locked only while finding the UI
+ * and the request is then handled holding only the lock of that UI.
  *
  * @author Vaadin Ltd
  * @since 1.0
@@ -56,6 +60,8 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
 
     public static final String UIDL_PATH = "UIDL/";
 
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
     private ServerRpcHandler rpcHandler;
 
     @Override
@@ -72,6 +78,45 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         return new ServerRpcHandler();
     }
 
+    @Override
+    public boolean handleRequest(VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        VaadinService service = session.getService();
+        if (!service.isUILockingEnabled()) {
+            return super.handleRequest(session, request, response);
+        }
+        if (!canHandleRequest(request)) {
+            return false;
+        }
+
+        // Hold the session lock only for finding the UI
+        UI uI;
+        session.lock();
+        try {
+            session.setLastRequestTimestamp(System.currentTimeMillis());
+            uI = service.findUI(request);
+        } finally {
+            session.unlock();
+        }
+        if (uI == null) {
+            commitJsonResponse(response, VaadinService.createUINotFoundJSON());
+            return true;
+        }
+
+        uI.getInternals().lock();
+        try {
+            if (uI.getSession() == null) {
+                // UI was closed after it was found but before it was locked
+                commitJsonResponse(response,
+                        VaadinService.createUINotFoundJSON());
+                return true;
+            }
+            return handleUidlRequest(session, uI, request, response);
+        } finally {
+            uI.getInternals().unlock();
+        }
+    }
+
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
             VaadinRequest request, VaadinResponse response) throws IOException {
@@ -83,12 +128,34 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             return true;
         }
 
-        StringWriter stringWriter = new StringWriter();
+        return handleUidlRequest(session, uI, request, response);
+    }
+
+    private boolean handleUidlRequest(VaadinSession session, UI uI,
+            VaadinRequest request, VaadinResponse response) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(
+                INITIAL_BUFFER_SIZE);
+        byte[] json;
 
         try {
-            getRpcHandler(session).handleRpc(uI, request.getReader(), request);
+            getRpcHandler(session, uI).handleRpc(uI, request.getReader(),
+                    request);
 
-            writeUidl(uI, stringWriter);
+            writeUidl(uI, buffer);
+            // The same array is logged and written to the response
+            json = buffer.toByteArray();
+
+            ServerMessageLog messageLog = uI.getInternals()
+                    .getServerMessageLog();
+            int syncId = UidlWriter.getLastSyncId(uI);
+            if (syncId >= 0) {
+                messageLog.add(syncId, json);
+            }
+            if (messageLog.isResyncRequested()) {
+                commitJsonResponse(response,
+                        messageLog.createResyncMessage());
+                return true;
+            }
         } catch (JsonException e) {
             getLogger().error("Error writing JSON to response", e);
             // Refresh on client side
@@ -101,11 +168,9 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             // Refresh on client side
             writeRefresh(response);
             return true;
-        } finally {
-            stringWriter.close();
         }
 
-        commitJsonResponse(response, stringWriter.toString());
+        commitJsonResponse(response, json);
         return true;
     }
 
@@ -115,12 +180,16 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         commitJsonResponse(response, json);
     }
 
-    private static void writeUidl(UI ui, Writer writer) throws IOException {
-        JsonObject uidl = new UidlWriter().createUidl(ui, false);
+    private static void writeUidl(UI ui, OutputStream stream)
+            throws IOException {
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(stream, UTF_8));
 
         // some dirt to prevent cross site scripting
-        String responseString = "for(;;);[" + uidl.toJson() + "]";
-        writer.write(responseString);
+        writer.write("for(;;);[");
+        new UidlWriter().writeUidl(ui, false, writer);
+        writer.write("]");
+        writer.flush();
     }
 
     private static final Logger getLogger() {
@@ -148,8 +217,9 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         return true;
     }
 
-    private ServerRpcHandler getRpcHandler(VaadinSession session) {
-        session.checkHasLock();
+    private synchronized ServerRpcHandler getRpcHandler(
+            VaadinSession session, UI uI) {
+        session.checkHasUILock(uI);
         if (rpcHandler == null) {
             rpcHandler = createRpcHandler();
         }
@@ -170,18 +240,44 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
      */
     public static void commitJsonResponse(VaadinResponse response, String json)
             throws IOException {
-        response.setContentType(JsonConstants.JSON_CONTENT_TYPE);
-
-        // Ensure that the browser does not cache UIDL responses.
-        // iOS 6 Safari requires this (#9732)
-        response.setHeader("Cache-Control", "no-cache");
-
         byte[] b = json.getBytes(UTF_8);
-        response.setContentLength(b.length);
+        setJsonResponseHeaders(response, b.length);
 
         OutputStream outputStream = response.getOutputStream();
         outputStream.write(b);
         // NOTE GateIn requires the buffers to be flushed to work
         outputStream.flush();
     }
+
+    /**
+     * Commit the JSON response from already encoded UTF-8 bytes. The bytes are
+     * written directly to the response without creating an intermediate copy.
+     *
+     * @param response
+     *            The response to write to
+     * @param json
+     *            The UTF-8 encoded JSON to write
+     * @throws IOException
+     *             If there was an exception while writing to the output
+     */
+    public static void commitJsonResponse(VaadinResponse response,
+            byte[] json) throws IOException {
+        setJsonResponseHeaders(response, json.length);
+
+        OutputStream outputStream = response.getOutputStream();
+        outputStream.write(json);
+        // NOTE GateIn requires the buffers to be flushed to work
+        outputStream.flush();
+    }
+
+    private static void setJsonResponseHeaders(VaadinResponse response,
+            int contentLength) {
+        response.setContentType(JsonConstants.JSON_CONTENT_TYPE);
+
+        // Ensure that the browser does not cache UIDL responses.
+        // iOS 6 Safari requires this (#9732)
+        response.setHeader("Cache-Control", "no-cache");
+
+        response.setContentLength(contentLength);
+    }
 }
@@ -19,6 +19,8 @@ package com.vaadin.flow.server.communication;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
@@ -42,6 +44,7 @@ import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.DependencyList;
 import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.component.internal.UIInternals.JavaScriptInvocation;
+import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.StateTree;
@@ -142,7 +145,61 @@ public class UidlWriter implements Serializable {
      */
     public JsonObject createUidl(UI ui, boolean async) {
         JsonObject response = Json.createObject();
+        JsonArray stateChanges = Json.createArray();
+
+        encodeUidl(ui, async, new UidlOutput() {
+            @Override
+            public void put(String key, JsonValue value) {
+                response.put(key, value);
+            }
+
+            @Override
+            public void addChange(JsonValue change) {
+                stateChanges.set(stateChanges.length(), change);
+            }
+
+            @Override
+            public void endChanges() {
+                if (stateChanges.length() != 0) {
+                    response.put("changes", stateChanges);
+                }
+            }
+        });
+
+        return response;
+    }
+
+    /**
+     * Writes all pending changes to the given UI as a JSON object to a writer.
+     * <p>
+     * The written JSON is equivalent to the result of
+     * {@link #createUidl(UI, boolean)}, but state changes are written to the
+     * writer one by one as they are collected instead of first building the
+     * complete response in memory.
+     *
+     * @param ui
+     *            The {@link UI} whose changes to write
+     * @param async
+     *            True if this message is sent by the server asynchronously,
+     *            false if it is a response to a client message.
+     * @param writer
+     *            the writer to write the UIDL response to
+     * @throws IOException
+     *             if writing to the writer fails
+     */
+    public void writeUidl(UI ui, boolean async, Writer writer)
+            throws IOException {
+        StreamingUidlOutput output = new StreamingUidlOutput(writer);
+        writer.write('{');
+        try {
+            encodeUidl(ui, async, output);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.write('}');
+    }
 
+    private void encodeUidl(UI ui, boolean async, UidlOutput output) {
         UIInternals uiInternals = ui.getInternals();
 
         VaadinSession session = ui.getSession();
@@ -150,7 +207,11 @@ public class UidlWriter implements Serializable {
 
         // Purge pending access calls as they might produce additional changes
         // to write out
-        service.runPendingAccessTasks(session);
+        if (service.isUILockingEnabled()) {
+            service.runPendingAccessTasks(ui);
+        } else {
+            service.runPendingAccessTasks(session);
+        }
 
         // Paints components
         getLogger().debug("* Creating response to client");
@@ -159,11 +220,11 @@ public class UidlWriter implements Serializable {
                 ? uiInternals.getServerSyncId()
                 : -1;
 
-        response.put(ApplicationConstants.SERVER_SYNC_ID, syncId);
+        output.put(ApplicationConstants.SERVER_SYNC_ID, Json.create(syncId));
         int nextClientToServerMessageId = uiInternals
                 .getLastProcessedClientToServerId() + 1;
-        response.put(ApplicationConstants.CLIENT_TO_SERVER_ID,
-                nextClientToServerMessageId);
+        output.put(ApplicationConstants.CLIENT_TO_SERVER_ID,
+                Json.create(nextClientToServerMessageId));
 
         SystemMessages messages = ui.getSession().getService()
                 .getSystemMessages(ui.getLocale(), null);
@@ -171,39 +232,47 @@ public class UidlWriter implements Serializable {
         JsonObject meta = new MetadataWriter().createMetadata(ui, false, async,
                 messages);
         if (meta.keys().length > 0) {
-            response.put("meta", meta);
+            output.put("meta", meta);
         }
 
-        JsonArray stateChanges = Json.createArray();
-
-        encodeChanges(ui, stateChanges);
+        encodeChanges(ui, output);
 
-        populateDependencies(response, uiInternals.getDependencyList(),
+        populateDependencies(output, uiInternals.getDependencyList(),
                 new ResolveContext(service, session.getBrowser(), null));
 
         if (uiInternals.getConstantPool().hasNewConstants()) {
-            response.put("constants",
+            output.put("constants",
                     uiInternals.getConstantPool().dumpConstants());
         }
-        if (stateChanges.length() != 0) {
-            response.put("changes", stateChanges);
-        }
 
         List<JavaScriptInvocation> executeJavaScriptList = uiInternals
                 .dumpPendingJavaScriptInvocations();
         if (!executeJavaScriptList.isEmpty()) {
-            response.put(JsonConstants.UIDL_KEY_EXECUTE,
+            output.put(JsonConstants.UIDL_KEY_EXECUTE,
                     encodeExecuteJavaScriptList(executeJavaScriptList));
         }
         if (ui.getSession().getService().getDeploymentConfiguration()
                 .isRequestTiming()) {
-            response.put("timings", createPerformanceData(ui));
+            output.put("timings", createPerformanceData(ui));
         }
         uiInternals.incrementServerId();
-        return response;
     }
 
-    private static void populateDependencies(JsonObject response,
+    /**
+     * Gets the sync id of the latest message written for the given UI.
+     *
+     * @param ui
+     *            the UI to check
+     * @return the sync id of the latest message, or <code>-1</code> if sync
+     *         ids are not used
+     */
+    static int getLastSyncId(UI ui) {
+        boolean syncIdCheck = ui.getSession().getService()
+                .getDeploymentConfiguration().isSyncIdCheckEnabled();
+        return syncIdCheck ? ui.getInternals().getServerSyncId() - 1 : -1;
+    }
+
+    private static void populateDependencies(UidlOutput output,
             DependencyList dependencyList, ResolveContext context) {
         Collection<Dependency> pendingSendToClient = dependencyList
                 .getPendingSendToClient();
@@ -218,9 +287,10 @@ public class UidlWriter implements Serializable {
         }
 
         if (!pendingSendToClient.isEmpty()) {
-            groupDependenciesByLoadMode(pendingSendToClient, context)
-                    .forEach((loadMode, dependencies) -> response
-                            .put(loadMode.name(), dependencies));
+            for (Map.Entry<LoadMode, JsonArray> entry : groupDependenciesByLoadMode(
+                    pendingSendToClient, context).entrySet()) {
+                output.put(entry.getKey().name(), entry.getValue());
+            }
         }
         dependencyList.clearPendingSendToClient();
     }
@@ -323,16 +393,20 @@ public class UidlWriter implements Serializable {
      *
      * @param ui
      *            the UI
-     * @param stateChanges
-     *            a JSON array to put state changes into
+     * @param output
+     *            the output to write state changes to
      * @see StateTree#runExecutionsBeforeClientResponse()
      */
-    private void encodeChanges(UI ui, JsonArray stateChanges) {
+    private void encodeChanges(UI ui, UidlOutput output) {
         UIInternals uiInternals = ui.getInternals();
         StateTree stateTree = uiInternals.getStateTree();
 
         stateTree.runExecutionsBeforeClientResponse();
 
+        boolean compact = ui.getSession().getService()
+                .getDeploymentConfiguration().isCompactChangeEncoding();
+        ConstantPool constantPool = uiInternals.getConstantPool();
+
         Set<Class<? extends Component>> componentsWithDependencies = new LinkedHashSet<>();
         stateTree.collectChanges(change -> {
             if (attachesComponent(change)) {
@@ -342,9 +416,10 @@ public class UidlWriter implements Serializable {
             }
 
             // Encode the actual change
-            stateChanges.set(stateChanges.length(),
-                    change.toJson(uiInternals.getConstantPool()));
+            output.addChange(compact ? change.toCompactJson(constantPool)
+                    : change.toJson(constantPool));
         });
+        output.endChanges();
 
         componentsWithDependencies
                 .forEach(uiInternals::addComponentDependencies);
@@ -376,6 +451,78 @@ public class UidlWriter implements Serializable {
         return timings;
     }
 
+    /**
+     * Receives the parts of a UIDL response in the order they are created.
+     */
+    private interface UidlOutput extends Serializable {
+        void put(String key, JsonValue value);
+
+        void addChange(JsonValue change);
+
+        void endChanges();
+    }
+
+    /**
+     * Writes the parts of a UIDL response directly to a writer. The opening
+     * and closing braces of the response object are written by the caller.
+     * Write failures are rethrown as {@link UncheckedIOException}.
+     */
+    private static class StreamingUidlOutput implements UidlOutput {
+        private final Writer writer;
+        private boolean hasKeys;
+        private boolean hasChanges;
+
+        private StreamingUidlOutput(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void put(String key, JsonValue value) {
+            try {
+                writeKey(key);
+                JsonUtils.writeJson(value, writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void addChange(JsonValue change) {
+            try {
+                if (hasChanges) {
+                    writer.write(',');
+                } else {
+                    writeKey("changes");
+                    writer.write('[');
+                    hasChanges = true;
+                }
+                JsonUtils.writeJson(change, writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void endChanges() {
+            if (hasChanges) {
+                try {
+                    writer.write(']');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        private void writeKey(String key) throws IOException {
+            if (hasKeys) {
+                writer.write(',');
+            }
+            hasKeys = true;
+            JsonUtils.writeJsonString(key, writer);
+            writer.write(':');
+        }
+    }
+
     private static final Logger getLogger() {
         return LoggerFactory.getLogger(UidlWriter.class.getName());
     }
@@ -28,7 +28,7 @@ import com.vaadin.flow.server.VaadinSession;
  */
 public class WebComponentBootstrap extends BootstrapHandler {
 
-    private static final String PATH_PREFIX = "/web-component/web-component-ui.html";
+    static final String PATH_PREFIX = "/web-component/web-component-ui.html";
 
     @Override
     protected boolean canHandleRequest(VaadinRequest request) {
@@ -40,7 +40,7 @@ import com.vaadin.flow.server.webcomponent.WebComponentRegistry;
  */
 public class WebComponentProvider extends SynchronizedRequestHandler {
 
-    private static final String PATH_PREFIX = "/web-component/";
+    static final String PATH_PREFIX = "/web-component/";
     public static final String SUFFIX = ".html";
 
     private Map<Class<?>, String> cache;
@@ -119,6 +119,13 @@ public class ApplicationConstants implements Serializable {
      */
     public static final String RESYNCHRONIZE_ID = "resynchronize";
 
+    /**
+     * The name of the parameter used to transmit the sync id of the first
+     * message included in a message that combines several consecutive server
+     * to client messages.
+     */
+    public static final String COMBINED_FIRST_SYNC_ID = "combinedFrom";
+
     /**
      * Content type to use for text/html responses (should always be UTF-8).
      */
@@ -124,6 +124,69 @@ public class JsonConstants implements Serializable {
      */
     public static final String CHANGE_PUT_NODE_VALUE = "nodeValue";
 
+    /**
+     * Compact change type for attaching nodes. A compact change is a JSON
+     * array where the first item is the change type and the second item is
+     * the id of the changed node. Changes to a feature continue with the
+     * feature id, followed by the items specific to the change type.
+     * <p>
+     * Map keys in compact changes are either strings or arrays with a single
+     * constant pool id referring to the key.
+     */
+    public static final int COMPACT_CHANGE_ATTACH = 0;
+
+    /**
+     * Compact change type for detaching nodes.
+     */
+    public static final int COMPACT_CHANGE_DETACH = 1;
+
+    /**
+     * Compact change type for map put changes, followed by the key and the
+     * value.
+     */
+    public static final int COMPACT_CHANGE_PUT = 2;
+
+    /**
+     * Compact change type for map put changes with a node value, followed by
+     * the key and the id of the node.
+     */
+    public static final int COMPACT_CHANGE_PUT_NODE = 3;
+
+    /**
+     * Compact change type for map remove changes, followed by the key.
+     */
+    public static final int COMPACT_CHANGE_REMOVE = 4;
+
+    /**
+     * Compact change type for list splice changes, followed by the index, the
+     * number of items to remove and an optional array of values to add.
+     */
+    public static final int COMPACT_CHANGE_SPLICE = 5;
+
+    /**
+     * Compact change type for list splice changes with node values, followed
+     * by the index, the number of items to remove and an array of node ids to
+     * add.
+     */
+    public static final int COMPACT_CHANGE_SPLICE_NODES = 6;
+
+    /**
+     * Compact change type for list clear changes.
+     */
+    public static final int COMPACT_CHANGE_CLEAR = 7;
+
+    /**
+     * Compact change type for empty map changes (populate the feature on the
+     * client side only).
+     */
+    public static final int COMPACT_CHANGE_NOOP_MAP = 8;
+
+    /**
+     * Compact change type for empty list changes (populate the feature on the
+     * client side only).
+     */
+    public static final int COMPACT_CHANGE_NOOP_LIST = 9;
+
     /**
      * Key holding the type in of messages sent from the client.
      */
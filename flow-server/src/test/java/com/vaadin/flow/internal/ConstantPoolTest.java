@@ -15,6 +15,7 @@
  */
 package com.vaadin.flow.internal;
 
+import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -74,4 +75,38 @@ public class ConstantPoolTest {
         Assert.assertNotEquals(constantId, otherId);
         Assert.assertTrue(constantPool.hasNewConstants());
     }
+    @Test
+    public void internedKey_sameCacheKey_sameInstanceExportedToEachPool() {
+        ConstantPoolKey key = ConstantPoolKey.intern("cacheKey",
+                () -> Json.create("value"));
+        ConstantPoolKey other = ConstantPoolKey.intern("cacheKey",
+                () -> Json.create("other"));
+
+        Assert.assertSame(key, other);
+
+        ConstantPool otherPool = new ConstantPool();
+        String id = constantPool.getConstantId(key);
+        Assert.assertEquals(id, otherPool.getConstantId(key));
+
+        Assert.assertEquals("\"value\"",
+                constantPool.dumpConstants().get(id).toJson());
+        Assert.assertEquals("\"value\"",
+                otherPool.dumpConstants().get(id).toJson());
+    }
+
+    @Test
+    public void deserializedKeys_sameInstance() {
+        ConstantPoolKey key = new ConstantPoolKey(Json.create("serialized"));
+
+        ConstantPoolKey copy = SerializationUtils.roundtrip(key);
+        ConstantPoolKey otherCopy = SerializationUtils.roundtrip(key);
+
+        Assert.assertSame(copy, otherCopy);
+        Assert.assertEquals(key.getId(), copy.getId());
+
+        JsonObject dump = Json.createObject();
+        copy.export(dump);
+        Assert.assertEquals("\"serialized\"", dump.get(key.getId()).toJson());
+    }
+
 }
@@ -280,6 +280,22 @@ public class JsonSerializerTest {
         }
     }
 
+    public static class ObjectWithReadOnlyProperty {
+        private String value = "initial";
+
+        public String getValue() {
+            return value;
+        }
+
+        public String getDerived() {
+            return value + "!";
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+
     @Test
     public void serializeBasicTypes_returnJsonBasicTypes() {
         JsonValue json = JsonSerializer.toJson("someString");
@@ -717,6 +733,35 @@ public class JsonSerializerTest {
         }
     }
 
+    @Test
+    public void serializeObjectWithReadOnlyProperty_readOnlyPropertyIgnoredOnDeserialization() {
+        ObjectWithReadOnlyProperty bean = new ObjectWithReadOnlyProperty();
+        bean.setValue("foo");
+
+        JsonObject json = (JsonObject) JsonSerializer.toJson(bean);
+        Assert.assertEquals("foo", json.getString("value"));
+        Assert.assertEquals("foo!", json.getString("derived"));
+        Assert.assertFalse(json.hasKey("class"));
+
+        json.put("derived", "bar");
+        bean = JsonSerializer.toObject(ObjectWithReadOnlyProperty.class, json);
+        Assert.assertEquals("foo", bean.getValue());
+        Assert.assertEquals("foo!", bean.getDerived());
+    }
+
+    @Test
+    public void serializeObject_reflectionCachesCleared_stillSerialized() {
+        ObjectWithReadOnlyProperty bean = new ObjectWithReadOnlyProperty();
+        JsonSerializer.toJson(bean);
+
+        ReflectionCache.clearAll();
+
+        JsonObject json = (JsonObject) JsonSerializer.toJson(bean);
+        Assert.assertEquals("initial", json.getString("value"));
+        Assert.assertEquals("initial", JsonSerializer
+                .toObject(ObjectWithReadOnlyProperty.class, json).getValue());
+    }
+
     private RecursiveObject createRecusiveObject(int recursions, int index) {
         if (index < recursions) {
             RecursiveObject bean = new RecursiveObject();
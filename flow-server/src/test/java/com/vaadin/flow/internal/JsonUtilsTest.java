@@ -15,6 +15,8 @@
  */
 package com.vaadin.flow.internal;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -230,4 +232,28 @@ public class JsonUtilsTest {
         Assert.assertEquals(0, object.keys().length);
     }
 
+    @Test
+    public void writeJson_sameAsToJson() throws IOException {
+        JsonObject object = createTestObject1();
+        object.put("number", 3);
+        object.put("decimal", 3.14);
+        object.put("boolean", true);
+        object.put("null", Json.createNull());
+        object.put("escaped \"key\"",
+                "tab\t newline\n quote\" backslash\\ control\u0001\u2028 ä");
+
+        StringWriter writer = new StringWriter();
+        JsonUtils.writeJson(object, writer);
+
+        Assert.assertEquals(object.toJson(), writer.toString());
+    }
+
+    @Test
+    public void writeJsonString_noEscapes_writtenAsIs() throws IOException {
+        StringWriter writer = new StringWriter();
+        JsonUtils.writeJsonString("foo bar", writer);
+
+        Assert.assertEquals("\"foo bar\"", writer.toString());
+    }
+
 }
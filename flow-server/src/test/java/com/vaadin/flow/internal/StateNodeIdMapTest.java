@@ -0,0 +1,106 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StateNodeIdMapTest {
+
+    private final StateNodeIdMap map = new StateNodeIdMap();
+
+    @Test
+    public void putGetRemove() {
+        StateNode node = StateNodeTest.createEmptyNode();
+
+        Assert.assertNull(map.put(1, node));
+        Assert.assertSame(node, map.get(1));
+        Assert.assertTrue(map.containsKey(1));
+        Assert.assertEquals(1, map.size());
+
+        Assert.assertSame(node, map.remove(1));
+        Assert.assertNull(map.get(1));
+        Assert.assertFalse(map.containsKey(1));
+        Assert.assertEquals(0, map.size());
+        Assert.assertNull(map.remove(1));
+    }
+
+    @Test
+    public void nonPositiveIds_neverMapped() {
+        Assert.assertNull(map.get(0));
+        Assert.assertNull(map.get(-1));
+        Assert.assertFalse(map.containsKey(0));
+        Assert.assertFalse(map.containsKey(-1));
+        Assert.assertNull(map.remove(0));
+    }
+
+    @Test
+    public void put_existingId_replacesNode() {
+        StateNode node1 = StateNodeTest.createEmptyNode();
+        StateNode node2 = StateNodeTest.createEmptyNode();
+
+        map.put(5, node1);
+        Assert.assertSame(node1, map.put(5, node2));
+        Assert.assertSame(node2, map.get(5));
+        Assert.assertEquals(1, map.size());
+    }
+
+    @Test
+    public void randomOperations_sameAsHashMap() {
+        Map<Integer, StateNode> expected = new HashMap<>();
+        Random random = new Random(42);
+        StateNode[] nodes = new StateNode[10];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = StateNodeTest.createEmptyNode();
+        }
+
+        for (int i = 0; i < 20000; i++) {
+            int id = 1 + random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                Assert.assertSame(expected.remove(id), map.remove(id));
+            } else {
+                StateNode node = nodes[random.nextInt(nodes.length)];
+                Assert.assertSame(expected.put(id, node), map.put(id, node));
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+
+        for (int id = 1; id <= 500; id++) {
+            Assert.assertSame(expected.get(id), map.get(id));
+            Assert.assertEquals(expected.containsKey(id), map.containsKey(id));
+        }
+    }
+
+    @Test
+    public void serialize_mappingsPreserved() {
+        for (int id = 1; id < 100; id++) {
+            map.put(id, StateNodeTest.createEmptyNode());
+        }
+
+        StateNodeIdMap copy = SerializationUtils
+                .deserialize(SerializationUtils.serialize(map));
+
+        Assert.assertEquals(99, copy.size());
+        for (int id = 1; id < 100; id++) {
+            Assert.assertTrue(copy.containsKey(id));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.nodefeature.ElementChildrenList;
+import com.vaadin.flow.internal.nodefeature.ElementPropertyMap;
+
+import elemental.json.Json;
+import elemental.json.JsonValue;
+
+public class StateTreeSerializationTest {
+
+    private UI ui;
+    private Element body;
+
+    @Before
+    public void setUp() {
+        ui = new UI();
+        body = ui.getElement();
+    }
+
+    @Test
+    public void roundTrip_elementStructurePreserved() {
+        for (int i = 0; i < 20; i++) {
+            Element div = new Element("div");
+            div.setAttribute("title", "Item " + i);
+            div.getClassList().add("item");
+            div.getClassList().add("item-" + i);
+            div.setText("text " + i);
+            body.appendChild(div);
+        }
+
+        Element copy = roundTrip(body);
+
+        Assert.assertEquals(20, copy.getChildCount());
+        for (int i = 0; i < 20; i++) {
+            Element div = copy.getChild(i);
+            Assert.assertEquals("div", div.getTag());
+            Assert.assertEquals("Item " + i, div.getAttribute("title"));
+            Assert.assertEquals(Arrays.asList("item", "item-" + i),
+                    div.getClassList().stream().collect(Collectors.toList()));
+            Assert.assertEquals("text " + i, div.getText());
+            Assert.assertSame(copy.getNode(), div.getParent().getNode());
+        }
+    }
+
+    @Test
+    public void roundTrip_propertyValueTypesPreserved() {
+        body.setProperty("string", "foo");
+        body.setProperty("true", true);
+        body.setProperty("false", false);
+        body.setProperty("double", 1.5);
+        body.setPropertyJson("json", Json.create("bar"));
+        // Element converts integers to doubles, so use the feature directly
+        ElementPropertyMap properties = body.getNode()
+                .getFeature(ElementPropertyMap.class);
+        properties.setProperty("int", Integer.valueOf(42));
+        properties.setProperty("null", null);
+
+        Element copy = roundTrip(body);
+
+        assertProperty(copy, "string", "foo");
+        assertProperty(copy, "true", Boolean.TRUE);
+        assertProperty(copy, "false", Boolean.FALSE);
+        assertProperty(copy, "double", Double.valueOf(1.5));
+        assertProperty(copy, "int", Integer.valueOf(42));
+        Assert.assertTrue(copy.hasProperty("null"));
+        Assert.assertNull(copy.getPropertyRaw("null"));
+        Assert.assertEquals("bar",
+                ((JsonValue) copy.getPropertyRaw("json")).asString());
+    }
+
+    @Test
+    public void roundTrip_nodesFoundByIdAndNewNodesCanBeAttached() {
+        for (int i = 0; i < 100; i++) {
+            body.appendChild(new Element("span"));
+        }
+        StateTree tree = ui.getInternals().getStateTree();
+        List<Integer> ids = body.getChildren()
+                .map(child -> child.getNode().getId())
+                .collect(Collectors.toList());
+
+        StateTree copy = SerializationUtils
+                .deserialize(SerializationUtils.serialize(tree));
+
+        StateNode root = copy.getRootNode();
+        ElementChildrenList children = root
+                .getFeature(ElementChildrenList.class);
+        for (int i = 0; i < ids.size(); i++) {
+            StateNode node = copy.getNodeById(ids.get(i).intValue());
+            Assert.assertSame(children.get(i), node);
+            Assert.assertSame(root, node.getParent());
+        }
+
+        StateNode added = new Element("p").getNode();
+        children.add(children.size(), added);
+        Assert.assertTrue(added.getId() > 0);
+        Assert.assertSame(added, copy.getNodeById(added.getId()));
+    }
+
+    @Test
+    public void roundTrip_removedChildrenAndEmptyListsPreserved() {
+        Element child = new Element("div");
+        body.appendChild(child);
+        child.getClassList().add("foo");
+        child.getClassList().remove("foo");
+        body.removeAllChildren();
+        body.appendChild(new Element("span"));
+
+        Element copy = roundTrip(body);
+
+        Assert.assertEquals(1, copy.getChildCount());
+        Assert.assertEquals("span", copy.getChild(0).getTag());
+        Assert.assertEquals(0, copy.getChild(0).getClassList().size());
+    }
+
+    private static void assertProperty(Element element, String name,
+            Serializable expected) {
+        Serializable value = element.getPropertyRaw(name);
+        Assert.assertEquals(expected, value);
+        Assert.assertSame(expected.getClass(), value.getClass());
+    }
+
+    private Element roundTrip(Element element) {
+        StateTree copy = SerializationUtils.deserialize(
+                SerializationUtils.serialize(ui.getInternals().getStateTree()));
+        return Element.get(copy.getNodeById(element.getNode().getId()));
+    }
+}
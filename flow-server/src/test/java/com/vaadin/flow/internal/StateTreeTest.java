@@ -215,6 +215,27 @@ public class StateTreeTest {
                 tree.collectDirtyNodes().toArray());
     }
 
+    @Test
+    public void markAsDirty_markedTwice_collectedOnce() {
+        StateNode rootNode = tree.getRootNode();
+        StateNode node = StateNodeTest.createEmptyNode("node");
+        StateNodeTest.setParent(node, rootNode);
+        tree.collectDirtyNodes();
+
+        node.markAsDirty();
+        rootNode.markAsDirty();
+        node.markAsDirty();
+
+        Assert.assertArrayEquals(new Object[] { node, rootNode },
+                tree.collectDirtyNodes().toArray());
+
+        node.markAsDirty();
+        Assert.assertTrue("Node should be dirty again after collection",
+                tree.hasDirtyNodes());
+        Assert.assertEquals(Collections.singleton(node),
+                tree.collectDirtyNodes());
+    }
+
     @Test
     public void testDetachInChanges() {
         StateNode node1 = tree.getRootNode();
@@ -19,6 +19,7 @@ package com.vaadin.flow.internal.change;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateNodeTest;
 import com.vaadin.flow.internal.change.MapPutChange;
@@ -29,6 +30,7 @@ import com.vaadin.flow.internal.nodefeature.NodeMap;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 import elemental.json.JsonType;
 import elemental.json.JsonValue;
@@ -88,6 +90,48 @@ public class MapPutChangeTest {
         Assert.assertEquals(value.getId(), (int) nodeValue.asNumber());
     }
 
+    @Test
+    public void testCompactJson() {
+        MapPutChange change = new MapPutChange(feature, "some", "string");
+
+        JsonArray json = change.toCompactJson(new ConstantPool());
+
+        Assert.assertEquals(5, json.length());
+        Assert.assertEquals(JsonConstants.COMPACT_CHANGE_PUT,
+                (int) json.getNumber(0));
+        Assert.assertEquals(change.getNode().getId(), (int) json.getNumber(1));
+        Assert.assertEquals(NodeFeatureRegistry.getId(feature.getClass()),
+                (int) json.getNumber(2));
+        Assert.assertEquals("some", json.getString(3));
+        Assert.assertEquals("string", json.getString(4));
+    }
+
+    @Test
+    public void testCompactJsonNodeValue() {
+        StateNode value = StateNodeTest.createEmptyNode("value");
+        MapPutChange change = new MapPutChange(feature, "myKey", value);
+
+        JsonArray json = change.toCompactJson(new ConstantPool());
+
+        Assert.assertEquals(JsonConstants.COMPACT_CHANGE_PUT_NODE,
+                (int) json.getNumber(0));
+        Assert.assertEquals(value.getId(), (int) json.getNumber(4));
+    }
+
+    @Test
+    public void testCompactJsonLongKeyUsesConstantPool() {
+        ConstantPool constantPool = new ConstantPool();
+        String key = "aVeryLongPropertyNameForTesting";
+        MapPutChange change = new MapPutChange(feature, key, "string");
+
+        JsonArray json = change.toCompactJson(constantPool);
+
+        Assert.assertSame(JsonType.ARRAY, json.get(3).getType());
+        String constantId = json.getArray(3).getString(0);
+        JsonObject constants = constantPool.dumpConstants();
+        Assert.assertEquals(key, constants.getString(constantId));
+    }
+
     private JsonValue getValue(Object input) {
         MapPutChange change = new MapPutChange(feature, "myKey", input);
         JsonObject json = change.toJson(null);
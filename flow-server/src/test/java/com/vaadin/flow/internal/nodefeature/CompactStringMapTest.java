@@ -0,0 +1,127 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal.nodefeature;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompactStringMapTest {
+
+    private final CompactStringMap map = new CompactStringMap();
+
+    @Test
+    public void putGetRemove() {
+        Assert.assertNull(map.put("foo", "bar"));
+        Assert.assertEquals("bar", map.get("foo"));
+        Assert.assertTrue(map.containsKey("foo"));
+        Assert.assertEquals(1, map.size());
+
+        Assert.assertEquals("bar", map.remove("foo"));
+        Assert.assertNull(map.get("foo"));
+        Assert.assertFalse(map.containsKey("foo"));
+        Assert.assertEquals(0, map.size());
+        Assert.assertNull(map.remove("foo"));
+    }
+
+    @Test
+    public void putNullValue_keyContained() {
+        map.put("foo", null);
+
+        Assert.assertTrue(map.containsKey("foo"));
+        Assert.assertNull(map.get("foo"));
+        Assert.assertEquals(1, map.size());
+    }
+
+    @Test
+    public void put_newKey_keyInterned() {
+        String key = new String("someKey");
+        map.put(key, "value");
+
+        Assert.assertSame("someKey", map.keySet().iterator().next());
+    }
+
+    @Test
+    public void randomOperations_sameAsHashMap() {
+        Map<String, Serializable> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20000; i++) {
+            String key = "key" + random.nextInt(200);
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                Integer value = Integer.valueOf(random.nextInt(10));
+                Assert.assertEquals(expected.put(key, value),
+                        map.put(key, value));
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(map, expected);
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertFalse(map.containsKey("key1"));
+    }
+
+    @Test
+    public void serialize_mappingsPreserved() {
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, Integer.valueOf(i));
+        }
+
+        CompactStringMap copy = SerializationUtils
+                .deserialize(SerializationUtils.serialize(map));
+
+        Assert.assertEquals(map, copy);
+    }
+
+    @Test
+    public void serialize_valueTypesPreserved_keysInterned() {
+        map.put(new String("string"), "foo");
+        map.put("true", Boolean.TRUE);
+        map.put("false", Boolean.FALSE);
+        map.put("int", Integer.valueOf(-7));
+        map.put("double", Double.valueOf(0.25));
+        map.put("long", Long.valueOf(3));
+        map.put("null", null);
+
+        CompactStringMap copy = SerializationUtils
+                .deserialize(SerializationUtils.serialize(map));
+
+        Assert.assertEquals(map, copy);
+        copy.forEach((key, value) -> {
+            if (value != null) {
+                Assert.assertSame(map.get(key).getClass(), value.getClass());
+            }
+        });
+        Assert.assertTrue(copy.containsKey("null"));
+        Assert.assertTrue(copy.keySet().stream()
+                .anyMatch(key -> key == "string"));
+
+        // The copy must stay usable after deserialization
+        copy.remove("int");
+        copy.put("another", "value");
+        Assert.assertEquals(7, copy.size());
+    }
+}
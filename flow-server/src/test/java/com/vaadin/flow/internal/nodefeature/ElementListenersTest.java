@@ -185,6 +185,20 @@ public class ElementListenersTest
         Assert.assertEquals(Collections.singleton("eventdata"), expressions);
     }
 
+    @Test
+    public void sameSettings_differentElements_constantPoolKeyShared() {
+        ElementListenerMap other = createFeature();
+
+        ns.add("click", noOp).addEventData("data").debounce(100);
+        other.add("click", noOp).addEventData("data").debounce(100);
+
+        Assert.assertSame(ns.get("click"), other.get("click"));
+
+        other.add("click", noOp).addEventData("otherData");
+
+        Assert.assertNotSame(ns.get("click"), other.get("click"));
+    }
+
     @Test
     public void synchronizePropery_hasSynchronizedProperty() {
         DomListenerRegistration registration = ns.add("foo", noOp);
@@ -15,6 +15,7 @@ import com.vaadin.flow.internal.change.ListClearChange;
 import com.vaadin.flow.internal.change.ListRemoveChange;
 import com.vaadin.flow.internal.change.NodeAttachChange;
 import com.vaadin.flow.internal.change.NodeChange;
+import com.vaadin.flow.shared.JsonConstants;
 
 public class NodeListAddRemoveTest
         extends AbstractNodeFeatureTest<ElementClassList> {
@@ -65,6 +66,71 @@ public class NodeListAddRemoveTest
         Assert.assertEquals(removed, add.getNewItems().get(0));
     }
 
+    @Test
+    public void addSeveral_contiguousAdds_mergedIntoOneChange() {
+        resetToRemoveAfterAddCase();
+        int index = nodeList.size();
+
+        nodeList.add("b");
+        nodeList.add("d");
+        nodeList.add(index, "a");
+        nodeList.add(index + 2, "c");
+
+        List<NodeChange> changes = collectChanges(nodeList);
+
+        Assert.assertEquals(1, changes.size());
+        ListAddChange<?> add = (ListAddChange<?>) changes.get(0);
+        Assert.assertEquals(index, add.getIndex());
+        Assert.assertEquals(Arrays.asList("a", "b", "c", "d"),
+                add.getNewItems());
+    }
+
+    @Test
+    public void removeSeveral_contiguousRemoves_mergedIntoOneChange() {
+        List<String> items = resetToRemoveAfterAddCase();
+
+        // Backwards from the end
+        nodeList.remove(3);
+        nodeList.remove(2);
+
+        List<NodeChange> changes = collectChanges(nodeList);
+        Assert.assertEquals(1, changes.size());
+        ListRemoveChange<?> remove = (ListRemoveChange<?>) changes.get(0);
+        Assert.assertEquals(2, remove.getIndex());
+        Assert.assertEquals(items.subList(2, 4), remove.getRemovedItems());
+
+        // Forwards from the start
+        nodeList.remove(0);
+        nodeList.remove(0);
+
+        changes = collectChanges(nodeList);
+        Assert.assertEquals(1, changes.size());
+        remove = (ListRemoveChange<?>) changes.get(0);
+        Assert.assertEquals(0, remove.getIndex());
+        Assert.assertEquals(items.subList(0, 2), remove.getRemovedItems());
+        Assert.assertEquals(2, (int) remove.toJson(null)
+                .getNumber(JsonConstants.CHANGE_SPLICE_REMOVE));
+    }
+
+    @Test
+    public void mergedRemove_includesItemsAddedBefore_addsAreAdjusted() {
+        List<String> items = resetToRemoveAfterAddCase();
+
+        nodeList.add(0, "foo");
+        nodeList.add(3, "bar");
+        // Removes "items[1]" and "bar"
+        nodeList.remove(2);
+        nodeList.remove(2);
+
+        List<NodeChange> changes = collectChanges(nodeList);
+
+        Assert.assertEquals(2, changes.size());
+        verifyAdded(changes, Arrays.asList("foo"), 0);
+        verifyRemoved(changes.subList(1, 2), items.subList(1, 2), 2);
+        verifyNodeListContent("foo", items.get(0), items.get(2),
+                items.get(3));
+    }
+
     @Test
     public void add_immediatelyRemove_changesDiscarded() {
         List<String> items = resetToRemoveAfterAddCase();
@@ -118,9 +184,13 @@ public class NodeListAddRemoveTest
 
         List<NodeChange> changes = collectChanges(nodeList);
 
-        // remove is discarded, the fist add is discarded, others are adjusted
-        Assert.assertEquals(2, changes.size());
-        verifyAdded(changes, Arrays.asList("bar", "bar1"), index, index + 1);
+        // remove is discarded, the fist add is discarded, others are merged
+        Assert.assertEquals(1, changes.size());
+        Assert.assertTrue(changes.get(0) instanceof ListAddChange<?>);
+
+        ListAddChange<?> add = (ListAddChange<?>) changes.get(0);
+        Assert.assertEquals(index, add.getIndex());
+        Assert.assertEquals(Arrays.asList("bar", "bar1"), add.getNewItems());
     }
 
     @Test
@@ -156,23 +226,17 @@ public class NodeListAddRemoveTest
         // remove the first item from the added above (via "all")
         nodeList.remove(index - 2);
 
-        // As a result: "remove" change is discarded and the "add" are adjusted
+        // As a result: "remove" change is discarded and the "add" are merged
         List<NodeChange> changes = collectChanges(nodeList);
-        Assert.assertEquals(2, changes.size());
+        Assert.assertEquals(1, changes.size());
 
         Assert.assertTrue(changes.get(0) instanceof ListAddChange<?>);
-        Assert.assertTrue(changes.get(1) instanceof ListAddChange<?>);
 
         ListAddChange<?> add = (ListAddChange<?>) changes.get(0);
         Assert.assertEquals(index - 2, add.getIndex());
-        Assert.assertEquals(2, add.getNewItems().size());
         items.remove(0);
+        items.add(1, "bar");
         Assert.assertEquals(items, add.getNewItems());
-
-        add = (ListAddChange<?>) changes.get(1);
-        Assert.assertEquals(index - 1, add.getIndex());
-        Assert.assertEquals(1, add.getNewItems().size());
-        Assert.assertEquals("bar", add.getNewItems().get(0));
     }
 
     @Test
@@ -17,6 +17,7 @@ package com.vaadin.flow.internal.nodefeature;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -109,11 +110,11 @@ public class SerializableNodeListTest
         i.remove();
 
         List<NodeChange> changes = collectChanges(nodeList);
-        Assert.assertEquals(2, changes.size());
-        Assert.assertEquals(0,
-                ((ListRemoveChange<?>) changes.get(0)).getIndex());
-        Assert.assertEquals(0,
-                ((ListRemoveChange<?>) changes.get(1)).getIndex());
+        Assert.assertEquals(1, changes.size());
+        ListRemoveChange<?> remove = (ListRemoveChange<?>) changes.get(0);
+        Assert.assertEquals(0, remove.getIndex());
+        Assert.assertEquals(Arrays.asList("1", "2"),
+                remove.getRemovedItems());
         Assert.assertEquals(0, nodeList.size());
     }
 }
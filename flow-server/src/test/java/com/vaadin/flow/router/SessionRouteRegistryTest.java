@@ -22,6 +22,7 @@ import org.mockito.Mockito;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.Tag;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.router.internal.RouteMatch;
 import com.vaadin.flow.server.MockVaadinSession;
 import com.vaadin.flow.server.RouteRegistry;
 import com.vaadin.flow.server.SessionRouteRegistry;
@@ -905,6 +906,37 @@ public class SessionRouteRegistryTest {
 
     }
 
+    @Test
+    public void findRoute_longestRouteOfSessionAndParentIsUsed() {
+        SessionRouteRegistry sessionRegistry = getRegistry(session);
+        sessionRegistry.setRoute("foo", MyRoute.class,
+                Collections.emptyList());
+        sessionRegistry.setRoute("foo", Parameter.class,
+                Collections.emptyList());
+        registry.setRoute("foo", Secondary.class, Collections.emptyList());
+        registry.setRoute("foo/bar", Secondary.class,
+                Collections.emptyList());
+
+        RouteMatch match = sessionRegistry
+                .findRoute(Arrays.asList("foo", "bar")).get();
+        Assert.assertEquals("foo/bar", match.getPath());
+        Assert.assertEquals(Secondary.class, match.getNavigationTarget());
+
+        match = sessionRegistry.findRoute(Arrays.asList("foo", "baz")).get();
+        Assert.assertEquals("foo", match.getPath());
+        Assert.assertEquals(Parameter.class, match.getNavigationTarget());
+        Assert.assertEquals(Arrays.asList("baz"),
+                match.getParameterSegments());
+
+        match = sessionRegistry.findRoute(Arrays.asList("foo")).get();
+        Assert.assertEquals(
+                "Session route should win over parent route for same path",
+                MyRoute.class, match.getNavigationTarget());
+
+        Assert.assertFalse(sessionRegistry
+                .findRoute(Arrays.asList("foo", "baz", "qux")).isPresent());
+    }
+
     @Tag("div")
     @Route("MyRoute")
     private static class MyRoute extends Component {
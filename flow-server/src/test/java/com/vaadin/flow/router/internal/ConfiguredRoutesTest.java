@@ -8,7 +8,10 @@ import org.junit.Test;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.router.BeforeEvent;
+import com.vaadin.flow.router.HasUrlParameter;
 import com.vaadin.flow.router.RouterLayout;
+import com.vaadin.flow.router.WildcardParameter;
 import com.vaadin.flow.server.startup.RouteTarget;
 
 public class ConfiguredRoutesTest {
@@ -70,6 +73,91 @@ public class ConfiguredRoutesTest {
                 immutable.getParentLayouts("", BaseTarget.class));
     }
 
+    @Test
+    public void findRoute_longestRegisteredPrefixAcceptingParametersIsUsed() {
+        ConfigureRoutes mutable = new ConfigureRoutes();
+        mutable.setRoute("", BaseTarget.class);
+        mutable.setRoute("foo", ParameterTarget.class);
+        mutable.setRoute("foo/bar", BaseTarget.class);
+        mutable.setRoute("wild", WildcardTarget.class);
+
+        ConfiguredRoutes immutable = new ConfiguredRoutes(mutable);
+
+        assertMatch(immutable, "foo/bar", BaseTarget.class, 2, "foo", "bar");
+        assertMatch(immutable, "foo", ParameterTarget.class, 1, "foo",
+                "baz");
+        assertMatch(immutable, "wild", WildcardTarget.class, 1, "wild", "a",
+                "b", "c");
+        assertMatch(immutable, "wild", WildcardTarget.class, 1, "wild");
+        assertMatch(immutable, "", BaseTarget.class, 1, "");
+
+        Assert.assertFalse("Parameter target takes only one parameter",
+                immutable.findRoute(Arrays.asList("foo", "baz", "qux"))
+                        .isPresent());
+        Assert.assertFalse("Parameter target requires a parameter",
+                immutable.findRoute(Arrays.asList("foo")).isPresent());
+        Assert.assertFalse("No route for empty segments",
+                immutable.findRoute(Collections.emptyList()).isPresent());
+    }
+
+    @Test
+    public void findRoute_rootWildcardRoute_matchesAllSegments() {
+        ConfigureRoutes mutable = new ConfigureRoutes();
+        mutable.setRoute("", WildcardTarget.class);
+        mutable.setRoute("foo", BaseTarget.class);
+
+        ConfiguredRoutes immutable = new ConfiguredRoutes(mutable);
+
+        assertMatch(immutable, "foo", BaseTarget.class, 1, "foo");
+        RouteMatch match = assertMatch(immutable, "", WildcardTarget.class, 0,
+                "foo", "bar");
+        Assert.assertEquals(Arrays.asList("foo", "bar"),
+                match.getParameterSegments());
+    }
+
+    @Test
+    public void findRoute_mutableConfiguration_usesCurrentRoutes() {
+        ConfigureRoutes mutable = new ConfigureRoutes();
+        mutable.setRoute("foo", BaseTarget.class);
+
+        Assert.assertEquals(BaseTarget.class,
+                mutable.findRoute(Arrays.asList("foo")).get()
+                        .getNavigationTarget());
+
+        mutable.removeRoute("foo");
+
+        Assert.assertFalse(
+                mutable.findRoute(Arrays.asList("foo")).isPresent());
+    }
+
+    private static RouteMatch assertMatch(ConfiguredRoutes routes,
+            String expectedPath, Class<? extends Component> expectedTarget,
+            int expectedSegmentCount, String... segments) {
+        RouteMatch match = routes.findRoute(Arrays.asList(segments)).get();
+        Assert.assertEquals(expectedPath, match.getPath());
+        Assert.assertEquals(expectedTarget, match.getNavigationTarget());
+        Assert.assertEquals(expectedSegmentCount,
+                match.getRouteSegmentCount());
+        return match;
+    }
+
+    @Tag("div")
+    public static class ParameterTarget extends Component
+            implements HasUrlParameter<String> {
+        @Override
+        public void setParameter(BeforeEvent event, String parameter) {
+        }
+    }
+
+    @Tag("div")
+    public static class WildcardTarget extends Component
+            implements HasUrlParameter<String> {
+        @Override
+        public void setParameter(BeforeEvent event,
+                @WildcardParameter String parameter) {
+        }
+    }
+
     @Tag("div")
     public static class BaseTarget extends Component {
     }
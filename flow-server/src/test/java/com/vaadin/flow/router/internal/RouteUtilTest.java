@@ -15,7 +15,10 @@
  */
 package com.vaadin.flow.router.internal;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import org.hamcrest.collection.IsIterableContainingInOrder;
 import org.junit.Assert;
@@ -28,6 +31,7 @@ import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.RouteAlias;
 import com.vaadin.flow.router.RoutePrefix;
 import com.vaadin.flow.router.RouterLayout;
+import com.vaadin.flow.router.TestRouteRegistry;
 
 /**
  * Test that {@link RouteUtil} route resolving works as intended for both simple
@@ -421,4 +425,25 @@ public class RouteUtilTest {
                         MultiTarget.class, RoutePrefixParent.class }));
     }
 
+    @Test
+    public void findRoute_registryOverridesGetNavigationTarget_overrideUsed() {
+        TestRouteRegistry registry = new TestRouteRegistry() {
+            @Override
+            public Optional<Class<? extends Component>> getNavigationTarget(
+                    String pathString, List<String> segments) {
+                if ("custom".equals(pathString)) {
+                    return Optional.of(Parent.class);
+                }
+                return super.getNavigationTarget(pathString, segments);
+            }
+        };
+        registry.setRoute("foo", MultiTarget.class, Collections.emptyList());
+
+        RouteMatch match = RouteUtil
+                .findRoute(registry, Arrays.asList("custom")).get();
+        Assert.assertEquals(Parent.class, match.getNavigationTarget());
+
+        match = RouteUtil.findRoute(registry, Arrays.asList("foo")).get();
+        Assert.assertEquals(MultiTarget.class, match.getNavigationTarget());
+    }
 }
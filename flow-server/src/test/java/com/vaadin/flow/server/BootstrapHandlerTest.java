@@ -16,12 +16,14 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.apache.commons.io.IOUtils;
 import org.hamcrest.CoreMatchers;
+import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -44,6 +46,7 @@ import com.vaadin.flow.component.page.Inline;
 import com.vaadin.flow.component.page.Meta;
 import com.vaadin.flow.component.page.TargetElement;
 import com.vaadin.flow.component.page.Viewport;
+import com.vaadin.flow.internal.UsageStatistics;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.ParentLayout;
 import com.vaadin.flow.router.Route;
@@ -1186,6 +1189,73 @@ public class BootstrapHandlerTest {
         Assert.assertEquals(bootstrapContext.getUriResolver(), resolver.get());
     }
 
+    @Test
+    public void bootstrapTemplateCache_pageIsReusedWithNewBootstrapScript() {
+        deploymentConfiguration.setApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_BOOTSTRAP_TEMPLATE_CACHE, "true");
+        BootstrapHandler handler = new BootstrapHandler();
+
+        initUI(testUI);
+        String firstPage = handler.getBootstrapHtml(context);
+
+        // Not part of the template key, so only visible if the page is
+        // rendered again
+        UsageStatistics.markAsUsed("bootstrap-template-cache-test", "1.0");
+
+        TestUI anotherUI = new TestUI();
+        anotherUI.getInternals().setSession(session);
+        anotherUI.doInit(request, 1);
+        anotherUI.getInternals().setContextRoot(
+                ServletHelper.getContextRootRelativePath(request) + "/");
+        String secondPage = handler.getBootstrapHtml(
+                new BootstrapContext(request, null, session, anotherUI));
+
+        Assert.assertFalse(
+                secondPage.contains("bootstrap-template-cache-test"));
+        Assert.assertEquals(withoutBootstrapScript(firstPage),
+                withoutBootstrapScript(secondPage));
+        Assert.assertThat(getBootstrapScript(firstPage),
+                CoreMatchers.containsString("\"v-uiId\": 0"));
+        Assert.assertThat(getBootstrapScript(secondPage),
+                CoreMatchers.containsString("\"v-uiId\": 1"));
+    }
+
+    @Test
+    public void bootstrapTemplateCache_bootstrapListener_pageIsNotCached() {
+        deploymentConfiguration.setApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_BOOTSTRAP_TEMPLATE_CACHE, "true");
+        AtomicInteger count = new AtomicInteger();
+        service.addBootstrapListener(evt -> evt.getDocument().head()
+                .appendElement("meta").attr("name", "count")
+                .attr("content", String.valueOf(count.incrementAndGet())));
+        BootstrapHandler handler = new BootstrapHandler();
+
+        initUI(testUI);
+        handler.getBootstrapHtml(context);
+
+        TestUI anotherUI = new TestUI();
+        anotherUI.getInternals().setSession(session);
+        anotherUI.doInit(request, 1);
+        anotherUI.getInternals().setContextRoot(
+                ServletHelper.getContextRootRelativePath(request) + "/");
+        String secondPage = handler.getBootstrapHtml(
+                new BootstrapContext(request, null, session, anotherUI));
+
+        Assert.assertEquals("2", Jsoup.parse(secondPage)
+                .select("meta[name=count]").attr("content"));
+    }
+
+    private static String getBootstrapScript(String html) {
+        return Jsoup.parse(html).head().getElementsByTag("script").stream()
+                .map(Element::data)
+                .filter(data -> data.contains("v-uiId")).findFirst()
+                .orElseThrow(AssertionError::new);
+    }
+
+    private static String withoutBootstrapScript(String html) {
+        return html.replace(getBootstrapScript(html), "");
+    }
+
     @Test
     public void useDependencyFilters_removeDependenciesAndAddNewOnes()
             throws ServiceException {
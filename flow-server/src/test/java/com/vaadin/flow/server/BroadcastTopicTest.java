@@ -0,0 +1,209 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.shared.Registration;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+import com.vaadin.tests.util.MockUI;
+
+import net.jcip.annotations.NotThreadSafe;
+
+@NotThreadSafe
+public class BroadcastTopicTest {
+
+    @Tag("div")
+    private static class TestComponent extends Component {
+    }
+
+    private MockDeploymentConfiguration configuration;
+    private VaadinSession session;
+    private UI ui1;
+    private UI ui2;
+
+    private BroadcastTopic<String> topic = new BroadcastTopic<>();
+
+    @Before
+    public void setUp() {
+        configuration = new MockDeploymentConfiguration();
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration);
+        session = new MockVaadinSession(service);
+
+        session.lock();
+        try {
+            session.setConfiguration(configuration);
+            ui1 = new MockUI(session);
+            ui2 = new MockUI(session);
+        } finally {
+            session.unlock();
+        }
+        CurrentInstance.clearAll();
+    }
+
+    @After
+    public void tearDown() {
+        CurrentInstance.clearAll();
+    }
+
+    private void runLocked(Command command) {
+        session.lock();
+        try {
+            command.execute();
+        } finally {
+            session.unlock();
+        }
+    }
+
+    @Test
+    public void publish_allSubscribedComponentsUpdated() {
+        List<String> received = new ArrayList<>();
+        TestComponent component1 = new TestComponent();
+        TestComponent component2 = new TestComponent();
+        List<UI> currentUIs = new ArrayList<>();
+
+        runLocked(() -> {
+            ui1.add(component1);
+            ui2.add(component2);
+            topic.subscribe(component1, value -> {
+                received.add(value);
+                currentUIs.add(UI.getCurrent());
+            });
+            topic.bindProperty(component2, "value");
+        });
+
+        topic.publish("foo");
+
+        Assert.assertEquals(1, received.size());
+        Assert.assertEquals("foo", received.get(0));
+        Assert.assertSame(ui1, currentUIs.get(0));
+        Assert.assertEquals("foo",
+                component2.getElement().getProperty("value"));
+    }
+
+    @Test
+    public void bindProperty_numbers_precisionKept() {
+        BroadcastTopic<Number> topic = new BroadcastTopic<>();
+        TestComponent component = new TestComponent();
+        runLocked(() -> {
+            ui1.add(component);
+            topic.bindProperty(component, "value");
+        });
+
+        topic.publish(Integer.valueOf(42));
+        Assert.assertEquals(Double.valueOf(42),
+                component.getElement().getPropertyRaw("value"));
+
+        topic.publish(Long.valueOf(9007199254740993L));
+        Assert.assertEquals("9007199254740993",
+                component.getElement().getPropertyRaw("value"));
+
+        topic.publish(new BigDecimal("0.1000000000000000000001"));
+        Assert.assertEquals("0.1000000000000000000001",
+                component.getElement().getPropertyRaw("value"));
+    }
+
+    @Test
+    public void bindProperty_sameJsonUsedForAllUIs() {
+        BroadcastTopic<List<String>> topic = new BroadcastTopic<>();
+        TestComponent component1 = new TestComponent();
+        TestComponent component2 = new TestComponent();
+        runLocked(() -> {
+            ui1.add(component1);
+            ui2.add(component2);
+            topic.bindProperty(component1, "value");
+            topic.bindProperty(component2, "value");
+        });
+
+        topic.publish(Arrays.asList("foo", "bar"));
+
+        Assert.assertEquals("[\"foo\",\"bar\"]",
+                component1.getElement().getProperty("value"));
+        Assert.assertSame(
+                component1.getElement().getPropertyRaw("value"),
+                component2.getElement().getPropertyRaw("value"));
+    }
+
+    @Test
+    public void subscribe_detachedComponent_latestValueDeliveredOnAttach() {
+        TestComponent component = new TestComponent();
+        List<String> received = new ArrayList<>();
+        topic.subscribe(component, received::add);
+
+        topic.publish("foo");
+        topic.publish("bar");
+        Assert.assertTrue(received.isEmpty());
+
+        runLocked(() -> ui1.add(component));
+        Assert.assertEquals(1, received.size());
+        Assert.assertEquals("bar", received.get(0));
+
+        runLocked(() -> ui1.remove(component));
+        topic.publish("baz");
+        Assert.assertEquals(1, received.size());
+    }
+
+    @Test
+    public void subscribe_removeRegistration_noLongerUpdated() {
+        TestComponent component = new TestComponent();
+        List<String> received = new ArrayList<>();
+        List<Registration> registration = new ArrayList<>();
+        runLocked(() -> {
+            ui1.add(component);
+            registration.add(topic.subscribe(component, received::add));
+        });
+
+        runLocked(registration.get(0)::remove);
+        topic.publish("foo");
+
+        Assert.assertTrue(received.isEmpty());
+    }
+
+    @Test
+    public void publish_uiLocking_componentsUpdated() {
+        configuration.setUILockingEnabled(true);
+        TestComponent component1 = new TestComponent();
+        TestComponent component2 = new TestComponent();
+        ui1.accessSynchronously(() -> {
+            ui1.add(component1);
+            topic.bindProperty(component1, "value");
+        });
+        ui2.accessSynchronously(() -> {
+            ui2.add(component2);
+            topic.bindProperty(component2, "value");
+        });
+
+        topic.publish("foo");
+
+        Assert.assertEquals("foo",
+                component1.getElement().getProperty("value"));
+        Assert.assertEquals("foo",
+                component2.getElement().getProperty("value"));
+    }
+}
@@ -93,6 +93,12 @@ public class MockServletServiceSessionSetup {
             super.modifyBootstrapPage(response);
         }
 
+        @Override
+        boolean hasBootstrapListeners() {
+            return !bootstrapListeners.isEmpty()
+                    || super.hasBootstrapListeners();
+        }
+
     }
 
     public class TestVaadinServlet extends VaadinServlet {
@@ -244,10 +250,13 @@ public class MockServletServiceSessionSetup {
                     .thenReturn(new LinkedBlockingDeque<>());
             Mockito.when(request.getWrappedSession())
                     .thenReturn(wrappedSession);
-            SessionRouteRegistry sessionRegistry = (SessionRouteRegistry) SessionRouteRegistry
-                    .getSessionRegistry(session);
+            SessionRouteRegistry sessionRegistry = new SessionRouteRegistry(
+                    session, service);
             Mockito.when(session.getAttribute(SessionRouteRegistry.class))
                     .thenReturn(sessionRegistry);
+            Mockito.when(session.getOrCreateAttribute(
+                    Mockito.eq(SessionRouteRegistry.class), Mockito.any()))
+                    .thenReturn(sessionRegistry);
         } else {
             session = null;
         }
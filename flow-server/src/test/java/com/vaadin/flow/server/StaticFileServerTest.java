@@ -472,4 +472,140 @@ public class StaticFileServerTest implements Serializable {
                 responseCode.get());
     }
 
+    @Test
+    public void serveStaticResource_productionMode_writesETag()
+            throws IOException {
+        CapturingServletOutputStream out = setupETagResource();
+
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertNotNull(headers.get("ETag"));
+        Assert.assertTrue(headers.get("ETag").startsWith("\""));
+        Assert.assertEquals(-1, responseCode.get());
+        Assert.assertTrue(out.getOutput().length > 0);
+    }
+
+    @Test
+    public void serveStaticResource_ifNoneMatchCurrentETag_notModified()
+            throws IOException {
+        setupETagResource();
+        fileServer.serveStaticResource(request, response);
+        String eTag = headers.get("ETag");
+
+        Mockito.when(request.getHeader("If-None-Match"))
+                .thenReturn("\"other\", W/" + eTag);
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertEquals(eTag, headers.get("ETag"));
+        Assert.assertEquals(0, out.getOutput().length);
+        Assert.assertEquals(HttpServletResponse.SC_NOT_MODIFIED,
+                responseCode.get());
+    }
+
+    @Test
+    public void serveStaticResource_ifNoneMatchCurrentETag_noConnectionOpened()
+            throws IOException {
+        setupRequestURI("", "/some", "/file.js");
+        URL fileUrl = createFileURLWithDataAndLength("/some/file.js",
+                "function() {eval('foo');};".getBytes(StandardCharsets.UTF_8),
+                123L);
+        AtomicInteger connections = new AtomicInteger();
+        URL resourceUrl = new URL("file", "", -1, "/some/file.js",
+                new URLStreamHandler() {
+                    @Override
+                    protected URLConnection openConnection(URL u)
+                            throws IOException {
+                        connections.incrementAndGet();
+                        return fileUrl.openConnection();
+                    }
+                });
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(resourceUrl);
+        Mockito.when(response.getOutputStream())
+                .thenReturn(new CapturingServletOutputStream());
+        fileServer.serveStaticResource(request, response);
+        String eTag = headers.get("ETag");
+
+        Mockito.when(request.getHeader("If-None-Match")).thenReturn(eTag);
+        connections.set(0);
+        responseCode.set(-1);
+
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertEquals(HttpServletResponse.SC_NOT_MODIFIED,
+                responseCode.get());
+        Assert.assertEquals(0, connections.get());
+    }
+
+    @Test
+    public void serveStaticResource_ifNoneMatchOtherETag_ifModifiedSinceIgnored()
+            throws IOException {
+        CapturingServletOutputStream out = setupETagResource();
+        Mockito.when(request.getHeader("If-None-Match"))
+                .thenReturn("\"other\"");
+        Mockito.when(request.getDateHeader("If-Modified-Since"))
+                .thenReturn(123L);
+
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertEquals(-1, responseCode.get());
+        Assert.assertTrue(out.getOutput().length > 0);
+    }
+
+    @Test
+    public void serveStaticResource_ifNoneMatchWithoutETag_ifModifiedSinceUsed()
+            throws IOException {
+        setupRequestURI("", "/some", "/file.js");
+        URL resourceUrl = new URL("file", "", -1, "/some/file.js",
+                new URLStreamHandler() {
+                    @Override
+                    protected URLConnection openConnection(URL u)
+                            throws IOException {
+                        URLConnection connection = Mockito
+                                .mock(URLConnection.class);
+                        Mockito.when(connection.getInputStream())
+                                .thenThrow(new IOException("Unreadable"));
+                        Mockito.when(connection.getLastModified())
+                                .thenReturn(123L);
+                        return connection;
+                    }
+                });
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(resourceUrl);
+        Mockito.when(request.getHeader("If-None-Match"))
+                .thenReturn("\"other\"");
+        Mockito.when(request.getDateHeader("If-Modified-Since"))
+                .thenReturn(123L);
+
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertNull(headers.get("ETag"));
+        Assert.assertEquals(HttpServletResponse.SC_NOT_MODIFIED,
+                responseCode.get());
+    }
+
+    @Test
+    public void nonProductionMode_serveStaticResource_noETag()
+            throws IOException {
+        Mockito.when(configuration.isProductionMode()).thenReturn(false);
+        fileServer = new OverrideableStaticFileServer(servletService);
+        CapturingServletOutputStream out = setupETagResource();
+        Mockito.when(request.getHeader("If-None-Match")).thenReturn("*");
+
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertNull(headers.get("ETag"));
+        Assert.assertTrue(out.getOutput().length > 0);
+    }
+
+    private CapturingServletOutputStream setupETagResource()
+            throws IOException {
+        setupRequestURI("", "/some", "/file.js");
+        byte[] fileData = "function() {eval('foo');};"
+                .getBytes(StandardCharsets.UTF_8);
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        fileData, 123L));
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        return out;
+    }
+
 }
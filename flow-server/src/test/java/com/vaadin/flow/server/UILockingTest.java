@@ -0,0 +1,292 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+import com.vaadin.tests.util.MockUI;
+
+import net.jcip.annotations.NotThreadSafe;
+
+@NotThreadSafe
+public class UILockingTest {
+
+    private MockDeploymentConfiguration configuration;
+    private VaadinSession session;
+    private UI ui1;
+    private UI ui2;
+
+    @Before
+    public void setUp() {
+        configuration = new MockDeploymentConfiguration();
+        configuration.setUILockingEnabled(true);
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration);
+        session = new MockVaadinSession(service);
+
+        session.lock();
+        try {
+            session.setConfiguration(configuration);
+            ui1 = new MockUI(session);
+            ui2 = new MockUI(session);
+        } finally {
+            session.unlock();
+        }
+        CurrentInstance.clearAll();
+    }
+
+    @After
+    public void tearDown() {
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void accessSynchronously_locksOnlyUI() {
+        AtomicBoolean executed = new AtomicBoolean();
+        ui1.accessSynchronously(() -> {
+            Assert.assertTrue(ui1.getInternals().hasLock());
+            Assert.assertFalse(ui2.getInternals().hasLock());
+            Assert.assertFalse(((ReentrantLock) session.getLockInstance())
+                    .isHeldByCurrentThread());
+            Assert.assertFalse(
+                    "UI lock should not count as the session lock",
+                    session.hasLock());
+            Assert.assertTrue(session.hasUILock(ui1));
+            Assert.assertFalse(session.hasUILock(ui2));
+            Assert.assertNotNull(
+                    "UI lock should give read access to the session state",
+                    session.getErrorHandler());
+            executed.set(true);
+        });
+        Assert.assertTrue(executed.get());
+        Assert.assertFalse(ui1.getInternals().hasLock());
+    }
+
+    @Test
+    public void accessSynchronously_uiLockingDisabled_locksSession() {
+        configuration.setUILockingEnabled(false);
+
+        ui1.accessSynchronously(() -> {
+            Assert.assertFalse(ui1.getInternals().hasLock());
+            Assert.assertTrue(((ReentrantLock) session.getLockInstance())
+                    .isHeldByCurrentThread());
+        });
+    }
+
+    @Test
+    public void differentUIs_accessedConcurrently() throws Exception {
+        CountDownLatch ui1Locked = new CountDownLatch(1);
+        CountDownLatch ui2Accessed = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> ui1.accessSynchronously(() -> {
+                ui1Locked.countDown();
+                try {
+                    ui2Accessed.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+
+            Assert.assertTrue(ui1Locked.await(5, TimeUnit.SECONDS));
+
+            ui2.accessSynchronously(ui2Accessed::countDown);
+            Assert.assertEquals(
+                    "UI should be accessible while another UI is locked", 0,
+                    ui2Accessed.getCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void access_uiLocked_runWhenUIUnlocked() {
+        AtomicBoolean executed = new AtomicBoolean();
+
+        ui1.getInternals().lock();
+        try {
+            ui1.access(() -> {
+                Assert.assertTrue(ui1.getInternals().hasLock());
+                Assert.assertSame(ui1, UI.getCurrent());
+                executed.set(true);
+            });
+            Assert.assertFalse(executed.get());
+            Assert.assertEquals(1,
+                    ui1.getInternals().getPendingAccessQueue().size());
+            Assert.assertTrue(session.getPendingAccessQueue().isEmpty());
+        } finally {
+            ui1.getInternals().unlock();
+        }
+
+        Assert.assertTrue(executed.get());
+    }
+
+    @Test
+    public void lockSession_holdingUILock_uiLockReacquired() {
+        AtomicBoolean executed = new AtomicBoolean();
+        ui1.accessSynchronously(() -> ui1.accessSynchronously(
+                () -> session.accessSynchronously(() -> {
+                    Assert.assertTrue(session.hasLock());
+                    Assert.assertTrue(ui1.getInternals().hasLock());
+                    executed.set(true);
+                })));
+        Assert.assertTrue(executed.get());
+        Assert.assertFalse(session.hasLock());
+        Assert.assertFalse(ui1.getInternals().hasLock());
+        Assert.assertFalse(UIInternals.hasAnyUILock());
+    }
+
+    @Test
+    public void lockSession_holdingUILockWhileOtherThreadLocksUIFromSession_noDeadlock()
+            throws Exception {
+        CountDownLatch uiLocked = new CountDownLatch(1);
+        CountDownLatch sessionLocked = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ui1.getInternals().lock();
+            try {
+                executor.submit(() -> session.accessSynchronously(() -> {
+                    sessionLocked.countDown();
+                    awaitQuietly(uiLocked);
+                    ui1.accessSynchronously(() -> {
+                    });
+                }));
+                Assert.assertTrue(sessionLocked.await(5, TimeUnit.SECONDS));
+                uiLocked.countDown();
+
+                session.lock();
+                try {
+                    Assert.assertTrue(ui1.getInternals().hasLock());
+                } finally {
+                    session.unlock();
+                }
+            } finally {
+                ui1.getInternals().unlock();
+            }
+        } finally {
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test(timeout = 2000)
+    public void getSessionRegistry_holdingUILockWhileSessionLocked_notBlocked()
+            throws Exception {
+        CountDownLatch sessionLocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> session.accessSynchronously(() -> {
+                sessionLocked.countDown();
+                awaitQuietly(release);
+            }));
+            Assert.assertTrue(sessionLocked.await(5, TimeUnit.SECONDS));
+
+            AtomicBoolean executed = new AtomicBoolean();
+            ui1.accessSynchronously(() -> {
+                RouteRegistry registry = SessionRouteRegistry
+                        .getSessionRegistry(session);
+                Assert.assertSame(registry,
+                        SessionRouteRegistry.getSessionRegistry(session));
+                Assert.assertTrue(ui1.getInternals().hasLock());
+                executed.set(true);
+            });
+            Assert.assertTrue(executed.get());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void modifySessionState_holdingUILock_throws() {
+        ui1.accessSynchronously(
+                () -> session.setErrorHandler(new DefaultErrorHandler()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void setSessionAttribute_holdingUILock_throws() {
+        ui1.accessSynchronously(() -> session.setAttribute("foo", "bar"));
+    }
+
+    @Test
+    public void getSessionAttribute_holdingUILock_allowed() {
+        session.accessSynchronously(() -> session.setAttribute("foo", "bar"));
+        AtomicBoolean executed = new AtomicBoolean();
+        ui1.accessSynchronously(() -> {
+            Assert.assertEquals("bar", session.getAttribute("foo"));
+            executed.set(true);
+        });
+        Assert.assertTrue(executed.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void lockOtherUI_holdingUILock_throws() {
+        ui1.accessSynchronously(() -> ui2.accessSynchronously(() -> {
+        }));
+    }
+
+    @Test
+    public void lockSameUI_holdingUILock_allowed() {
+        AtomicBoolean executed = new AtomicBoolean();
+        ui1.accessSynchronously(
+                () -> ui1.accessSynchronously(() -> executed.set(true)));
+        Assert.assertTrue(executed.get());
+        Assert.assertFalse(UIInternals.hasAnyUILock());
+    }
+
+    @Test
+    public void accessOtherUI_holdingUILock_runsWithoutBlocking() {
+        AtomicBoolean executed = new AtomicBoolean();
+        ui1.accessSynchronously(() -> ui2.access(() -> {
+            Assert.assertTrue(ui2.getInternals().hasLock());
+            executed.set(true);
+        }));
+        Assert.assertTrue(executed.get());
+        Assert.assertFalse(UIInternals.hasAnyUILock());
+    }
+
+    @Test
+    public void lockUI_holdingSessionLock_allowed() {
+        AtomicBoolean executed = new AtomicBoolean();
+        session.accessSynchronously(
+                () -> ui1.accessSynchronously(() -> executed.set(true)));
+        Assert.assertTrue(executed.get());
+    }
+}
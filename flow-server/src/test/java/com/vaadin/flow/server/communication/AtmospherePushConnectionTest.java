@@ -19,15 +19,30 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.atmosphere.cpr.AtmosphereResource;
+import org.atmosphere.cpr.Broadcaster;
 import org.easymock.EasyMock;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 
 import com.vaadin.flow.component.UI;
-import com.vaadin.flow.server.communication.AtmospherePushConnection;
+import com.vaadin.flow.server.CustomizedSystemMessages;
+import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.communication.AtmospherePushConnection.State;
+import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.tests.util.AlwaysLockedVaadinSession;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+import com.vaadin.tests.util.MockUI;
 
 /**
  * @author Vaadin Ltd
@@ -55,4 +70,140 @@ public class AtmospherePushConnectionTest {
 
         Assert.assertEquals(State.DISCONNECTED, connection.getState());
     }
+
+    @Test
+    public void push_writerExecutor_messagesWrittenByExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        AtmosphereResource resource = Mockito.mock(AtmosphereResource.class);
+        Broadcaster broadcaster = Mockito.mock(Broadcaster.class);
+        Mockito.when(resource.getBroadcaster()).thenReturn(broadcaster);
+
+        AtmospherePushConnection connection = createConnection(tasks::add);
+        connection.connect(resource);
+        connection.push();
+
+        Mockito.verifyZeroInteractions(broadcaster);
+        Assert.assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+
+        ArgumentCaptor<Object> message = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(broadcaster).broadcast(message.capture(),
+                Mockito.eq(resource));
+        Assert.assertTrue(message.getValue().toString().startsWith("for(;;);["));
+        Assert.assertFalse(message.getValue().toString()
+                .contains(ApplicationConstants.RESYNCHRONIZE_ID));
+    }
+
+    @Test
+    public void push_writerExecutor_queuedMessagesCombined() {
+        List<Runnable> tasks = new ArrayList<>();
+        AtmosphereResource resource = Mockito.mock(AtmosphereResource.class);
+        Broadcaster broadcaster = Mockito.mock(Broadcaster.class);
+        Mockito.when(resource.getBroadcaster()).thenReturn(broadcaster);
+
+        AtmospherePushConnection connection = createConnection(tasks::add);
+        connection.connect(resource);
+        for (int i = 0; i < AtmospherePushConnection.MAX_QUEUED_MESSAGES
+                * 2; i++) {
+            connection.push();
+        }
+
+        // Only one writer task is scheduled for the connection
+        Assert.assertEquals(1, tasks.size());
+        tasks.get(0).run();
+
+        ArgumentCaptor<Object> message = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(broadcaster).broadcast(message.capture(),
+                Mockito.eq(resource));
+        // Handled in order with other messages instead of resynchronizing
+        Assert.assertTrue(message.getValue().toString()
+                .contains(ApplicationConstants.COMBINED_FIRST_SYNC_ID));
+        Assert.assertFalse(message.getValue().toString()
+                .contains(ApplicationConstants.RESYNCHRONIZE_ID));
+
+        // A new task is scheduled for the next push
+        connection.push();
+        Assert.assertEquals(2, tasks.size());
+    }
+
+    @Test
+    public void push_writerExecutor_disconnectedBeforeWrite_messageDropped() {
+        List<Runnable> tasks = new ArrayList<>();
+        AtmosphereResource resource = Mockito.mock(AtmosphereResource.class);
+        Broadcaster broadcaster = Mockito.mock(Broadcaster.class);
+        Mockito.when(resource.getBroadcaster()).thenReturn(broadcaster);
+
+        AtmospherePushConnection connection = createConnection(tasks::add);
+        connection.connect(resource);
+        connection.push();
+        connection.connectionLost();
+
+        tasks.get(0).run();
+
+        Mockito.verifyZeroInteractions(broadcaster);
+    }
+
+    @Test
+    public void push_scheduledWriterExecutor_previousMessagePending_writeRescheduled() {
+        List<Runnable> tasks = new ArrayList<>();
+        List<Runnable> scheduledTasks = new ArrayList<>();
+        ScheduledExecutorService executor = Mockito
+                .mock(ScheduledExecutorService.class);
+        Mockito.doAnswer(invocation -> tasks
+                .add(invocation.getArgumentAt(0, Runnable.class)))
+                .when(executor).execute(Mockito.any(Runnable.class));
+        Mockito.when(executor.schedule(Mockito.any(Runnable.class),
+                Mockito.anyLong(), Mockito.any(TimeUnit.class)))
+                .then(invocation -> {
+                    scheduledTasks
+                            .add(invocation.getArgumentAt(0, Runnable.class));
+                    return null;
+                });
+
+        CompletableFuture<Object> outgoing = new CompletableFuture<>();
+        AtmosphereResource resource = Mockito.mock(AtmosphereResource.class);
+        Broadcaster broadcaster = Mockito.mock(Broadcaster.class);
+        Mockito.when(resource.getBroadcaster()).thenReturn(broadcaster);
+        Mockito.when(broadcaster.broadcast(Mockito.any(),
+                Mockito.any(AtmosphereResource.class))).thenReturn(outgoing);
+
+        AtmospherePushConnection connection = createConnection(executor);
+        connection.connect(resource);
+        connection.push();
+        tasks.get(0).run();
+        Mockito.verify(broadcaster, Mockito.times(1)).broadcast(Mockito.any(),
+                Mockito.eq(resource));
+
+        // The first message is still being written to the slow client
+        connection.push();
+        tasks.get(1).run();
+        Mockito.verify(broadcaster, Mockito.times(1)).broadcast(Mockito.any(),
+                Mockito.eq(resource));
+        Assert.assertEquals(1, scheduledTasks.size());
+
+        // Still scheduled, so the next push doesn't submit a new task
+        connection.push();
+        Assert.assertEquals(2, tasks.size());
+
+        outgoing.complete(null);
+        scheduledTasks.get(0).run();
+        Mockito.verify(broadcaster, Mockito.times(2)).broadcast(Mockito.any(),
+                Mockito.eq(resource));
+    }
+
+    private static AtmospherePushConnection createConnection(
+            Executor writerExecutor) {
+        VaadinService service = Mockito.mock(VaadinService.class);
+        Mockito.when(service.getPushWriterExecutor())
+                .thenReturn(writerExecutor);
+        Mockito.when(service.getDeploymentConfiguration())
+                .thenReturn(new MockDeploymentConfiguration());
+        Mockito.when(service.getSystemMessages(Mockito.any(), Mockito.any()))
+                .thenReturn(new CustomizedSystemMessages());
+        Mockito.when(service.getDependencyFilters())
+                .thenReturn(Collections.emptyList());
+        UI ui = new MockUI(new AlwaysLockedVaadinSession(service));
+        return new AtmospherePushConnection(ui);
+    }
 }
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.MockVaadinServletService;
+import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.RequestHandler;
+import com.vaadin.flow.server.ServletHelper.RequestType;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.WrappedSession;
+import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.tests.util.MockUI;
+
+public class HeartbeatHandlerTest {
+
+    private final HeartbeatHandler handler = new HeartbeatHandler();
+
+    private MockVaadinSession session;
+    private UI ui;
+    private VaadinRequest request;
+    private VaadinResponse response;
+
+    @Before
+    public void setUp() {
+        session = new MockVaadinSession(new MockVaadinServletService());
+        session.lock();
+        try {
+            ui = new MockUI(session);
+            VaadinServletRequest initRequest = Mockito
+                    .mock(VaadinServletRequest.class);
+            Mockito.when(initRequest.getHttpServletRequest())
+                    .thenReturn(Mockito.mock(HttpServletRequest.class));
+            ui.doInit(initRequest, 1);
+            session.addUI(ui);
+        } finally {
+            session.unlock();
+        }
+        CurrentInstance.clearAll();
+
+        request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(RequestType.HEARTBEAT.getIdentifier());
+        Mockito.when(request.getParameter(ApplicationConstants.UI_ID_PARAMETER))
+                .thenReturn("1");
+        response = Mockito.mock(VaadinResponse.class);
+    }
+
+    @After
+    public void tearDown() {
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void sessionLockedByOtherThread_heartbeatNotBlocked_listenersNotifiedOnUnlock()
+            throws Exception {
+        List<Long> heartbeats = new ArrayList<>();
+        session.lock();
+        try {
+            ui.getInternals().addHeartbeatListener(
+                    event -> heartbeats.add(event.getHeartbeatTime()));
+            ui.getInternals().setLastHeartbeatTimestamp(0);
+        } finally {
+            session.unlock();
+        }
+        heartbeats.clear();
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread lockHolder = new Thread(() -> {
+            session.lock();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                session.unlock();
+            }
+        });
+        lockHolder.start();
+        Assert.assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        Assert.assertTrue(handler.handleRequest(session, request, response));
+        Assert.assertTrue(handler.handleRequest(session, request, response));
+
+        long timestamp = ui.getInternals().getLastHeartbeatTimestamp();
+        Assert.assertNotEquals(0, timestamp);
+        Assert.assertTrue(heartbeats.isEmpty());
+        Mockito.verify(response, Mockito.times(2)).setHeader("Cache-Control",
+                "no-cache");
+
+        release.countDown();
+        lockHolder.join(5000);
+
+        Assert.assertEquals(1, heartbeats.size());
+        Assert.assertEquals(timestamp, heartbeats.get(0).longValue());
+    }
+
+    @Test
+    public void heartbeatThroughService_sessionLockedByOtherThread_notBlocked()
+            throws Exception {
+        MockVaadinServletService service = new MockVaadinServletService() {
+            @Override
+            protected List<RequestHandler> createRequestHandlers() {
+                return Collections.singletonList(new HeartbeatHandler());
+            }
+        };
+        service.init();
+        session = new MockVaadinSession(service);
+        session.lock();
+        try {
+            ui = new MockUI(session);
+            VaadinServletRequest initRequest = Mockito
+                    .mock(VaadinServletRequest.class);
+            Mockito.when(initRequest.getHttpServletRequest())
+                    .thenReturn(Mockito.mock(HttpServletRequest.class));
+            ui.doInit(initRequest, 1);
+            session.addUI(ui);
+        } finally {
+            session.unlock();
+        }
+        CurrentInstance.clearAll();
+
+        WrappedSession wrappedSession = Mockito.mock(WrappedSession.class);
+        Mockito.when(wrappedSession.getAttribute(Mockito.anyString()))
+                .thenReturn(session);
+        Mockito.when(request.getWrappedSession(Mockito.anyBoolean()))
+                .thenReturn(wrappedSession);
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread lockHolder = new Thread(() -> {
+            session.lock();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                session.unlock();
+            }
+        });
+        lockHolder.start();
+        try {
+            Assert.assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+            CompletableFuture.runAsync(() -> {
+                try {
+                    service.handleRequest(request, response);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }).get(5, TimeUnit.SECONDS);
+
+            Mockito.verify(response).setHeader("Cache-Control", "no-cache");
+            Assert.assertTrue(
+                    ui.getInternals().getLastHeartbeatTimestamp() > 0);
+        } finally {
+            release.countDown();
+            lockHolder.join(5000);
+        }
+    }
+
+    @Test
+    public void noHeartbeatListeners_noAccessTaskEnqueued() throws Exception {
+        session.lock();
+        try {
+            Assert.assertTrue(
+                    handler.handleRequest(session, request, response));
+
+            Assert.assertTrue(session.getPendingAccessQueue().isEmpty());
+            Assert.assertTrue(
+                    ui.getInternals().getPendingAccessQueue().isEmpty());
+        } finally {
+            session.unlock();
+        }
+        Assert.assertTrue(ui.getInternals().getLastHeartbeatTimestamp() > 0);
+    }
+
+    @Test
+    public void syncIdSent_seenMessagesAcknowledged() throws Exception {
+        ServerMessageLog messageLog = ui.getInternals().getServerMessageLog();
+        messageLog.add(0, "for(;;);[{}]", true);
+        messageLog.add(1, "for(;;);[{}]", true);
+        Mockito.when(request.getParameter(ApplicationConstants.SERVER_SYNC_ID))
+                .thenReturn("0");
+
+        Assert.assertTrue(handler.handleRequest(session, request, response));
+
+        Assert.assertEquals(1, messageLog.size());
+    }
+
+    @Test
+    public void unknownUI_notFound() throws Exception {
+        Mockito.when(request.getParameter(ApplicationConstants.UI_ID_PARAMETER))
+                .thenReturn("2");
+
+        Assert.assertTrue(handler.handleRequest(session, request, response));
+
+        Mockito.verify(response).sendError(404, "UI not found");
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.server.RequestHandler;
+import com.vaadin.flow.server.ServletHelper.RequestType;
+import com.vaadin.flow.server.UnsupportedBrowserHandler;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.shared.ApplicationConstants;
+
+public class RequestHandlerDispatcherTest {
+
+    private VaadinSession session;
+    private VaadinServletRequest request;
+    private VaadinResponse response;
+
+    @Before
+    public void setUp() {
+        session = Mockito.mock(VaadinSession.class);
+        request = Mockito.mock(VaadinServletRequest.class);
+        response = Mockito.mock(VaadinResponse.class);
+    }
+
+    @Test
+    public void heartbeatRequest_pageHandlersSkipped_customHandlersCalledInOrder()
+            throws Exception {
+        setRequestType(RequestType.HEARTBEAT);
+        RequestHandler first = Mockito.mock(RequestHandler.class);
+        RequestHandler last = Mockito.mock(RequestHandler.class);
+
+        RequestHandlerDispatcher dispatcher = new RequestHandlerDispatcher(
+                Arrays.asList(first, new UnsupportedBrowserHandler(),
+                        new WebComponentProvider(), new HeartbeatHandler(),
+                        last));
+
+        Assert.assertTrue(dispatcher.handleRequest(session, request, response));
+
+        InOrder inOrder = Mockito.inOrder(first, session);
+        inOrder.verify(first).handleRequest(session, request, response);
+        inOrder.verify(session).getUIByIdWithoutLock(1);
+        Mockito.verify(session, Mockito.never()).lock();
+        Mockito.verifyZeroInteractions(last);
+    }
+
+    @Test
+    public void untypedRequest_pathHandlersNotMatchingPathSkipped()
+            throws Exception {
+        Mockito.when(request.getPathInfo()).thenReturn("/");
+        RequestHandler custom = Mockito.mock(RequestHandler.class);
+        Mockito.when(custom.handleRequest(session, request, response))
+                .thenReturn(true);
+
+        RequestHandlerDispatcher dispatcher = new RequestHandlerDispatcher(
+                Arrays.asList(new HeartbeatHandler(),
+                        new WebComponentProvider(), new FaviconHandler(),
+                        custom));
+
+        Assert.assertTrue(dispatcher.handleRequest(session, request, response));
+
+        Mockito.verify(custom).handleRequest(session, request, response);
+        Mockito.verifyZeroInteractions(session);
+    }
+
+    @Test
+    public void untypedRequest_pathHandlerMatchingPathCalled()
+            throws Exception {
+        Mockito.when(request.getPathInfo())
+                .thenReturn(WebComponentProvider.PATH_PREFIX);
+
+        RequestHandlerDispatcher dispatcher = new RequestHandlerDispatcher(
+                Arrays.asList(new WebComponentProvider()));
+
+        Assert.assertFalse(
+                dispatcher.handleRequest(session, request, response));
+
+        Mockito.verify(session).lock();
+    }
+
+    @Test
+    public void typedRequestWithoutTypeHandler_allHandlersCalled()
+            throws Exception {
+        setRequestType(RequestType.PUSH);
+
+        RequestHandlerDispatcher dispatcher = new RequestHandlerDispatcher(
+                Arrays.asList(new HeartbeatHandler(),
+                        new WebComponentProvider()));
+
+        Assert.assertFalse(
+                dispatcher.handleRequest(session, request, response));
+
+        Mockito.verify(session).lock();
+    }
+
+    @Test
+    public void subclassOfFrameworkHandler_calledForAllRequests()
+            throws Exception {
+        setRequestType(RequestType.HEARTBEAT);
+        RequestHandler subclass = Mockito.spy(new WebComponentProvider() {
+        });
+
+        RequestHandlerDispatcher dispatcher = new RequestHandlerDispatcher(
+                Arrays.asList(subclass, new HeartbeatHandler()));
+
+        Assert.assertTrue(dispatcher.handleRequest(session, request, response));
+
+        Mockito.verify(subclass).handleRequest(session, request, response);
+    }
+
+    private void setRequestType(RequestType requestType) {
+        Mockito.when(request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(requestType.getIdentifier());
+        Mockito.when(request.getParameter(ApplicationConstants.UI_ID_PARAMETER))
+                .thenReturn("1");
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.shared.ApplicationConstants;
+
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.impl.JsonUtil;
+
+public class ServerMessageLogTest {
+
+    private final ServerMessageLog log = new ServerMessageLog();
+
+    @Test
+    public void acknowledge_seenMessagesRemoved() {
+        log.add(0, message(0, "{\"changes\":[1]}"));
+        log.add(1, message(1, "{\"changes\":[2]}"));
+        log.add(2, message(2, "{\"changes\":[3]}"));
+
+        log.acknowledge(1);
+
+        Assert.assertEquals(1, log.size());
+    }
+
+    @Test
+    public void add_noSyncId_messageNotKept() {
+        log.add(-1, message(-1, "{}"));
+
+        Assert.assertEquals(0, log.size());
+    }
+
+    @Test
+    public void add_messagesTooBig_oldestRemoved() {
+        String big = message(0, "{\"changes\":[\"" + new String(
+                new char[ServerMessageLog.MAX_SIZE / 4]).replace('\0', 'x')
+                + "\"]}");
+        log.add(0, big);
+        log.add(1, big);
+        Assert.assertEquals(1, log.size());
+
+        log.add(2, big.getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(2, log.size());
+
+        log.add(3, message(3, "{}"));
+        Assert.assertEquals(3, log.size());
+    }
+
+    @Test
+    public void createResyncMessage_unseenMessagesCombined() {
+        log.add(0, message(0,
+                "{\"changes\":[1],\"constants\":{\"a\":1},\"execute\":[[\"x\"]]}"));
+        log.add(1, message(1, "{\"changes\":[2],\"constants\":{\"b\":2}}"));
+        log.add(2, message(2, "{\"changes\":[3,4],\"execute\":[[\"y\"]]}"));
+
+        log.requestResync(0);
+        Assert.assertTrue(log.isResyncRequested());
+
+        JsonObject json = parse(log.createResyncMessage());
+
+        Assert.assertFalse(log.isResyncRequested());
+        Assert.assertEquals(2,
+                (int) json.getNumber(ApplicationConstants.SERVER_SYNC_ID));
+        Assert.assertTrue(
+                json.getBoolean(ApplicationConstants.RESYNCHRONIZE_ID));
+        Assert.assertEquals("[2,3,4]", json.getArray("changes").toJson());
+        Assert.assertEquals("{\"b\":2}", json.getObject("constants").toJson());
+        JsonArray execute = json.getArray("execute");
+        Assert.assertEquals("[[\"y\"]]", execute.toJson());
+    }
+
+    @Test
+    public void createResyncMessage_messagesMissing_refreshRequested() {
+        int last = 20;
+        for (int i = 10; i <= last; i++) {
+            log.add(i, message(i, "{}"));
+        }
+
+        // Message 10 has already been acknowledged
+        log.acknowledge(10);
+        log.requestResync(9);
+        Assert.assertTrue(isRefresh(log.createResyncMessage()));
+
+        log.requestResync(11);
+        JsonObject json = parse(log.createResyncMessage());
+        Assert.assertFalse(isRefresh(json.toJson()));
+        Assert.assertEquals(last,
+                (int) json.getNumber(ApplicationConstants.SERVER_SYNC_ID));
+    }
+
+    @Test
+    public void createResyncMessage_lastSeenMessageUnknown_refreshRequested() {
+        log.add(0, message(0, "{}"));
+
+        log.requestResync(-1);
+
+        Assert.assertTrue(isRefresh(log.createResyncMessage()));
+    }
+
+    @Test
+    public void createResyncMessage_utf8MessagesCombined() {
+        log.add(1, message(1, "{\"changes\":[\"\u00e4\"]}")
+                .getBytes(StandardCharsets.UTF_8));
+        log.add(2, message(2, "{\"changes\":[2]}")
+                .getBytes(StandardCharsets.UTF_8));
+
+        log.requestResync(0);
+        JsonObject json = parse(log.createResyncMessage());
+
+        Assert.assertEquals("[\"\u00e4\",2]",
+                json.getArray("changes").toJson());
+    }
+
+    @Test
+    public void createResyncMessage_unseenPushedMessage_refreshRequested() {
+        log.add(1, message(1, "{\"changes\":[1]}"), true);
+        log.add(2, message(2, "{\"changes\":[2]}"));
+
+        // The client might have applied message 1 after sending its request
+        log.requestResync(0);
+        Assert.assertTrue(isRefresh(log.createResyncMessage()));
+    }
+
+    @Test
+    public void createResyncMessage_latestMessagePushed_messagesCombined() {
+        JsonObject latest = parse(message(2, "{\"changes\":[2]}"));
+        log.add(1, message(1, "{\"changes\":[1]}"));
+        log.add(2, latest, true);
+
+        log.requestResync(0);
+        JsonObject json = parse(log.createResyncMessage(latest));
+
+        Assert.assertEquals("[1,2]", json.getArray("changes").toJson());
+    }
+
+    @Test
+    public void createResyncMessage_latestPushedMessageNotGiven_refreshRequested() {
+        log.add(1, message(1, "{\"changes\":[1]}"));
+        log.add(2, parse(message(2, "{\"changes\":[2]}")), true);
+
+        log.requestResync(0);
+        Assert.assertTrue(isRefresh(log.createResyncMessage()));
+    }
+
+    @Test
+    public void createResyncMessage_jsonMessagesCombined() {
+        log.add(1, parse(message(1, "{\"changes\":[1]}")), false);
+        log.add(2, parse(message(2, "{\"changes\":[2]}")), false);
+
+        log.requestResync(0);
+        JsonObject json = parse(log.createResyncMessage());
+
+        Assert.assertEquals("[1,2]", json.getArray("changes").toJson());
+    }
+
+    @Test
+    public void add_pushedMessages_contentNotCounted() {
+        String big = message(0, "{\"changes\":[\"" + new String(
+                new char[ServerMessageLog.MAX_SIZE / 4]).replace('\0', 'x')
+                + "\"]}");
+        for (int i = 0; i < 10; i++) {
+            log.add(i, big, true);
+        }
+
+        Assert.assertEquals(10, log.size());
+    }
+
+    @Test
+    public void serialized_jsonMessagesTooBig_oldestRemoved() {
+        JsonObject first = parse(message(0, "{}"));
+        JsonObject second = parse(message(1, "{}"));
+        log.add(0, first, false);
+        log.add(1, second, false);
+        Assert.assertEquals(2, log.size());
+
+        log.serialized(first, ServerMessageLog.MAX_SIZE / 4);
+        Assert.assertEquals(2, log.size());
+
+        log.serialized(second, ServerMessageLog.MAX_SIZE / 4);
+        Assert.assertEquals(1, log.size());
+    }
+
+    @Test
+    public void combine_messagesNotModified() {
+        JsonObject first = parse(message(0, "{\"changes\":[1]}"));
+        JsonObject second = parse(message(1, "{\"changes\":[2]}"));
+
+        JsonObject combined = ServerMessageLog
+                .combine(Arrays.asList(first, second));
+
+        Assert.assertEquals("[1,2]", combined.getArray("changes").toJson());
+        Assert.assertEquals(1,
+                (int) combined.getNumber(ApplicationConstants.SERVER_SYNC_ID));
+        Assert.assertEquals(0, (int) combined
+                .getNumber(ApplicationConstants.COMBINED_FIRST_SYNC_ID));
+        Assert.assertFalse(
+                combined.hasKey(ApplicationConstants.RESYNCHRONIZE_ID));
+        Assert.assertEquals("[1]", first.getArray("changes").toJson());
+        Assert.assertEquals("[2]", second.getArray("changes").toJson());
+    }
+
+    @Test
+    public void combine_combinedMessages_firstSyncIdKept() {
+        JsonObject first = ServerMessageLog
+                .combine(Arrays.asList(parse(message(3, "{}")),
+                        parse(message(4, "{}"))));
+        JsonObject second = ServerMessageLog
+                .combine(Arrays.asList(parse(message(5, "{}")),
+                        parse(message(6, "{}"))));
+
+        JsonObject combined = ServerMessageLog
+                .combine(Arrays.asList(first, second));
+
+        Assert.assertEquals(6,
+                (int) combined.getNumber(ApplicationConstants.SERVER_SYNC_ID));
+        Assert.assertEquals(3, (int) combined
+                .getNumber(ApplicationConstants.COMBINED_FIRST_SYNC_ID));
+    }
+
+    @Test
+    public void combine_responseIncluded_combinedMessageNotAsync() {
+        JsonObject pushed = parse(
+                message(0, "{\"meta\":{\"async\":true}}"));
+        JsonObject response = parse(message(1, "{\"meta\":{}}"));
+
+        JsonObject combined = ServerMessageLog
+                .combine(Arrays.asList(pushed, response));
+
+        Assert.assertFalse(combined.getObject("meta").hasKey("async"));
+        Assert.assertTrue(pushed.getObject("meta").hasKey("async"));
+    }
+
+    private static boolean isRefresh(String message) {
+        return message.contains("appError");
+    }
+
+    private static String message(int syncId, String json) {
+        JsonObject message = JsonUtil.parse(json);
+        message.put(ApplicationConstants.SERVER_SYNC_ID, syncId);
+        return "for(;;);[" + message.toJson() + "]";
+    }
+
+    private static JsonObject parse(String message) {
+        Assert.assertTrue(message.startsWith("for(;;);["));
+        return JsonUtil.parse(message.substring("for(;;);[".length(),
+                message.length() - 1));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
+import com.vaadin.tests.util.AlwaysLockedVaadinSession;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+import com.vaadin.tests.util.MockUI;
+
+public class ServerRpcHandlerTest {
+
+    private UI ui;
+    private VaadinRequest request;
+
+    @Before
+    public void setUp() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setXsrfProtectionEnabled(false);
+        VaadinService service = Mockito.mock(VaadinService.class);
+        Mockito.when(service.getDeploymentConfiguration())
+                .thenReturn(configuration);
+        request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request.getService()).thenReturn(service);
+
+        ui = new MockUI(new AlwaysLockedVaadinSession(service));
+    }
+
+    @Test
+    public void handleRpc_expectedMessage_noResync()
+            throws IOException, InvalidUIDLSecurityKeyException {
+        handleRpc(message(0, 0, false));
+
+        Assert.assertEquals(0,
+                ui.getInternals().getLastProcessedClientToServerId());
+        Assert.assertFalse(
+                ui.getInternals().getServerMessageLog().isResyncRequested());
+    }
+
+    @Test
+    public void handleRpc_duplicateMessage_resyncRequested()
+            throws IOException, InvalidUIDLSecurityKeyException {
+        handleRpc(message(0, 0, false));
+        handleRpc(message(0, 0, false));
+
+        Assert.assertEquals(0,
+                ui.getInternals().getLastProcessedClientToServerId());
+        Assert.assertTrue(
+                ui.getInternals().getServerMessageLog().isResyncRequested());
+    }
+
+    @Test
+    public void handleRpc_unexpectedMessageId_resyncRequested()
+            throws IOException, InvalidUIDLSecurityKeyException {
+        handleRpc(message(0, 5, false));
+
+        Assert.assertEquals(-1,
+                ui.getInternals().getLastProcessedClientToServerId());
+        Assert.assertTrue(
+                ui.getInternals().getServerMessageLog().isResyncRequested());
+    }
+
+    @Test
+    public void handleRpc_resynchronize_resyncRequested()
+            throws IOException, InvalidUIDLSecurityKeyException {
+        handleRpc(message(0, 0, true));
+
+        Assert.assertEquals(0,
+                ui.getInternals().getLastProcessedClientToServerId());
+        Assert.assertTrue(
+                ui.getInternals().getServerMessageLog().isResyncRequested());
+    }
+
+    private void handleRpc(String message)
+            throws IOException, InvalidUIDLSecurityKeyException {
+        new ServerRpcHandler().handleRpc(ui, new StringReader(message),
+                request);
+    }
+
+    private static String message(int syncId, int clientId,
+            boolean resynchronize) {
+        return "{\"syncId\":" + syncId + ",\"clientId\":" + clientId
+                + ",\"rpc\":[]"
+                + (resynchronize ? ",\"resynchronize\":true" : "") + "}";
+    }
+}
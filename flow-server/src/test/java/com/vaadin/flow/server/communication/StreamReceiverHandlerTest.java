@@ -1,12 +1,18 @@
 package com.vaadin.flow.server.communication;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -15,6 +21,7 @@ import org.mockito.MockitoAnnotations;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.server.MockServletConfig;
@@ -25,6 +32,7 @@ import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinServlet;
 import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.VaadinServletResponse;
 import com.vaadin.flow.server.VaadinServletService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.StreamReceiverHandler;
@@ -245,4 +253,72 @@ public class StreamReceiverHandlerTest {
 
         verifyZeroInteractions(responseOutput);
     }
+
+    @Test
+    public void asyncStreaming_xhrPost_streamedUsingReadListener()
+            throws IOException {
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        when(streamVariable.getOutputStream()).thenReturn(received);
+
+        DeploymentConfiguration configuration = mock(
+                DeploymentConfiguration.class);
+        when(configuration.isAsyncStreaming()).thenReturn(true);
+        when(configuration.getStreamBufferSize()).thenReturn(4);
+        VaadinServletService service = mock(VaadinServletService.class);
+        when(service.getDeploymentConfiguration()).thenReturn(configuration);
+
+        AtomicReference<ReadListener> listener = new AtomicReference<>();
+        ServletInputStream input = new ServletInputStream() {
+            private final byte[] data = "foobar".getBytes();
+            private int position;
+
+            @Override
+            public boolean isFinished() {
+                return position == data.length;
+            }
+
+            @Override
+            public boolean isReady() {
+                return !isFinished();
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                listener.set(readListener);
+            }
+
+            @Override
+            public int read() {
+                return isFinished() ? -1 : data[position++];
+            }
+        };
+
+        AsyncContext context = mock(AsyncContext.class);
+        VaadinServletRequest asyncRequest = mock(VaadinServletRequest.class);
+        when(asyncRequest.isAsyncSupported()).thenReturn(true);
+        when(asyncRequest.getService()).thenReturn(service);
+        when(asyncRequest.startAsync()).thenReturn(context);
+        when(asyncRequest.getInputStream()).thenReturn(input);
+        HttpServletResponse servletResponse = mock(HttpServletResponse.class);
+        ServletOutputStream output = mock(ServletOutputStream.class);
+        when(servletResponse.getOutputStream()).thenReturn(output);
+        VaadinServletResponse asyncResponse = new VaadinServletResponse(
+                servletResponse, service);
+
+        handler.doHandleXhrFilePost(session, asyncRequest, asyncResponse,
+                streamReceiver, stateNode, 6);
+
+        // Nothing is read before the container notifies the listener
+        Assert.assertNotNull(listener.get());
+        Assert.assertEquals(0, received.size());
+        verify(streamVariable).streamingStarted(Mockito.any());
+
+        listener.get().onDataAvailable();
+        listener.get().onAllDataRead();
+
+        Assert.assertEquals("foobar", received.toString());
+        verify(streamVariable).streamingFinished(Mockito.any());
+        verify(output).close();
+        verify(context).complete();
+    }
 }
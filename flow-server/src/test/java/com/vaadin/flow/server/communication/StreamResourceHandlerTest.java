@@ -0,0 +1,305 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.server.SeekableInputStreamFactory;
+import com.vaadin.flow.server.StreamResource;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.VaadinServletResponse;
+import com.vaadin.flow.server.VaadinServletService;
+import com.vaadin.flow.server.VaadinSession;
+
+public class StreamResourceHandlerTest {
+
+    private static final byte[] DATA = "0123456789"
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private final StreamResourceHandler handler = new StreamResourceHandler();
+
+    private VaadinSession session;
+    private VaadinServletRequest request;
+    private VaadinResponse response;
+
+    private Map<String, String> headers = new HashMap<>();
+    private AtomicInteger status = new AtomicInteger(-1);
+    private String contentType;
+    private ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Before
+    public void setUp() throws IOException {
+        session = Mockito.mock(VaadinSession.class);
+        request = Mockito.mock(VaadinServletRequest.class);
+        Mockito.when(request.getServletContext())
+                .thenReturn(Mockito.mock(ServletContext.class));
+
+        response = Mockito.mock(VaadinResponse.class);
+        Mockito.when(response.getOutputStream()).thenReturn(output);
+        Mockito.doAnswer(invocation -> headers.put(
+                (String) invocation.getArguments()[0],
+                (String) invocation.getArguments()[1])).when(response)
+                .setHeader(Mockito.anyString(), Mockito.anyString());
+        Mockito.doAnswer(invocation -> {
+            status.set((int) invocation.getArguments()[0]);
+            return null;
+        }).when(response).setStatus(Mockito.anyInt());
+        Mockito.doAnswer(invocation -> {
+            contentType = (String) invocation.getArguments()[0];
+            return null;
+        }).when(response).setContentType(Mockito.anyString());
+    }
+
+    @Test
+    public void nonSeekableResource_fullContentWithoutRangeSupport()
+            throws IOException {
+        StreamResource resource = new StreamResource("foo",
+                () -> new ByteArrayInputStream(DATA));
+        resource.setContentType("text/plain");
+        setRange("bytes=0-1");
+
+        handler.handleRequest(session, request, response, resource);
+
+        Assert.assertEquals(-1, status.get());
+        Assert.assertNull(headers.get("Accept-Ranges"));
+        Assert.assertEquals("0123456789", getOutput());
+    }
+
+    @Test
+    public void seekableResource_noRange_fullContent() throws IOException {
+        handler.handleRequest(session, request, response,
+                createSeekableResource());
+
+        Assert.assertEquals(-1, status.get());
+        Assert.assertEquals("bytes", headers.get("Accept-Ranges"));
+        Assert.assertEquals("10", headers.get("Content-Length"));
+        Assert.assertEquals("0123456789", getOutput());
+    }
+
+    @Test
+    public void seekableResource_singleRange_partialContent()
+            throws IOException {
+        setRange("bytes=2-4");
+
+        handler.handleRequest(session, request, response,
+                createSeekableResource());
+
+        Assert.assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT,
+                status.get());
+        Assert.assertEquals("bytes 2-4/10", headers.get("Content-Range"));
+        Assert.assertEquals("3", headers.get("Content-Length"));
+        Assert.assertEquals("234", getOutput());
+    }
+
+    @Test
+    public void seekableResource_openAndSuffixRanges() throws IOException {
+        setRange("bytes=7-");
+        handler.handleRequest(session, request, response,
+                createSeekableResource());
+        Assert.assertEquals("bytes 7-9/10", headers.get("Content-Range"));
+        Assert.assertEquals("789", getOutput());
+
+        output.reset();
+        setRange("bytes=-4");
+        handler.handleRequest(session, request, response,
+                createSeekableResource());
+        Assert.assertEquals("bytes 6-9/10", headers.get("Content-Range"));
+        Assert.assertEquals("6789", getOutput());
+
+        output.reset();
+        setRange("bytes=5-100");
+        handler.handleRequest(session, request, response,
+                createSeekableResource());
+        Assert.assertEquals("bytes 5-9/10", headers.get("Content-Range"));
+        Assert.assertEquals("56789", getOutput());
+    }
+
+    @Test
+    public void seekableResource_multipleRanges_multipartContent()
+            throws IOException {
+        setRange("bytes=0-1, 8-9");
+
+        handler.handleRequest(session, request, response,
+                createSeekableResource());
+
+        Assert.assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT,
+                status.get());
+        Assert.assertTrue(
+                contentType.startsWith("multipart/byteranges; boundary="));
+        String boundary = contentType.substring(contentType.indexOf('=') + 1);
+        String expected = "\r\n--" + boundary + "\r\n"
+                + "Content-Type: text/plain\r\n"
+                + "Content-Range: bytes 0-1/10\r\n\r\n" + "01" + "\r\n--"
+                + boundary + "\r\n" + "Content-Type: text/plain\r\n"
+                + "Content-Range: bytes 8-9/10\r\n\r\n" + "89" + "\r\n--"
+                + boundary + "--\r\n";
+        Assert.assertEquals(expected, getOutput());
+    }
+
+    @Test
+    public void seekableResource_unsatisfiableRange_rangeNotSatisfiable()
+            throws IOException {
+        setRange("bytes=10-20");
+
+        handler.handleRequest(session, request, response,
+                createSeekableResource());
+
+        Assert.assertEquals(
+                HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE,
+                status.get());
+        Assert.assertEquals("bytes */10", headers.get("Content-Range"));
+        Assert.assertEquals("", getOutput());
+    }
+
+    @Test
+    public void seekableResource_invalidRange_fullContent()
+            throws IOException {
+        setRange("bytes=5-2");
+
+        handler.handleRequest(session, request, response,
+                createSeekableResource());
+
+        Assert.assertEquals(-1, status.get());
+        Assert.assertEquals("0123456789", getOutput());
+    }
+
+    @Test
+    public void seekableResource_ifRange_fullContent() throws IOException {
+        setRange("bytes=0-1");
+        Mockito.when(request.getHeader("If-Range")).thenReturn("\"foo\"");
+
+        handler.handleRequest(session, request, response,
+                createSeekableResource());
+
+        Assert.assertEquals(-1, status.get());
+        Assert.assertEquals("0123456789", getOutput());
+    }
+
+    @Test
+    public void asyncStreaming_writtenWhenOutputIsReady() throws IOException {
+        DeploymentConfiguration configuration = Mockito
+                .mock(DeploymentConfiguration.class);
+        Mockito.when(configuration.isAsyncStreaming()).thenReturn(true);
+        Mockito.when(configuration.getStreamBufferSize()).thenReturn(4);
+        VaadinServletService service = Mockito
+                .mock(VaadinServletService.class);
+        Mockito.when(service.getDeploymentConfiguration())
+                .thenReturn(configuration);
+
+        AsyncContext context = Mockito.mock(AsyncContext.class);
+        Mockito.when(request.isAsyncSupported()).thenReturn(true);
+        Mockito.when(request.getService()).thenReturn(service);
+        Mockito.when(request.startAsync()).thenReturn(context);
+
+        AtomicBoolean ready = new AtomicBoolean(false);
+        AtomicReference<WriteListener> listener = new AtomicReference<>();
+        ServletOutputStream servletOutput = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return ready.get();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                listener.set(writeListener);
+            }
+
+            @Override
+            public void write(int b) {
+                output.write(b);
+                // Simulate a slow client accepting one buffer at a time
+                ready.set(false);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                output.write(b, off, len);
+                ready.set(false);
+            }
+        };
+        VaadinServletResponse servletResponse = Mockito
+                .mock(VaadinServletResponse.class);
+        Mockito.when(servletResponse.getOutputStream())
+                .thenReturn(servletOutput);
+        setRange("bytes=1-8");
+
+        handler.handleRequest(session, request, servletResponse,
+                createSeekableResource());
+
+        Assert.assertNotNull(listener.get());
+        Assert.assertEquals("", getOutput());
+
+        ready.set(true);
+        listener.get().onWritePossible();
+        Assert.assertEquals("1234", getOutput());
+        Mockito.verify(context, Mockito.never()).complete();
+
+        ready.set(true);
+        listener.get().onWritePossible();
+        ready.set(true);
+        listener.get().onWritePossible();
+        Assert.assertEquals("12345678", getOutput());
+        Mockito.verify(context).complete();
+    }
+
+    private void setRange(String range) {
+        Mockito.when(request.getHeader("Range")).thenReturn(range);
+    }
+
+    private String getOutput() {
+        return new String(output.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    private static StreamResource createSeekableResource() {
+        StreamResource resource = new StreamResource("foo",
+                new SeekableInputStreamFactory() {
+                    @Override
+                    public long getContentLength() {
+                        return DATA.length;
+                    }
+
+                    @Override
+                    public InputStream createInputStream(long offset) {
+                        return new ByteArrayInputStream(DATA, (int) offset,
+                                DATA.length - (int) offset);
+                    }
+                });
+        resource.setContentType("text/plain");
+        return resource;
+    }
+}
@@ -16,6 +16,7 @@
 package com.vaadin.flow.server.communication;
 
 import javax.servlet.http.HttpServletRequest;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -44,6 +45,7 @@ import com.vaadin.flow.router.ParentLayout;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.RouteConfiguration;
 import com.vaadin.flow.router.RouterLayout;
+import com.vaadin.flow.server.Constants;
 import com.vaadin.flow.server.MockServletServiceSessionSetup;
 import com.vaadin.flow.server.VaadinServletRequest;
 import com.vaadin.flow.server.VaadinSession;
@@ -54,6 +56,7 @@ import com.vaadin.flow.shared.ui.LoadMode;
 import elemental.json.Json;
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
 import elemental.json.JsonValue;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
@@ -220,6 +223,54 @@ public class UidlWriterTest {
         assertFalse(response.hasKey(LoadMode.LAZY.name()));
     }
 
+    @Test
+    public void writeUidl_sameContentAsCreateUidl() throws Exception {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        UidlWriter uidlWriter = new UidlWriter();
+        ui.add(new ActualComponent());
+
+        StringWriter writer = new StringWriter();
+        uidlWriter.writeUidl(ui, false, writer);
+        JsonObject streamed = Json.parse(writer.toString());
+
+        assertTrue(streamed.getArray("changes").length() > 0);
+        assertEquals(17, getDependenciesMap(streamed).size());
+
+        // Nothing left to write
+        writer = new StringWriter();
+        uidlWriter.writeUidl(ui, false, writer);
+        assertFalse(Json.parse(writer.toString()).hasKey("changes"));
+
+        mocks.cleanup();
+
+        // Equivalent UI which has not been written yet
+        UI otherUi = initializeUIForDependenciesTest(new TestUI());
+        otherUi.add(new ActualComponent());
+        JsonObject created = uidlWriter.createUidl(otherUi, false);
+
+        assertThat(Arrays.asList(streamed.keys()),
+                containsInAnyOrder(created.keys()));
+        assertTrue(JsonUtils.jsonEquals(created.getArray("changes"),
+                streamed.getArray("changes")));
+    }
+
+    @Test
+    public void compactChangeEncoding_changesAreWrittenAsArrays()
+            throws Exception {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        mocks.getDeploymentConfiguration().setApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_COMPACT_CHANGE_ENCODING, "true");
+        ui.add(new ActualComponent());
+
+        JsonArray changes = new UidlWriter().createUidl(ui, false)
+                .getArray("changes");
+
+        assertTrue(changes.length() > 0);
+        for (int i = 0; i < changes.length(); i++) {
+            assertEquals(JsonType.ARRAY, changes.get(i).getType());
+        }
+    }
+
     @Test
     public void testComponentInterfaceDependencies() throws Exception {
         UI ui = initializeUIForDependenciesTest(new TestUI());
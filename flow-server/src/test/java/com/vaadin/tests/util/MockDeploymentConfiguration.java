@@ -25,6 +25,7 @@ public class MockDeploymentConfiguration
     private boolean syncIdCheckEnabled = true;
     private boolean sendUrlsAsParameters = true;
     private boolean brotli = false;
+    private boolean uiLocking = false;
 
     public MockDeploymentConfiguration() {
         this(null);
@@ -145,4 +146,13 @@ public class MockDeploymentConfiguration
         this.brotli = brotli;
     }
 
+    @Override
+    public boolean isUILockingEnabled() {
+        return uiLocking;
+    }
+
+    public void setUILockingEnabled(boolean uiLocking) {
+        this.uiLocking = uiLocking;
+    }
+
 }
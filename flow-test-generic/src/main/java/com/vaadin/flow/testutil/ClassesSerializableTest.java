@@ -82,7 +82,8 @@ public abstract class ClassesSerializableTest {
                 "com\\.vaadin\\.flow\\.component\\.polymertemplate\\.DefaultTemplateParser",
                 "com\\.vaadin\\.flow\\.component\\.PropertyDescriptors(\\$.*)?",
                 "com\\.vaadin\\.flow\\.component\\.Shortcuts",
-                "com\\.vaadin\\.flow\\.internal\\.JsonSerializer",
+                "com\\.vaadin\\.flow\\.internal\\.JsonSerializer(\\$.*)?",
+                "com\\.vaadin\\.flow\\.internal\\.ConstantPoolKey\\$.*",
                 "com\\.vaadin\\.flow\\.internal\\.JsonCodec",
                 "com\\.vaadin\\.flow\\.internal\\.UsageStatistics(\\$.*)?",
                 "com\\.vaadin\\.flow\\.internal\\.nodefeature\\.NodeFeatureRegistry",
@@ -99,6 +100,8 @@ public abstract class ClassesSerializableTest {
                 "com\\.vaadin\\.flow\\.server\\.communication\\.ServerRpcHandler\\$LazyInvocationHandlers",
                 "com\\.vaadin\\.flow\\.server\\.VaadinServletRequest",
                 "com\\.vaadin\\.flow\\.server\\.VaadinServletResponse",
+                "com\\.vaadin\\.flow\\.server\\.communication\\.StreamResourceWriteListener",
+                "com\\.vaadin\\.flow\\.server\\.communication\\.StreamReceiverHandler\\$XhrUploadReadListener",
                 "com\\.vaadin\\.flow\\.server\\.startup\\.AnnotationValidator",
                 "com\\.vaadin\\.flow\\.server\\.startup\\.ApplicationRouteRegistry\\$RouteRegistryServletContextListener",
                 "com\\.vaadin\\.flow\\.server\\.startup\\.ServletDeployer",
@@ -129,6 +132,8 @@ public abstract class ClassesSerializableTest {
                 "com\\.vaadin\\.flow\\.component\\.polymertemplate\\.TemplateInitializer(\\$.*)?",
                 "com\\.vaadin\\.flow\\.component\\.polymertemplate\\.TemplateParser(\\$.*)?",
                 "com\\.vaadin\\.flow\\.dom\\.impl\\.ThemeListImpl\\$ThemeListIterator",
+                "com\\.vaadin\\.flow\\.internal\\.nodefeature\\.CompactStringMap\\$EntrySet",
+                "com\\.vaadin\\.flow\\.internal\\.nodefeature\\.CompactStringMap\\$EntryIterator",
                 "com\\.vaadin\\.flow\\.templatemodel\\.PropertyMapBuilder(\\$.*)?",
                 "com\\.vaadin\\.flow\\.internal\\.ReflectionCache",
                 "com\\.vaadin\\.flow\\.component\\.internal\\.ComponentMetaData(\\$.*)?",
@@ -0,0 +1,57 @@
+package com.vaadin.flow.test.scalability;
+
+import javax.servlet.annotation.WebServlet;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.NativeButton;
+import com.vaadin.flow.server.BroadcastTopic;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinServlet;
+import com.vaadin.flow.server.VaadinServletConfiguration;
+
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+public class BroadcastUI extends UI {
+
+    public static final String PATH = "/broadcast/";
+
+    private static final BroadcastTopic<String> TICKER = new BroadcastTopic<>();
+
+    private static final AtomicInteger TICKS = new AtomicInteger();
+
+    /**
+     * The servlet for the broadcast scenario.
+     */
+    @WebServlet(urlPatterns = PATH
+            + "*", name = "BroadcastServlet", asyncSupported = true)
+    @VaadinServletConfiguration(ui = BroadcastUI.class, productionMode = false)
+    public static class Servlet extends VaadinServlet {
+    }
+
+    @Override
+    protected void init(VaadinRequest request) {
+        // Every click publishes a new value to all open UIs
+        NativeButton publish = new NativeButton("Publish",
+                e -> TICKER.publish("tick-" + TICKS.incrementAndGet()));
+        Div ticker = new Div();
+        TICKER.subscribe(ticker, ticker::setText);
+        add(publish, ticker);
+    }
+}
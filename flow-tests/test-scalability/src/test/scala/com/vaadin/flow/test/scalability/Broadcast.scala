@@ -0,0 +1,58 @@
+package com.vaadin.flow.test.scalability
+
+import scala.concurrent.duration._
+
+import io.gatling.core.Predef._
+import io.gatling.http.Predef._
+import io.gatling.jdbc.Predef._
+
+class Broadcast extends Simulation {
+
+  val httpProtocol = http
+    .baseURL("http://localhost:8888")
+    .warmUp("http://localhost:8888/")
+    .inferHtmlResources(BlackList(""".*\.js""", """.*\.css""", """.*\.gif""", """.*\.jpeg""", """.*\.jpg""", """.*\.ico""", """.*\.woff""", """.*\.(t|o)tf""", """.*\.png"""), WhiteList())
+    .acceptHeader("text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
+    .acceptEncodingHeader("gzip, deflate")
+    .acceptLanguageHeader("en-US,en;q=0.5")
+    .userAgentHeader("Mozilla/5.0 (Macintosh; Intel Mac OS X 10.11; rv:46.0) Gecko/20100101 Firefox/46.0")
+
+  val uidlHeaders = Map("Content-Type" -> "application/json; charset=UTF-8")
+
+  val url = "/broadcast/"
+  val uidlUrl = url + "?v-r=uidl&v-uiId=${uiId}"
+
+  object PageObject {
+    val storeUiId =
+      regex(""""v-uiId":\s(\d+),""")
+        .saveAs("uiId")
+    val storeSecurityKey =
+      regex(""""Vaadin-Security-Key":\s"([^"]*)""")
+        .saveAs("securityKey")
+    // Every response contains the latest value published by any user
+    val tick = regex(""""tick-\d+"""")
+
+    val bootstrap = exec(http("Open index page")
+      .get(url)
+      .check(storeUiId)
+      .check(storeSecurityKey))
+      .exec(session => session.set("clientId", 0))
+      .exec(session => session.set("syncId", 0))
+
+    val publish = exec(http("Publish")
+      .post(uidlUrl)
+      .headers(uidlHeaders)
+      .body(ElFileBody("clickButton.json"))
+      .check(tick))
+      .exec(session => session.set("syncId", session.get("syncId").as[Int] + 1))
+      .exec(session => session.set("clientId", session.get("clientId").as[Int] + 1))
+  }
+
+  var scn = scenario("Publish to all users").exec(
+    PageObject.bootstrap,
+    repeat(5) {
+      exec(PageObject.publish, pause(1))
+    })
+
+  setUp(scn.inject(rampUsers(1000) over (5 seconds))).protocols(httpProtocol)
+}